@@ -0,0 +1,65 @@
+package com.mycompany.bugtracker.benchmark;
+
+import com.mycompany.bugtracker.domain.Authority;
+import com.mycompany.bugtracker.domain.Label;
+import com.mycompany.bugtracker.domain.Project;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.domain.User;
+import com.mycompany.bugtracker.security.AuthoritiesConstants;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entities shaped like the ones served by the API.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {}
+
+    static User user(int index) {
+        User user = new User();
+        user.setId("user-" + index);
+        user.setLogin("user" + index);
+        user.setPassword("$2a$10$gSAhZrxMllrbgj/kkK9UceBPpChGWJA7SYIb1Mqo.n5aNLq1/oRrC");
+        user.setFirstName("First" + index);
+        user.setLastName("Last" + index);
+        user.setEmail("user" + index + "@localhost");
+        user.setImageUrl("http://placehold.it/50x50");
+        user.setActivated(true);
+        user.setLangKey("en");
+        Set<Authority> authorities = new HashSet<>();
+        Authority authority = new Authority();
+        authority.setName(AuthoritiesConstants.USER);
+        authorities.add(authority);
+        user.setAuthorities(authorities);
+        return user;
+    }
+
+    /**
+     * @param size the number of tickets.
+     * @return a page of tickets, each with a project, an assignee and labels.
+     */
+    static List<Ticket> ticketPage(int size) {
+        Project project = new Project().id("project-1").name("Bug Tracker");
+        Set<Label> labels = new HashSet<>();
+        labels.add(new Label().id("label-1").value("bug"));
+        labels.add(new Label().id("label-2").value("performance"));
+        List<Ticket> tickets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Ticket ticket = new Ticket()
+                .id("ticket-" + i)
+                .title("Ticket " + i)
+                .description("The ticket list is slow when a project has more than " + i + " tickets")
+                .dueDate(LocalDate.of(2021, 1, 1).plusDays(i))
+                .done(i % 3 == 0)
+                .project(project)
+                .assignedTo(user(i % 5))
+                .labels(labels);
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+}
@@ -0,0 +1,48 @@
+package com.mycompany.bugtracker.benchmark;
+
+import de.flapdoodle.embed.mongo.MongodExecutable;
+import de.flapdoodle.embed.mongo.MongodStarter;
+import de.flapdoodle.embed.mongo.config.MongodConfig;
+import de.flapdoodle.embed.mongo.config.Net;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.process.runtime.Network;
+import java.io.IOException;
+
+/**
+ * The MongoDB of the benchmarks: the one of the {@code benchmark.mongodb.uri} system property, or else an embedded one.
+ */
+final class BenchmarkMongo implements AutoCloseable {
+
+    private final MongodExecutable embeddedMongo;
+
+    private final String uri;
+
+    private BenchmarkMongo(MongodExecutable embeddedMongo, String uri) {
+        this.embeddedMongo = embeddedMongo;
+        this.uri = uri;
+    }
+
+    static BenchmarkMongo start() throws IOException {
+        String uri = System.getProperty("benchmark.mongodb.uri");
+        if (uri != null) {
+            return new BenchmarkMongo(null, uri);
+        }
+        int port = Network.getFreeServerPort();
+        MongodExecutable embeddedMongo = MongodStarter
+            .getDefaultInstance()
+            .prepare(MongodConfig.builder().version(Version.Main.PRODUCTION).net(new Net(port, Network.localhostIsIPv6())).build());
+        embeddedMongo.start();
+        return new BenchmarkMongo(embeddedMongo, "mongodb://localhost:" + port);
+    }
+
+    String getUri() {
+        return uri;
+    }
+
+    @Override
+    public void close() {
+        if (embeddedMongo != null) {
+            embeddedMongo.stop();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.mycompany.bugtracker.benchmark;
+
+import com.mycompany.bugtracker.domain.Ticket;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Generation of the alert and pagination headers of the REST controllers, such as {@code TicketResource}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HeaderUtilBenchmark {
+
+    private MockServerHttpRequest request;
+
+    private PageImpl<Ticket> page;
+
+    @Setup
+    public void setup() {
+        request = MockServerHttpRequest.get("/api/tickets?page=3&size=20&sort=dueDate,asc").build();
+        List<Ticket> tickets = BenchmarkData.ticketPage(20);
+        page = new PageImpl<>(tickets, PageRequest.of(3, 20), 1000);
+    }
+
+    @Benchmark
+    public HttpHeaders createEntityCreationAlert() {
+        return HeaderUtil.createEntityCreationAlert("bugTrackerJHipsterApp", true, "ticket", "6149d6c1a3a5b8124c1f3e2d");
+    }
+
+    @Benchmark
+    public HttpHeaders generatePaginationHttpHeaders() {
+        return PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page);
+    }
+}
@@ -0,0 +1,62 @@
+package com.mycompany.bugtracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.bugtracker.config.JacksonConfiguration;
+import com.mycompany.bugtracker.domain.Ticket;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialization of a page of tickets, as returned by {@code GET /api/tickets}, with the modules of the
+ * {@link JacksonConfiguration}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JacksonSerializationBenchmark {
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private List<Ticket> tickets;
+
+    private byte[] json;
+
+    @Setup
+    public void setup() throws Exception {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper =
+            Jackson2ObjectMapperBuilder
+                .json()
+                .modules(
+                    jacksonConfiguration.javaTimeModule(),
+                    jacksonConfiguration.jdk8TimeModule(),
+                    jacksonConfiguration.problemModule(),
+                    jacksonConfiguration.constraintViolationProblemModule()
+                )
+                .build();
+        tickets = BenchmarkData.ticketPage(pageSize);
+        json = objectMapper.writeValueAsBytes(tickets);
+    }
+
+    @Benchmark
+    public byte[] serializeTicketPage() throws Exception {
+        return objectMapper.writeValueAsBytes(tickets);
+    }
+
+    @Benchmark
+    public Ticket[] deserializeTicketPage() throws Exception {
+        return objectMapper.readValue(json, Ticket[].class);
+    }
+}
@@ -0,0 +1,178 @@
+package com.mycompany.bugtracker.benchmark;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import com.mycompany.bugtracker.config.DatabaseConfiguration;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import com.mycompany.bugtracker.repository.support.ExtendedReactiveMongoRepository;
+import com.mycompany.bugtracker.repository.support.ReadSettingsReactiveMongoTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+
+/**
+ * Ticket list queries of the {@link TicketRepository} through a client using each of the wire compressors of
+ * {@link DatabaseConfiguration}. The bytes exchanged with the server per query, from the network counters of its
+ * {@code serverStatus}, are reported as secondary metrics, see {@link NetworkBytes}.
+ * <p>
+ * Runs against an embedded MongoDB, or against the one of the {@code benchmark.mongodb.uri} system property, which must
+ * be 4.2 or later for {@code zstd}: {@code compressedBytesOutPerQuery} is 0 when the compressor wasn't negotiated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MongoCompressionBenchmark {
+
+    private static final String DATABASE = "benchmark";
+
+    private static final int TICKETS = 1000;
+
+    @Param({ "none", "zlib", "zstd" })
+    private String compressor;
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private BenchmarkMongo mongo;
+
+    private MongoClient client;
+
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private TicketRepository ticketRepository;
+
+    private long queries;
+
+    @Setup
+    public void setup() throws Exception {
+        mongo = BenchmarkMongo.start();
+        ApplicationProperties.Mongodb mongodb = new ApplicationProperties.Mongodb();
+        if (!"none".equals(compressor)) {
+            mongodb.setCompressors(Collections.singletonList(compressor));
+        }
+        client =
+            MongoClients.create(
+                MongoClientSettings
+                    .builder()
+                    .applyConnectionString(new ConnectionString(mongo.getUri()))
+                    .compressorList(DatabaseConfiguration.compressors(mongodb))
+                    .build()
+            );
+        mongoTemplate = new ReadSettingsReactiveMongoTemplate(new SimpleReactiveMongoDatabaseFactory(client, DATABASE), null);
+        ReactiveMongoRepositoryFactory repositoryFactory = new ReactiveMongoRepositoryFactory(mongoTemplate);
+        repositoryFactory.setRepositoryBaseClass(ExtendedReactiveMongoRepository.class);
+        ticketRepository = repositoryFactory.getRepository(TicketRepository.class);
+        mongoTemplate.dropCollection(Ticket.class).block();
+        mongoTemplate.insertAll(tickets()).then().block();
+    }
+
+    /**
+     * Tickets without references, so that a query is a single round trip, with descriptions as long as the ones of
+     * detailed bug reports.
+     */
+    private static List<Ticket> tickets() {
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int line = 0; line < 40; line++) {
+                description
+                    .append("Step ")
+                    .append(line)
+                    .append(": the ticket list of project ")
+                    .append(i % 20)
+                    .append(" takes ")
+                    .append((i * 31 + line * 7) % 997)
+                    .append(" ms to load.\n");
+            }
+            tickets.add(
+                new Ticket()
+                    .title("Slow ticket list " + i)
+                    .description(description.toString())
+                    .dueDate(LocalDate.of(2021, 1, 1).plusDays(i % 365))
+                    .done(i % 3 == 0)
+            );
+        }
+        return tickets;
+    }
+
+    private Document network() {
+        return mongoTemplate.executeCommand(new Document("serverStatus", 1)).block().get("network", Document.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoTemplate.dropCollection(Ticket.class).block();
+        client.close();
+        mongo.close();
+    }
+
+    @Benchmark
+    public List<Ticket> findTicketPage(NetworkBytes networkBytes) {
+        queries++;
+        return ticketRepository.findAllByOrderByDueDateAsc(PageRequest.of((int) (queries % (TICKETS / pageSize)), pageSize)).collectList().block();
+    }
+
+    /**
+     * Reports the bytes exchanged with the server per query of an iteration along with the timings, in the JMH results.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class NetworkBytes {
+
+        public long bytesInPerQuery;
+
+        public long bytesOutPerQuery;
+
+        public long compressedBytesOutPerQuery;
+
+        private Document start;
+
+        private long startQueries;
+
+        @Setup(Level.Iteration)
+        public void startIteration(MongoCompressionBenchmark benchmark) {
+            start = benchmark.network();
+            startQueries = benchmark.queries;
+        }
+
+        @TearDown(Level.Iteration)
+        public void endIteration(MongoCompressionBenchmark benchmark) {
+            Document end = benchmark.network();
+            long queries = Math.max(1, benchmark.queries - startQueries);
+            bytesInPerQuery = (counter(end, "bytesIn") - counter(start, "bytesIn")) / queries;
+            bytesOutPerQuery = (counter(end, "bytesOut") - counter(start, "bytesOut")) / queries;
+            String compressed = "compression." + benchmark.compressor + ".compressor.bytesOut";
+            compressedBytesOutPerQuery = (counter(end, compressed) - counter(start, compressed)) / queries;
+        }
+
+        private static long counter(Document network, String path) {
+            Object value = network;
+            for (String key : path.split("\\.")) {
+                value = value instanceof Document ? ((Document) value).get(key) : null;
+            }
+            return value instanceof Number ? ((Number) value).longValue() : 0;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.mycompany.bugtracker.benchmark;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.mycompany.bugtracker.domain.TicketComment;
+import com.mycompany.bugtracker.domain.TicketCommentBucket;
+import com.mycompany.bugtracker.repository.TicketCommentRepository;
+import com.mycompany.bugtracker.repository.support.ReadSettingsReactiveMongoTemplate;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Pages of a thread of 10,000 comments, stored by {@link TicketCommentBucket}s or one document per comment, read from
+ * the newest comments or from the middle of the thread, and the append of a comment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TicketCommentBenchmark {
+
+    private static final String DATABASE = "benchmark";
+
+    private static final String DOCUMENT_COLLECTION = "ticket_comment_document";
+
+    private static final String TICKET_ID = "benchmark-ticket";
+
+    private static final int COMMENTS = 10_000;
+
+    @Param({ "bucket", "document" })
+    private String layout;
+
+    @Param({ "20", "50" })
+    private int pageSize;
+
+    private BenchmarkMongo mongo;
+
+    private MongoClient client;
+
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private TicketCommentRepository ticketCommentRepository;
+
+    private long appended = COMMENTS;
+
+    @Setup
+    public void setup() throws Exception {
+        mongo = BenchmarkMongo.start();
+        client = MongoClients.create(mongo.getUri());
+        mongoTemplate = new ReadSettingsReactiveMongoTemplate(new SimpleReactiveMongoDatabaseFactory(client, DATABASE), null);
+        ticketCommentRepository = new TicketCommentRepository(mongoTemplate);
+        dropCollections();
+        mongoTemplate
+            .indexOps(TicketCommentBucket.class)
+            .ensureIndex(new Index().on("ticket_id", Sort.Direction.ASC).on("seq", Sort.Direction.DESC).unique())
+            .block();
+        mongoTemplate
+            .indexOps(DOCUMENT_COLLECTION)
+            .ensureIndex(new Index().on("ticket_id", Sort.Direction.ASC).on("number", Sort.Direction.DESC).unique())
+            .block();
+        if ("bucket".equals(layout)) {
+            mongoTemplate.insertAll(buckets()).then().block();
+        } else {
+            mongoTemplate.insert(documents(), DOCUMENT_COLLECTION).then().block();
+        }
+    }
+
+    private static List<TicketCommentBucket> buckets() {
+        List<TicketCommentBucket> buckets = new ArrayList<>();
+        for (int seq = 0; seq * TicketCommentBucket.SIZE < COMMENTS; seq++) {
+            TicketCommentBucket bucket = new TicketCommentBucket();
+            bucket.setTicketId(TICKET_ID);
+            bucket.setSeq(seq);
+            List<TicketComment> comments = new ArrayList<>();
+            for (int i = seq * TicketCommentBucket.SIZE + 1; i <= Math.min(COMMENTS, (seq + 1) * TicketCommentBucket.SIZE); i++) {
+                comments.add(comment(i));
+            }
+            bucket.setComments(comments);
+            bucket.setCount(comments.size());
+            buckets.add(bucket);
+        }
+        return buckets;
+    }
+
+    private static List<Document> documents() {
+        List<Document> documents = new ArrayList<>();
+        for (int i = 1; i <= COMMENTS; i++) {
+            documents.add(document(i));
+        }
+        return documents;
+    }
+
+    private static TicketComment comment(long number) {
+        TicketComment comment = new TicketComment().body("Still reproduced on build " + number + ", the ticket list takes 8 seconds to load.");
+        comment.setId(new ObjectId().toHexString());
+        comment.setAuthor("user" + (number % 50));
+        comment.setCreatedDate(Instant.now());
+        return comment;
+    }
+
+    private static Document document(long number) {
+        TicketComment comment = comment(number);
+        return new Document("ticket_id", TICKET_ID)
+            .append("number", number)
+            .append("author", comment.getAuthor())
+            .append("body", comment.getBody())
+            .append("created_date", comment.getCreatedDate());
+    }
+
+    @TearDown
+    public void tearDown() {
+        dropCollections();
+        client.close();
+        mongo.close();
+    }
+
+    private void dropCollections() {
+        mongoTemplate.dropCollection(TicketCommentBucket.class).block();
+        mongoTemplate.dropCollection(DOCUMENT_COLLECTION).block();
+    }
+
+    @Benchmark
+    public List<?> findNewestPage() {
+        return findPage(null);
+    }
+
+    /**
+     * A page in the middle of the thread, not aligned on the buckets.
+     */
+    @Benchmark
+    public List<?> findOlderPage() {
+        return findPage(COMMENTS / 2L + 37);
+    }
+
+    private List<?> findPage(Long before) {
+        if ("bucket".equals(layout)) {
+            return ticketCommentRepository.findPage(TICKET_ID, before, pageSize).collectList().block();
+        }
+        Criteria criteria = Criteria.where("ticket_id").is(TICKET_ID);
+        if (before != null) {
+            criteria = criteria.and("number").lt(before);
+        }
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.DESC, "number")).limit(pageSize);
+        return mongoTemplate.find(query, Document.class, DOCUMENT_COLLECTION).collectList().block();
+    }
+
+    @Benchmark
+    public Object append() {
+        if ("bucket".equals(layout)) {
+            return ticketCommentRepository.append(TICKET_ID, comment(++appended)).block();
+        }
+        return mongoTemplate.insert(document(++appended), DOCUMENT_COLLECTION).block();
+    }
+}
@@ -0,0 +1,130 @@
+package com.mycompany.bugtracker.benchmark;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.repository.TicketDescriptionCallback;
+import com.mycompany.bugtracker.repository.TicketDescriptionRepository;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import com.mycompany.bugtracker.repository.support.ExtendedReactiveMongoRepository;
+import com.mycompany.bugtracker.repository.support.ReadSettingsReactiveMongoTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mapping.callback.ReactiveEntityCallbacks;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+
+/**
+ * Ticket pages of the {@link TicketRepository} when one ticket out of ten has a long pasted stack trace as description,
+ * stored in the ticket or offloaded by the {@link TicketDescriptionCallback}, and the read of a single ticket which
+ * then loads its description.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TicketDescriptionBenchmark {
+
+    private static final String DATABASE = "benchmark";
+
+    private static final int TICKETS = 1000;
+
+    @Param({ "false", "true" })
+    private boolean offload;
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private BenchmarkMongo mongo;
+
+    private MongoClient client;
+
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private TicketRepository ticketRepository;
+
+    private TicketDescriptionRepository ticketDescriptionRepository;
+
+    private List<String> ids;
+
+    private int page;
+
+    private int ticket;
+
+    @Setup
+    public void setup() throws Exception {
+        mongo = BenchmarkMongo.start();
+        client = MongoClients.create(mongo.getUri());
+        mongoTemplate = new ReadSettingsReactiveMongoTemplate(new SimpleReactiveMongoDatabaseFactory(client, DATABASE), null);
+        ticketDescriptionRepository = new TicketDescriptionRepository(mongoTemplate, new ApplicationProperties());
+        if (offload) {
+            mongoTemplate.setEntityCallbacks(ReactiveEntityCallbacks.create(new TicketDescriptionCallback(ticketDescriptionRepository)));
+        }
+        ReactiveMongoRepositoryFactory repositoryFactory = new ReactiveMongoRepositoryFactory(mongoTemplate);
+        repositoryFactory.setRepositoryBaseClass(ExtendedReactiveMongoRepository.class);
+        ticketRepository = repositoryFactory.getRepository(TicketRepository.class);
+        mongoTemplate.dropCollection(Ticket.class).block();
+        mongoTemplate.dropCollection(TicketDescriptionRepository.COLLECTION_NAME).block();
+        ids = new ArrayList<>();
+        mongoTemplate.insertAll(tickets()).map(Ticket::getId).doOnNext(ids::add).then().block();
+    }
+
+    private static List<Ticket> tickets() {
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            StringBuilder description = new StringBuilder("The ticket list of project " + (i % 20) + " is slow.\n");
+            if (i % 10 == 0) {
+                for (int line = 0; line < 600; line++) {
+                    description
+                        .append("\tat com.mycompany.bugtracker.web.rest.TicketResource.getAllTickets(TicketResource.java:")
+                        .append((i + line * 7) % 997)
+                        .append(")\n");
+                }
+            }
+            tickets.add(
+                new Ticket()
+                    .title("Slow ticket list " + i)
+                    .description(description.toString())
+                    .dueDate(LocalDate.of(2021, 1, 1).plusDays(i % 365))
+                    .done(i % 3 == 0)
+            );
+        }
+        return tickets;
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoTemplate.dropCollection(Ticket.class).block();
+        mongoTemplate.dropCollection(TicketDescriptionRepository.COLLECTION_NAME).block();
+        client.close();
+        mongo.close();
+    }
+
+    @Benchmark
+    public List<Ticket> findTicketPage() {
+        page = (page + 1) % (TICKETS / pageSize);
+        return ticketRepository.findAllByOrderByDueDateAsc(PageRequest.of(page, pageSize)).collectList().block();
+    }
+
+    /**
+     * A ticket with a long description, as read by {@code GET /api/tickets/:id}.
+     */
+    @Benchmark
+    public Ticket findTicket() {
+        ticket = (ticket + 10) % TICKETS;
+        return ticketRepository.findById(ids.get(ticket)).flatMap(ticketDescriptionRepository::loadDescription).block();
+    }
+}
@@ -0,0 +1,57 @@
+package com.mycompany.bugtracker.benchmark;
+
+import com.mycompany.bugtracker.domain.User;
+import com.mycompany.bugtracker.service.dto.AdminUserDTO;
+import com.mycompany.bugtracker.service.dto.UserDTO;
+import com.mycompany.bugtracker.service.mapper.UserMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Conversions of a page of users between entities and DTOs, as done by the user management endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserMapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private List<User> users;
+
+    private List<AdminUserDTO> adminUserDTOs;
+
+    @Setup
+    public void setup() {
+        users = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            users.add(BenchmarkData.user(i));
+        }
+        adminUserDTOs = userMapper.usersToAdminUserDTOs(users);
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(users);
+    }
+
+    @Benchmark
+    public List<AdminUserDTO> usersToAdminUserDTOs() {
+        return userMapper.usersToAdminUserDTOs(users);
+    }
+
+    @Benchmark
+    public List<User> userDTOsToUsers() {
+        return userMapper.userDTOsToUsers(adminUserDTOs);
+    }
+}
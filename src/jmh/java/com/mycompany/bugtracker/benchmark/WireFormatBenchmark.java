@@ -0,0 +1,100 @@
+package com.mycompany.bugtracker.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mycompany.bugtracker.config.BinaryCodecsConfiguration;
+import com.mycompany.bugtracker.config.JacksonConfiguration;
+import com.mycompany.bugtracker.domain.Ticket;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Encoding and decoding of a page of tickets in JSON and in the binary formats of the
+ * {@link BinaryCodecsConfiguration}. The size of the payloads is reported as the {@code payloadBytes} secondary metric.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({ "json", "cbor", "smile" })
+    private String format;
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private List<Ticket> tickets;
+
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws Exception {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper =
+            Jackson2ObjectMapperBuilder
+                .json()
+                .factory(factory(format))
+                .modules(
+                    jacksonConfiguration.javaTimeModule(),
+                    jacksonConfiguration.jdk8TimeModule(),
+                    jacksonConfiguration.problemModule(),
+                    jacksonConfiguration.constraintViolationProblemModule()
+                )
+                .build();
+        tickets = BenchmarkData.ticketPage(pageSize);
+        payload = objectMapper.writeValueAsBytes(tickets);
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "cbor":
+                return new CBORFactory();
+            case "smile":
+                return new SmileFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeTicketPage(PayloadSize payloadSize) throws Exception {
+        return objectMapper.writeValueAsBytes(tickets);
+    }
+
+    @Benchmark
+    public Ticket[] decodeTicketPage(PayloadSize payloadSize) throws Exception {
+        return objectMapper.readValue(payload, Ticket[].class);
+    }
+
+    /**
+     * Reports the size of the payload along with the timings, in the JMH results.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long payloadBytes;
+
+        // JMH resets the counters after the iteration setup
+        @TearDown(Level.Iteration)
+        public void report(WireFormatBenchmark benchmark) {
+            payloadBytes = benchmark.payload.length;
+        }
+    }
+}
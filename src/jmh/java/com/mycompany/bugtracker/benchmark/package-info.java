@@ -0,0 +1,4 @@
+/**
+ * JMH microbenchmarks of the hot paths of the application, run with the {@code jmh} Maven profile.
+ */
+package com.mycompany.bugtracker.benchmark;
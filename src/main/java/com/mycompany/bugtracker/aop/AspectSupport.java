@@ -0,0 +1,34 @@
+package com.mycompany.bugtracker.aop;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Utilities shared by the aspects of the application.
+ */
+public final class AspectSupport {
+
+    private static final String APPLICATION_PACKAGE = "com.mycompany.bugtracker";
+
+    private AspectSupport() {}
+
+    /**
+     * Finds the application type a method was invoked on: Spring Data repository methods are declared by Spring Data
+     * interfaces and invoked on a proxy, while they should be attributed to the repository interface.
+     *
+     * @param invokedType   the type of the object the method was invoked on.
+     * @param declaringType the type declaring the method.
+     * @return the application type, or the declaring type if none.
+     */
+    public static Class<?> applicationType(Class<?> invokedType, Class<?> declaringType) {
+        Class<?> userType = ClassUtils.getUserClass(invokedType);
+        if (userType.getName().startsWith(APPLICATION_PACKAGE)) {
+            return userType;
+        }
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(invokedType)) {
+            if (type.getName().startsWith(APPLICATION_PACKAGE) && declaringType.isAssignableFrom(type)) {
+                return type;
+            }
+        }
+        return declaringType;
+    }
+}
@@ -1,6 +1,10 @@
 package com.mycompany.bugtracker.aop.logging;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
@@ -11,20 +15,32 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import tech.jhipster.config.JHipsterConstants;
 
 /**
  * Aspect for logging execution of service and repository Spring components.
+ * <p>
+ * Loggers are cached per declaring type, and nothing but the debug level check happens when debug is disabled.
+ * For {@link Mono} and {@link Flux} results, the emitted values and the time from subscription to completion are
+ * logged, rather than the publisher itself. Only a sample of the invocations is logged, so that the aspect can be left
+ * enabled in production.
  *
- * By default, it only runs with the "dev" profile.
+ * It is only created when {@code application.logging-aspect.enabled} is {@code true}, as in the "dev" profile.
  */
 @Aspect
 public class LoggingAspect {
 
-    private final Environment env;
+    private final Map<Class<?>, Logger> loggers = new ConcurrentHashMap<>();
 
-    public LoggingAspect(Environment env) {
-        this.env = env;
+    private final boolean developmentProfile;
+
+    private final double sampleRate;
+
+    public LoggingAspect(Environment env, double sampleRate) {
+        this.developmentProfile = env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT));
+        this.sampleRate = sampleRate;
     }
 
     /**
@@ -58,7 +74,11 @@ public class LoggingAspect {
      * @return {@link Logger} associated to the given {@link JoinPoint}.
      */
     private Logger logger(JoinPoint joinPoint) {
-        return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+        return loggers.computeIfAbsent(joinPoint.getSignature().getDeclaringType(), LoggerFactory::getLogger);
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
     }
 
     /**
@@ -69,7 +89,7 @@ public class LoggingAspect {
      */
     @AfterThrowing(pointcut = "applicationPackagePointcut() && springBeanPointcut()", throwing = "e")
     public void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
-        if (env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT))) {
+        if (developmentProfile) {
             logger(joinPoint)
                 .error(
                     "Exception in {}() with cause = \'{}\' and exception = \'{}\'",
@@ -98,18 +118,57 @@ public class LoggingAspect {
     @Around("applicationPackagePointcut() && springBeanPointcut()")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
         Logger log = logger(joinPoint);
-        if (log.isDebugEnabled()) {
-            log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+        if (!log.isDebugEnabled() || !sampled()) {
+            return proceed(joinPoint);
         }
+        String name = joinPoint.getSignature().getName();
+        log.debug("Enter: {}() with argument[s] = {}", name, Arrays.toString(joinPoint.getArgs()));
+        Object result = proceed(joinPoint);
+        if (result instanceof Mono) {
+            return logMono(log, name, (Mono<?>) result);
+        }
+        if (result instanceof Flux) {
+            return logFlux(log, name, (Flux<?>) result);
+        }
+        log.debug("Exit: {}() with result = {}", name, result);
+        return result;
+    }
+
+    private Object proceed(ProceedingJoinPoint joinPoint) throws Throwable {
         try {
-            Object result = joinPoint.proceed();
-            if (log.isDebugEnabled()) {
-                log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
-            }
-            return result;
+            return joinPoint.proceed();
         } catch (IllegalArgumentException e) {
-            log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
+            logger(joinPoint).error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
             throw e;
         }
     }
+
+    private <T> Mono<T> logMono(Logger log, String name, Mono<T> mono) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return mono
+                .doOnSuccess(value -> log.debug("Exit: {}() with result = {} after {} ms", name, value, elapsedMillis(start)))
+                .doOnError(e -> log.debug("Exit: {}() with error = {} after {} ms", name, e.toString(), elapsedMillis(start)))
+                .doOnCancel(() -> log.debug("Exit: {}() cancelled after {} ms", name, elapsedMillis(start)));
+        });
+    }
+
+    private <T> Flux<T> logFlux(Logger log, String name, Flux<T> flux) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            long[] count = { 0 };
+            return flux
+                .doOnNext(value -> {
+                    count[0]++;
+                    log.debug("Next: {}() emitted {}", name, value);
+                })
+                .doOnComplete(() -> log.debug("Exit: {}() with {} element(s) after {} ms", name, count[0], elapsedMillis(start)))
+                .doOnError(e -> log.debug("Exit: {}() with error = {} after {} ms", name, e.toString(), elapsedMillis(start)))
+                .doOnCancel(() -> log.debug("Exit: {}() cancelled after {} element(s) and {} ms", name, count[0], elapsedMillis(start)));
+        });
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
 }
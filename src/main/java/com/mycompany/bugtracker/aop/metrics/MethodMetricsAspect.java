@@ -0,0 +1,199 @@
+package com.mycompany.bugtracker.aop.metrics;
+
+import static com.mycompany.bugtracker.aop.AspectSupport.applicationType;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.repository.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Aspect recording the latency of repository and service methods.
+ * <p>
+ * For {@link Mono} and {@link Flux} results, the {@code bugtracker.method.duration} timer measures the time from
+ * subscription to termination, and the {@code bugtracker.method.elements} summary counts the elements emitted by each
+ * {@link Flux}. Meters are tagged by class, method, entity and outcome ({@code success}, {@code error} or
+ * {@code cancelled}). At most {@code maxMethods} methods get their own meters, the others share {@code method=other}.
+ */
+@Aspect
+public class MethodMetricsAspect {
+
+    private static final String OTHER = "other";
+
+    private final Logger log = LoggerFactory.getLogger(MethodMetricsAspect.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final MethodMetricsSettings settings;
+
+    private final int maxMethods;
+
+    private final AtomicInteger methodCount = new AtomicInteger();
+
+    private final Map<Class<?>, Map<Method, MethodMeters>> meters = new ConcurrentHashMap<>();
+
+    public MethodMetricsAspect(MeterRegistry meterRegistry, MethodMetricsSettings settings, int maxMethods) {
+        this.meterRegistry = meterRegistry;
+        this.settings = settings;
+        this.maxMethods = maxMethods;
+    }
+
+    /**
+     * Pointcut that matches all repositories and services.
+     * <p>
+     * Repositories are matched on the execution of their methods, as Spring Data implements them, including the
+     * inherited {@code findAll} or {@code save}, with classes outside of the application packages.
+     */
+    @Pointcut("execution(* com.mycompany.bugtracker.repository..*.*(..)) || within(com.mycompany.bugtracker.service..*)")
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    @Around("applicationPackagePointcut()")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters methodMeters = methodMeters(joinPoint);
+        if (!methodMeters.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            methodMeters.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        if (result instanceof Mono) {
+            return measureMono(methodMeters, (Mono<?>) result);
+        }
+        if (result instanceof Flux) {
+            return measureFlux(methodMeters, (Flux<?>) result);
+        }
+        methodMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private <T> Mono<T> measureMono(MethodMeters methodMeters, Mono<T> mono) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return mono
+                .doOnSuccess(value -> methodMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                .doOnError(e -> methodMeters.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                .doOnCancel(() -> methodMeters.cancelled.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private <T> Flux<T> measureFlux(MethodMeters methodMeters, Flux<T> flux) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            long[] count = { 0 };
+            return flux
+                .doOnNext(value -> count[0]++)
+                .doOnComplete(() -> {
+                    methodMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    methodMeters.elements.record(count[0]);
+                })
+                .doOnError(e -> methodMeters.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                .doOnCancel(() -> methodMeters.cancelled.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private MethodMeters methodMeters(ProceedingJoinPoint joinPoint) {
+        Class<?> invokedType = joinPoint.getThis() != null ? joinPoint.getThis().getClass() : joinPoint.getSignature().getDeclaringType();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return meters
+            .computeIfAbsent(invokedType, type -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, m -> createMethodMeters(invokedType, m));
+    }
+
+    private MethodMeters createMethodMeters(Class<?> invokedType, Method method) {
+        Class<?> applicationType = applicationType(invokedType, method.getDeclaringClass());
+        String methodName = method.getName();
+        if (methodCount.incrementAndGet() > maxMethods) {
+            log.warn("More than {} instrumented methods, {}.{}() is recorded as '{}'", maxMethods, applicationType, methodName, OTHER);
+            methodName = OTHER;
+        }
+        Tags tags = Tags.of("class", applicationType.getSimpleName(), "method", methodName, "entity", entity(applicationType));
+        return new MethodMeters(applicationType.getPackage().getName(), tags);
+    }
+
+    private static String entity(Class<?> applicationType) {
+        if (Repository.class.isAssignableFrom(applicationType)) {
+            Class<?> domainType = ResolvableType.forClass(applicationType).as(Repository.class).getGeneric(0).resolve();
+            if (domainType != null) {
+                return domainType.getSimpleName();
+            }
+        }
+        String name = applicationType.getSimpleName();
+        for (String suffix : new String[] { "Repository", "Service", "Mapper" }) {
+            if (name.length() > suffix.length() && name.endsWith(suffix)) {
+                return name.substring(0, name.length() - suffix.length());
+            }
+        }
+        return "none";
+    }
+
+    private class MethodMeters {
+
+        private final String packageName;
+
+        private final Timer success;
+
+        private final Timer error;
+
+        private final Timer cancelled;
+
+        private final DistributionSummary elements;
+
+        private volatile long version = -1;
+
+        private volatile boolean enabled;
+
+        MethodMeters(String packageName, Tags tags) {
+            this.packageName = packageName;
+            this.success = timer(tags, "success");
+            this.error = timer(tags, "error");
+            this.cancelled = timer(tags, "cancelled");
+            this.elements =
+                DistributionSummary
+                    .builder("bugtracker.method.elements")
+                    .description("Elements emitted by repository and service methods")
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(Tags tags, String outcome) {
+            return Timer
+                .builder("bugtracker.method.duration")
+                .description("Time from subscription to termination of repository and service methods")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+        }
+
+        boolean isEnabled() {
+            long currentVersion = settings.getVersion();
+            if (version != currentVersion) {
+                enabled = settings.isEnabled(packageName);
+                version = currentVersion;
+            }
+            return enabled;
+        }
+    }
+}
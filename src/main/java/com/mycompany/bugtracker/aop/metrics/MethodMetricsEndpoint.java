@@ -0,0 +1,53 @@
+package com.mycompany.bugtracker.aop.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Actuator endpoint turning per-method metrics on and off by package, exposed as {@code /management/methodmetrics}.
+ * <ul>
+ *     <li>{@code GET} lists the configured packages;</li>
+ *     <li>{@code POST /{package}} with {@code {"enabled": false}} changes the setting of a package and its sub-packages;</li>
+ *     <li>{@code DELETE /{package}} makes a package inherit the setting of its parent again.</li>
+ * </ul>
+ */
+@Endpoint(id = "methodmetrics")
+public class MethodMetricsEndpoint {
+
+    private final MethodMetricsSettings settings;
+
+    public MethodMetricsEndpoint(MethodMetricsSettings settings) {
+        this.settings = settings;
+    }
+
+    @ReadOperation
+    public Map<String, Object> settings() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabledByDefault", settings.isEnabledByDefault());
+        result.put("packages", settings.getPackages());
+        return result;
+    }
+
+    @ReadOperation
+    public Map<String, Object> packageSettings(@Selector String packageName) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("package", packageName);
+        result.put("enabled", settings.isEnabled(packageName));
+        return result;
+    }
+
+    @WriteOperation
+    public void configurePackage(@Selector String packageName, boolean enabled) {
+        settings.setEnabled(packageName, enabled);
+    }
+
+    @DeleteOperation
+    public void resetPackage(@Selector String packageName) {
+        settings.reset(packageName);
+    }
+}
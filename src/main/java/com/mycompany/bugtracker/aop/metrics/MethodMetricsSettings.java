@@ -0,0 +1,63 @@
+package com.mycompany.bugtracker.aop.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Which packages get per-method metrics, changed at runtime through the {@link MethodMetricsEndpoint}.
+ * <p>
+ * A package inherits the setting of its closest configured parent package, or the default setting if none is
+ * configured. Every change bumps a version, so that callers can cache their decision until the next change.
+ */
+public class MethodMetricsSettings {
+
+    private final boolean enabledByDefault;
+
+    private final Map<String, Boolean> packages = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    public MethodMetricsSettings(boolean enabledByDefault, Map<String, Boolean> packages) {
+        this.enabledByDefault = enabledByDefault;
+        this.packages.putAll(packages);
+    }
+
+    public boolean isEnabled(String packageName) {
+        String current = packageName;
+        while (true) {
+            Boolean enabled = packages.get(current);
+            if (enabled != null) {
+                return enabled;
+            }
+            int lastDot = current.lastIndexOf('.');
+            if (lastDot < 0) {
+                return enabledByDefault;
+            }
+            current = current.substring(0, lastDot);
+        }
+    }
+
+    public void setEnabled(String packageName, boolean enabled) {
+        packages.put(packageName, enabled);
+        version.incrementAndGet();
+    }
+
+    public void reset(String packageName) {
+        packages.remove(packageName);
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public boolean isEnabledByDefault() {
+        return enabledByDefault;
+    }
+
+    public Map<String, Boolean> getPackages() {
+        return new TreeMap<>(packages);
+    }
+}
@@ -0,0 +1,28 @@
+package com.mycompany.bugtracker.aop.mongo;
+
+import com.mycompany.bugtracker.monitoring.CommandContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Aspect exposing the Reactor context of the request to the MongoDB driver while the repositories are subscribed to,
+ * and while they emit their signals, so that their commands are attributed to the request, see {@link CommandContext}.
+ */
+@Aspect
+public class CommandContextAspect {
+
+    @Around("execution(* com.mycompany.bugtracker.repository..*.*(..))")
+    public Object scopeCommandContext(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        if (result instanceof Mono) {
+            return CommandContext.scoped((Mono<?>) result);
+        }
+        if (result instanceof Flux) {
+            return CommandContext.scoped((Flux<?>) result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mycompany.bugtracker.aop.mongo;
+
+import com.mycompany.bugtracker.repository.ReadSettings;
+import com.mycompany.bugtracker.repository.support.MongoReadSettings;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Aspect passing the {@link ReadSettings} of repository methods to the
+ * {@link com.mycompany.bugtracker.repository.support.ReadSettingsReactiveMongoTemplate} through the Reactor context.
+ */
+@Aspect
+public class ReadSettingsAspect {
+
+    private final Map<Method, Optional<MongoReadSettings>> readSettings = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.mycompany.bugtracker.repository..*.*(..))")
+    public Object applyReadSettings(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Optional<MongoReadSettings> settings = readSettings.computeIfAbsent(
+            method,
+            m -> Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(m, ReadSettings.class)).map(MongoReadSettings::of)
+        );
+        Object result = joinPoint.proceed();
+        if (settings.isEmpty()) {
+            return result;
+        }
+        if (result instanceof Mono) {
+            return ((Mono<?>) result).contextWrite(settings.get()::putIn);
+        }
+        if (result instanceof Flux) {
+            return ((Flux<?>) result).contextWrite(settings.get()::putIn);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.bugtracker.aop.tracing;
+
+import static com.mycompany.bugtracker.aop.AspectSupport.applicationType;
+
+import com.mycompany.bugtracker.monitoring.CommandContext;
+import com.mycompany.bugtracker.monitoring.tracing.Span;
+import com.mycompany.bugtracker.monitoring.tracing.Tracer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Aspect creating a span for every invocation of the repositories, services and REST controllers, named after the
+ * class and the method, such as {@code TicketRepository.findAllBy}.
+ * <p>
+ * For {@link Mono} and {@link Flux} results, the span measures the time from subscription to termination, and is
+ * the parent of the spans created downstream, including the MongoDB commands. Spans are only created within a traced
+ * request, see {@link com.mycompany.bugtracker.web.filter.TracingWebFilter}.
+ */
+@Aspect
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    private final Map<Class<?>, Map<Method, String>> spanNames = new ConcurrentHashMap<>();
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Pointcut that matches all repositories, services except the mappers, and Web REST endpoints.
+     */
+    @Pointcut(
+        "execution(* com.mycompany.bugtracker.repository..*.*(..))" +
+        " || (within(com.mycompany.bugtracker.service..*) && !within(com.mycompany.bugtracker.service.mapper..*))" +
+        " || within(com.mycompany.bugtracker.web.rest..*)"
+    )
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    @Around("applicationPackagePointcut()")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        if (Mono.class.isAssignableFrom(returnType)) {
+            Mono<?> result = (Mono<?>) joinPoint.proceed();
+            return result != null ? tracer.trace(spanName(joinPoint), result) : null;
+        }
+        if (Flux.class.isAssignableFrom(returnType)) {
+            Flux<?> result = (Flux<?>) joinPoint.proceed();
+            return result != null ? tracer.trace(spanName(joinPoint), result) : null;
+        }
+        Span span = tracer.startSpan(spanName(joinPoint), Tracer.current());
+        if (span == null) {
+            return joinPoint.proceed();
+        }
+        try (CommandContext.Scope scope = Tracer.openScope(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private String spanName(ProceedingJoinPoint joinPoint) {
+        Class<?> invokedType = joinPoint.getThis() != null ? joinPoint.getThis().getClass() : joinPoint.getSignature().getDeclaringType();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return spanNames
+            .computeIfAbsent(invokedType, type -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, m -> applicationType(invokedType, m.getDeclaringClass()).getSimpleName() + "." + m.getName());
+    }
+}
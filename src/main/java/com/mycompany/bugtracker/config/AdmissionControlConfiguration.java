@@ -0,0 +1,57 @@
+package com.mycompany.bugtracker.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mycompany.bugtracker.web.filter.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adapts the API concurrency limit to the latency of MongoDB.
+ */
+@Configuration
+public class AdmissionControlConfiguration {
+
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.AdmissionControl.Concurrency concurrency = applicationProperties.getAdmissionControl().getConcurrency();
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(
+            concurrency.getInitialLimit(),
+            concurrency.getMinLimit(),
+            concurrency.getMaxLimit(),
+            concurrency.getSmoothing()
+        );
+        Gauge
+            .builder("bugtracker.admission.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+            .description("Maximum number of API requests in flight, adapted to the MongoDB latency")
+            .register(meterRegistry);
+        Gauge
+            .builder("bugtracker.admission.in.flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+            .description("Number of API requests in flight")
+            .register(meterRegistry);
+        return concurrencyLimit;
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer concurrencyLimitCommandListener(AdaptiveConcurrencyLimit concurrencyLimit) {
+        return builder ->
+            builder.addCommandListener(
+                new CommandListener() {
+                    @Override
+                    public void commandSucceeded(CommandSucceededEvent event) {
+                        concurrencyLimit.onSample(event.getElapsedTime(TimeUnit.NANOSECONDS));
+                    }
+
+                    @Override
+                    public void commandFailed(CommandFailedEvent event) {
+                        concurrencyLimit.onSample(event.getElapsedTime(TimeUnit.NANOSECONDS));
+                    }
+                }
+            );
+    }
+}
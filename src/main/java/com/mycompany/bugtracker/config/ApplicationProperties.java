@@ -1,6 +1,12 @@
 package com.mycompany.bugtracker.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Bug Tracker J Hipster.
@@ -9,4 +15,831 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Security security = new Security();
+
+    private final AdmissionControl admissionControl = new AdmissionControl();
+
+    private final LoggingAspect loggingAspect = new LoggingAspect();
+
+    private final MethodMetrics methodMetrics = new MethodMetrics();
+
+    private final MongoMonitoring mongoMonitoring = new MongoMonitoring();
+
+    private final Mongodb mongodb = new Mongodb();
+
+    private final Tracing tracing = new Tracing();
+
+    private final RequestCost requestCost = new RequestCost();
+
+    private final BinaryCodecs binaryCodecs = new BinaryCodecs();
+
+    private final BulkJobs bulkJobs = new BulkJobs();
+
+    private final TicketArchive ticketArchive = new TicketArchive();
+
+    private final TicketDescription ticketDescription = new TicketDescription();
+
+    private final Attachments attachments = new Attachments();
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public AdmissionControl getAdmissionControl() {
+        return admissionControl;
+    }
+
+    public LoggingAspect getLoggingAspect() {
+        return loggingAspect;
+    }
+
+    public MethodMetrics getMethodMetrics() {
+        return methodMetrics;
+    }
+
+    public MongoMonitoring getMongoMonitoring() {
+        return mongoMonitoring;
+    }
+
+    public Mongodb getMongodb() {
+        return mongodb;
+    }
+
+    public Tracing getTracing() {
+        return tracing;
+    }
+
+    public RequestCost getRequestCost() {
+        return requestCost;
+    }
+
+    public BinaryCodecs getBinaryCodecs() {
+        return binaryCodecs;
+    }
+
+    public BulkJobs getBulkJobs() {
+        return bulkJobs;
+    }
+
+    public TicketArchive getTicketArchive() {
+        return ticketArchive;
+    }
+
+    public TicketDescription getTicketDescription() {
+        return ticketDescription;
+    }
+
+    public Attachments getAttachments() {
+        return attachments;
+    }
+
+    public static class Security {
+
+        private final RefreshToken refreshToken = new RefreshToken();
+
+        private final PasswordHashing passwordHashing = new PasswordHashing();
+
+        private final LoginRateLimit loginRateLimit = new LoginRateLimit();
+
+        public RefreshToken getRefreshToken() {
+            return refreshToken;
+        }
+
+        public PasswordHashing getPasswordHashing() {
+            return passwordHashing;
+        }
+
+        public LoginRateLimit getLoginRateLimit() {
+            return loginRateLimit;
+        }
+
+        public static class RefreshToken {
+
+            private long tokenValidityInSeconds = 604800;
+
+            private long tokenValidityInSecondsForRememberMe = 2592000;
+
+            public long getTokenValidityInSeconds() {
+                return tokenValidityInSeconds;
+            }
+
+            public void setTokenValidityInSeconds(long tokenValidityInSeconds) {
+                this.tokenValidityInSeconds = tokenValidityInSeconds;
+            }
+
+            public long getTokenValidityInSecondsForRememberMe() {
+                return tokenValidityInSecondsForRememberMe;
+            }
+
+            public void setTokenValidityInSecondsForRememberMe(long tokenValidityInSecondsForRememberMe) {
+                this.tokenValidityInSecondsForRememberMe = tokenValidityInSecondsForRememberMe;
+            }
+        }
+
+        public static class PasswordHashing {
+
+            private int poolSize = Runtime.getRuntime().availableProcessors();
+
+            private int queueCapacity = 256;
+
+            private Integer strength;
+
+            private Duration targetLatency = Duration.ofMillis(100);
+
+            private int minStrength = 10;
+
+            private int maxStrength = 14;
+
+            public int getPoolSize() {
+                return poolSize;
+            }
+
+            public void setPoolSize(int poolSize) {
+                this.poolSize = poolSize;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public Integer getStrength() {
+                return strength;
+            }
+
+            public void setStrength(Integer strength) {
+                this.strength = strength;
+            }
+
+            public Duration getTargetLatency() {
+                return targetLatency;
+            }
+
+            public void setTargetLatency(Duration targetLatency) {
+                this.targetLatency = targetLatency;
+            }
+
+            public int getMinStrength() {
+                return minStrength;
+            }
+
+            public void setMinStrength(int minStrength) {
+                this.minStrength = minStrength;
+            }
+
+            public int getMaxStrength() {
+                return maxStrength;
+            }
+
+            public void setMaxStrength(int maxStrength) {
+                this.maxStrength = maxStrength;
+            }
+        }
+
+        public static class LoginRateLimit {
+
+            private boolean enabled = true;
+
+            private int maxEntries = 100000;
+
+            private final TokenBucket ip = new TokenBucket(30, Duration.ofSeconds(2));
+
+            private final TokenBucket login = new TokenBucket(10, Duration.ofSeconds(30));
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public TokenBucket getIp() {
+                return ip;
+            }
+
+            public TokenBucket getLogin() {
+                return login;
+            }
+        }
+    }
+
+    public static class AdmissionControl {
+
+        private boolean enabled = true;
+
+        private int maxEntries = 100000;
+
+        private final TokenBucket user = new TokenBucket(200, Duration.ofMillis(50));
+
+        private int userMaxConcurrency = 20;
+
+        private List<Route> routes = new ArrayList<>();
+
+        private final Concurrency concurrency = new Concurrency();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public TokenBucket getUser() {
+            return user;
+        }
+
+        public int getUserMaxConcurrency() {
+            return userMaxConcurrency;
+        }
+
+        public void setUserMaxConcurrency(int userMaxConcurrency) {
+            this.userMaxConcurrency = userMaxConcurrency;
+        }
+
+        public List<Route> getRoutes() {
+            return routes;
+        }
+
+        public void setRoutes(List<Route> routes) {
+            this.routes = routes;
+        }
+
+        public Concurrency getConcurrency() {
+            return concurrency;
+        }
+
+        public static class Route extends TokenBucket {
+
+            private String pattern;
+
+            public String getPattern() {
+                return pattern;
+            }
+
+            public void setPattern(String pattern) {
+                this.pattern = pattern;
+            }
+        }
+
+        public static class Concurrency {
+
+            private int initialLimit = 100;
+
+            private int minLimit = 20;
+
+            private int maxLimit = 1000;
+
+            private double smoothing = 0.2;
+
+            public int getInitialLimit() {
+                return initialLimit;
+            }
+
+            public void setInitialLimit(int initialLimit) {
+                this.initialLimit = initialLimit;
+            }
+
+            public int getMinLimit() {
+                return minLimit;
+            }
+
+            public void setMinLimit(int minLimit) {
+                this.minLimit = minLimit;
+            }
+
+            public int getMaxLimit() {
+                return maxLimit;
+            }
+
+            public void setMaxLimit(int maxLimit) {
+                this.maxLimit = maxLimit;
+            }
+
+            public double getSmoothing() {
+                return smoothing;
+            }
+
+            public void setSmoothing(double smoothing) {
+                this.smoothing = smoothing;
+            }
+        }
+    }
+
+    public static class LoggingAspect {
+
+        private boolean enabled = false;
+
+        private double sampleRate = 1.0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    public static class MethodMetrics {
+
+        private boolean enabled = true;
+
+        private boolean enabledByDefault = true;
+
+        private Map<String, Boolean> packages = new HashMap<>();
+
+        private int maxMethods = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isEnabledByDefault() {
+            return enabledByDefault;
+        }
+
+        public void setEnabledByDefault(boolean enabledByDefault) {
+            this.enabledByDefault = enabledByDefault;
+        }
+
+        public Map<String, Boolean> getPackages() {
+            return packages;
+        }
+
+        public void setPackages(Map<String, Boolean> packages) {
+            this.packages = packages;
+        }
+
+        public int getMaxMethods() {
+            return maxMethods;
+        }
+
+        public void setMaxMethods(int maxMethods) {
+            this.maxMethods = maxMethods;
+        }
+    }
+
+    public static class MongoMonitoring {
+
+        private Duration slowQueryThreshold = Duration.ofMillis(100);
+
+        private int maxMeters = 200;
+
+        public Duration getSlowQueryThreshold() {
+            return slowQueryThreshold;
+        }
+
+        public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+            this.slowQueryThreshold = slowQueryThreshold;
+        }
+
+        public int getMaxMeters() {
+            return maxMeters;
+        }
+
+        public void setMaxMeters(int maxMeters) {
+            this.maxMeters = maxMeters;
+        }
+    }
+
+    /**
+     * Settings of the MongoDB clients. Unset values keep the value of the connection string or the driver default.
+     */
+    public static class Mongodb {
+
+        private final Pool pool = new Pool();
+
+        private final Socket socket = new Socket();
+
+        private List<String> compressors = new ArrayList<>();
+
+        private Integer zlibLevel;
+
+        private Map<String, String> storageCompressors = new HashMap<>();
+
+        public Pool getPool() {
+            return pool;
+        }
+
+        public Socket getSocket() {
+            return socket;
+        }
+
+        /**
+         * @return the wire compressors offered to the server, by order of preference: {@code zstd}, {@code snappy} or
+         * {@code zlib}.
+         */
+        public List<String> getCompressors() {
+            return compressors;
+        }
+
+        public void setCompressors(List<String> compressors) {
+            this.compressors = compressors;
+        }
+
+        public Integer getZlibLevel() {
+            return zlibLevel;
+        }
+
+        public void setZlibLevel(Integer zlibLevel) {
+            this.zlibLevel = zlibLevel;
+        }
+
+        /**
+         * @return the WiredTiger block compressors of the collections, by collection name: {@code none}, {@code snappy},
+         * {@code zlib} or {@code zstd}.
+         */
+        public Map<String, String> getStorageCompressors() {
+            return storageCompressors;
+        }
+
+        public void setStorageCompressors(Map<String, String> storageCompressors) {
+            this.storageCompressors = storageCompressors;
+        }
+
+        public static class Pool {
+
+            private Integer minSize;
+
+            private Integer maxSize;
+
+            private Duration maxWaitTime;
+
+            private Duration maxConnectionIdleTime;
+
+            private Duration maxConnectionLifeTime;
+
+            private double saturationThreshold = 0.9;
+
+            public Integer getMinSize() {
+                return minSize;
+            }
+
+            public void setMinSize(Integer minSize) {
+                this.minSize = minSize;
+            }
+
+            public Integer getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(Integer maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public Duration getMaxWaitTime() {
+                return maxWaitTime;
+            }
+
+            public void setMaxWaitTime(Duration maxWaitTime) {
+                this.maxWaitTime = maxWaitTime;
+            }
+
+            public Duration getMaxConnectionIdleTime() {
+                return maxConnectionIdleTime;
+            }
+
+            public void setMaxConnectionIdleTime(Duration maxConnectionIdleTime) {
+                this.maxConnectionIdleTime = maxConnectionIdleTime;
+            }
+
+            public Duration getMaxConnectionLifeTime() {
+                return maxConnectionLifeTime;
+            }
+
+            public void setMaxConnectionLifeTime(Duration maxConnectionLifeTime) {
+                this.maxConnectionLifeTime = maxConnectionLifeTime;
+            }
+
+            public double getSaturationThreshold() {
+                return saturationThreshold;
+            }
+
+            public void setSaturationThreshold(double saturationThreshold) {
+                this.saturationThreshold = saturationThreshold;
+            }
+        }
+
+        public static class Socket {
+
+            private Duration connectTimeout;
+
+            private Duration readTimeout;
+
+            public Duration getConnectTimeout() {
+                return connectTimeout;
+            }
+
+            public void setConnectTimeout(Duration connectTimeout) {
+                this.connectTimeout = connectTimeout;
+            }
+
+            public Duration getReadTimeout() {
+                return readTimeout;
+            }
+
+            public void setReadTimeout(Duration readTimeout) {
+                this.readTimeout = readTimeout;
+            }
+        }
+    }
+
+    public static class Tracing {
+
+        private boolean enabled = false;
+
+        private double sampleRate = 1.0;
+
+        private Exporter exporter = Exporter.LOG;
+
+        private final Zipkin zipkin = new Zipkin();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public Exporter getExporter() {
+            return exporter;
+        }
+
+        public void setExporter(Exporter exporter) {
+            this.exporter = exporter;
+        }
+
+        public Zipkin getZipkin() {
+            return zipkin;
+        }
+
+        public enum Exporter {
+            LOG,
+            ZIPKIN
+        }
+
+        public static class Zipkin {
+
+            private String endpoint = "http://localhost:9411/api/v2/spans";
+
+            private int maxQueueSize = 10000;
+
+            private Duration flushInterval = Duration.ofSeconds(1);
+
+            public String getEndpoint() {
+                return endpoint;
+            }
+
+            public void setEndpoint(String endpoint) {
+                this.endpoint = endpoint;
+            }
+
+            public int getMaxQueueSize() {
+                return maxQueueSize;
+            }
+
+            public void setMaxQueueSize(int maxQueueSize) {
+                this.maxQueueSize = maxQueueSize;
+            }
+
+            public Duration getFlushInterval() {
+                return flushInterval;
+            }
+
+            public void setFlushInterval(Duration flushInterval) {
+                this.flushInterval = flushInterval;
+            }
+        }
+    }
+
+    public static class RequestCost {
+
+        private boolean enabled = false;
+
+        private boolean header = true;
+
+        private boolean log = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isHeader() {
+            return header;
+        }
+
+        public void setHeader(boolean header) {
+            this.header = header;
+        }
+
+        public boolean isLog() {
+            return log;
+        }
+
+        public void setLog(boolean log) {
+            this.log = log;
+        }
+    }
+
+    public static class BinaryCodecs {
+
+        private boolean enabled = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class BulkJobs {
+
+        private int chunkSize = 500;
+
+        private Duration chunkDelay = Duration.ofMillis(50);
+
+        private Duration staleAfter = Duration.ofMinutes(10);
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public Duration getChunkDelay() {
+            return chunkDelay;
+        }
+
+        public void setChunkDelay(Duration chunkDelay) {
+            this.chunkDelay = chunkDelay;
+        }
+
+        public Duration getStaleAfter() {
+            return staleAfter;
+        }
+
+        public void setStaleAfter(Duration staleAfter) {
+            this.staleAfter = staleAfter;
+        }
+    }
+
+    public static class TicketArchive {
+
+        /**
+         * When the tickets are archived, read by the {@code @Scheduled} annotation: {@code -} disables the archival.
+         */
+        private String cron = "0 30 2 * * ?";
+
+        private Duration minAge = Duration.ofDays(365);
+
+        private boolean doneOnly = true;
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public Duration getMinAge() {
+            return minAge;
+        }
+
+        public void setMinAge(Duration minAge) {
+            this.minAge = minAge;
+        }
+
+        public boolean isDoneOnly() {
+            return doneOnly;
+        }
+
+        public void setDoneOnly(boolean doneOnly) {
+            this.doneOnly = doneOnly;
+        }
+    }
+
+    public static class TicketDescription {
+
+        /**
+         * Descriptions longer than that, in UTF-8, are stored compressed in the {@code ticket_description} collection.
+         */
+        private DataSize offloadThreshold = DataSize.ofKilobytes(16);
+
+        private int previewLength = 500;
+
+        public DataSize getOffloadThreshold() {
+            return offloadThreshold;
+        }
+
+        public void setOffloadThreshold(DataSize offloadThreshold) {
+            this.offloadThreshold = offloadThreshold;
+        }
+
+        public int getPreviewLength() {
+            return previewLength;
+        }
+
+        public void setPreviewLength(int previewLength) {
+            this.previewLength = previewLength;
+        }
+    }
+
+    public static class Attachments {
+
+        private DataSize maxSize = DataSize.ofMegabytes(10);
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    /**
+     * A token bucket holding up to {@code capacity} tokens and regaining one token every {@code refillPeriod}.
+     */
+    public static class TokenBucket {
+
+        private int capacity;
+
+        private Duration refillPeriod;
+
+        public TokenBucket() {}
+
+        public TokenBucket(int capacity, Duration refillPeriod) {
+            this.capacity = capacity;
+            this.refillPeriod = refillPeriod;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getRefillPeriod() {
+            return refillPeriod;
+        }
+
+        public void setRefillPeriod(Duration refillPeriod) {
+            this.refillPeriod = refillPeriod;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.mycompany.bugtracker.config;
 
+import com.mycompany.bugtracker.monitoring.CommandContext;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +37,8 @@ public class AsyncConfiguration implements AsyncConfigurer {
         executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
         executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
         executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
+        // Runs the @Async methods, such as the mail sending, in the context of their caller, traced under its span
+        executor.setTaskDecorator(CommandContext::propagate);
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
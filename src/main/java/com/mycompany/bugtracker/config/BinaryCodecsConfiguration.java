@@ -0,0 +1,90 @@
+package com.mycompany.bugtracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.List;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lets the clients exchange CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) bodies
+ * instead of JSON, through the {@code Accept} and {@code Content-Type} headers.
+ * <p>
+ * Both formats are binary encodings of the JSON data model: they are serialized with the same modules and settings as
+ * JSON, see {@link JacksonConfiguration}, and are smaller and faster to encode and parse for large pages of entities.
+ * JSON stays the format of the requests that don't ask for another one.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.binary-codecs", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BinaryCodecsConfiguration {
+
+    /**
+     * Custom writers come before the default JSON writer: the lower quality keeps JSON the preferred format of the
+     * clients accepting any format, such as {@code Accept: *}{@code /*}.
+     */
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor;q=0.9");
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Bean
+    public CodecCustomizer binaryCodecsCustomizer(Jackson2ObjectMapperBuilder builder) {
+        // The builder is a prototype bean, customized with the Jackson modules and the spring.jackson properties
+        ObjectMapper cborMapper = builder.factory(new CBORFactory()).build();
+        ObjectMapper smileMapper = builder.factory(new SmileFactory()).build();
+        // Without explicit MIME types, the Jackson codecs would claim the JSON ones
+        return configurer -> {
+            // Smile is a default codec, registered after JSON
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, SMILE));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE));
+            configurer.customCodecs().registerWithDefaultConfig(new CborEncoder(cborMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+        };
+    }
+
+    /**
+     * CBOR encoder writing single values, and streams of values as arrays, as the Spring encoder only supports
+     * {@link #encodeValue}.
+     */
+    private static final class CborEncoder extends Jackson2CborEncoder {
+
+        CborEncoder(ObjectMapper mapper) {
+            super(mapper, CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(
+            Publisher<?> inputStream,
+            DataBufferFactory bufferFactory,
+            ResolvableType elementType,
+            MimeType mimeType,
+            Map<String, Object> hints
+        ) {
+            if (inputStream instanceof Mono) {
+                return Mono.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+            return Flux
+                .from(inputStream)
+                .collectList()
+                .map(values -> encodeValue(values, bufferFactory, listType, mimeType, hints))
+                .flux();
+        }
+    }
+}
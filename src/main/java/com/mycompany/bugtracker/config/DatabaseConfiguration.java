@@ -1,20 +1,35 @@
 package com.mycompany.bugtracker.config;
 
 import com.github.cloudyrock.spring.v5.EnableMongock;
+import com.mongodb.MongoCompressor;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.SocketSettings;
+import com.mycompany.bugtracker.aop.mongo.ReadSettingsAspect;
+import com.mycompany.bugtracker.repository.support.ReadSettingsReactiveMongoTemplate;
+import com.mycompany.bugtracker.repository.support.ExtendedReactiveMongoRepository;
+import com.mycompany.bugtracker.service.TicketAttachmentService;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 import org.springframework.data.mongodb.core.mapping.event.ValidatingMongoEventListener;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsTemplate;
 import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+import org.springframework.util.ClassUtils;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import tech.jhipster.config.JHipsterConstants;
 import tech.jhipster.domain.util.JSR310DateConverters.DateToZonedDateTimeConverter;
@@ -22,11 +37,20 @@ import tech.jhipster.domain.util.JSR310DateConverters.ZonedDateTimeToDateConvert
 
 @Configuration
 @EnableMongock
-@EnableReactiveMongoRepositories("com.mycompany.bugtracker.repository")
+@EnableReactiveMongoRepositories(
+    basePackages = "com.mycompany.bugtracker.repository",
+    repositoryBaseClass = ExtendedReactiveMongoRepository.class
+)
 @Profile("!" + JHipsterConstants.SPRING_PROFILE_CLOUD)
 @Import(value = { MongoAutoConfiguration.class, MongoReactiveAutoConfiguration.class })
 public class DatabaseConfiguration {
 
+    private final ApplicationProperties applicationProperties;
+
+    public DatabaseConfiguration(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
     @Bean
     public ValidatingMongoEventListener validatingMongoEventListener() {
         return new ValidatingMongoEventListener(validator());
@@ -44,4 +68,99 @@ public class DatabaseConfiguration {
         converters.add(ZonedDateTimeToDateConverter.INSTANCE);
         return new MongoCustomConversions(converters);
     }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientSettingsCustomizer() {
+        ApplicationProperties.Mongodb mongodb = applicationProperties.getMongodb();
+        List<MongoCompressor> compressors = compressors(mongodb);
+        return builder ->
+            builder
+                .applyToConnectionPoolSettings(pool -> configurePool(pool, mongodb.getPool()))
+                .applyToSocketSettings(socket -> configureSocket(socket, mongodb.getSocket()))
+                .compressorList(compressors);
+    }
+
+    /**
+     * Creates the wire compressors offered to the server, which uses the first one it also supports. Fails on startup
+     * when the library of a compressor is missing, rather than on the first connection.
+     */
+    public static List<MongoCompressor> compressors(ApplicationProperties.Mongodb mongodb) {
+        List<MongoCompressor> compressors = new ArrayList<>();
+        for (String name : mongodb.getCompressors()) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "zstd":
+                    requireLibrary("zstd", "com.github.luben.zstd.Zstd");
+                    compressors.add(MongoCompressor.createZstdCompressor());
+                    break;
+                case "snappy":
+                    requireLibrary("snappy", "org.xerial.snappy.Snappy");
+                    compressors.add(MongoCompressor.createSnappyCompressor());
+                    break;
+                case "zlib":
+                    MongoCompressor zlib = MongoCompressor.createZlibCompressor();
+                    if (mongodb.getZlibLevel() != null) {
+                        zlib = zlib.withProperty(MongoCompressor.LEVEL, mongodb.getZlibLevel());
+                    }
+                    compressors.add(zlib);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown MongoDB compressor: " + name);
+            }
+        }
+        return compressors;
+    }
+
+    private static void requireLibrary(String compressor, String className) {
+        if (!ClassUtils.isPresent(className, DatabaseConfiguration.class.getClassLoader())) {
+            throw new IllegalStateException("The MongoDB " + compressor + " compressor needs " + className + " in the classpath");
+        }
+    }
+
+    private static void configurePool(ConnectionPoolSettings.Builder builder, ApplicationProperties.Mongodb.Pool pool) {
+        if (pool.getMinSize() != null) {
+            builder.minSize(pool.getMinSize());
+        }
+        if (pool.getMaxSize() != null) {
+            builder.maxSize(pool.getMaxSize());
+        }
+        if (pool.getMaxWaitTime() != null) {
+            builder.maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (pool.getMaxConnectionIdleTime() != null) {
+            builder.maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (pool.getMaxConnectionLifeTime() != null) {
+            builder.maxConnectionLifeTime(pool.getMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void configureSocket(SocketSettings.Builder builder, ApplicationProperties.Mongodb.Socket socket) {
+        if (socket.getConnectTimeout() != null) {
+            builder.connectTimeout((int) socket.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (socket.getReadTimeout() != null) {
+            builder.readTimeout((int) socket.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Applies the {@link com.mycompany.bugtracker.repository.ReadSettings} of the repository methods.
+     */
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory, MongoConverter converter) {
+        return new ReadSettingsReactiveMongoTemplate(reactiveMongoDatabaseFactory, converter);
+    }
+
+    /**
+     * The GridFS bucket of the ticket attachments.
+     */
+    @Bean
+    public ReactiveGridFsTemplate attachmentGridFsTemplate(ReactiveMongoDatabaseFactory reactiveMongoDatabaseFactory, MongoConverter converter) {
+        return new ReactiveGridFsTemplate(reactiveMongoDatabaseFactory, converter, TicketAttachmentService.BUCKET);
+    }
+
+    @Bean
+    public ReadSettingsAspect readSettingsAspect() {
+        return new ReadSettingsAspect();
+    }
 }
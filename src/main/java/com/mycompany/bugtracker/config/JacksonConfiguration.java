@@ -2,6 +2,8 @@ package com.mycompany.bugtracker.config;
 
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.bugtracker.web.rest.util.SparseFieldsetFilter;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.zalando.problem.ProblemModule;
@@ -39,4 +41,13 @@ public class JacksonConfiguration {
     public ConstraintViolationProblemModule constraintViolationProblemModule() {
         return new ConstraintViolationProblemModule();
     }
+
+    /*
+     * Filter of the entities and DTOs, serializing the properties selected by the fields parameter of the REST resources.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetCustomizer() {
+        return builder ->
+            builder.filters(SparseFieldsetFilter.defaultFilterProvider()).annotationIntrospector(SparseFieldsetFilter::withFilterIds);
+    }
 }
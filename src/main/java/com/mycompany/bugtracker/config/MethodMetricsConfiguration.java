@@ -0,0 +1,36 @@
+package com.mycompany.bugtracker.config;
+
+import com.mycompany.bugtracker.aop.metrics.MethodMetricsAspect;
+import com.mycompany.bugtracker.aop.metrics.MethodMetricsEndpoint;
+import com.mycompany.bugtracker.aop.metrics.MethodMetricsSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.method-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MethodMetricsConfiguration {
+
+    @Bean
+    public MethodMetricsSettings methodMetricsSettings(ApplicationProperties applicationProperties) {
+        ApplicationProperties.MethodMetrics methodMetrics = applicationProperties.getMethodMetrics();
+        return new MethodMetricsSettings(methodMetrics.isEnabledByDefault(), methodMetrics.getPackages());
+    }
+
+    @Bean
+    public MethodMetricsAspect methodMetricsAspect(
+        MeterRegistry meterRegistry,
+        MethodMetricsSettings methodMetricsSettings,
+        ApplicationProperties applicationProperties
+    ) {
+        return new MethodMetricsAspect(meterRegistry, methodMetricsSettings, applicationProperties.getMethodMetrics().getMaxMethods());
+    }
+
+    @Bean
+    public MethodMetricsEndpoint methodMetricsEndpoint(MethodMetricsSettings methodMetricsSettings) {
+        return new MethodMetricsEndpoint(methodMetricsSettings);
+    }
+}
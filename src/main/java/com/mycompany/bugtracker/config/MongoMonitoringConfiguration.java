@@ -0,0 +1,76 @@
+package com.mycompany.bugtracker.config;
+
+import com.mycompany.bugtracker.aop.mongo.CommandContextAspect;
+import com.mycompany.bugtracker.monitoring.ContextualCommandListener;
+import com.mycompany.bugtracker.monitoring.MongoCommandContextListener;
+import com.mycompany.bugtracker.monitoring.MongoCommandMetricsListener;
+import com.mycompany.bugtracker.monitoring.MongoConnectionPoolHealthIndicator;
+import com.mycompany.bugtracker.monitoring.MongoConnectionPoolStatistics;
+import com.mycompany.bugtracker.monitoring.MongoConnectionPoolWaitListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+/**
+ * Instruments the commands and connection pools of both the blocking and the reactive MongoDB clients.
+ * <p>
+ * The commands are attributed to the requests that sent them by a single {@link MongoCommandContextListener}, which
+ * notifies every {@link ContextualCommandListener} bean, such as the metrics, the tracing and the request cost.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+public class MongoMonitoringConfiguration {
+
+    @Bean
+    public MongoCommandMetricsListener mongoCommandMetricsListener(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.MongoMonitoring mongoMonitoring = applicationProperties.getMongoMonitoring();
+        return new MongoCommandMetricsListener(meterRegistry, mongoMonitoring.getSlowQueryThreshold(), mongoMonitoring.getMaxMeters());
+    }
+
+    @Bean
+    public CommandContextAspect commandContextAspect() {
+        return new CommandContextAspect();
+    }
+
+    @Bean
+    public MongoConnectionPoolWaitListener mongoConnectionPoolWaitListener(MeterRegistry meterRegistry) {
+        return new MongoConnectionPoolWaitListener(meterRegistry);
+    }
+
+    @Bean
+    public MongoConnectionPoolStatistics mongoConnectionPoolStatistics() {
+        return new MongoConnectionPoolStatistics();
+    }
+
+    @Bean
+    public MongoConnectionPoolHealthIndicator mongoConnectionPoolHealthIndicator(
+        MongoConnectionPoolStatistics connectionPoolStatistics,
+        ApplicationProperties applicationProperties
+    ) {
+        return new MongoConnectionPoolHealthIndicator(
+            connectionPoolStatistics,
+            applicationProperties.getMongodb().getPool().getSaturationThreshold()
+        );
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoMonitoringCustomizer(
+        ObjectProvider<ContextualCommandListener<?>> commandListeners,
+        MongoConnectionPoolWaitListener connectionPoolWaitListener,
+        MongoConnectionPoolStatistics connectionPoolStatistics
+    ) {
+        MongoCommandContextListener commandListener = new MongoCommandContextListener(
+            commandListeners.orderedStream().collect(Collectors.toList())
+        );
+        return builder ->
+            builder
+                .addCommandListener(commandListener)
+                .applyToConnectionPoolSettings(connectionPool ->
+                    connectionPool.addConnectionPoolListener(connectionPoolWaitListener).addConnectionPoolListener(connectionPoolStatistics)
+                );
+    }
+}
@@ -0,0 +1,32 @@
+package com.mycompany.bugtracker.config;
+
+import com.mycompany.bugtracker.security.PasswordHashingExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class PasswordHashingConfiguration {
+
+    public static final String PASSWORD_HASHING_SCHEDULER = "passwordHashingScheduler";
+
+    private final Logger log = LoggerFactory.getLogger(PasswordHashingConfiguration.class);
+
+    @Bean(name = PASSWORD_HASHING_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler passwordHashingScheduler(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Security.PasswordHashing passwordHashing = applicationProperties.getSecurity().getPasswordHashing();
+        log.debug(
+            "Creating password hashing scheduler with {} thread(s) and a queue of {}",
+            passwordHashing.getPoolSize(),
+            passwordHashing.getQueueCapacity()
+        );
+        return Schedulers.fromExecutorService(
+            new PasswordHashingExecutor(passwordHashing.getPoolSize(), passwordHashing.getQueueCapacity(), meterRegistry),
+            "password-hashing"
+        );
+    }
+}
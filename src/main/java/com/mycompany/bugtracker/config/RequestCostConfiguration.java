@@ -0,0 +1,34 @@
+package com.mycompany.bugtracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.bugtracker.monitoring.CostAccountingJackson2JsonEncoder;
+import com.mycompany.bugtracker.monitoring.MongoRequestCostListener;
+import com.mycompany.bugtracker.web.filter.RequestCostFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Accounts for the MongoDB round trips, documents and bytes, and the serialization time of every API request.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.request-cost", name = "enabled", havingValue = "true")
+public class RequestCostConfiguration {
+
+    @Bean
+    public RequestCostFilter requestCostFilter(ApplicationProperties applicationProperties) {
+        ApplicationProperties.RequestCost requestCost = applicationProperties.getRequestCost();
+        return new RequestCostFilter(requestCost.isHeader(), requestCost.isLog());
+    }
+
+    @Bean
+    public MongoRequestCostListener mongoRequestCostListener() {
+        return new MongoRequestCostListener();
+    }
+
+    @Bean
+    public CodecCustomizer costAccountingCodecCustomizer(ObjectMapper objectMapper) {
+        return configurer -> configurer.defaultCodecs().jackson2JsonEncoder(new CostAccountingJackson2JsonEncoder(objectMapper));
+    }
+}
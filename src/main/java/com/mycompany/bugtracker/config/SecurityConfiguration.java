@@ -2,10 +2,23 @@ package com.mycompany.bugtracker.config;
 
 import static org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers.pathMatchers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.bugtracker.monitoring.tracing.Tracer;
+import com.mycompany.bugtracker.security.AdaptivePasswordEncoder;
 import com.mycompany.bugtracker.security.AuthoritiesConstants;
 import com.mycompany.bugtracker.security.jwt.JWTFilter;
 import com.mycompany.bugtracker.security.jwt.TokenProvider;
+import com.mycompany.bugtracker.web.filter.AdaptiveConcurrencyLimit;
+import com.mycompany.bugtracker.web.filter.AdmissionControlFilter;
+import com.mycompany.bugtracker.web.filter.LoginRateLimitingFilter;
 import com.mycompany.bugtracker.web.filter.SpaWebFilter;
+import com.mycompany.bugtracker.web.filter.TokenBucketRateLimiter;
+import com.mycompany.bugtracker.web.filter.TracedWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
@@ -15,14 +28,17 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.header.ReferrerPolicyServerHttpHeadersWriter;
 import org.springframework.security.web.server.util.matcher.NegatedServerWebExchangeMatcher;
 import org.springframework.security.web.server.util.matcher.OrServerWebExchangeMatcher;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.util.pattern.PathPatternParser;
 import org.zalando.problem.spring.webflux.advice.security.SecurityProblemSupport;
+import reactor.core.scheduler.Scheduler;
 import tech.jhipster.config.JHipsterProperties;
 
 @EnableWebFluxSecurity
@@ -32,27 +48,63 @@ public class SecurityConfiguration {
 
     private final JHipsterProperties jHipsterProperties;
 
+    private final ApplicationProperties applicationProperties;
+
     private final ReactiveUserDetailsService userDetailsService;
 
+    private final ReactiveUserDetailsPasswordService userDetailsPasswordService;
+
     private final TokenProvider tokenProvider;
 
     private final SecurityProblemSupport problemSupport;
 
+    private final Scheduler passwordHashingScheduler;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final Tracer tracer;
+
     public SecurityConfiguration(
         ReactiveUserDetailsService userDetailsService,
+        ReactiveUserDetailsPasswordService userDetailsPasswordService,
         TokenProvider tokenProvider,
         JHipsterProperties jHipsterProperties,
-        SecurityProblemSupport problemSupport
+        ApplicationProperties applicationProperties,
+        SecurityProblemSupport problemSupport,
+        @Qualifier(PasswordHashingConfiguration.PASSWORD_HASHING_SCHEDULER) Scheduler passwordHashingScheduler,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        AdaptiveConcurrencyLimit concurrencyLimit,
+        ObjectProvider<Tracer> tracer
     ) {
         this.userDetailsService = userDetailsService;
+        this.userDetailsPasswordService = userDetailsPasswordService;
         this.tokenProvider = tokenProvider;
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
         this.problemSupport = problemSupport;
+        this.passwordHashingScheduler = passwordHashingScheduler;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.concurrencyLimit = concurrencyLimit;
+        this.tracer = tracer.getIfAvailable();
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        ApplicationProperties.Security.PasswordHashing passwordHashing = applicationProperties.getSecurity().getPasswordHashing();
+        if (passwordHashing.getStrength() != null) {
+            return new AdaptivePasswordEncoder(passwordHashing.getStrength());
+        }
+        return AdaptivePasswordEncoder.calibrated(
+            passwordHashing.getTargetLatency(),
+            passwordHashing.getMinStrength(),
+            passwordHashing.getMaxStrength()
+        );
     }
 
     @Bean
@@ -61,11 +113,65 @@ public class SecurityConfiguration {
             userDetailsService
         );
         authenticationManager.setPasswordEncoder(passwordEncoder());
+        authenticationManager.setScheduler(passwordHashingScheduler);
+        // Re-hashes the password on login when its BCrypt strength differs from the configured one
+        authenticationManager.setUserDetailsPasswordService(userDetailsPasswordService);
         return authenticationManager;
     }
 
+    private LoginRateLimitingFilter loginRateLimitingFilter() {
+        ApplicationProperties.Security.LoginRateLimit loginRateLimit = applicationProperties.getSecurity().getLoginRateLimit();
+        return new LoginRateLimitingFilter(
+            rateLimiter(loginRateLimit.getIp(), loginRateLimit.getMaxEntries()),
+            rateLimiter(loginRateLimit.getLogin(), loginRateLimit.getMaxEntries()),
+            objectMapper,
+            meterRegistry
+        );
+    }
+
+    private AdmissionControlFilter admissionControlFilter() {
+        ApplicationProperties.AdmissionControl admissionControl = applicationProperties.getAdmissionControl();
+        List<AdmissionControlFilter.RouteLimit> routeLimits = admissionControl
+            .getRoutes()
+            .stream()
+            .map(route ->
+                new AdmissionControlFilter.RouteLimit(
+                    PathPatternParser.defaultInstance.parse(route.getPattern()),
+                    rateLimiter(route, admissionControl.getMaxEntries())
+                )
+            )
+            .collect(Collectors.toList());
+        return new AdmissionControlFilter(
+            rateLimiter(admissionControl.getUser(), admissionControl.getMaxEntries()),
+            routeLimits,
+            admissionControl.getUserMaxConcurrency(),
+            concurrencyLimit,
+            objectMapper,
+            meterRegistry
+        );
+    }
+
+    /**
+     * Traces the time spent in the given filter when tracing is enabled.
+     */
+    private WebFilter traced(WebFilter filter) {
+        return tracer != null ? new TracedWebFilter(filter.getClass().getSimpleName(), filter, tracer) : filter;
+    }
+
+    private static TokenBucketRateLimiter rateLimiter(ApplicationProperties.TokenBucket bucket, int maxEntries) {
+        return new TokenBucketRateLimiter(bucket.getCapacity(), bucket.getRefillPeriod(), maxEntries);
+    }
+
     @Bean
     public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+        if (applicationProperties.getSecurity().getLoginRateLimit().isEnabled()) {
+            // Rejects brute-force attempts before the authentication manager hashes their password
+            http.addFilterBefore(traced(loginRateLimitingFilter()), SecurityWebFiltersOrder.AUTHENTICATION);
+        }
+        if (applicationProperties.getAdmissionControl().isEnabled()) {
+            // Sheds load once the caller is known and authorized, before the request reaches the controllers
+            http.addFilterAfter(traced(admissionControlFilter()), SecurityWebFiltersOrder.AUTHORIZATION);
+        }
         // @formatter:off
         http
             .securityMatcher(new NegatedServerWebExchangeMatcher(new OrServerWebExchangeMatcher(
@@ -74,8 +180,8 @@ public class SecurityConfiguration {
             )))
             .csrf()
                 .disable()
-            .addFilterAt(new SpaWebFilter(), SecurityWebFiltersOrder.AUTHENTICATION)
-            .addFilterAt(new JWTFilter(tokenProvider), SecurityWebFiltersOrder.HTTP_BASIC)
+            .addFilterAt(traced(new SpaWebFilter()), SecurityWebFiltersOrder.AUTHENTICATION)
+            .addFilterAt(traced(new JWTFilter(tokenProvider)), SecurityWebFiltersOrder.HTTP_BASIC)
             .authenticationManager(reactiveAuthenticationManager())
             .exceptionHandling()
                 .accessDeniedHandler(problemSupport)
@@ -94,6 +200,7 @@ public class SecurityConfiguration {
             .pathMatchers("/").permitAll()
             .pathMatchers("/*.*").permitAll()
             .pathMatchers("/api/authenticate").permitAll()
+            .pathMatchers("/api/authenticate/refresh").permitAll()
             .pathMatchers("/api/register").permitAll()
             .pathMatchers("/api/activate").permitAll()
             .pathMatchers("/api/account/reset-password/init").permitAll()
@@ -0,0 +1,76 @@
+package com.mycompany.bugtracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.bugtracker.aop.tracing.TracingAspect;
+import com.mycompany.bugtracker.monitoring.tracing.LoggingSpanExporter;
+import com.mycompany.bugtracker.monitoring.tracing.MongoTracingCommandListener;
+import com.mycompany.bugtracker.monitoring.tracing.SpanExporter;
+import com.mycompany.bugtracker.monitoring.tracing.Tracer;
+import com.mycompany.bugtracker.monitoring.tracing.ZipkinSpanExporter;
+import com.mycompany.bugtracker.web.filter.TracingWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Traces the requests from the HTTP edge down to the MongoDB commands.
+ * <p>
+ * Spans are sent to the exporter selected by {@code application.tracing.exporter}, unless the application defines its
+ * own {@link SpanExporter} bean.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.tracing", name = "enabled", havingValue = "true")
+public class TracingConfiguration {
+
+    private final ApplicationProperties.Tracing tracing;
+
+    private final String serviceName;
+
+    public TracingConfiguration(ApplicationProperties applicationProperties, @Value("${spring.application.name}") String serviceName) {
+        this.tracing = applicationProperties.getTracing();
+        this.serviceName = serviceName;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SpanExporter spanExporter(ObjectMapper objectMapper, WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        if (tracing.getExporter() == ApplicationProperties.Tracing.Exporter.ZIPKIN) {
+            ApplicationProperties.Tracing.Zipkin zipkin = tracing.getZipkin();
+            return new ZipkinSpanExporter(
+                webClientBuilder,
+                zipkin.getEndpoint(),
+                serviceName,
+                zipkin.getMaxQueueSize(),
+                zipkin.getFlushInterval(),
+                meterRegistry
+            );
+        }
+        return new LoggingSpanExporter(objectMapper, serviceName);
+    }
+
+    @Bean
+    public Tracer tracer(SpanExporter spanExporter) {
+        return new Tracer(spanExporter, tracing.getSampleRate());
+    }
+
+    @Bean
+    public TracingWebFilter tracingWebFilter(Tracer tracer) {
+        return new TracingWebFilter(tracer);
+    }
+
+    @Bean
+    public TracingAspect tracingAspect(Tracer tracer) {
+        return new TracingAspect(tracer);
+    }
+
+    @Bean
+    public MongoTracingCommandListener mongoTracingCommandListener(Tracer tracer) {
+        return new MongoTracingCommandListener(tracer);
+    }
+}
@@ -0,0 +1,35 @@
+package com.mycompany.bugtracker.config.dbmigrations;
+
+import com.github.cloudyrock.mongock.ChangeLog;
+import com.github.cloudyrock.mongock.ChangeSet;
+import com.github.cloudyrock.mongock.driver.mongodb.springdata.v3.decorator.impl.MongockTemplate;
+import com.mycompany.bugtracker.domain.BulkJob;
+import com.mycompany.bugtracker.domain.enumeration.BulkJobStatus;
+import com.mycompany.bugtracker.service.TicketArchiveService;
+import java.time.Duration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * Creates the indexes of the bulk job collection.
+ */
+@ChangeLog(order = "003")
+public class BulkJobMigration {
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-addBulkJobIndexes")
+    public void addBulkJobIndexes(MongockTemplate mongoTemplate) {
+        // Jobs are kept for a week, for their owners to look at the result
+        mongoTemplate.indexOps(BulkJob.class).ensureIndex(new Index().on("created_date", Sort.Direction.ASC).expire(Duration.ofDays(7)));
+    }
+
+    @ChangeSet(order = "02", author = "initiator", id = "02-addRunningTicketArchivalIndex")
+    public void addRunningTicketArchivalIndex(MongockTemplate mongoTemplate) {
+        // Only one ticket archival runs at a time, whichever instance starts it
+        Criteria running = Criteria.where("type").is(TicketArchiveService.JOB_TYPE).and("status").is(BulkJobStatus.RUNNING.name());
+        mongoTemplate
+            .indexOps(BulkJob.class)
+            .ensureIndex(new Index().on("type", Sort.Direction.ASC).unique().partial(PartialIndexFilter.of(running)));
+    }
+}
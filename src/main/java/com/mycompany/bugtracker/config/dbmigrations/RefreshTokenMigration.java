@@ -0,0 +1,24 @@
+package com.mycompany.bugtracker.config.dbmigrations;
+
+import com.github.cloudyrock.mongock.ChangeLog;
+import com.github.cloudyrock.mongock.ChangeSet;
+import com.github.cloudyrock.mongock.driver.mongodb.springdata.v3.decorator.impl.MongockTemplate;
+import com.mycompany.bugtracker.domain.RefreshToken;
+import java.time.Duration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Creates the indexes of the refresh token collection.
+ */
+@ChangeLog(order = "002")
+public class RefreshTokenMigration {
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-addRefreshTokenIndexes")
+    public void addRefreshTokenIndexes(MongockTemplate mongoTemplate) {
+        mongoTemplate.indexOps(RefreshToken.class).ensureIndex(new Index().on("token_hash", Sort.Direction.ASC).unique());
+        mongoTemplate.indexOps(RefreshToken.class).ensureIndex(new Index().on("login", Sort.Direction.ASC));
+        // Expired tokens are removed by MongoDB itself
+        mongoTemplate.indexOps(RefreshToken.class).ensureIndex(new Index().on("expiry_date", Sort.Direction.ASC).expire(Duration.ZERO));
+    }
+}
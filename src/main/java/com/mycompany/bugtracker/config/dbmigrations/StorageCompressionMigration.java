@@ -0,0 +1,66 @@
+package com.mycompany.bugtracker.config.dbmigrations;
+
+import com.github.cloudyrock.mongock.ChangeLog;
+import com.github.cloudyrock.mongock.ChangeSet;
+import com.github.cloudyrock.mongock.driver.mongodb.springdata.v3.decorator.impl.MongockTemplate;
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import io.changock.migration.api.annotations.NonLockGuarded;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the collections with the WiredTiger block compressor configured in {@code application.mongodb.storage-compressors},
+ * before any other changelog creates them.
+ * <p>
+ * The block compressor of a collection is fixed once it is created: an existing collection using another compressor is
+ * only reported, it takes the configured one once it is rebuilt (dumped, dropped and restored).
+ */
+@ChangeLog(order = "000")
+public class StorageCompressionMigration {
+
+    private static final String BLOCK_COMPRESSOR = "block_compressor=";
+
+    private static final String DEFAULT_COMPRESSOR = "snappy";
+
+    private final Logger log = LoggerFactory.getLogger(StorageCompressionMigration.class);
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-createCompressedCollections", runAlways = true)
+    public void createCompressedCollections(MongockTemplate mongoTemplate, @NonLockGuarded ApplicationProperties applicationProperties) {
+        for (Map.Entry<String, String> entry : applicationProperties.getMongodb().getStorageCompressors().entrySet()) {
+            String collection = entry.getKey();
+            String compressor = entry.getValue().trim();
+            if (!mongoTemplate.collectionExists(collection)) {
+                mongoTemplate.executeCommand(
+                    new Document("create", collection)
+                    .append("storageEngine", new Document("wiredTiger", new Document("configString", BLOCK_COMPRESSOR + compressor)))
+                );
+                log.info("Created collection {} with the {} block compressor", collection, compressor);
+            } else if (!blockCompressor(mongoTemplate, collection).equals(compressor)) {
+                log.warn("Collection {} must be rebuilt to use the {} block compressor", collection, compressor);
+            }
+        }
+    }
+
+    private static String blockCompressor(MongockTemplate mongoTemplate, String collection) {
+        Document result = mongoTemplate.executeCommand(
+            new Document("listCollections", 1).append("filter", new Document("name", collection))
+        );
+        List<Document> collections = result.get("cursor", Document.class).getList("firstBatch", Document.class);
+        String configString = collections
+            .get(0)
+            .get("options", new Document())
+            .get("storageEngine", new Document())
+            .get("wiredTiger", new Document())
+            .getString("configString");
+        int start = configString == null ? -1 : configString.indexOf(BLOCK_COMPRESSOR);
+        if (start < 0) {
+            // Created with the default compressor of the server
+            return DEFAULT_COMPRESSOR;
+        }
+        int end = configString.indexOf(',', start);
+        return configString.substring(start + BLOCK_COMPRESSOR.length(), end < 0 ? configString.length() : end);
+    }
+}
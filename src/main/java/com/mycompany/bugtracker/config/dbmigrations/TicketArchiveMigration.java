@@ -0,0 +1,21 @@
+package com.mycompany.bugtracker.config.dbmigrations;
+
+import com.github.cloudyrock.mongock.ChangeLog;
+import com.github.cloudyrock.mongock.ChangeSet;
+import com.github.cloudyrock.mongock.driver.mongodb.springdata.v3.decorator.impl.MongockTemplate;
+import com.mycompany.bugtracker.domain.Ticket;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Creates the index of the ticket archival.
+ */
+@ChangeLog(order = "004")
+public class TicketArchiveMigration {
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-addTicketArchivalIndex")
+    public void addTicketArchivalIndex(MongockTemplate mongoTemplate) {
+        // The archival reads the done tickets by chunks of ascending ids
+        mongoTemplate.indexOps(Ticket.class).ensureIndex(new Index().on("done", Sort.Direction.ASC).on("_id", Sort.Direction.ASC));
+    }
+}
@@ -0,0 +1,22 @@
+package com.mycompany.bugtracker.config.dbmigrations;
+
+import com.github.cloudyrock.mongock.ChangeLog;
+import com.github.cloudyrock.mongock.ChangeSet;
+import com.github.cloudyrock.mongock.driver.mongodb.springdata.v3.decorator.impl.MongockTemplate;
+import com.mycompany.bugtracker.service.TicketAttachmentService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Creates the index of the ticket attachments, GridFS creating the indexes of its own queries.
+ */
+@ChangeLog(order = "006")
+public class TicketAttachmentMigration {
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-addTicketAttachmentIndex")
+    public void addTicketAttachmentIndex(MongockTemplate mongoTemplate) {
+        mongoTemplate
+            .indexOps(TicketAttachmentService.BUCKET + ".files")
+            .ensureIndex(new Index().on("metadata.ticketId", Sort.Direction.ASC).on("uploadDate", Sort.Direction.ASC));
+    }
+}
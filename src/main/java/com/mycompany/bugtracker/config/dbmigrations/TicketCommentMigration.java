@@ -0,0 +1,23 @@
+package com.mycompany.bugtracker.config.dbmigrations;
+
+import com.github.cloudyrock.mongock.ChangeLog;
+import com.github.cloudyrock.mongock.ChangeSet;
+import com.github.cloudyrock.mongock.driver.mongodb.springdata.v3.decorator.impl.MongockTemplate;
+import com.mycompany.bugtracker.domain.TicketCommentBucket;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * Creates the index of the ticket comment buckets.
+ */
+@ChangeLog(order = "007")
+public class TicketCommentMigration {
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-addTicketCommentBucketIndex")
+    public void addTicketCommentBucketIndex(MongockTemplate mongoTemplate) {
+        // Serves the pages of comments, and prevents two appends from creating the same bucket
+        mongoTemplate
+            .indexOps(TicketCommentBucket.class)
+            .ensureIndex(new Index().on("ticket_id", Sort.Direction.ASC).on("seq", Sort.Direction.DESC).unique());
+    }
+}
@@ -0,0 +1,53 @@
+package com.mycompany.bugtracker.config.dbmigrations;
+
+import com.github.cloudyrock.mongock.ChangeLog;
+import com.github.cloudyrock.mongock.ChangeSet;
+import com.github.cloudyrock.mongock.driver.mongodb.springdata.v3.decorator.impl.MongockTemplate;
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import com.mycompany.bugtracker.repository.TicketArchiveRepository;
+import com.mycompany.bugtracker.repository.TicketDescriptionRepository;
+import io.changock.migration.api.annotations.NonLockGuarded;
+import java.util.Arrays;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+
+/**
+ * Moves the long descriptions of the existing tickets, archived ones included, to the {@code ticket_description}
+ * collection.
+ */
+@ChangeLog(order = "005")
+public class TicketDescriptionMigration {
+
+    @ChangeSet(order = "01", author = "initiator", id = "01-offloadLongDescriptions")
+    public void offloadLongDescriptions(MongockTemplate mongoTemplate, @NonLockGuarded ApplicationProperties applicationProperties) {
+        ApplicationProperties.TicketDescription properties = applicationProperties.getTicketDescription();
+        long threshold = properties.getOffloadThreshold().toBytes();
+        for (String collection : Arrays.asList("ticket", TicketArchiveRepository.COLLECTION_NAME)) {
+            Query query = new BasicQuery(
+                new Document(
+                    "$expr",
+                    new Document("$gt", Arrays.asList(new Document("$strLenBytes", new Document("$ifNull", Arrays.asList("$description", ""))), threshold))
+                )
+            );
+            query.fields().include("description");
+            try (CloseableIterator<Document> tickets = mongoTemplate.stream(query, Document.class, collection)) {
+                tickets.forEachRemaining(ticket -> {
+                    Object id = ticket.get("_id");
+                    String description = ticket.getString("description");
+                    mongoTemplate.save(TicketDescriptionRepository.document(id, description), TicketDescriptionRepository.COLLECTION_NAME);
+                    mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(id)),
+                        new Update()
+                            .set("description", TicketDescriptionRepository.preview(description, properties.getPreviewLength()))
+                            .set("description_truncated", true),
+                        collection
+                    );
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.mycompany.bugtracker.domain;
+
+import com.mycompany.bugtracker.domain.enumeration.BulkJobStatus;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import javax.validation.constraints.NotNull;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * A background job applying an operation to many entities, chunk by chunk.
+ * <p>
+ * The progress is stored after every chunk, so that the job can be polled and cancelled from any instance. With its
+ * parameters and the last id it processed, an interrupted job can also be resumed where it stopped.
+ */
+@Document(collection = "bulk_job")
+public class BulkJob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String id;
+
+    @NotNull
+    @Field("type")
+    private String type;
+
+    @NotNull
+    @Field("status")
+    private BulkJobStatus status = BulkJobStatus.RUNNING;
+
+    @Field("parameters")
+    private Map<String, String> parameters = new HashMap<>();
+
+    @Field("cursor")
+    private String cursor;
+
+    @Field("total")
+    private long total;
+
+    @Field("processed")
+    private long processed;
+
+    @Field("modified")
+    private long modified;
+
+    @Field("cancel_requested")
+    private boolean cancelRequested;
+
+    @Field("error")
+    private String error;
+
+    @Field("created_by")
+    private String createdBy;
+
+    @Field("created_date")
+    private Instant createdDate = Instant.now();
+
+    @Field("updated_date")
+    private Instant updatedDate = createdDate;
+
+    @Field("finished_date")
+    private Instant finishedDate;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public BulkJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BulkJobStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * @return the parameters the operation of the job is created from, when it is resumed.
+     */
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(Map<String, String> parameters) {
+        this.parameters = parameters;
+    }
+
+    /**
+     * @return the last id processed by the job.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * @return the number of entities matching the job when it started.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    /**
+     * @return the number of entities the operation was applied to so far.
+     */
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    /**
+     * @return the number of entities actually changed by the operation so far.
+     */
+    public long getModified() {
+        return modified;
+    }
+
+    public void setModified(long modified) {
+        this.modified = modified;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public void setCancelRequested(boolean cancelRequested) {
+        this.cancelRequested = cancelRequested;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    /**
+     * @return the date of the last progress of the job.
+     */
+    public Instant getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public void setUpdatedDate(Instant updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+
+    public Instant getFinishedDate() {
+        return finishedDate;
+    }
+
+    public void setFinishedDate(Instant finishedDate) {
+        this.finishedDate = finishedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BulkJob)) {
+            return false;
+        }
+        return id != null && id.equals(((BulkJob) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkJob{" +
+            "id=" + getId() +
+            ", type='" + getType() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", total=" + getTotal() +
+            ", processed=" + getProcessed() +
+            ", modified=" + getModified() +
+            ", createdBy='" + getCreatedBy() + "'" +
+            "}";
+    }
+}
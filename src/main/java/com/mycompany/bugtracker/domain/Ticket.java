@@ -27,6 +27,13 @@ public class Ticket implements Serializable {
     @Field("description")
     private String description;
 
+    /**
+     * Whether {@link #description} is only the preview of a long description, stored compressed in the
+     * {@code ticket_description} collection. The stored description is kept when a ticket is saved with this flag.
+     */
+    @Field("description_truncated")
+    private Boolean descriptionTruncated;
+
     @Field("due_date")
     private LocalDate dueDate;
 
@@ -87,6 +94,19 @@ public class Ticket implements Serializable {
         this.description = description;
     }
 
+    public Boolean getDescriptionTruncated() {
+        return this.descriptionTruncated;
+    }
+
+    public Ticket descriptionTruncated(Boolean descriptionTruncated) {
+        this.setDescriptionTruncated(descriptionTruncated);
+        return this;
+    }
+
+    public void setDescriptionTruncated(Boolean descriptionTruncated) {
+        this.descriptionTruncated = descriptionTruncated;
+    }
+
     public LocalDate getDueDate() {
         return this.dueDate;
     }
@@ -190,6 +210,7 @@ public class Ticket implements Serializable {
             "id=" + getId() +
             ", title='" + getTitle() + "'" +
             ", description='" + getDescription() + "'" +
+            ", descriptionTruncated='" + getDescriptionTruncated() + "'" +
             ", dueDate='" + getDueDate() + "'" +
             ", done='" + getDone() + "'" +
             "}";
@@ -0,0 +1,92 @@
+package com.mycompany.bugtracker.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * A comment of a {@link Ticket}, stored in a {@link TicketCommentBucket}.
+ */
+public class TicketComment implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Field("id")
+    private String id;
+
+    @Field("author")
+    private String author;
+
+    @NotNull
+    @Size(min = 1, max = 10000)
+    @Field("body")
+    private String body;
+
+    @Field("created_date")
+    private Instant createdDate;
+
+    @Transient
+    private long number;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public TicketComment body(String body) {
+        this.setBody(body);
+        return this;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    /**
+     * @return the position of the comment in the thread of its ticket, from 1, given by its bucket.
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    public void setNumber(long number) {
+        this.number = number;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TicketComment{" +
+            "id='" + id + "'" +
+            ", author='" + author + "'" +
+            ", number=" + number +
+            ", createdDate='" + createdDate + "'" +
+            "}";
+    }
+}
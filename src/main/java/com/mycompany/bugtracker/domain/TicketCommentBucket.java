@@ -0,0 +1,93 @@
+package com.mycompany.bugtracker.domain;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * A bucket of up to {@link #SIZE} consecutive comments of a {@link Ticket}, in the order they were added.
+ * <p>
+ * The buckets of a ticket are numbered from 0 by {@link #getSeq()}, and only the last one is not full: the comment
+ * {@code i} of the bucket {@code seq} is the comment {@code seq * SIZE + i + 1} of the thread. A page of comments is
+ * read from a couple of consecutive buckets, with one query on the {@code ticket_id, seq} index.
+ */
+@Document(collection = "ticket_comment_bucket")
+public class TicketCommentBucket implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of comments of a full bucket, which can't be changed once comments are stored. With comments of at most
+     * 10,000 characters, a bucket stays well below the 16MB limit of a document.
+     */
+    public static final int SIZE = 100;
+
+    @Id
+    private String id;
+
+    @Field("ticket_id")
+    private String ticketId;
+
+    @Field("seq")
+    private int seq;
+
+    @Field("count")
+    private int count;
+
+    @Field("comments")
+    private List<TicketComment> comments = new ArrayList<>();
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public int getSeq() {
+        return seq;
+    }
+
+    public void setSeq(int seq) {
+        this.seq = seq;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public List<TicketComment> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<TicketComment> comments) {
+        this.comments = comments;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TicketCommentBucket{" +
+            "id='" + id + "'" +
+            ", ticketId='" + ticketId + "'" +
+            ", seq=" + seq +
+            ", count=" + count +
+            "}";
+    }
+}
@@ -0,0 +1,12 @@
+package com.mycompany.bugtracker.domain.enumeration;
+
+/**
+ * The BulkJobStatus enumeration.
+ */
+public enum BulkJobStatus {
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED,
+    INTERRUPTED,
+}
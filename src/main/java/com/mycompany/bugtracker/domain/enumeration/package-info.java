@@ -0,0 +1,4 @@
+/**
+ * Domain enumerations.
+ */
+package com.mycompany.bugtracker.domain.enumeration;
@@ -0,0 +1,32 @@
+package com.mycompany.bugtracker.monitoring;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * The REST endpoint a request was sent to, stored in its Reactor context by the
+ * {@link com.mycompany.bugtracker.web.filter.CallerEndpointFilter}.
+ * <p>
+ * The MongoDB commands are attributed to it through the {@link CommandContext}, whichever thread sends them.
+ */
+public final class CallerEndpoint {
+
+    private CallerEndpoint() {}
+
+    /**
+     * @param context a Reactor context.
+     * @return the endpoint of the given context, or {@code null} if unknown.
+     */
+    public static String of(ContextView context) {
+        return context.getOrDefault(CallerEndpoint.class, null);
+    }
+
+    /**
+     * @param context  a Reactor context.
+     * @param endpoint the endpoint, such as {@code GET /api/tickets}.
+     * @return the given context with the given endpoint.
+     */
+    public static Context with(Context context, String endpoint) {
+        return context.put(CallerEndpoint.class, endpoint);
+    }
+}
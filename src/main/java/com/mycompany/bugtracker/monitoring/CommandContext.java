@@ -0,0 +1,178 @@
+package com.mycompany.bugtracker.monitoring;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoOperator;
+import reactor.util.context.Context;
+
+/**
+ * Exposes the Reactor context of a request to the code that doesn't see it: the MongoDB driver, which notifies its
+ * listeners on the thread that sends a command, the codecs, and the {@code @Async} methods.
+ * <p>
+ * This is the only bridge between the Reactor context and the thread-bound code: the {@link RequestCost}, the
+ * {@link CallerEndpoint} and the current {@link com.mycompany.bugtracker.monitoring.tracing.Span} are all read from
+ * the context exposed here, which the {@link MongoCommandContextListener} hands to the command listeners. The context
+ * is exposed while the scoped publishers are subscribed to, and while they emit their signals, see
+ * {@link #scoped(Mono)}.
+ */
+public final class CommandContext {
+
+    private static final ThreadLocal<Context> CURRENT = ThreadLocal.withInitial(Context::empty);
+
+    private CommandContext() {}
+
+    /**
+     * @return the Reactor context exposed to the current thread, empty if none.
+     */
+    public static Context current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Exposes the Reactor context of the subscriber to the current thread while the given publisher is subscribed
+     * to, requested from, and while it emits its signals.
+     *
+     * @param mono the publisher.
+     * @param <T>  the type of the value.
+     * @return the scoped publisher.
+     */
+    public static <T> Mono<T> scoped(Mono<T> mono) {
+        return new MonoOperator<T, T>(mono) {
+            @Override
+            public void subscribe(CoreSubscriber<? super T> actual) {
+                subscribeScoped(source, actual);
+            }
+        };
+    }
+
+    /**
+     * @param flux the publisher.
+     * @param <T>  the type of the values.
+     * @return the scoped publisher.
+     * @see #scoped(Mono)
+     */
+    public static <T> Flux<T> scoped(Flux<T> flux) {
+        return new FluxOperator<T, T>(flux) {
+            @Override
+            public void subscribe(CoreSubscriber<? super T> actual) {
+                subscribeScoped(source, actual);
+            }
+        };
+    }
+
+    private static <T> void subscribeScoped(Publisher<? extends T> source, CoreSubscriber<? super T> actual) {
+        Context context = actual.currentContext();
+        if (context.isEmpty() || context == CURRENT.get()) {
+            source.subscribe(actual);
+            return;
+        }
+        run(context, () -> source.subscribe(new ScopedSubscriber<>(actual, context)));
+    }
+
+    /**
+     * Runs the given action with the given context exposed to the current thread.
+     *
+     * @param context the context.
+     * @param action  the action.
+     */
+    public static void run(Context context, Runnable action) {
+        if (context == CURRENT.get()) {
+            action.run();
+            return;
+        }
+        try (Scope scope = open(context)) {
+            action.run();
+        }
+    }
+
+    /**
+     * Exposes the given context to the current thread, until the returned scope is closed.
+     *
+     * @param context the context.
+     * @return the scope, restoring the previous context of the thread when closed.
+     */
+    public static Scope open(Context context) {
+        Context previous = CURRENT.get();
+        CURRENT.set(context);
+        return () -> CURRENT.set(previous);
+    }
+
+    /**
+     * @param task a task to run on another thread.
+     * @return the task, run with the context exposed to the current thread.
+     */
+    public static Runnable propagate(Runnable task) {
+        Context context = CURRENT.get();
+        if (context.isEmpty()) {
+            return task;
+        }
+        return () -> run(context, task);
+    }
+
+    /**
+     * The context of the current thread, until closed.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Exposes the context while the signals are emitted, and while they are requested.
+     */
+    private static final class ScopedSubscriber<T> implements CoreSubscriber<T>, Subscription {
+
+        private final CoreSubscriber<? super T> actual;
+
+        private final Context context;
+
+        private Subscription subscription;
+
+        ScopedSubscriber(CoreSubscriber<? super T> actual, Context context) {
+            this.actual = actual;
+            this.context = context;
+        }
+
+        @Override
+        public Context currentContext() {
+            return context;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            actual.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T value) {
+            run(context, () -> actual.onNext(value));
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            run(context, () -> actual.onError(e));
+        }
+
+        @Override
+        public void onComplete() {
+            run(context, actual::onComplete);
+        }
+
+        @Override
+        public void request(long n) {
+            // The driver sends the commands of its publishers on demand
+            run(context, () -> subscription.request(n));
+        }
+
+        @Override
+        public void cancel() {
+            subscription.cancel();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.mycompany.bugtracker.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import reactor.util.context.ContextView;
+
+/**
+ * Listener of the MongoDB commands notified with the Reactor context of the request that sent them, by the
+ * {@link MongoCommandContextListener}.
+ *
+ * @param <S> the type of the state kept from the start of a command to its end.
+ */
+public interface ContextualCommandListener<S> {
+    /**
+     * @param event   the started command.
+     * @param context the Reactor context of the request that sent the command, empty if unknown.
+     * @return the state passed to the end of the command, may be {@code null}.
+     */
+    S commandStarted(CommandStartedEvent event, ContextView context);
+
+    /**
+     * @param event the succeeded command.
+     * @param state the state returned when the command started, {@code null} if none.
+     */
+    void commandSucceeded(CommandSucceededEvent event, S state);
+
+    /**
+     * @param event the failed command.
+     * @param state the state returned when the command started, {@code null} if none.
+     */
+    void commandFailed(CommandFailedEvent event, S state);
+}
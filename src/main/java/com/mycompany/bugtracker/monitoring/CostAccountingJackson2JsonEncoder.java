@@ -0,0 +1,40 @@
+package com.mycompany.bugtracker.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+
+/**
+ * JSON encoder adding the time spent serializing each value to the {@link RequestCost} of the request, read from
+ * the {@link CommandContext}.
+ */
+public class CostAccountingJackson2JsonEncoder extends Jackson2JsonEncoder {
+
+    public CostAccountingJackson2JsonEncoder(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    public DataBuffer encodeValue(
+        Object value,
+        DataBufferFactory bufferFactory,
+        ResolvableType valueType,
+        MimeType mimeType,
+        Map<String, Object> hints
+    ) {
+        RequestCost cost = CommandContext.current().getOrDefault(RequestCost.class, null);
+        if (cost == null) {
+            return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+        } finally {
+            cost.addSerialization(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.mycompany.bugtracker.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import reactor.util.context.ContextView;
+
+/**
+ * The only {@link CommandListener} that resolves the Reactor context of the MongoDB commands, and notifies the
+ * {@link ContextualCommandListener}s with it.
+ * <p>
+ * Commands are attributed to the context exposed by the {@link CommandContext} on the thread that sends them. The
+ * {@code getMore} commands of a cursor, often sent from driver threads, are attributed to the context of the command
+ * that opened the cursor.
+ */
+public class MongoCommandContextListener implements CommandListener {
+
+    private static final int MAX_OPEN_CURSORS = 10_000;
+
+    private final ContextualCommandListener<Object>[] listeners;
+
+    private final Map<Integer, StartedCommand> startedCommands = new ConcurrentHashMap<>();
+
+    private final Map<Long, ContextView> openCursors = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public MongoCommandContextListener(List<? extends ContextualCommandListener<?>> listeners) {
+        this.listeners = listeners.toArray(new ContextualCommandListener[0]);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        ContextView context = CommandContext.current();
+        Long cursorId = null;
+        switch (event.getCommandName()) {
+            case "getMore":
+                BsonValue getMore = command.get("getMore");
+                if (getMore != null && getMore.isNumber()) {
+                    cursorId = getMore.asNumber().longValue();
+                    context = openCursors.getOrDefault(cursorId, context);
+                }
+                break;
+            case "killCursors":
+                BsonValue cursors = command.get("cursors");
+                if (cursors != null && cursors.isArray()) {
+                    cursors.asArray().stream().filter(BsonValue::isNumber).forEach(id -> openCursors.remove(id.asNumber().longValue()));
+                }
+                break;
+            default:
+                break;
+        }
+        Object[] states = new Object[listeners.length];
+        for (int i = 0; i < listeners.length; i++) {
+            states[i] = listeners[i].commandStarted(event, context);
+        }
+        startedCommands.put(event.getRequestId(), new StartedCommand(context, cursorId, states));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        StartedCommand started = startedCommands.remove(event.getRequestId());
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].commandSucceeded(event, started != null ? started.states[i] : null);
+        }
+        if (started == null || (started.context.isEmpty() && started.cursorId == null)) {
+            return;
+        }
+        long cursorId = cursorId(event.getResponse());
+        if (cursorId == 0 && started.cursorId != null) {
+            openCursors.remove(started.cursorId);
+        } else if (cursorId != 0 && started.cursorId == null && openCursors.size() < MAX_OPEN_CURSORS) {
+            openCursors.put(cursorId, started.context);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        StartedCommand started = startedCommands.remove(event.getRequestId());
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].commandFailed(event, started != null ? started.states[i] : null);
+        }
+        if (started != null && started.cursorId != null) {
+            openCursors.remove(started.cursorId);
+        }
+    }
+
+    /**
+     * @return the id of the cursor left open by the command, or 0 if none.
+     */
+    private static long cursorId(BsonDocument response) {
+        BsonValue cursor = response.get("cursor");
+        if (cursor == null || !cursor.isDocument()) {
+            return 0;
+        }
+        BsonValue id = cursor.asDocument().get("id");
+        return id != null && id.isNumber() ? id.asNumber().longValue() : 0;
+    }
+
+    private static final class StartedCommand {
+
+        private final ContextView context;
+
+        private final Long cursorId;
+
+        private final Object[] states;
+
+        StartedCommand(ContextView context, Long cursorId, Object[] states) {
+            this.context = context;
+            this.cursorId = cursorId;
+            this.states = states;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.mycompany.bugtracker.monitoring;
+
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.io.BasicOutputBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.util.context.ContextView;
+
+/**
+ * Records metrics for every command sent by the MongoDB drivers, and logs the slow ones.
+ * <p>
+ * Meters are tagged by collection and command:
+ * <ul>
+ *     <li>{@code bugtracker.mongo.command}: latency histogram, also tagged by status;</li>
+ *     <li>{@code bugtracker.mongo.command.bytes.sent} and {@code bugtracker.mongo.command.bytes.received}: size of the
+ *     command and of its reply;</li>
+ *     <li>{@code bugtracker.mongo.cursor.batch.size}: number of documents in each batch returned by {@code find},
+ *     {@code aggregate} and {@code getMore}, whose count is the number of batches.</li>
+ * </ul>
+ * Commands slower than the threshold are logged to the {@value #SLOW_QUERY_LOGGER} logger, with their
+ * {@link QueryShape} and {@link CallerEndpoint}.
+ */
+public class MongoCommandMetricsListener implements ContextualCommandListener<MongoCommandMetricsListener.StartedCommand> {
+
+    public static final String SLOW_QUERY_LOGGER = "slow-query";
+
+    private static final String UNKNOWN = "unknown";
+
+    private static final String OTHER = "other";
+
+    private final Logger log = LoggerFactory.getLogger(MongoCommandMetricsListener.class);
+
+    private final Logger slowQueryLog = LoggerFactory.getLogger(SLOW_QUERY_LOGGER);
+
+    private final MeterRegistry meterRegistry;
+
+    private final long slowQueryThresholdNanos;
+
+    private final int maxMeters;
+
+    private final Map<String, CommandMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * @param meterRegistry      the registry of the meters.
+     * @param slowQueryThreshold the latency above which commands are logged, {@code null} to disable the slow-query log.
+     * @param maxMeters          the maximum number of collection and command pairs with their own meters.
+     */
+    public MongoCommandMetricsListener(MeterRegistry meterRegistry, Duration slowQueryThreshold, int maxMeters) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThresholdNanos = slowQueryThreshold != null ? slowQueryThreshold.toNanos() : Long.MAX_VALUE;
+        this.maxMeters = maxMeters;
+    }
+
+    @Override
+    public StartedCommand commandStarted(CommandStartedEvent event, ContextView context) {
+        BsonDocument command = event.getCommand();
+        String commandName = event.getCommandName();
+        String collection = collection(commandName, command);
+        String shape = slowQueryThresholdNanos != Long.MAX_VALUE ? QueryShape.of(commandName, command) : null;
+        meters(collection, commandName).bytesSent.record(sizeOf(command));
+        return new StartedCommand(collection, shape, CallerEndpoint.of(context));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event, StartedCommand started) {
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        CommandMeters commandMeters = meters(started != null ? started.collection : UNKNOWN, event.getCommandName());
+        commandMeters.success.record(elapsed, TimeUnit.NANOSECONDS);
+        BsonDocument response = event.getResponse();
+        commandMeters.bytesReceived.record(sizeOf(response));
+        if (isCursorCommand(event.getCommandName())) {
+            int batchSize = batchSize(response);
+            if (batchSize >= 0) {
+                commandMeters.batchSize.record(batchSize);
+            }
+        }
+        logIfSlow(event, started, elapsed, "succeeded");
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event, StartedCommand started) {
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        meters(started != null ? started.collection : UNKNOWN, event.getCommandName()).failure.record(elapsed, TimeUnit.NANOSECONDS);
+        logIfSlow(event, started, elapsed, "failed");
+    }
+
+    private void logIfSlow(CommandEvent event, StartedCommand started, long elapsed, String status) {
+        if (elapsed >= slowQueryThresholdNanos && started != null) {
+            slowQueryLog.info(
+                "{} ms {} {}.{} {} from {}",
+                TimeUnit.NANOSECONDS.toMillis(elapsed),
+                status,
+                started.collection,
+                event.getCommandName(),
+                started.shape,
+                started.endpoint != null ? started.endpoint : UNKNOWN
+            );
+        }
+    }
+
+    private CommandMeters meters(String collection, String commandName) {
+        String key = collection + '/' + commandName;
+        CommandMeters commandMeters = meters.get(key);
+        if (commandMeters != null) {
+            return commandMeters;
+        }
+        if (meters.size() >= maxMeters) {
+            log.debug("More than {} MongoDB meters, {} is recorded as '{}'", maxMeters, key, OTHER);
+            return meters.computeIfAbsent(OTHER + '/' + OTHER, k -> new CommandMeters(OTHER, OTHER));
+        }
+        return meters.computeIfAbsent(key, k -> new CommandMeters(collection, commandName));
+    }
+
+    /**
+     * Most commands name their collection in their first field, such as {@code {"find": "ticket"}}, except
+     * {@code getMore} whose first field is the cursor id.
+     */
+    private static String collection(String commandName, BsonDocument command) {
+        BsonValue value = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : "none";
+    }
+
+    private static boolean isCursorCommand(String commandName) {
+        return "find".equals(commandName) || "aggregate".equals(commandName) || "getMore".equals(commandName);
+    }
+
+    /**
+     * Reads the size of the document from its BSON header when it is backed by a buffer, as the documents of the
+     * events are, and encodes it otherwise.
+     */
+    static int sizeOf(BsonDocument document) {
+        try (BsonReader reader = document.asBsonReader()) {
+            if (reader instanceof BsonBinaryReader) {
+                return ((BsonBinaryReader) reader).getBsonInput().readInt32();
+            }
+            BasicOutputBuffer buffer = new BasicOutputBuffer();
+            try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+                writer.pipe(reader);
+            }
+            return buffer.getSize();
+        }
+    }
+
+    /**
+     * Counts the documents of {@code cursor.firstBatch} or {@code cursor.nextBatch} without decoding them.
+     *
+     * @return the number of documents, or -1 if the response has no cursor.
+     */
+    static int batchSize(BsonDocument response) {
+        try (BsonReader reader = response.asBsonReader()) {
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                String name = reader.readName();
+                if ("cursor".equals(name) && reader.getCurrentBsonType() == BsonType.DOCUMENT) {
+                    reader.readStartDocument();
+                    while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                        String cursorField = reader.readName();
+                        if (
+                            ("firstBatch".equals(cursorField) || "nextBatch".equals(cursorField)) &&
+                            reader.getCurrentBsonType() == BsonType.ARRAY
+                        ) {
+                            int count = 0;
+                            reader.readStartArray();
+                            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                                reader.skipValue();
+                                count++;
+                            }
+                            return count;
+                        }
+                        reader.skipValue();
+                    }
+                    return -1;
+                }
+                reader.skipValue();
+            }
+            return -1;
+        }
+    }
+
+    static final class StartedCommand {
+
+        private final String collection;
+
+        private final String shape;
+
+        private final String endpoint;
+
+        StartedCommand(String collection, String shape, String endpoint) {
+            this.collection = collection;
+            this.shape = shape;
+            this.endpoint = endpoint;
+        }
+    }
+
+    private class CommandMeters {
+
+        private final Timer success;
+
+        private final Timer failure;
+
+        private final DistributionSummary bytesSent;
+
+        private final DistributionSummary bytesReceived;
+
+        private final DistributionSummary batchSize;
+
+        CommandMeters(String collection, String commandName) {
+            Tags tags = Tags.of("collection", collection, "command", commandName);
+            this.success = timer(tags, "success");
+            this.failure = timer(tags, "failure");
+            this.bytesSent = bytes("bugtracker.mongo.command.bytes.sent", "Size of the MongoDB commands", tags);
+            this.bytesReceived = bytes("bugtracker.mongo.command.bytes.received", "Size of the MongoDB replies", tags);
+            this.batchSize =
+                DistributionSummary
+                    .builder("bugtracker.mongo.cursor.batch.size")
+                    .description("Documents per batch returned by MongoDB cursors")
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(Tags tags, String status) {
+            return Timer
+                .builder("bugtracker.mongo.command")
+                .description("Latency of the MongoDB commands")
+                .tags(tags)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+        }
+
+        private DistributionSummary bytes(String name, String description, Tags tags) {
+            return DistributionSummary.builder(name).description(description).baseUnit("bytes").tags(tags).register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.mycompany.bugtracker.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Reports the MongoDB connection pools as {@code SATURATED} when one of them lends more than the threshold of its
+ * connections while requests wait for one.
+ * <p>
+ * A saturated pool is still able to serve requests, so it doesn't take the application down: the status is ordered
+ * between {@code OUT_OF_SERVICE} and {@code UP} by {@code management.endpoint.health.status.order}.
+ */
+public class MongoConnectionPoolHealthIndicator extends AbstractHealthIndicator {
+
+    public static final Status SATURATED = new Status("SATURATED", "Connection pool saturated");
+
+    private final MongoConnectionPoolStatistics statistics;
+
+    private final double saturationThreshold;
+
+    public MongoConnectionPoolHealthIndicator(MongoConnectionPoolStatistics statistics, double saturationThreshold) {
+        super("MongoDB connection pool health check failed");
+        this.statistics = statistics;
+        this.saturationThreshold = saturationThreshold;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        boolean saturated = false;
+        Map<String, Object> pools = new LinkedHashMap<>();
+        for (MongoConnectionPoolStatistics.PoolUsage usage : statistics.getPools()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("maxSize", usage.getMaxSize());
+            details.put("checkedOut", usage.getCheckedOut());
+            details.put("waiting", usage.getWaiting());
+            pools.merge(usage.getServerAddress(), details, (a, b) -> b);
+            saturated |= usage.getUtilization() >= saturationThreshold && usage.getWaiting() > 0;
+        }
+        builder.status(saturated ? SATURATED : Status.UP).withDetail("pools", pools);
+    }
+}
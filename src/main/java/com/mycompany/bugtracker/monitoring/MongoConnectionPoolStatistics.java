@@ -0,0 +1,106 @@
+package com.mycompany.bugtracker.monitoring;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the usage of the connection pools of every MongoDB client and server.
+ */
+public class MongoConnectionPoolStatistics implements ConnectionPoolListener {
+
+    private final Map<ServerId, PoolUsage> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        pools.put(event.getServerId(), new PoolUsage(event.getServerId(), event.getSettings().getMaxSize()));
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        pools.remove(event.getServerId());
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        PoolUsage usage = pools.get(event.getServerId());
+        if (usage != null) {
+            usage.waiting.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        PoolUsage usage = pools.get(event.getConnectionId().getServerId());
+        if (usage != null) {
+            usage.waiting.decrementAndGet();
+            usage.checkedOut.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        PoolUsage usage = pools.get(event.getServerId());
+        if (usage != null) {
+            usage.waiting.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        PoolUsage usage = pools.get(event.getConnectionId().getServerId());
+        if (usage != null) {
+            usage.checkedOut.decrementAndGet();
+        }
+    }
+
+    public Collection<PoolUsage> getPools() {
+        return Collections.unmodifiableCollection(pools.values());
+    }
+
+    public static class PoolUsage {
+
+        private final ServerId serverId;
+
+        private final int maxSize;
+
+        private final AtomicInteger checkedOut = new AtomicInteger();
+
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        PoolUsage(ServerId serverId, int maxSize) {
+            this.serverId = serverId;
+            this.maxSize = maxSize;
+        }
+
+        public String getServerAddress() {
+            return serverId.getAddress().toString();
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public int getCheckedOut() {
+            return checkedOut.get();
+        }
+
+        public int getWaiting() {
+            return Math.max(0, waiting.get());
+        }
+
+        public double getUtilization() {
+            return maxSize > 0 ? (double) getCheckedOut() / maxSize : 0;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.mycompany.bugtracker.monitoring;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the time spent waiting for a connection in the {@code bugtracker.mongo.pool.wait} timer.
+ * <p>
+ * Check-out events don't identify the request they belong to, but the pool serves its waiters in order: each check-out
+ * is matched with the oldest pending request of the same server.
+ */
+public class MongoConnectionPoolWaitListener implements ConnectionPoolListener {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<ServerId, Queue<Long>> pendingCheckOuts = new ConcurrentHashMap<>();
+
+    private final Map<ServerId, Timer> checkedOutTimers = new ConcurrentHashMap<>();
+
+    private final Map<ServerId, Timer> failedTimers = new ConcurrentHashMap<>();
+
+    public MongoConnectionPoolWaitListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        pendingCheckOuts.computeIfAbsent(event.getServerId(), serverId -> new ConcurrentLinkedQueue<>()).offer(System.nanoTime());
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        ServerId serverId = event.getConnectionId().getServerId();
+        record(serverId, checkedOutTimers.computeIfAbsent(serverId, id -> timer(id, "success")));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        ServerId serverId = event.getServerId();
+        record(serverId, failedTimers.computeIfAbsent(serverId, id -> timer(id, "failed")));
+    }
+
+    private void record(ServerId serverId, Timer timer) {
+        Queue<Long> pending = pendingCheckOuts.get(serverId);
+        Long start = pending != null ? pending.poll() : null;
+        if (start != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(ServerId serverId, String status) {
+        return Timer
+            .builder("bugtracker.mongo.pool.wait")
+            .description("Time spent waiting for a MongoDB connection")
+            .tag("server.address", serverId.getAddress().toString())
+            .tag("status", status)
+            .register(meterRegistry);
+    }
+}
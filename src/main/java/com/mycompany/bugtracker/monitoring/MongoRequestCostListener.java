@@ -0,0 +1,63 @@
+package com.mycompany.bugtracker.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import reactor.util.context.ContextView;
+
+/**
+ * Adds every MongoDB command sent on behalf of a request to the {@link RequestCost} of its Reactor context, resolved
+ * by the {@link MongoCommandContextListener}.
+ */
+public class MongoRequestCostListener implements ContextualCommandListener<MongoRequestCostListener.StartedCommand> {
+
+    @Override
+    public StartedCommand commandStarted(CommandStartedEvent event, ContextView context) {
+        RequestCost cost = context.getOrDefault(RequestCost.class, null);
+        return cost != null ? new StartedCommand(cost, MongoCommandMetricsListener.sizeOf(event.getCommand())) : null;
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event, StartedCommand started) {
+        if (started != null) {
+            BsonDocument response = event.getResponse();
+            started.cost.addRoundTrip(started.bytesSent, MongoCommandMetricsListener.sizeOf(response), documents(event.getCommandName(), response));
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event, StartedCommand started) {
+        if (started != null) {
+            started.cost.addRoundTrip(started.bytesSent, 0, 0);
+        }
+    }
+
+    /**
+     * @return the documents returned by the cursor commands, or written by the write commands.
+     */
+    private static long documents(String commandName, BsonDocument response) {
+        switch (commandName) {
+            case "insert":
+            case "update":
+            case "delete":
+                BsonValue n = response.get("n");
+                return n != null && n.isNumber() ? n.asNumber().longValue() : 0;
+            default:
+                return Math.max(0, MongoCommandMetricsListener.batchSize(response));
+        }
+    }
+
+    static final class StartedCommand {
+
+        private final RequestCost cost;
+
+        private final long bytesSent;
+
+        StartedCommand(RequestCost cost, long bytesSent) {
+            this.cost = cost;
+            this.bytesSent = bytesSent;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.mycompany.bugtracker.monitoring;
+
+import java.util.Map;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * Describes a MongoDB command without its values, so that slow queries can be grouped and logged without personal data.
+ * <p>
+ * For instance {@code {"find": "ticket", "filter": {"assignedTo.$id": "user-1"}, "sort": {"dueDate": 1}}} has the shape
+ * {@code filter={"assignedTo.$id": ?} sort={"dueDate": 1}}.
+ */
+final class QueryShape {
+
+    private QueryShape() {}
+
+    static String of(String commandName, BsonDocument command) {
+        StringBuilder shape = new StringBuilder();
+        switch (commandName) {
+            case "find":
+                append(shape, "filter", command.get("filter"));
+                appendKeys(shape, "sort", command.get("sort"));
+                appendKeys(shape, "projection", command.get("projection"));
+                break;
+            case "count":
+            case "findAndModify":
+                append(shape, "query", command.get("query"));
+                appendKeys(shape, "sort", command.get("sort"));
+                break;
+            case "update":
+                append(shape, "q", firstStatement(command, "updates", "q"));
+                break;
+            case "delete":
+                append(shape, "q", firstStatement(command, "deletes", "q"));
+                break;
+            case "aggregate":
+                append(shape, "pipeline", command.get("pipeline"));
+                break;
+            default:
+                break;
+        }
+        return shape.length() == 0 ? "{}" : shape.toString();
+    }
+
+    private static BsonValue firstStatement(BsonDocument command, String field, String key) {
+        BsonValue statements = command.get(field);
+        if (statements != null && statements.isArray() && !statements.asArray().isEmpty()) {
+            BsonValue statement = statements.asArray().get(0);
+            return statement.isDocument() ? statement.asDocument().get(key) : null;
+        }
+        return null;
+    }
+
+    private static void append(StringBuilder shape, String name, BsonValue value) {
+        if (value != null) {
+            separate(shape).append(name).append('=');
+            appendShape(shape, value);
+        }
+    }
+
+    private static void appendKeys(StringBuilder shape, String name, BsonValue value) {
+        if (value != null && value.isDocument() && !value.asDocument().isEmpty()) {
+            separate(shape).append(name).append('=').append(value.asDocument().toJson());
+        }
+    }
+
+    private static StringBuilder separate(StringBuilder shape) {
+        return shape.length() > 0 ? shape.append(' ') : shape;
+    }
+
+    private static void appendShape(StringBuilder shape, BsonValue value) {
+        if (value.isDocument()) {
+            shape.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (!first) {
+                    shape.append(", ");
+                }
+                first = false;
+                shape.append('"').append(entry.getKey()).append("\": ");
+                appendShape(shape, entry.getValue());
+            }
+            shape.append('}');
+        } else if (value.isArray()) {
+            BsonArray array = value.asArray();
+            // Lists of values, as in $in, are collapsed; lists of conditions, as in $or or a pipeline, are kept
+            if (!array.isEmpty() && array.get(0).isDocument()) {
+                shape.append('[');
+                for (int i = 0; i < array.size(); i++) {
+                    if (i > 0) {
+                        shape.append(", ");
+                    }
+                    appendShape(shape, array.get(i));
+                }
+                shape.append(']');
+            } else {
+                shape.append("[?]");
+            }
+        } else {
+            shape.append('?');
+        }
+    }
+}
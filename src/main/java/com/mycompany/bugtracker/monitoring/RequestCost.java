@@ -0,0 +1,86 @@
+package com.mycompany.bugtracker.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What a request cost the application: MongoDB round trips and documents, bytes exchanged with MongoDB, time spent
+ * serializing the response and bytes of the response.
+ * <p>
+ * The cost is created by the {@link com.mycompany.bugtracker.web.filter.RequestCostFilter} and stored in the Reactor
+ * context of the request, under the {@code RequestCost} class. The MongoDB driver and the codecs read it from the
+ * {@link CommandContext}.
+ */
+public final class RequestCost {
+
+    private final LongAdder roundTrips = new LongAdder();
+
+    private final LongAdder documents = new LongAdder();
+
+    private final LongAdder bytesSent = new LongAdder();
+
+    private final LongAdder bytesReceived = new LongAdder();
+
+    private final LongAdder serializationNanos = new LongAdder();
+
+    private final LongAdder responseBytes = new LongAdder();
+
+    public void addRoundTrip(long bytesSent, long bytesReceived, long documents) {
+        this.roundTrips.increment();
+        this.bytesSent.add(bytesSent);
+        this.bytesReceived.add(bytesReceived);
+        this.documents.add(documents);
+    }
+
+    public void addSerialization(long nanos) {
+        serializationNanos.add(nanos);
+    }
+
+    public void addResponseBytes(long bytes) {
+        responseBytes.add(bytes);
+    }
+
+    public long getRoundTrips() {
+        return roundTrips.sum();
+    }
+
+    public long getDocuments() {
+        return documents.sum();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    public long getSerializationNanos() {
+        return serializationNanos.sum();
+    }
+
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+
+    /**
+     * @return the cost as a header value, such as {@code db-round-trips=3, db-documents=20, db-bytes-sent=512,
+     * db-bytes-received=8192, serialization-ms=0.42}.
+     */
+    public String toHeaderValue() {
+        return String.format(
+            "db-round-trips=%d, db-documents=%d, db-bytes-sent=%d, db-bytes-received=%d, serialization-ms=%.2f",
+            getRoundTrips(),
+            getDocuments(),
+            getBytesSent(),
+            getBytesReceived(),
+            getSerializationNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1)
+        );
+    }
+
+    @Override
+    public String toString() {
+        return toHeaderValue() + ", response-bytes=" + getResponseBytes();
+    }
+}
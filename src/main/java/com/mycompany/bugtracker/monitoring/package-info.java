@@ -0,0 +1,4 @@
+/**
+ * Instrumentation of the MongoDB driver.
+ */
+package com.mycompany.bugtracker.monitoring;
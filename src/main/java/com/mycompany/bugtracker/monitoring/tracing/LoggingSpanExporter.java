@@ -0,0 +1,38 @@
+package com.mycompany.bugtracker.monitoring.tracing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs every span as a line of Zipkin v2 JSON to the {@value #TRACING_LOGGER} logger, for the environments without a
+ * collector. The lines can be sent to a file, see {@code logback-spring.xml}, and imported into Zipkin later.
+ */
+public class LoggingSpanExporter implements SpanExporter {
+
+    public static final String TRACING_LOGGER = "tracing";
+
+    private final Logger log = LoggerFactory.getLogger(TRACING_LOGGER);
+
+    private final ObjectMapper objectMapper;
+
+    private final String serviceName;
+
+    public LoggingSpanExporter(ObjectMapper objectMapper, String serviceName) {
+        this.objectMapper = objectMapper;
+        this.serviceName = serviceName;
+    }
+
+    @Override
+    public void export(Span span) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        try {
+            log.info(objectMapper.writeValueAsString(ZipkinJson.of(span, serviceName)));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize {}: {}", span, e.getMessage());
+        }
+    }
+}
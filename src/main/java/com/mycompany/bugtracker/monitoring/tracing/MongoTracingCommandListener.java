@@ -0,0 +1,51 @@
+package com.mycompany.bugtracker.monitoring.tracing;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mycompany.bugtracker.monitoring.ContextualCommandListener;
+import org.bson.BsonValue;
+import reactor.util.context.ContextView;
+
+/**
+ * Creates a span for every MongoDB command sent on behalf of a traced request, as a child of the span of its Reactor
+ * context, resolved by the {@link com.mycompany.bugtracker.monitoring.MongoCommandContextListener}.
+ */
+public class MongoTracingCommandListener implements ContextualCommandListener<Span> {
+
+    private final Tracer tracer;
+
+    public MongoTracingCommandListener(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Span commandStarted(CommandStartedEvent event, ContextView context) {
+        Span span = tracer.startSpan("mongodb " + event.getCommandName(), context.getOrDefault(Span.class, null));
+        if (span == null) {
+            return null;
+        }
+        String commandName = event.getCommandName();
+        BsonValue collection = "getMore".equals(commandName) ? event.getCommand().get("collection") : event.getCommand().get(commandName);
+        return span
+            .tag("db.system", "mongodb")
+            .tag("db.name", event.getDatabaseName())
+            .tag("db.operation", commandName)
+            .tag("db.mongodb.collection", collection != null && collection.isString() ? collection.asString().getValue() : null)
+            .tag("net.peer.name", event.getConnectionDescription().getServerAddress().toString());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event, Span span) {
+        if (span != null) {
+            span.end();
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event, Span span) {
+        if (span != null) {
+            span.error(event.getThrowable()).end();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.mycompany.bugtracker.monitoring.tracing;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A timed operation of a trace, started by the {@link Tracer} and exported when it ends.
+ * <p>
+ * Spans are thread-safe: they can be tagged and ended from any thread, and are exported only once.
+ */
+public final class Span {
+
+    private final String traceId;
+
+    private final String spanId;
+
+    private final String parentId;
+
+    private final long startEpochMicros;
+
+    private final long startNanos;
+
+    private final SpanExporter exporter;
+
+    private final Map<String, String> tags = new LinkedHashMap<>();
+
+    private final AtomicBoolean ended = new AtomicBoolean();
+
+    private volatile String name;
+
+    private volatile long durationNanos = -1;
+
+    private volatile String error;
+
+    Span(String traceId, String spanId, String parentId, String name, SpanExporter exporter) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.name = name;
+        this.exporter = exporter;
+        this.startEpochMicros = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+        this.startNanos = System.nanoTime();
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * @return the id of the parent span, {@code null} for the root span of a trace.
+     */
+    public String getParentId() {
+        return parentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Span name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public long getStartEpochMicros() {
+        return startEpochMicros;
+    }
+
+    /**
+     * @return the duration of the span, or {@code -1} while it is running.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public Map<String, String> getTags() {
+        synchronized (tags) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+        }
+    }
+
+    public Span tag(String key, String value) {
+        if (value != null) {
+            synchronized (tags) {
+                tags.put(key, value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return the error that ended the span, or {@code null} if it succeeded.
+     */
+    public String getError() {
+        return error;
+    }
+
+    public Span error(Throwable e) {
+        this.error = e.getClass().getName() + (e.getMessage() != null ? ": " + e.getMessage() : "");
+        return this;
+    }
+
+    public boolean isEnded() {
+        return ended.get();
+    }
+
+    /**
+     * Ends the span and exports it. Does nothing if the span has already ended.
+     */
+    public void end() {
+        if (ended.compareAndSet(false, true)) {
+            durationNanos = System.nanoTime() - startNanos;
+            exporter.export(this);
+        }
+    }
+
+    /**
+     * @return the span as a W3C {@code traceparent} header value.
+     */
+    public String toTraceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    @Override
+    public String toString() {
+        return "Span{traceId=" + traceId + ", spanId=" + spanId + ", parentId=" + parentId + ", name=" + name + "}";
+    }
+}
@@ -0,0 +1,12 @@
+package com.mycompany.bugtracker.monitoring.tracing;
+
+/**
+ * Sends the ended {@link Span}s to a tracing backend.
+ * <p>
+ * Exporters are called on the thread that ends the span, usually a Netty or MongoDB driver thread: they must neither
+ * block nor throw.
+ */
+@FunctionalInterface
+public interface SpanExporter {
+    void export(Span span);
+}
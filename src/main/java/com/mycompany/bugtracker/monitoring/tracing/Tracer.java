@@ -0,0 +1,245 @@
+package com.mycompany.bugtracker.monitoring.tracing;
+
+import com.mycompany.bugtracker.monitoring.CommandContext;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoOperator;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Starts {@link Span}s and propagates them through the Reactor context.
+ * <p>
+ * The current span is stored in the Reactor context of the traced publishers, under the {@link Span} class. As the
+ * MongoDB driver and the {@code @Async} methods don't see the Reactor context, the context of a traced publisher is
+ * exposed by the {@link CommandContext} while it is subscribed to, and the context of its subscriber while it emits
+ * its signals: the commands it sends and the work done downstream of it on the same thread are attributed to the
+ * right span.
+ * <p>
+ * Only the sampled traces are recorded: when a trace is not sampled, no span is created, and the traced publishers
+ * are returned as is.
+ */
+public class Tracer {
+
+    private static final Pattern TRACEPARENT = Pattern.compile("[0-9a-f]{2}-[0-9a-f]{32}-[0-9a-f]{16}-[0-9a-f]{2}");
+
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+
+    private static final String INVALID_SPAN_ID = "0000000000000000";
+
+    private final SpanExporter exporter;
+
+    private final double sampleRate;
+
+    /**
+     * @param exporter   the exporter of the ended spans.
+     * @param sampleRate the fraction of the traces started by this application that are recorded, from 0 to 1.
+     */
+    public Tracer(SpanExporter exporter, double sampleRate) {
+        this.exporter = exporter;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Starts the span of a request received by the application.
+     *
+     * @param name        the name of the span.
+     * @param traceparent the W3C {@code traceparent} header of the request, if any.
+     * @return the span, child of the caller's span when the request is part of a trace, or {@code null} if the trace
+     * isn't sampled.
+     */
+    public Span startRootSpan(String name, String traceparent) {
+        if (traceparent != null && TRACEPARENT.matcher(traceparent).matches()) {
+            String traceId = traceparent.substring(3, 35);
+            String parentId = traceparent.substring(36, 52);
+            boolean sampled = (Integer.parseInt(traceparent.substring(53, 55), 16) & 1) == 1;
+            if (!INVALID_TRACE_ID.equals(traceId) && !INVALID_SPAN_ID.equals(parentId)) {
+                return sampled ? new Span(traceId, newId(), parentId, name, exporter) : null;
+            }
+        }
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        return new Span(newId() + newId(), newId(), null, name, exporter);
+    }
+
+    /**
+     * @param name   the name of the span.
+     * @param parent the parent span, may be {@code null}.
+     * @return a child of the given span, or {@code null} if there is no parent span.
+     */
+    public Span startSpan(String name, Span parent) {
+        return parent != null ? new Span(parent.getTraceId(), newId(), parent.getSpanId(), name, exporter) : null;
+    }
+
+    /**
+     * @return the span of the current thread, or {@code null} if none.
+     */
+    public static Span current() {
+        return CommandContext.current().getOrDefault(Span.class, null);
+    }
+
+    /**
+     * @param context a Reactor context.
+     * @return the span of the given context, or else of the current thread, or {@code null} if none.
+     */
+    public static Span current(ContextView context) {
+        Span span = context.getOrDefault(Span.class, null);
+        return span != null ? span : current();
+    }
+
+    /**
+     * Makes the given span the span of the current thread, until the returned scope is closed.
+     *
+     * @param span the span, may be {@code null}.
+     * @return the scope, restoring the previous span of the thread when closed.
+     */
+    public static CommandContext.Scope openScope(Span span) {
+        Context context = CommandContext.current();
+        return CommandContext.open(span != null ? context.put(Span.class, span) : context.delete(Span.class));
+    }
+
+    /**
+     * Traces the given {@link Mono} as a child of the current span, from its subscription to its first signal.
+     *
+     * @param name the name of the span.
+     * @param mono the traced publisher.
+     * @param <T>  the type of the value.
+     * @return the traced publisher.
+     */
+    public <T> Mono<T> trace(String name, Mono<T> mono) {
+        return new MonoOperator<T, T>(mono) {
+            @Override
+            public void subscribe(CoreSubscriber<? super T> actual) {
+                subscribeTraced(source, actual, startSpan(name, current(actual.currentContext())), true);
+            }
+        };
+    }
+
+    /**
+     * Traces the given {@link Mono} with a span started by the caller, such as a root span.
+     *
+     * @param span the span, ended by the first signal of the publisher, may be {@code null}.
+     * @param mono the traced publisher.
+     * @param <T>  the type of the value.
+     * @return the traced publisher.
+     */
+    public <T> Mono<T> trace(Span span, Mono<T> mono) {
+        return new MonoOperator<T, T>(mono) {
+            @Override
+            public void subscribe(CoreSubscriber<? super T> actual) {
+                subscribeTraced(source, actual, span, true);
+            }
+        };
+    }
+
+    /**
+     * Traces the given {@link Flux} as a child of the current span, from its subscription to its termination.
+     *
+     * @param name the name of the span.
+     * @param flux the traced publisher.
+     * @param <T>  the type of the values.
+     * @return the traced publisher.
+     */
+    public <T> Flux<T> trace(String name, Flux<T> flux) {
+        return new FluxOperator<T, T>(flux) {
+            @Override
+            public void subscribe(CoreSubscriber<? super T> actual) {
+                subscribeTraced(source, actual, startSpan(name, current(actual.currentContext())), false);
+            }
+        };
+    }
+
+    private static <T> void subscribeTraced(Publisher<? extends T> source, CoreSubscriber<? super T> actual, Span span, boolean mono) {
+        if (span == null) {
+            source.subscribe(actual);
+            return;
+        }
+        TracingSubscriber<T> subscriber = new TracingSubscriber<>(actual, span, mono);
+        CommandContext.run(subscriber.currentContext(), () -> source.subscribe(subscriber));
+    }
+
+    private static String newId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return String.format("%016x", id);
+    }
+
+    /**
+     * Ends the span on termination or cancellation, scopes the requests to the span and the signals to the context of
+     * the subscriber.
+     */
+    private static final class TracingSubscriber<T> implements CoreSubscriber<T>, Subscription {
+
+        private final CoreSubscriber<? super T> actual;
+
+        private final Span span;
+
+        private final boolean mono;
+
+        private final Context context;
+
+        private Subscription subscription;
+
+        TracingSubscriber(CoreSubscriber<? super T> actual, Span span, boolean mono) {
+            this.actual = actual;
+            this.span = span;
+            this.mono = mono;
+            this.context = actual.currentContext().put(Span.class, span);
+        }
+
+        @Override
+        public Context currentContext() {
+            return context;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            actual.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T value) {
+            if (mono) {
+                span.end();
+            }
+            CommandContext.run(actual.currentContext(), () -> actual.onNext(value));
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (!span.isEnded()) {
+                span.error(e).end();
+            }
+            CommandContext.run(actual.currentContext(), () -> actual.onError(e));
+        }
+
+        @Override
+        public void onComplete() {
+            span.end();
+            CommandContext.run(actual.currentContext(), actual::onComplete);
+        }
+
+        @Override
+        public void request(long n) {
+            CommandContext.run(context, () -> subscription.request(n));
+        }
+
+        @Override
+        public void cancel() {
+            if (!span.isEnded()) {
+                span.tag("cancelled", "true").end();
+            }
+            subscription.cancel();
+        }
+    }
+}
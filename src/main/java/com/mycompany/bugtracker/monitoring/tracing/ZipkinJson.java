@@ -0,0 +1,34 @@
+package com.mycompany.bugtracker.monitoring.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps {@link Span}s to the Zipkin v2 JSON model, which most tracing backends can ingest.
+ */
+final class ZipkinJson {
+
+    private ZipkinJson() {}
+
+    static Map<String, Object> of(Span span, String serviceName) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.getTraceId());
+        json.put("id", span.getSpanId());
+        if (span.getParentId() != null) {
+            json.put("parentId", span.getParentId());
+        }
+        json.put("name", span.getName());
+        json.put("timestamp", span.getStartEpochMicros());
+        json.put("duration", Math.max(1, TimeUnit.NANOSECONDS.toMicros(span.getDurationNanos())));
+        json.put("localEndpoint", Map.of("serviceName", serviceName));
+        Map<String, String> tags = new LinkedHashMap<>(span.getTags());
+        if (span.getError() != null) {
+            tags.put("error", span.getError());
+        }
+        if (!tags.isEmpty()) {
+            json.put("tags", tags);
+        }
+        return json;
+    }
+}
@@ -0,0 +1,104 @@
+package com.mycompany.bugtracker.monitoring.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends the spans to a Zipkin compatible collector, such as Zipkin itself, Jaeger or the OpenTelemetry collector.
+ * <p>
+ * Spans are queued in memory and posted in batches every {@code flushInterval}. When the queue is full, or when the
+ * collector cannot be reached, spans are dropped and counted by {@code bugtracker.tracing.spans.dropped}.
+ */
+public class ZipkinSpanExporter implements SpanExporter, AutoCloseable {
+
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(ZipkinSpanExporter.class);
+
+    private final WebClient webClient;
+
+    private final String serviceName;
+
+    private final int maxQueueSize;
+
+    private final Queue<Span> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    private final Counter droppedSpans;
+
+    private final Disposable flushing;
+
+    public ZipkinSpanExporter(
+        WebClient.Builder webClientBuilder,
+        String endpoint,
+        String serviceName,
+        int maxQueueSize,
+        Duration flushInterval,
+        MeterRegistry meterRegistry
+    ) {
+        this.webClient = webClientBuilder.baseUrl(endpoint).build();
+        this.serviceName = serviceName;
+        this.maxQueueSize = maxQueueSize;
+        this.droppedSpans =
+            Counter.builder("bugtracker.tracing.spans.dropped").description("Spans that could not be exported").register(meterRegistry);
+        this.flushing = Flux.interval(flushInterval).onBackpressureDrop().concatMap(tick -> flush(), 1).subscribe();
+    }
+
+    @Override
+    public void export(Span span) {
+        if (queueSize.incrementAndGet() > maxQueueSize) {
+            queueSize.decrementAndGet();
+            droppedSpans.increment();
+            return;
+        }
+        queue.offer(span);
+    }
+
+    Mono<Void> flush() {
+        List<Map<String, Object>> batch = new ArrayList<>();
+        Span span;
+        while (batch.size() < MAX_BATCH_SIZE && (span = queue.poll()) != null) {
+            queueSize.decrementAndGet();
+            batch.add(ZipkinJson.of(span, serviceName));
+        }
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+        return webClient
+            .post()
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(batch)
+            .retrieve()
+            .toBodilessEntity()
+            .then()
+            .onErrorResume(e -> {
+                log.debug("Could not export {} span(s): {}", batch.size(), e.getMessage());
+                droppedSpans.increment(batch.size());
+                return Mono.empty();
+            });
+    }
+
+    /**
+     * Stops the periodic flush and sends the queued spans.
+     */
+    @Override
+    public void close() {
+        flushing.dispose();
+        flush().block(Duration.ofSeconds(5));
+    }
+}
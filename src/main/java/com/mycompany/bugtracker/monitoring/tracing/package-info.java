@@ -0,0 +1,4 @@
+/**
+ * Distributed tracing of the requests, from the HTTP edge down to the MongoDB commands.
+ */
+package com.mycompany.bugtracker.monitoring.tracing;
@@ -0,0 +1,75 @@
+package com.mycompany.bugtracker.repository;
+
+import com.mycompany.bugtracker.domain.BulkJob;
+import com.mycompany.bugtracker.domain.enumeration.BulkJobStatus;
+import java.time.Instant;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data MongoDB reactive repository for the {@link BulkJob} entity.
+ */
+@Repository
+public interface BulkJobRepository extends ReactiveMongoRepository<BulkJob, String>, PartialUpdateRepository<BulkJob, String> {
+    Flux<BulkJob> findAllByStatus(BulkJobStatus status);
+
+    /**
+     * Adds the progress of a chunk to the job, checking for its cancellation in the same update.
+     *
+     * @return whether the job should go on, {@code false} once its cancellation was requested.
+     */
+    default Mono<Boolean> recordProgress(String id, long processed, long modified, String cursor) {
+        Update update = new Update()
+            .inc("processed", processed)
+            .inc("modified", modified)
+            .set("cursor", cursor)
+            .set("updatedDate", Instant.now());
+        return updateMulti(Query.query(Criteria.where("id").is(id).and("cancelRequested").is(false)), update)
+            .flatMap(result -> result.getMatchedCount() > 0 ? Mono.just(true) : updateById(id, update).thenReturn(false));
+    }
+
+    /**
+     * @return whether the job is still running, and so will stop after its current chunk.
+     */
+    default Mono<Boolean> requestCancellation(String id) {
+        Query query = Query.query(Criteria.where("id").is(id).and("status").is(BulkJobStatus.RUNNING));
+        return updateMulti(query, new Update().set("cancelRequested", true)).map(result -> result.getMatchedCount() > 0);
+    }
+
+    /**
+     * Sets a job back to running if it was interrupted, if it failed, or if it was left running without any progress
+     * since the given date. A single update makes sure that only one instance resumes the job, and a job whose type
+     * can only run once at a time is not resumed while another one is running.
+     *
+     * @return whether the job can be resumed by the caller.
+     */
+    default Mono<Boolean> claimForResume(String id, Instant staleBefore) {
+        Criteria resumable = Criteria
+            .where("id")
+            .is(id)
+            .orOperator(
+                Criteria.where("status").in(BulkJobStatus.INTERRUPTED, BulkJobStatus.FAILED),
+                Criteria.where("status").is(BulkJobStatus.RUNNING).and("updatedDate").lt(staleBefore)
+            );
+        Update update = new Update()
+            .set("status", BulkJobStatus.RUNNING)
+            .set("cancelRequested", false)
+            .set("updatedDate", Instant.now())
+            .unset("error")
+            .unset("finishedDate");
+        return updateMulti(Query.query(resumable), update)
+            .map(result -> result.getMatchedCount() > 0)
+            .onErrorReturn(DuplicateKeyException.class, false);
+    }
+
+    default Mono<Boolean> finish(String id, BulkJobStatus status, String error) {
+        Instant now = Instant.now();
+        return updateById(id, new Update().set("status", status).set("error", error).set("updatedDate", now).set("finishedDate", now));
+    }
+}
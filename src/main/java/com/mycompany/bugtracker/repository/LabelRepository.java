@@ -1,12 +1,22 @@
 package com.mycompany.bugtracker.repository;
 
 import com.mycompany.bugtracker.domain.Label;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 
 /**
  * Spring Data MongoDB reactive repository for the Label entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface LabelRepository extends ReactiveMongoRepository<Label, String> {}
+public interface LabelRepository extends ReactiveMongoRepository<Label, String>, SparseFieldsetRepository<Label, String> {
+    @Override
+    @ReadSettings(preference = "secondaryPreferred")
+    Flux<Label> findAll();
+
+    @Override
+    @ReadSettings(preference = "secondaryPreferred")
+    Flux<Label> findAll(SparseFieldset fieldset);
+}
@@ -0,0 +1,32 @@
+package com.mycompany.bugtracker.repository;
+
+import com.mongodb.client.result.UpdateResult;
+import com.mycompany.bugtracker.repository.support.ExtendedReactiveMongoRepository;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.repository.NoRepositoryBean;
+import reactor.core.publisher.Mono;
+
+/**
+ * Atomic updates of some fields of a document, without reading and saving the whole entity, implemented by
+ * {@link ExtendedReactiveMongoRepository} for all the repositories.
+ *
+ * @param <T>  the entity type.
+ * @param <ID> the id type.
+ */
+@NoRepositoryBean
+public interface PartialUpdateRepository<T, ID> {
+    /**
+     * @param id     the id of the entity.
+     * @param update the update, with the property names of the entity.
+     * @return whether the entity exists.
+     */
+    Mono<Boolean> updateById(ID id, Update update);
+
+    /**
+     * @param query  the query of the entities, with their property names.
+     * @param update the update, with the property names of the entity.
+     * @return the numbers of matched and modified entities.
+     */
+    Mono<UpdateResult> updateMulti(Query query, Update update);
+}
@@ -1,12 +1,22 @@
 package com.mycompany.bugtracker.repository;
 
 import com.mycompany.bugtracker.domain.Project;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 
 /**
  * Spring Data MongoDB reactive repository for the Project entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ProjectRepository extends ReactiveMongoRepository<Project, String> {}
+public interface ProjectRepository extends ReactiveMongoRepository<Project, String>, SparseFieldsetRepository<Project, String> {
+    @Override
+    @ReadSettings(preference = "secondaryPreferred")
+    Flux<Project> findAll();
+
+    @Override
+    @ReadSettings(preference = "secondaryPreferred")
+    Flux<Project> findAll(SparseFieldset fieldset);
+}
@@ -0,0 +1,30 @@
+package com.mycompany.bugtracker.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Read preference and read concern of the queries sent by a repository method.
+ * <p>
+ * Methods without this annotation, and all writes, use the settings of the client, which default to the primary.
+ * Methods serving lists and exports can read from secondaries, as long as they tolerate stale data.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadSettings {
+    /**
+     * @return the read preference, as in the connection string: {@code primary}, {@code primaryPreferred},
+     * {@code secondary}, {@code secondaryPreferred} or {@code nearest}.
+     */
+    String preference() default "primary";
+
+    /**
+     * @return the read concern level: {@code local}, {@code available}, {@code majority}, {@code linearizable} or
+     * {@code snapshot}; empty to keep the read concern of the client.
+     */
+    String concern() default "";
+}
@@ -0,0 +1,20 @@
+package com.mycompany.bugtracker.repository;
+
+import com.mycompany.bugtracker.domain.RefreshToken;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data MongoDB reactive repository for the {@link RefreshToken} entity.
+ */
+@Repository
+public interface RefreshTokenRepository extends ReactiveMongoRepository<RefreshToken, String> {
+    /**
+     * Atomically removes the token with the given hash (a single {@code findAndRemove}), so that a refresh token can only
+     * ever be consumed once, even by concurrent requests.
+     */
+    Mono<RefreshToken> deleteByTokenHash(String tokenHash);
+
+    Mono<Long> deleteByLogin(String login);
+}
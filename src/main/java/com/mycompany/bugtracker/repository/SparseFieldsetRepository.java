@@ -0,0 +1,53 @@
+package com.mycompany.bugtracker.repository;
+
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
+import com.mycompany.bugtracker.repository.support.ExtendedReactiveMongoRepository;
+import java.util.Collection;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Queries loading only the properties of a {@link SparseFieldset}, implemented by
+ * {@link ExtendedReactiveMongoRepository} for all the repositories.
+ *
+ * @param <T>  the entity type.
+ * @param <ID> the id type.
+ */
+@NoRepositoryBean
+public interface SparseFieldsetRepository<T, ID> {
+    Mono<T> findById(ID id, SparseFieldset fieldset);
+
+    /**
+     * Loads the entities with one query, and their relationships with one query per relationship, see
+     * {@link com.mycompany.bugtracker.repository.support.DbRefBatchResolver}.
+     *
+     * @param ids      the ids of the entities.
+     * @param fieldset the properties to load.
+     * @return the found entities, in no particular order.
+     */
+    Flux<T> findAllById(Collection<ID> ids, SparseFieldset fieldset);
+
+    Flux<T> findAll(SparseFieldset fieldset);
+
+    /**
+     * @param query    the query, whose fields are restricted to the ones of the fieldset.
+     * @param fieldset the properties to load.
+     * @return the matching entities.
+     */
+    Flux<T> findAll(Query query, SparseFieldset fieldset);
+
+    /**
+     * @param query    the query, whose fields are restricted to the ones of the fieldset.
+     * @param fieldset the properties to load.
+     * @return the first matching entity.
+     */
+    Mono<T> findOne(Query query, SparseFieldset fieldset);
+
+    /**
+     * @param query the query, with the property names of the entity.
+     * @return the number of matching entities, counted by MongoDB without loading them.
+     */
+    Mono<Long> count(Query query);
+}
@@ -0,0 +1,105 @@
+package com.mycompany.bugtracker.repository;
+
+import com.mycompany.bugtracker.domain.Label;
+import com.mycompany.bugtracker.domain.Ticket;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repository of the {@code ticket_archive} collection, where the archived {@link Ticket}s are moved as they are stored,
+ * with the date they were archived.
+ */
+@Repository
+public class TicketArchiveRepository {
+
+    public static final String COLLECTION_NAME = "ticket_archive";
+
+    public static final String ARCHIVED_DATE_FIELD = "archived_date";
+
+    private static final String ID_FIELD = "_id";
+
+    private static final String LABEL_TICKETS_FIELD = "tickets";
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    private final QueryMapper queryMapper;
+
+    private final MongoPersistentEntity<?> ticketEntity;
+
+    private final String labelCollection;
+
+    public TicketArchiveRepository(ReactiveMongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+        this.queryMapper = new QueryMapper(mongoOperations.getConverter());
+        this.ticketEntity = mongoOperations.getConverter().getMappingContext().getRequiredPersistentEntity(Ticket.class);
+        this.labelCollection = mongoOperations.getCollectionName(Label.class);
+    }
+
+    /**
+     * Moves the tickets matching a query to the archive: they are copied, their references are pulled from the labels,
+     * then they are removed from the ticket collection. A copy already in the archive is replaced, so that a move
+     * interrupted between these steps can be retried. The archived copies keep their references to the labels.
+     *
+     * @param query the query of the tickets, with their property names.
+     * @return the number of archived tickets.
+     */
+    public Mono<Long> archive(Query query) {
+        // Read as documents, so that the references are copied without being resolved
+        Query mappedQuery = new BasicQuery(queryMapper.getMappedObject(query.getQueryObject(), ticketEntity));
+        Date archivedDate = new Date();
+        return mongoOperations
+            .find(mappedQuery, Document.class, ticketEntity.getCollection())
+            .map(document -> document.append(ARCHIVED_DATE_FIELD, archivedDate))
+            .collectList()
+            .filter(documents -> !documents.isEmpty())
+            .flatMap(documents -> {
+                List<Object> ids = documents.stream().map(document -> document.get(ID_FIELD)).collect(Collectors.toList());
+                Query byIds = Query.query(Criteria.where(ID_FIELD).in(ids));
+                return mongoOperations
+                    .remove(byIds, COLLECTION_NAME)
+                    .thenMany(mongoOperations.insert(documents, COLLECTION_NAME))
+                    .then(mongoOperations.updateMulti(labelsOf(ids), new Update().pull(LABEL_TICKETS_FIELD, refsTo(ids)), labelCollection))
+                    .then(mongoOperations.remove(byIds, ticketEntity.getCollection()))
+                    .thenReturn((long) documents.size());
+            })
+            .defaultIfEmpty(0L);
+    }
+
+    private static Query labelsOf(List<Object> ids) {
+        return Query.query(Criteria.where(LABEL_TICKETS_FIELD + ".$id").in(ids));
+    }
+
+    /**
+     * @return the condition of the references to the tickets, which {@code $pull} matches against each reference.
+     */
+    private static Document refsTo(List<Object> ids) {
+        return new Document("$id", new Document("$in", ids));
+    }
+
+    public Mono<Ticket> findById(String id) {
+        return mongoOperations.findById(id, Ticket.class, COLLECTION_NAME);
+    }
+
+    /**
+     * @param query the query of the tickets, with their property names, and the page to read.
+     */
+    public Flux<Ticket> findAll(Query query) {
+        return mongoOperations.find(query, Ticket.class, COLLECTION_NAME);
+    }
+
+    public Mono<Long> count(Query query) {
+        return mongoOperations.count(query, Ticket.class, COLLECTION_NAME);
+    }
+}
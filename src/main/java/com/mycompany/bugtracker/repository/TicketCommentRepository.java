@@ -0,0 +1,147 @@
+package com.mycompany.bugtracker.repository;
+
+import com.mycompany.bugtracker.domain.TicketComment;
+import com.mycompany.bugtracker.domain.TicketCommentBucket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Repository of the comments of the tickets, stored by {@link TicketCommentBucket}s.
+ */
+@Repository
+public class TicketCommentRepository {
+
+    /**
+     * Number of times an append is retried when another one created the next bucket first.
+     */
+    private static final int ROLLOVER_RETRIES = 3;
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    public TicketCommentRepository(ReactiveMongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    /**
+     * Appends a comment to the thread of a ticket, with a {@code $push} on its last bucket, or else by inserting the
+     * next bucket once the last one is full. Two comments racing to insert the same bucket are told apart by the unique
+     * {@code ticket_id, seq} index, and the loser pushes to the bucket of the winner. The next bucket is only inserted
+     * after a full one: a last bucket that isn't full was inserted by another comment since the {@code $push}, which
+     * is then retried, so that no bucket is left behind almost empty.
+     *
+     * @param ticketId the id of the ticket.
+     * @param comment  the comment, whose number is set.
+     * @return the comment.
+     */
+    public Mono<TicketComment> append(String ticketId, TicketComment comment) {
+        Query lastBucket = Query
+            .query(Criteria.where("ticketId").is(ticketId).and("count").lt(TicketCommentBucket.SIZE))
+            .with(Sort.by(Sort.Direction.DESC, "seq"));
+        lastBucket.fields().include("seq").include("count");
+        Update push = new Update()
+            .push("comments", mongoOperations.getConverter().convertToMongoType(comment, ClassTypeInformation.from(TicketComment.class)))
+            .inc("count", 1);
+        return mongoOperations
+            .findAndModify(lastBucket, push, FindAndModifyOptions.options().returnNew(true), TicketCommentBucket.class)
+            .switchIfEmpty(Mono.defer(() -> insertNextBucket(ticketId, comment)))
+            .retryWhen(Retry.max(ROLLOVER_RETRIES).filter(TicketCommentRepository::isRollover))
+            .map(bucket -> {
+                comment.setNumber((long) bucket.getSeq() * TicketCommentBucket.SIZE + bucket.getCount());
+                return comment;
+            });
+    }
+
+    private Mono<TicketCommentBucket> insertNextBucket(String ticketId, TicketComment comment) {
+        return findLastBucket(ticketId)
+            .flatMap(last ->
+                last.getCount() >= TicketCommentBucket.SIZE
+                    ? Mono.just(last.getSeq() + 1)
+                    : Mono.<Integer>error(new OptimisticLockingFailureException("Bucket " + last.getSeq() + " was inserted concurrently"))
+            )
+            .defaultIfEmpty(0)
+            .flatMap(seq -> {
+                TicketCommentBucket bucket = new TicketCommentBucket();
+                bucket.setTicketId(ticketId);
+                bucket.setSeq(seq);
+                bucket.setCount(1);
+                bucket.setComments(Collections.singletonList(comment));
+                return mongoOperations.insert(bucket);
+            });
+    }
+
+    /**
+     * @return whether the append failed because another one inserted the next bucket first.
+     */
+    private static boolean isRollover(Throwable e) {
+        return e instanceof DuplicateKeyException || e instanceof OptimisticLockingFailureException;
+    }
+
+    private Mono<TicketCommentBucket> findLastBucket(String ticketId) {
+        Query query = Query.query(Criteria.where("ticketId").is(ticketId)).with(Sort.by(Sort.Direction.DESC, "seq"));
+        query.fields().include("seq").include("count");
+        return mongoOperations.findOne(query, TicketCommentBucket.class);
+    }
+
+    /**
+     * Reads a page of the thread of a ticket, from the newest comments, with one query reading just enough buckets.
+     * The buckets are streamed, newest first, as the cursor returns them.
+     *
+     * @param ticketId the id of the ticket.
+     * @param before   the number of the comment the page ends before, or {@code null} for the newest comments.
+     * @param size     the number of comments of the page.
+     * @return the comments of the page, newest first.
+     */
+    public Flux<TicketComment> findPage(String ticketId, Long before, int size) {
+        Criteria criteria = Criteria.where("ticketId").is(ticketId);
+        if (before != null) {
+            if (before <= 1) {
+                return Flux.empty();
+            }
+            // The bucket of the comment just before
+            criteria = criteria.and("seq").lte((int) ((before - 2) / TicketCommentBucket.SIZE));
+        }
+        int buckets = (size + TicketCommentBucket.SIZE - 1) / TicketCommentBucket.SIZE + 1;
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.DESC, "seq")).limit(buckets).cursorBatchSize(1);
+        long end = before != null ? before : Long.MAX_VALUE;
+        return mongoOperations
+            .find(query, TicketCommentBucket.class)
+            .concatMapIterable(TicketCommentRepository::newestFirst)
+            .filter(comment -> comment.getNumber() < end)
+            .take(size);
+    }
+
+    private static List<TicketComment> newestFirst(TicketCommentBucket bucket) {
+        List<TicketComment> comments = new ArrayList<>(bucket.getComments().size());
+        for (int i = bucket.getComments().size() - 1; i >= 0; i--) {
+            TicketComment comment = bucket.getComments().get(i);
+            comment.setNumber((long) bucket.getSeq() * TicketCommentBucket.SIZE + i + 1);
+            comments.add(comment);
+        }
+        return comments;
+    }
+
+    /**
+     * @return the number of comments of a ticket, read from its last bucket.
+     */
+    public Mono<Long> count(String ticketId) {
+        return findLastBucket(ticketId).map(last -> (long) last.getSeq() * TicketCommentBucket.SIZE + last.getCount()).defaultIfEmpty(0L);
+    }
+
+    public Mono<Void> deleteAllByTicket(String ticketId) {
+        return mongoOperations.remove(Query.query(Criteria.where("ticketId").is(ticketId)), TicketCommentBucket.class).then();
+    }
+}
@@ -0,0 +1,55 @@
+package com.mycompany.bugtracker.repository;
+
+import com.mycompany.bugtracker.domain.Ticket;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeSaveCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Moves the long descriptions of the saved {@link Ticket}s to the {@link TicketDescriptionRepository}, the ticket keeping
+ * their preview.
+ * <p>
+ * A ticket saved with {@link Ticket#getDescriptionTruncated()}, such as one read from a list, keeps its stored
+ * description: a new description must be sent without the flag.
+ */
+@Component
+public class TicketDescriptionCallback implements ReactiveBeforeSaveCallback<Ticket> {
+
+    static final String ID_FIELD = "_id";
+
+    static final String DESCRIPTION_FIELD = "description";
+
+    static final String DESCRIPTION_TRUNCATED_FIELD = "description_truncated";
+
+    private final TicketDescriptionRepository ticketDescriptionRepository;
+
+    public TicketDescriptionCallback(TicketDescriptionRepository ticketDescriptionRepository) {
+        this.ticketDescriptionRepository = ticketDescriptionRepository;
+    }
+
+    @Override
+    public Publisher<Ticket> onBeforeSave(Ticket ticket, Document document, String collection) {
+        Object id = document.get(ID_FIELD);
+        if (id != null && Boolean.TRUE.equals(ticket.getDescriptionTruncated())) {
+            return Mono.just(ticket);
+        }
+        if (!ticketDescriptionRepository.isOffloaded(ticket.getDescription())) {
+            document.remove(DESCRIPTION_TRUNCATED_FIELD);
+            // The ticket may have had a long description before
+            return id == null ? Mono.just(ticket) : ticketDescriptionRepository.deleteById(id).thenReturn(ticket);
+        }
+        if (id == null) {
+            // The description is stored first, under the id the ticket is then inserted with
+            ObjectId newId = new ObjectId();
+            document.put(ID_FIELD, newId);
+            ticket.setId(newId.toHexString());
+            id = newId;
+        }
+        document.put(DESCRIPTION_FIELD, ticketDescriptionRepository.preview(ticket.getDescription()));
+        document.put(DESCRIPTION_TRUNCATED_FIELD, true);
+        return ticketDescriptionRepository.save(id, ticket.getDescription()).thenReturn(ticket);
+    }
+}
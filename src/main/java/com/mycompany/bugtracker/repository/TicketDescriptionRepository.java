@@ -0,0 +1,140 @@
+package com.mycompany.bugtracker.repository;
+
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import com.mycompany.bugtracker.domain.Ticket;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterOutputStream;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repository of the {@code ticket_description} collection, holding the long {@link Ticket} descriptions compressed
+ * with deflate, by ticket id. The ticket itself only holds a preview of them, so that the lists don't read them.
+ */
+@Repository
+public class TicketDescriptionRepository {
+
+    public static final String COLLECTION_NAME = "ticket_description";
+
+    private static final String ID_FIELD = "_id";
+
+    private static final String DATA_FIELD = "data";
+
+    private static final String SIZE_FIELD = "size";
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    private final ApplicationProperties.TicketDescription properties;
+
+    public TicketDescriptionRepository(ReactiveMongoOperations mongoOperations, ApplicationProperties applicationProperties) {
+        this.mongoOperations = mongoOperations;
+        this.properties = applicationProperties.getTicketDescription();
+    }
+
+    /**
+     * @param description the description of a ticket, may be {@code null}.
+     * @return whether the description is too long to be stored in the ticket.
+     */
+    public boolean isOffloaded(String description) {
+        return description != null && isOffloaded(description, properties.getOffloadThreshold().toBytes());
+    }
+
+    public String preview(String description) {
+        return preview(description, properties.getPreviewLength());
+    }
+
+    /**
+     * Stores the description of a ticket, replacing the one already stored.
+     *
+     * @param ticketId    the id of the ticket, as stored.
+     * @param description the full description.
+     */
+    public Mono<Void> save(Object ticketId, String description) {
+        return mongoOperations.save(document(ticketId, description), COLLECTION_NAME).then();
+    }
+
+    public Mono<Void> deleteById(Object ticketId) {
+        return mongoOperations.remove(Query.query(Criteria.where(ID_FIELD).is(storedId(ticketId))), COLLECTION_NAME).then();
+    }
+
+    public Mono<String> findById(String ticketId) {
+        return mongoOperations
+            .findById(storedId(ticketId), Document.class, COLLECTION_NAME)
+            .map(document -> decompress(document.get(DATA_FIELD, Binary.class).getData()));
+    }
+
+    /**
+     * Replaces the preview of a ticket by its full description, if it has one.
+     *
+     * @param ticket the ticket, modified.
+     * @return the ticket.
+     */
+    public Mono<Ticket> loadDescription(Ticket ticket) {
+        if (!Boolean.TRUE.equals(ticket.getDescriptionTruncated())) {
+            return Mono.just(ticket);
+        }
+        return findById(ticket.getId())
+            .map(description -> ticket.description(description).descriptionTruncated(false))
+            .defaultIfEmpty(ticket);
+    }
+
+    private Object storedId(Object ticketId) {
+        return ticketId instanceof String ? mongoOperations.getConverter().convertId(ticketId, ObjectId.class) : ticketId;
+    }
+
+    public static boolean isOffloaded(String description, long threshold) {
+        // A UTF-8 character takes 3 bytes at most, which saves encoding the short descriptions
+        return (long) description.length() * 3 > threshold && description.getBytes(StandardCharsets.UTF_8).length > threshold;
+    }
+
+    /**
+     * @return the first characters of the description, without splitting a surrogate pair.
+     */
+    public static String preview(String description, int length) {
+        if (description.length() <= length) {
+            return description;
+        }
+        int end = Character.isHighSurrogate(description.charAt(length - 1)) ? length - 1 : length;
+        return description.substring(0, end);
+    }
+
+    /**
+     * @param ticketId    the id of the ticket, as stored.
+     * @param description the full description.
+     * @return the document storing the description.
+     */
+    public static Document document(Object ticketId, String description) {
+        byte[] text = description.getBytes(StandardCharsets.UTF_8);
+        return new Document(ID_FIELD, ticketId).append(DATA_FIELD, new Binary(compress(text))).append(SIZE_FIELD, text.length);
+    }
+
+    static byte[] compress(byte[] text) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(text.length / 4);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed)) {
+            out.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    static String decompress(byte[] data) {
+        ByteArrayOutputStream text = new ByteArrayOutputStream(data.length * 4);
+        try (InflaterOutputStream out = new InflaterOutputStream(text)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new String(text.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
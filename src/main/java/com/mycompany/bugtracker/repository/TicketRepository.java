@@ -1,7 +1,12 @@
 package com.mycompany.bugtracker.repository;
 
+import com.mycompany.bugtracker.domain.Label;
 import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
@@ -13,19 +18,61 @@ import reactor.core.publisher.Mono;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface TicketRepository extends ReactiveMongoRepository<Ticket, String> {
+public interface TicketRepository
+    extends ReactiveMongoRepository<Ticket, String>, SparseFieldsetRepository<Ticket, String>, PartialUpdateRepository<Ticket, String> {
+    @ReadSettings(preference = "secondaryPreferred")
     Flux<Ticket> findAllBy(Pageable pageable);
 
+    @ReadSettings(preference = "secondaryPreferred")
     Flux<Ticket> findAllByOrderByDueDateAsc(Pageable pageable);
 
+    // Read from the primary: users list their own tickets right after assigning them
     Flux<Ticket> findByAssignedTo_Id(String login);
 
     @Query("{}")
+    @ReadSettings(preference = "secondaryPreferred")
     Flux<Ticket> findAllWithEagerRelationships(Pageable pageable);
 
     @Query("{}")
+    @ReadSettings(preference = "secondaryPreferred")
     Flux<Ticket> findAllWithEagerRelationships();
 
+    @Override
+    @ReadSettings(preference = "secondaryPreferred")
+    Mono<Long> count();
+
     @Query("{'id': ?0}")
     Mono<Ticket> findOneWithEagerRelationships(String id);
+
+    @ReadSettings(preference = "secondaryPreferred")
+    default Flux<Ticket> findAllByOrderByDueDateAsc(Pageable pageable, SparseFieldset fieldset) {
+        return findAll(new org.springframework.data.mongodb.core.query.Query().with(Sort.by("dueDate")).with(pageable), fieldset);
+    }
+
+    // Read from the primary, like findByAssignedTo_Id(String)
+    default Flux<Ticket> findByAssignedTo_Id(String id, SparseFieldset fieldset) {
+        return findAll(org.springframework.data.mongodb.core.query.Query.query(Criteria.where("assignedTo.id").is(id)), fieldset);
+    }
+
+    /**
+     * Adds the label with a {@code $addToSet} on the ticket only: the tickets of the label are not updated.
+     *
+     * @param id    the id of the ticket.
+     * @param label the label to add, of which only the id is used.
+     * @return whether the ticket exists.
+     */
+    default Mono<Boolean> addLabel(String id, Label label) {
+        return updateById(id, new Update().addToSet("labels", label));
+    }
+
+    /**
+     * Removes the label with a {@code $pull} on the ticket only: the tickets of the label are not updated.
+     *
+     * @param id    the id of the ticket.
+     * @param label the label to remove, of which only the id is used.
+     * @return whether the ticket exists.
+     */
+    default Mono<Boolean> removeLabel(String id, Label label) {
+        return updateById(id, new Update().pull("labels", label));
+    }
 }
@@ -1,8 +1,12 @@
 package com.mycompany.bugtracker.repository;
 
 import com.mycompany.bugtracker.domain.User;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
 import java.time.Instant;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -12,7 +16,8 @@ import reactor.core.publisher.Mono;
  * Spring Data MongoDB repository for the {@link User} entity.
  */
 @Repository
-public interface UserRepository extends ReactiveMongoRepository<User, String> {
+public interface UserRepository
+    extends ReactiveMongoRepository<User, String>, SparseFieldsetRepository<User, String>, PartialUpdateRepository<User, String> {
     Mono<User> findOneByActivationKey(String activationKey);
 
     Flux<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime);
@@ -28,4 +33,32 @@ public interface UserRepository extends ReactiveMongoRepository<User, String> {
     Flux<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
 
     Mono<Long> count();
+
+    default Mono<User> findOneByLogin(String login, SparseFieldset fieldset) {
+        return findOne(Query.query(Criteria.where("login").is(login)), fieldset);
+    }
+
+    default Flux<User> findAllByIdNotNull(Pageable pageable, SparseFieldset fieldset) {
+        return findAll(Query.query(Criteria.where("id").ne(null)).with(pageable), fieldset);
+    }
+
+    default Flux<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable, SparseFieldset fieldset) {
+        return findAll(Query.query(Criteria.where("id").ne(null).and("activated").is(true)).with(pageable), fieldset);
+    }
+
+    /**
+     * Replaces the password hash of a user, only if it is still the given one.
+     *
+     * @param login       the login of the user.
+     * @param oldPassword the expected password hash.
+     * @param newPassword the new password hash.
+     * @return whether the password was replaced.
+     */
+    default Mono<Boolean> updatePasswordIfUnchanged(String login, String oldPassword, String newPassword) {
+        return updateMulti(
+            Query.query(Criteria.where("login").is(login).and("password").is(oldPassword)),
+            new Update().set("password", newPassword)
+        )
+            .map(result -> result.getModifiedCount() > 0);
+    }
 }
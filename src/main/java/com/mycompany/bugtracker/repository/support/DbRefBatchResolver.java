@@ -0,0 +1,148 @@
+package com.mycompany.bugtracker.repository.support;
+
+import com.mongodb.DBRef;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.bson.Document;
+import org.springframework.core.CollectionFactory;
+import org.springframework.data.mapping.Association;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
+
+/**
+ * Loads entities and their {@link org.springframework.data.mongodb.core.mapping.DBRef} relationships with one
+ * {@code $in} query per relationship, instead of the query per reference of the converter.
+ * <p>
+ * The relationships are resolved one level deep: the references of the related entities are not loaded.
+ */
+public class DbRefBatchResolver {
+
+    private static final String ID_FIELD = "_id";
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    private final MongoConverter converter;
+
+    private final QueryMapper queryMapper;
+
+    public DbRefBatchResolver(ReactiveMongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+        this.converter = mongoOperations.getConverter();
+        this.queryMapper = new QueryMapper(converter);
+    }
+
+    /**
+     * @param query          the query of the entities, with their property names.
+     * @param entityType     the type of the entities.
+     * @param collectionName the collection of the entities.
+     * @return the matching entities, with the relationships included in the fields of the query.
+     */
+    public <T> Flux<T> find(Query query, Class<T> entityType, String collectionName) {
+        MongoPersistentEntity<?> entity = converter.getMappingContext().getRequiredPersistentEntity(entityType);
+        Query mappedQuery = new BasicQuery(
+            queryMapper.getMappedObject(query.getQueryObject(), entity),
+            queryMapper.getMappedFields(query.getFieldsObject(), entity)
+        );
+        return mongoOperations
+            .find(mappedQuery, Document.class, collectionName)
+            .collectList()
+            .flatMapMany(documents -> read(documents, entityType, entity));
+    }
+
+    private <T> Flux<T> read(List<Document> documents, Class<T> entityType, MongoPersistentEntity<?> entity) {
+        List<MongoPersistentProperty> references = references(entity);
+        return Flux
+            .fromIterable(references)
+            .flatMap(property -> resolve(property, documents).map(targets -> Tuples.of(property, targets)))
+            .collectMap(reference -> reference.getT1(), reference -> reference.getT2())
+            .flatMapMany(targetsByProperty ->
+                Flux.fromIterable(documents).map(document -> read(document, entityType, entity, targetsByProperty))
+            );
+    }
+
+    /**
+     * @return the related entities of the property, by id.
+     */
+    private Mono<Map<Object, Object>> resolve(MongoPersistentProperty property, List<Document> documents) {
+        Set<Object> ids = new LinkedHashSet<>();
+        for (Document document : documents) {
+            for (DBRef reference : references(document.get(property.getFieldName()))) {
+                ids.add(reference.getId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        MongoPersistentEntity<?> target = converter.getMappingContext().getRequiredPersistentEntity(property.getActualType());
+        Query query = new Query(Criteria.where(ID_FIELD).in(ids));
+        references(target).forEach(reference -> query.fields().exclude(reference.getFieldName()));
+        return mongoOperations
+            .find(query, Document.class, target.getCollection())
+            .collectMap(document -> document.get(ID_FIELD), document -> converter.read(target.getType(), document));
+    }
+
+    private <T> T read(
+        Document document,
+        Class<T> entityType,
+        MongoPersistentEntity<?> entity,
+        Map<MongoPersistentProperty, Map<Object, Object>> targetsByProperty
+    ) {
+        Document withoutReferences = new Document(document);
+        targetsByProperty.keySet().forEach(property -> withoutReferences.remove(property.getFieldName()));
+        PersistentPropertyAccessor<T> accessor = entity.getPropertyAccessor(converter.read(entityType, withoutReferences));
+        targetsByProperty.forEach((property, targets) -> {
+            Object value = document.get(property.getFieldName());
+            if (value instanceof DBRef) {
+                accessor.setProperty(property, targets.get(((DBRef) value).getId()));
+            } else if (value instanceof Collection) {
+                Collection<Object> related = CollectionFactory.createCollection(property.getType(), ((Collection<?>) value).size());
+                for (DBRef reference : references(value)) {
+                    Object target = targets.get(reference.getId());
+                    if (target != null) {
+                        related.add(target);
+                    }
+                }
+                accessor.setProperty(property, related);
+            }
+        });
+        return accessor.getBean();
+    }
+
+    private static List<MongoPersistentProperty> references(MongoPersistentEntity<?> entity) {
+        List<MongoPersistentProperty> references = new ArrayList<>();
+        entity.doWithAssociations((Association<MongoPersistentProperty> association) -> {
+            if (association.getInverse().isDbReference()) {
+                references.add(association.getInverse());
+            }
+        });
+        return references;
+    }
+
+    private static Collection<DBRef> references(Object value) {
+        List<DBRef> references = new ArrayList<>();
+        if (value instanceof DBRef) {
+            references.add((DBRef) value);
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                if (element instanceof DBRef) {
+                    references.add((DBRef) element);
+                }
+            }
+        }
+        return references;
+    }
+}
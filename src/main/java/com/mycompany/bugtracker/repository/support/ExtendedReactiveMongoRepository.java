@@ -0,0 +1,85 @@
+package com.mycompany.bugtracker.repository.support;
+
+import com.mongodb.client.result.UpdateResult;
+import com.mycompany.bugtracker.repository.PartialUpdateRepository;
+import com.mycompany.bugtracker.repository.SparseFieldsetRepository;
+import java.io.Serializable;
+import java.util.Collection;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.query.MongoEntityInformation;
+import org.springframework.data.mongodb.repository.support.SimpleReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Base class of the repositories, adding the {@link SparseFieldsetRepository} queries and the
+ * {@link PartialUpdateRepository} updates.
+ * <p>
+ * They go through the public {@link ReactiveMongoOperations} API, and so through the
+ * {@link ReadSettingsReactiveMongoTemplate}, as the template methods used by the derived queries can't be given a
+ * projection or an update.
+ */
+public class ExtendedReactiveMongoRepository<T, ID extends Serializable>
+    extends SimpleReactiveMongoRepository<T, ID>
+    implements SparseFieldsetRepository<T, ID>, PartialUpdateRepository<T, ID> {
+
+    private final MongoEntityInformation<T, ID> entityInformation;
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    private final DbRefBatchResolver dbRefBatchResolver;
+
+    public ExtendedReactiveMongoRepository(MongoEntityInformation<T, ID> entityInformation, ReactiveMongoOperations mongoOperations) {
+        super(entityInformation, mongoOperations);
+        this.entityInformation = entityInformation;
+        this.mongoOperations = mongoOperations;
+        this.dbRefBatchResolver = new DbRefBatchResolver(mongoOperations);
+    }
+
+    @Override
+    public Mono<T> findById(ID id, SparseFieldset fieldset) {
+        return findOne(Query.query(Criteria.where(entityInformation.getIdAttribute()).is(id)), fieldset);
+    }
+
+    @Override
+    public Flux<T> findAllById(Collection<ID> ids, SparseFieldset fieldset) {
+        Query query = fieldset.applyTo(Query.query(Criteria.where(entityInformation.getIdAttribute()).in(ids)));
+        return dbRefBatchResolver.find(query, entityInformation.getJavaType(), entityInformation.getCollectionName());
+    }
+
+    @Override
+    public Flux<T> findAll(SparseFieldset fieldset) {
+        return findAll(new Query(), fieldset);
+    }
+
+    @Override
+    public Flux<T> findAll(Query query, SparseFieldset fieldset) {
+        return mongoOperations.find(fieldset.applyTo(query), entityInformation.getJavaType(), entityInformation.getCollectionName());
+    }
+
+    @Override
+    public Mono<T> findOne(Query query, SparseFieldset fieldset) {
+        return mongoOperations.findOne(fieldset.applyTo(query), entityInformation.getJavaType(), entityInformation.getCollectionName());
+    }
+
+    @Override
+    public Mono<Long> count(Query query) {
+        return mongoOperations.count(query, entityInformation.getJavaType(), entityInformation.getCollectionName());
+    }
+
+    @Override
+    public Mono<Boolean> updateById(ID id, Update update) {
+        Query query = Query.query(Criteria.where(entityInformation.getIdAttribute()).is(id));
+        return mongoOperations
+            .updateFirst(query, update, entityInformation.getJavaType(), entityInformation.getCollectionName())
+            .map(result -> result.getMatchedCount() > 0);
+    }
+
+    @Override
+    public Mono<UpdateResult> updateMulti(Query query, Update update) {
+        return mongoOperations.updateMulti(query, update, entityInformation.getJavaType(), entityInformation.getCollectionName());
+    }
+}
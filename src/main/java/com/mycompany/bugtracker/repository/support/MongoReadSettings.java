@@ -0,0 +1,61 @@
+package com.mycompany.bugtracker.repository.support;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.mycompany.bugtracker.repository.ReadSettings;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Parsed {@link ReadSettings}, carried in the Reactor context from the repository method to the
+ * {@link ReadSettingsReactiveMongoTemplate}.
+ */
+public final class MongoReadSettings {
+
+    private static final Class<MongoReadSettings> CONTEXT_KEY = MongoReadSettings.class;
+
+    private final ReadPreference readPreference;
+
+    private final ReadConcern readConcern;
+
+    private MongoReadSettings(ReadPreference readPreference, ReadConcern readConcern) {
+        this.readPreference = readPreference;
+        this.readConcern = readConcern;
+    }
+
+    /**
+     * @param readSettings the annotation to parse.
+     * @return the parsed settings.
+     * @throws IllegalArgumentException if the read preference or the read concern level is unknown.
+     */
+    public static MongoReadSettings of(ReadSettings readSettings) {
+        ReadPreference readPreference = ReadPreference.valueOf(readSettings.preference());
+        ReadConcern readConcern = readSettings.concern().isEmpty()
+            ? null
+            : new ReadConcern(ReadConcernLevel.fromString(readSettings.concern()));
+        return new MongoReadSettings(readPreference, readConcern);
+    }
+
+    public Context putIn(Context context) {
+        return context.put(CONTEXT_KEY, this);
+    }
+
+    public static MongoDatabase applyFrom(ContextView context, MongoDatabase database) {
+        return context.<MongoReadSettings>getOrEmpty(CONTEXT_KEY).map(readSettings -> readSettings.apply(database)).orElse(database);
+    }
+
+    MongoDatabase apply(MongoDatabase database) {
+        MongoDatabase result = database.withReadPreference(readPreference);
+        return readConcern != null ? result.withReadConcern(readConcern) : result;
+    }
+
+    public ReadPreference getReadPreference() {
+        return readPreference;
+    }
+
+    public ReadConcern getReadConcern() {
+        return readConcern;
+    }
+}
@@ -0,0 +1,23 @@
+package com.mycompany.bugtracker.repository.support;
+
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveMongoTemplate} applying the {@link MongoReadSettings} found in the Reactor context to the database,
+ * and so to every collection used by the operation.
+ */
+public class ReadSettingsReactiveMongoTemplate extends ReactiveMongoTemplate {
+
+    public ReadSettingsReactiveMongoTemplate(ReactiveMongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter) {
+        super(mongoDatabaseFactory, mongoConverter);
+    }
+
+    @Override
+    protected Mono<MongoDatabase> doGetDatabase() {
+        return Mono.deferContextual(context -> super.doGetDatabase().map(database -> MongoReadSettings.applyFrom(context, database)));
+    }
+}
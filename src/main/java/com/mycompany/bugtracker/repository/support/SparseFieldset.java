@@ -0,0 +1,106 @@
+package com.mycompany.bugtracker.repository.support;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.StringUtils;
+
+/**
+ * Properties of an entity requested by a client, such as {@code ?fields=title,dueDate}: only they are loaded from
+ * MongoDB, through a projection, and serialized. The id is always included.
+ */
+public final class SparseFieldset {
+
+    /**
+     * All the properties, the fieldset of the requests without {@code fields} parameter.
+     */
+    public static final SparseFieldset ALL = new SparseFieldset(null);
+
+    private static final String ID = "id";
+
+    private final Set<String> properties;
+
+    private SparseFieldset(Set<String> properties) {
+        this.properties = properties;
+    }
+
+    public static SparseFieldset of(String... properties) {
+        Set<String> result = new LinkedHashSet<>();
+        Arrays.stream(properties).map(String::trim).filter(StringUtils::hasText).forEach(result::add);
+        return result.isEmpty() ? ALL : new SparseFieldset(Collections.unmodifiableSet(result));
+    }
+
+    /**
+     * @param fields comma-separated property names, or {@code null}.
+     * @return the fieldset of the properties, or {@link #ALL} if there is none.
+     */
+    public static SparseFieldset parse(String fields) {
+        return fields == null ? ALL : of(fields.split(","));
+    }
+
+    public boolean isAll() {
+        return properties == null;
+    }
+
+    public boolean includes(String property) {
+        return properties == null || ID.equals(property) || properties.contains(property);
+    }
+
+    /**
+     * @param property a property to include too.
+     * @return the fieldset including the property.
+     */
+    public SparseFieldset with(String property) {
+        if (includes(property)) {
+            return this;
+        }
+        Set<String> result = new LinkedHashSet<>(properties);
+        result.add(property);
+        return new SparseFieldset(Collections.unmodifiableSet(result));
+    }
+
+    /**
+     * @return the requested properties, empty for {@link #ALL}.
+     */
+    public Set<String> getProperties() {
+        return properties == null ? Collections.emptySet() : properties;
+    }
+
+    /**
+     * Restricts the fields of the query to the ones of the properties, which are mapped to the document field names
+     * by the template. Relationships that are left out are not resolved.
+     *
+     * @param query the query to restrict, modified.
+     * @return the query.
+     */
+    public Query applyTo(Query query) {
+        if (properties != null) {
+            properties.forEach(query.fields()::include);
+        }
+        return query;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SparseFieldset)) {
+            return false;
+        }
+        return Objects.equals(properties, ((SparseFieldset) o).properties);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(properties);
+    }
+
+    @Override
+    public String toString() {
+        return properties == null ? "SparseFieldset{*}" : "SparseFieldset" + properties;
+    }
+}
@@ -0,0 +1,95 @@
+package com.mycompany.bugtracker.security;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt {@link PasswordEncoder} whose work factor is chosen per deployment.
+ * <p>
+ * Encoding and matching are delegated to a {@link BCryptPasswordEncoder}; hashes produced with any cost still match.
+ * {@link #upgradeEncoding(String)} reports every hash whose cost differs from the configured one, so that Spring
+ * Security re-encodes the password on the next successful login.
+ */
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptivePasswordEncoder.class);
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private static final int BENCHMARK_ROUNDS = 3;
+
+    private static final String BENCHMARK_PASSWORD = "benchmark-password";
+
+    private final int strength;
+
+    private final BCryptPasswordEncoder delegate;
+
+    public AdaptivePasswordEncoder(int strength) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Creates an encoder using the highest strength between {@code minStrength} and {@code maxStrength} whose hash
+     * latency, measured on this machine, stays within {@code targetLatency}.
+     *
+     * @param targetLatency the maximum acceptable time to hash one password.
+     * @param minStrength   the lowest strength to use, even if it is slower than the target.
+     * @param maxStrength   the highest strength to try.
+     * @return the calibrated encoder.
+     */
+    public static AdaptivePasswordEncoder calibrated(Duration targetLatency, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        // Warm up, so that the first measure doesn't include class loading and JIT compilation
+        new BCryptPasswordEncoder(minStrength).encode(BENCHMARK_PASSWORD);
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            Duration latency = measure(candidate);
+            log.debug("BCrypt strength {} takes {} ms", candidate, latency.toMillis());
+            if (latency.compareTo(targetLatency) > 0) {
+                break;
+            }
+            strength = candidate;
+        }
+        log.info("Using BCrypt strength {} for a target hash latency of {} ms", strength, targetLatency.toMillis());
+        return new AdaptivePasswordEncoder(strength);
+    }
+
+    private static Duration measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < BENCHMARK_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.encode(BENCHMARK_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return Duration.ofNanos(best);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
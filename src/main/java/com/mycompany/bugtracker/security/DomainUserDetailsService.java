@@ -2,6 +2,7 @@ package com.mycompany.bugtracker.security;
 
 import com.mycompany.bugtracker.domain.User;
 import com.mycompany.bugtracker.repository.UserRepository;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
@@ -9,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -19,7 +21,9 @@ import reactor.core.publisher.Mono;
  * Authenticate a user from the database.
  */
 @Component("userDetailsService")
-public class DomainUserDetailsService implements ReactiveUserDetailsService {
+public class DomainUserDetailsService implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+
+    private static final Duration REHASH_TIMEOUT = Duration.ofSeconds(2);
 
     private final Logger log = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
@@ -47,6 +51,32 @@ public class DomainUserDetailsService implements ReactiveUserDetailsService {
             .map(user -> createSpringSecurityUser(lowercaseLogin, user));
     }
 
+    /**
+     * Stores a re-hashed password after a successful login.
+     * <p>
+     * The hash is replaced by a single conditional update, skipped if the password was changed since it was read. The
+     * write is bounded by {@link #REHASH_TIMEOUT}, and its failure doesn't fail the login: the old hash stays valid.
+     */
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+        UserDetails updatedUser = org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+        return userRepository
+            .updatePasswordIfUnchanged(user.getUsername(), user.getPassword(), newPassword)
+            .timeout(REHASH_TIMEOUT)
+            .doOnNext(updated -> {
+                if (updated) {
+                    log.debug("Re-hashed password of User: {}", user.getUsername());
+                } else {
+                    log.debug("Password of User {} changed since login, not re-hashed", user.getUsername());
+                }
+            })
+            .onErrorResume(e -> {
+                log.warn("Could not re-hash password of User: {}", user.getUsername(), e);
+                return Mono.empty();
+            })
+            .thenReturn(updatedUser);
+    }
+
     private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
         if (!user.isActivated()) {
             throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
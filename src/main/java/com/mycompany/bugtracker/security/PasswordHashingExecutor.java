@@ -0,0 +1,76 @@
+package com.mycompany.bugtracker.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Fixed-size executor dedicated to password hashing and verification.
+ * <p>
+ * Hashing is deliberately CPU-expensive, so it must neither run on the Netty event loops nor compete with other
+ * blocking work on the shared bounded elastic pool. The queue is bounded: when it is full, new tasks are rejected with
+ * a {@link RejectedExecutionException}, which is translated to a {@code 503 (Service Unavailable)} response.
+ * <p>
+ * The time spent waiting in the queue and the time spent hashing are recorded as separate timers.
+ */
+public class PasswordHashingExecutor extends ThreadPoolExecutor {
+
+    private static final String METRIC_PREFIX = "bugtracker.password.hashing";
+
+    private final Timer queueWaitTimer;
+
+    private final Timer durationTimer;
+
+    private final Counter rejectedCounter;
+
+    public PasswordHashingExecutor(int poolSize, int queueCapacity, MeterRegistry meterRegistry) {
+        super(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("password-hashing-"),
+            new AbortPolicy()
+        );
+        this.queueWaitTimer =
+            Timer
+                .builder(METRIC_PREFIX + ".queue.wait")
+                .description("Time spent by password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        this.durationTimer =
+            Timer.builder(METRIC_PREFIX + ".duration").description("Time spent hashing or verifying passwords").register(meterRegistry);
+        this.rejectedCounter =
+            Counter
+                .builder(METRIC_PREFIX + ".rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.size", this, executor -> executor.getQueue().size()).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", this, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            super.execute(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    command.run();
+                } finally {
+                    durationTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw e;
+        }
+    }
+}
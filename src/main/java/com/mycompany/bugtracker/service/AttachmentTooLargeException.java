@@ -0,0 +1,10 @@
+package com.mycompany.bugtracker.service;
+
+public class AttachmentTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AttachmentTooLargeException(long maxSize) {
+        super("Attachments cannot be larger than " + maxSize + " bytes");
+    }
+}
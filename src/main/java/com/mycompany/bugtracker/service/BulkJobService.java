@@ -0,0 +1,226 @@
+package com.mycompany.bugtracker.service;
+
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import com.mycompany.bugtracker.config.Constants;
+import com.mycompany.bugtracker.domain.BulkJob;
+import com.mycompany.bugtracker.domain.enumeration.BulkJobStatus;
+import com.mycompany.bugtracker.repository.BulkJobRepository;
+import com.mycompany.bugtracker.security.AuthoritiesConstants;
+import com.mycompany.bugtracker.security.SecurityUtils;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service running {@link BulkOperation}s in the background, as {@link BulkJob}s.
+ * <p>
+ * A job is stored before it starts, and the request starting it returns right away. The operation is then applied one
+ * chunk of ids at a time, each chunk recording its progress and checking for a cancellation with a single update of
+ * the job, so that the job can be followed and cancelled from any instance. The chunks are spaced out by a delay, so
+ * that a large job doesn't monopolize MongoDB.
+ * <p>
+ * The jobs whose type has a {@link BulkOperationFactory} can be resumed after the last id they processed: the jobs
+ * interrupted by a shutdown are resumed when an instance starts, the failed and stale ones on request.
+ */
+@Service
+public class BulkJobService {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Logger log = LoggerFactory.getLogger(BulkJobService.class);
+
+    private final BulkJobRepository bulkJobRepository;
+
+    private final ObjectProvider<BulkOperationFactory> operationFactories;
+
+    private final ApplicationProperties.BulkJobs properties;
+
+    private final Map<String, Disposable> runningJobs = new ConcurrentHashMap<>();
+
+    public BulkJobService(
+        BulkJobRepository bulkJobRepository,
+        ObjectProvider<BulkOperationFactory> operationFactories,
+        ApplicationProperties applicationProperties
+    ) {
+        this.bulkJobRepository = bulkJobRepository;
+        this.operationFactories = operationFactories;
+        this.properties = applicationProperties.getBulkJobs();
+    }
+
+    /**
+     * Starts a job applying an operation in the background.
+     *
+     * @param type       the type of the job, such as {@code ticket-update}.
+     * @param parameters the parameters the {@link BulkOperationFactory} of the type creates the operation from.
+     * @param operation  the operation.
+     * @return the started job.
+     */
+    public Mono<BulkJob> start(String type, Map<String, String> parameters, BulkOperation operation) {
+        return Mono
+            .zip(operation.count(), SecurityUtils.getCurrentUserLogin().defaultIfEmpty(Constants.SYSTEM))
+            .flatMap(countAndLogin -> {
+                BulkJob job = new BulkJob();
+                job.setType(type);
+                job.setParameters(parameters);
+                job.setTotal(countAndLogin.getT1());
+                job.setCreatedBy(countAndLogin.getT2());
+                return bulkJobRepository.save(job);
+            })
+            .doOnNext(job -> {
+                log.debug("Starting bulk job: {}", job);
+                launch(job.getId(), operation, null);
+            });
+    }
+
+    /**
+     * Resumes a job after the last id it processed, if it was interrupted, if it failed, or if it is stale.
+     *
+     * @param id the id of the job.
+     * @return the resumed job, or an empty {@link Mono} if the job is not found or can't be resumed.
+     */
+    public Mono<BulkJob> resume(String id) {
+        return findOne(id).flatMap(this::resumeJob);
+    }
+
+    private Mono<BulkJob> resumeJob(BulkJob job) {
+        BulkOperationFactory factory = operationFactories
+            .orderedStream()
+            .filter(candidate -> candidate.getType().equals(job.getType()))
+            .findFirst()
+            .orElse(null);
+        if (factory == null) {
+            log.debug("Bulk job {} can't be resumed: no operation factory for type {}", job.getId(), job.getType());
+            return Mono.empty();
+        }
+        return bulkJobRepository
+            .claimForResume(job.getId(), Instant.now().minus(properties.getStaleAfter()))
+            .filter(Boolean::booleanValue)
+            .flatMap(claimed -> {
+                log.debug("Resuming bulk job {} after id {}", job.getId(), job.getCursor());
+                launch(job.getId(), factory.create(job.getParameters()), job.getCursor());
+                return bulkJobRepository.findById(job.getId());
+            });
+    }
+
+    /**
+     * Resumes the jobs interrupted by the shutdown of an instance.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        bulkJobRepository
+            .findAllByStatus(BulkJobStatus.INTERRUPTED)
+            .concatMap(this::resumeJob)
+            .subscribe(job -> log.info("Resumed interrupted bulk job: {}", job), e -> log.warn("Could not resume the bulk jobs", e));
+    }
+
+    private void launch(String id, BulkOperation operation, String cursor) {
+        Disposable.Swap subscription = Disposables.swap();
+        runningJobs.put(id, subscription);
+        subscription.update(
+            run(id, operation, cursor)
+                .onErrorResume(e -> {
+                    log.warn("Bulk job {} failed", id, e);
+                    return bulkJobRepository.finish(id, BulkJobStatus.FAILED, e.getMessage()).then();
+                })
+                .doFinally(signal -> runningJobs.remove(id, subscription))
+                .subscribe()
+        );
+    }
+
+    /**
+     * Applies the operation chunk by chunk, resubscribing for each chunk rather than nesting them, until no id is left
+     * or the job is cancelled.
+     */
+    private Mono<Void> run(String id, BulkOperation operation, String cursor) {
+        AtomicReference<String> lastId = new AtomicReference<>(cursor);
+        Duration chunkDelay = properties.getChunkDelay();
+        return Mono
+            .defer(() -> {
+                Mono<List<String>> chunk = operation.nextChunk(lastId.get(), properties.getChunkSize()).collectList();
+                return lastId.get() == null || chunkDelay.isZero() ? chunk : Mono.delay(chunkDelay).then(chunk);
+            })
+            .flatMap(ids -> {
+                if (ids.isEmpty()) {
+                    return operation.complete().thenReturn(BulkJobStatus.COMPLETED);
+                }
+                lastId.set(ids.get(ids.size() - 1));
+                return operation
+                    .apply(ids)
+                    .flatMap(modified -> bulkJobRepository.recordProgress(id, ids.size(), modified, lastId.get()))
+                    .map(goOn -> goOn ? BulkJobStatus.RUNNING : BulkJobStatus.CANCELLED);
+            })
+            .repeat()
+            .filter(status -> status != BulkJobStatus.RUNNING)
+            .next()
+            .flatMap(status -> {
+                log.debug("Bulk job {} finished: {}", id, status);
+                return bulkJobRepository.finish(id, status, null);
+            })
+            .then();
+    }
+
+    /**
+     * Gets a job, if it was started by the current user or if the current user is an administrator.
+     *
+     * @param id the id of the job.
+     * @return the job.
+     */
+    public Mono<BulkJob> findOne(String id) {
+        return bulkJobRepository.findById(id).filterWhen(this::isVisible);
+    }
+
+    /**
+     * Requests the cancellation of a job, which stops after its current chunk.
+     *
+     * @param id the id of the job.
+     * @return the job, with its cancellation requested if it was still running.
+     */
+    public Mono<BulkJob> cancel(String id) {
+        return findOne(id).flatMap(job -> bulkJobRepository.requestCancellation(id).then(bulkJobRepository.findById(id)));
+    }
+
+    private Mono<Boolean> isVisible(BulkJob job) {
+        return SecurityUtils
+            .getCurrentUserLogin()
+            .map(login -> login.equals(job.getCreatedBy()))
+            .filter(Boolean::booleanValue)
+            .switchIfEmpty(SecurityUtils.hasCurrentUserThisAuthority(AuthoritiesConstants.ADMIN));
+    }
+
+    /**
+     * Stops the jobs running on this instance, and marks them as interrupted so that they are resumed by the next
+     * instance to start.
+     */
+    @PreDestroy
+    public void stopRunningJobs() {
+        List<String> ids = new ArrayList<>(runningJobs.keySet());
+        runningJobs.values().forEach(Disposable::dispose);
+        if (ids.isEmpty()) {
+            return;
+        }
+        log.info("Stopping {} running bulk jobs", ids.size());
+        try {
+            Flux
+                .fromIterable(ids)
+                .flatMap(id -> bulkJobRepository.finish(id, BulkJobStatus.INTERRUPTED, "Interrupted by the application shutdown"))
+                .blockLast(SHUTDOWN_TIMEOUT);
+        } catch (RuntimeException e) {
+            log.warn("Could not mark the running bulk jobs {} as interrupted", ids, e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.mycompany.bugtracker.service;
+
+import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * An operation applied by a {@link BulkJobService} job to many entities, one chunk of ids at a time.
+ */
+public interface BulkOperation {
+    /**
+     * @return the number of entities the operation applies to, for the progress of the job.
+     */
+    Mono<Long> count();
+
+    /**
+     * @param afterId the last id of the previous chunk, or {@code null} for the first chunk.
+     * @param size    the maximum number of ids.
+     * @return the next ids the operation applies to, in ascending order.
+     */
+    Flux<String> nextChunk(String afterId, int size);
+
+    /**
+     * @param ids the ids of a chunk.
+     * @return the number of entities modified.
+     */
+    Mono<Long> apply(List<String> ids);
+
+    /**
+     * Called once no id is left, before the job is marked as completed. It may be called again if the job is resumed
+     * after it failed.
+     *
+     * @return a completed {@link Mono}.
+     */
+    default Mono<Void> complete() {
+        return Mono.empty();
+    }
+}
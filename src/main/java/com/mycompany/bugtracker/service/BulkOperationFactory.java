@@ -0,0 +1,16 @@
+package com.mycompany.bugtracker.service;
+
+import java.util.Map;
+
+/**
+ * Creates the {@link BulkOperation} of a type of {@link com.mycompany.bugtracker.domain.BulkJob} from the parameters
+ * stored with the job, so that {@link BulkJobService} can resume it.
+ */
+public interface BulkOperationFactory {
+    /**
+     * @return the type of the jobs whose operation this factory creates.
+     */
+    String getType();
+
+    BulkOperation create(Map<String, String> parameters);
+}
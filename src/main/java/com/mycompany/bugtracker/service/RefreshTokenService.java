@@ -0,0 +1,96 @@
+package com.mycompany.bugtracker.service;
+
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import com.mycompany.bugtracker.domain.RefreshToken;
+import com.mycompany.bugtracker.repository.RefreshTokenRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service for issuing and rotating refresh tokens.
+ * <p>
+ * Refresh tokens are opaque random values. They are single-use: {@link #consume(String)} removes the stored token, and
+ * the caller is expected to issue a new one alongside the new access token.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTE_LENGTH = 32;
+
+    private final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final ApplicationProperties.Security.RefreshToken properties;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, ApplicationProperties applicationProperties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.properties = applicationProperties.getSecurity().getRefreshToken();
+    }
+
+    /**
+     * Creates and stores a new refresh token for the given user.
+     *
+     * @param login      the login of the user.
+     * @param rememberMe whether the token was obtained with "remember me", which extends its validity.
+     * @return the raw token value, to be sent to the client.
+     */
+    public Mono<String> createRefreshToken(String login, boolean rememberMe) {
+        byte[] bytes = new byte[TOKEN_BYTE_LENGTH];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        long validityInSeconds = rememberMe ? properties.getTokenValidityInSecondsForRememberMe() : properties.getTokenValidityInSeconds();
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setLogin(login);
+        refreshToken.setRememberMe(rememberMe);
+        refreshToken.setExpiryDate(refreshToken.getCreatedDate().plusSeconds(validityInSeconds));
+        return refreshTokenRepository.save(refreshToken).thenReturn(rawToken);
+    }
+
+    /**
+     * Consumes a refresh token: the stored token is removed, so it cannot be used a second time.
+     *
+     * @param rawToken the raw token value sent by the client.
+     * @return the consumed token, or an empty {@link Mono} if the token is unknown, already used or expired.
+     */
+    public Mono<RefreshToken> consume(String rawToken) {
+        return refreshTokenRepository
+            .deleteByTokenHash(hash(rawToken))
+            .filter(refreshToken -> refreshToken.getExpiryDate().isAfter(Instant.now()))
+            .doOnNext(refreshToken -> log.debug("Consumed refresh token for User: {}", refreshToken.getLogin()));
+    }
+
+    /**
+     * Revokes all the refresh tokens of a user, for example after a password change.
+     *
+     * @param login the login of the user.
+     * @return a completed {@link Mono}.
+     */
+    public Mono<Void> revokeAll(String login) {
+        return refreshTokenRepository
+            .deleteByLogin(login)
+            .doOnNext(count -> log.debug("Revoked {} refresh token(s) for User: {}", count, login))
+            .then();
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.mycompany.bugtracker.service;
+
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import com.mycompany.bugtracker.domain.BulkJob;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.repository.TicketArchiveRepository;
+import com.mycompany.bugtracker.repository.TicketDescriptionRepository;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import com.mycompany.bugtracker.service.criteria.TicketCriteria;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service moving the old {@link Ticket}s to the {@code ticket_archive} collection, in a background {@link BulkJob}, and
+ * reading the archived tickets.
+ * <p>
+ * Tickets don't store when they were last modified, so their age is the creation date held by their {@link ObjectId}.
+ */
+@Service
+public class TicketArchiveService implements BulkOperationFactory {
+
+    public static final String JOB_TYPE = "ticket-archival";
+
+    static final String CREATED_BEFORE_PARAMETER = "createdBefore";
+
+    static final String DONE_ONLY_PARAMETER = "doneOnly";
+
+    private final Logger log = LoggerFactory.getLogger(TicketArchiveService.class);
+
+    private final TicketRepository ticketRepository;
+
+    private final TicketArchiveRepository ticketArchiveRepository;
+
+    private final TicketDescriptionRepository ticketDescriptionRepository;
+
+    private final BulkJobService bulkJobService;
+
+    private final MongoConverter mongoConverter;
+
+    private final ApplicationProperties.TicketArchive properties;
+
+    public TicketArchiveService(
+        TicketRepository ticketRepository,
+        TicketArchiveRepository ticketArchiveRepository,
+        TicketDescriptionRepository ticketDescriptionRepository,
+        BulkJobService bulkJobService,
+        MongoConverter mongoConverter,
+        ApplicationProperties applicationProperties
+    ) {
+        this.ticketRepository = ticketRepository;
+        this.ticketArchiveRepository = ticketArchiveRepository;
+        this.ticketDescriptionRepository = ticketDescriptionRepository;
+        this.bulkJobService = bulkJobService;
+        this.mongoConverter = mongoConverter;
+        this.properties = applicationProperties.getTicketArchive();
+    }
+
+    /**
+     * Archives the tickets matching the archival policy.
+     * <p>
+     * This is scheduled by the {@code application.ticket-archive.cron} expression, everyday at 02:30 (am) by default.
+     */
+    @Scheduled(cron = "${application.ticket-archive.cron:0 30 2 * * ?}")
+    public void archiveTickets() {
+        archive().blockOptional().ifPresent(job -> log.info("Started ticket archival: {}", job));
+    }
+
+    /**
+     * Starts a job archiving the tickets matching the archival policy, unless one is already running.
+     * <p>
+     * Every instance runs the schedule at the same time: the unique index of the running archival, created by the
+     * {@code BulkJobMigration}, makes sure that only one of them stores its job, the others getting a
+     * {@link DuplicateKeyException}.
+     *
+     * @return the started job, or an empty {@link Mono} if an archival is running or if no ticket is to be archived.
+     */
+    public Mono<BulkJob> archive() {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(CREATED_BEFORE_PARAMETER, Instant.now().minus(properties.getMinAge()).toString());
+        parameters.put(DONE_ONLY_PARAMETER, String.valueOf(properties.isDoneOnly()));
+        BulkOperation operation = create(parameters);
+        return operation
+            .count()
+            .filter(count -> count > 0)
+            .flatMap(count -> bulkJobService.start(JOB_TYPE, parameters, operation))
+            .onErrorResume(
+                DuplicateKeyException.class,
+                e -> {
+                    log.debug("Ticket archival not started, another one is running");
+                    return Mono.empty();
+                }
+            );
+    }
+
+    @Override
+    public String getType() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public BulkOperation create(Map<String, String> parameters) {
+        Instant createdBefore = Instant.parse(parameters.get(CREATED_BEFORE_PARAMETER));
+        List<Criteria> filters = new ArrayList<>();
+        // Under $and, as the chunks add their own criteria on the id
+        filters.add(Criteria.where("id").lt(ObjectId.getSmallestWithDate(Date.from(createdBefore))));
+        if (Boolean.parseBoolean(parameters.get(DONE_ONLY_PARAMETER))) {
+            filters.add(Criteria.where("done").is(true));
+        }
+        Query query = Query.query(new Criteria().andOperator(filters.toArray(new Criteria[0])));
+        return new TicketQueryOperation(ticketRepository, mongoConverter, query) {
+            @Override
+            public Mono<Long> apply(List<String> ids) {
+                return ticketArchiveRepository.archive(chunkQuery(ids));
+            }
+        };
+    }
+
+    /**
+     * Get one archived ticket by id, with its full description.
+     *
+     * @param id the id of the ticket.
+     * @return the archived ticket.
+     */
+    public Mono<Ticket> findOne(String id) {
+        log.debug("Request to get archived Ticket : {}", id);
+        return ticketArchiveRepository.findById(id).flatMap(ticketDescriptionRepository::loadDescription);
+    }
+
+    /**
+     * Get the archived tickets matching the criteria.
+     *
+     * @param criteria the criteria of the tickets.
+     * @param pageable the pagination information.
+     * @return the page of archived tickets.
+     */
+    public Flux<Ticket> findByCriteria(TicketCriteria criteria, Pageable pageable) {
+        log.debug("Request to get archived Tickets : {}, page: {}", criteria, pageable);
+        return ticketArchiveRepository.findAll(TicketCriteriaQuery.build(criteria).with(pageable));
+    }
+
+    /**
+     * Count the archived tickets matching the criteria.
+     *
+     * @param criteria the criteria of the tickets.
+     * @return the number of matching archived tickets.
+     */
+    public Mono<Long> countByCriteria(TicketCriteria criteria) {
+        return ticketArchiveRepository.count(TicketCriteriaQuery.build(criteria));
+    }
+}
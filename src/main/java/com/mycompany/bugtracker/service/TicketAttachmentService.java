@@ -0,0 +1,211 @@
+package com.mycompany.bugtracker.service;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import com.mycompany.bugtracker.config.Constants;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.security.AuthoritiesConstants;
+import com.mycompany.bugtracker.security.SecurityUtils;
+import com.mycompany.bugtracker.service.dto.AttachmentDTO;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service storing the files attached to the {@link Ticket}s in the {@code attachment} GridFS bucket.
+ * <p>
+ * Files are streamed in both directions: an upload is written chunk by chunk as its parts arrive, and a download reads
+ * the chunks of the requested range only, a few at a time, so that no file is ever held in memory.
+ */
+@Service
+public class TicketAttachmentService {
+
+    public static final String BUCKET = "attachment";
+
+    private static final String CHUNKS_COLLECTION = BUCKET + ".chunks";
+
+    private static final String TICKET_ID_FIELD = "ticketId";
+
+    private static final String UPLOADED_BY_FIELD = "uploadedBy";
+
+    private static final String CONTENT_TYPE_FIELD = "_contentType";
+
+    /**
+     * Number of chunks read by each round trip of a download, bounding the memory held by a slow client.
+     */
+    private static final int CHUNK_BATCH_SIZE = 4;
+
+    private final Logger log = LoggerFactory.getLogger(TicketAttachmentService.class);
+
+    private final ReactiveGridFsOperations gridFsOperations;
+
+    private final ReactiveMongoOperations mongoOperations;
+
+    private final ApplicationProperties.Attachments properties;
+
+    public TicketAttachmentService(
+        ReactiveGridFsOperations gridFsOperations,
+        ReactiveMongoOperations mongoOperations,
+        ApplicationProperties applicationProperties
+    ) {
+        this.gridFsOperations = gridFsOperations;
+        this.mongoOperations = mongoOperations;
+        this.properties = applicationProperties.getAttachments();
+    }
+
+    /**
+     * @return the largest size of an attachment, in bytes.
+     */
+    public long getMaxSize() {
+        return properties.getMaxSize().toBytes();
+    }
+
+    /**
+     * Stores a file as it is read, failing with an {@link AttachmentTooLargeException} as soon as it exceeds the
+     * maximum size: the chunks already written are then removed by GridFS. The login of the current user is stored
+     * with the file, as its uploader.
+     *
+     * @param ticketId    the id of the ticket.
+     * @param filename    the name of the file.
+     * @param contentType the content type of the file.
+     * @param content     the content of the file, released once written.
+     * @return the stored attachment.
+     */
+    public Mono<AttachmentDTO> store(String ticketId, String filename, String contentType, Flux<DataBuffer> content) {
+        log.debug("Request to attach {} to Ticket : {}", filename, ticketId);
+        long maxSize = getMaxSize();
+        AtomicLong size = new AtomicLong();
+        Flux<DataBuffer> limitedContent = content.doOnNext(buffer -> {
+            if (size.addAndGet(buffer.readableByteCount()) > maxSize) {
+                DataBufferUtils.release(buffer);
+                throw new AttachmentTooLargeException(maxSize);
+            }
+        });
+        return SecurityUtils
+            .getCurrentUserLogin()
+            .defaultIfEmpty(Constants.SYSTEM)
+            .flatMap(login ->
+                gridFsOperations.store(
+                    limitedContent,
+                    filename,
+                    contentType,
+                    new Document(TICKET_ID_FIELD, ticketId).append(UPLOADED_BY_FIELD, login)
+                )
+            )
+            .flatMap(id -> gridFsOperations.findOne(Query.query(Criteria.where("_id").is(id))))
+            .map(TicketAttachmentService::toDto);
+    }
+
+    public Flux<AttachmentDTO> findAllByTicket(String ticketId) {
+        log.debug("Request to get the attachments of Ticket : {}", ticketId);
+        return gridFsOperations.find(byTicket(ticketId).with(Sort.by("uploadDate"))).map(TicketAttachmentService::toDto);
+    }
+
+    public Mono<AttachmentDTO> findOne(String ticketId, String id) {
+        log.debug("Request to get attachment {} of Ticket : {}", id, ticketId);
+        if (!ObjectId.isValid(id)) {
+            return Mono.empty();
+        }
+        return gridFsOperations.findOne(byId(ticketId, id)).map(TicketAttachmentService::toDto);
+    }
+
+    /**
+     * Reads a range of an attachment, wrapping the chunks read from MongoDB without copying them.
+     *
+     * @param attachment the attachment.
+     * @param start      the first byte of the range.
+     * @param end        the last byte of the range, inclusive.
+     * @return the content of the range.
+     */
+    public Flux<DataBuffer> read(AttachmentDTO attachment, long start, long end) {
+        if (start > end) {
+            return Flux.empty();
+        }
+        int chunkSize = attachment.getChunkSize();
+        Query query = Query
+            .query(Criteria.where("files_id").is(new ObjectId(attachment.getId())).and("n").gte(start / chunkSize).lte(end / chunkSize))
+            .with(Sort.by("n"))
+            .cursorBatchSize(CHUNK_BATCH_SIZE);
+        return mongoOperations
+            .find(query, Document.class, CHUNKS_COLLECTION)
+            .map(chunk -> {
+                byte[] data = chunk.get("data", Binary.class).getData();
+                long chunkStart = (long) chunk.getInteger("n") * chunkSize;
+                int from = (int) Math.max(0, start - chunkStart);
+                int to = (int) Math.min(data.length, end + 1 - chunkStart);
+                return DefaultDataBufferFactory.sharedInstance.wrap(ByteBuffer.wrap(data, from, to - from));
+            });
+    }
+
+    /**
+     * Deletes an attachment, if it was uploaded by the current user or if the current user is an administrator.
+     *
+     * @param ticketId the id of the ticket.
+     * @param id       the id of the attachment.
+     * @return the completion of the deletion, which does nothing if the attachment is not found, or an
+     * {@link AccessDeniedException} if the current user may not delete the attachment.
+     */
+    public Mono<Void> delete(String ticketId, String id) {
+        log.debug("Request to delete attachment {} of Ticket : {}", id, ticketId);
+        return findOne(ticketId, id)
+            .flatMap(attachment ->
+                isDeletable(attachment)
+                    .flatMap(deletable ->
+                        deletable
+                            ? gridFsOperations.delete(byId(ticketId, id))
+                            : Mono.<Void>error(new AccessDeniedException("Only the uploader or an administrator can delete an attachment"))
+                    )
+            );
+    }
+
+    private Mono<Boolean> isDeletable(AttachmentDTO attachment) {
+        return SecurityUtils
+            .getCurrentUserLogin()
+            .map(login -> login.equals(attachment.getUploadedBy()))
+            .filter(Boolean::booleanValue)
+            .switchIfEmpty(SecurityUtils.hasCurrentUserThisAuthority(AuthoritiesConstants.ADMIN));
+    }
+
+    public Mono<Void> deleteAllByTicket(String ticketId) {
+        log.debug("Request to delete the attachments of Ticket : {}", ticketId);
+        return gridFsOperations.delete(byTicket(ticketId));
+    }
+
+    private static Query byTicket(String ticketId) {
+        return Query.query(Criteria.where("metadata." + TICKET_ID_FIELD).is(ticketId));
+    }
+
+    private static Query byId(String ticketId, String id) {
+        return Query.query(Criteria.where("_id").is(new ObjectId(id)).and("metadata." + TICKET_ID_FIELD).is(ticketId));
+    }
+
+    private static AttachmentDTO toDto(GridFSFile file) {
+        AttachmentDTO attachment = new AttachmentDTO();
+        attachment.setId(file.getObjectId().toHexString());
+        attachment.setFilename(file.getFilename());
+        attachment.setSize(file.getLength());
+        attachment.setChunkSize(file.getChunkSize());
+        attachment.setUploadDate(file.getUploadDate().toInstant());
+        Document metadata = file.getMetadata() != null ? file.getMetadata() : new Document();
+        attachment.setTicketId(metadata.getString(TICKET_ID_FIELD));
+        attachment.setUploadedBy(metadata.getString(UPLOADED_BY_FIELD));
+        attachment.setContentType(metadata.getString(CONTENT_TYPE_FIELD));
+        return attachment;
+    }
+}
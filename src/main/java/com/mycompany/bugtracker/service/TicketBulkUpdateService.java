@@ -0,0 +1,123 @@
+package com.mycompany.bugtracker.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.mycompany.bugtracker.domain.BulkJob;
+import com.mycompany.bugtracker.domain.Label;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import com.mycompany.bugtracker.service.criteria.TicketCriteria;
+import com.mycompany.bugtracker.service.dto.TicketBulkUpdateDTO;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service updating all the {@link Ticket}s matching a {@link TicketCriteria} in a background {@link BulkJob}.
+ */
+@Service
+public class TicketBulkUpdateService {
+
+    public static final String JOB_TYPE = "ticket-update";
+
+    private final Logger log = LoggerFactory.getLogger(TicketBulkUpdateService.class);
+
+    private final TicketRepository ticketRepository;
+
+    private final BulkJobService bulkJobService;
+
+    private final MongoConverter mongoConverter;
+
+    public TicketBulkUpdateService(TicketRepository ticketRepository, BulkJobService bulkJobService, MongoConverter mongoConverter) {
+        this.ticketRepository = ticketRepository;
+        this.bulkJobService = bulkJobService;
+        this.mongoConverter = mongoConverter;
+    }
+
+    /**
+     * Starts the update of the tickets matching the criteria of the bulk update.
+     *
+     * @param bulkUpdate the criteria of the tickets, and their changes.
+     * @return the started job.
+     */
+    public Mono<BulkJob> updateMany(TicketBulkUpdateDTO bulkUpdate) {
+        log.debug("Request to update Tickets : {}", bulkUpdate);
+        Query query = TicketCriteriaQuery.build(bulkUpdate.getCriteria());
+        List<Update> updates = buildUpdates(bulkUpdate);
+        // Not resumable: the criteria and the changes are not stored with the job
+        return bulkJobService.start(
+            JOB_TYPE,
+            Collections.emptyMap(),
+            new TicketQueryOperation(ticketRepository, mongoConverter, query) {
+                @Override
+                public Mono<Long> apply(List<String> ids) {
+                    if (updates.size() == 1) {
+                        return ticketRepository.updateMulti(chunkQuery(ids), updates.get(0)).map(UpdateResult::getModifiedCount);
+                    }
+                    // The first update may change the fields of the criteria: the matching tickets are resolved once, and
+                    // all the updates are applied to them by id. The largest of their modified counts is a lower bound of
+                    // the modified tickets.
+                    return matchingIds(ids)
+                        .filter(matching -> !matching.isEmpty())
+                        .flatMap(matching ->
+                            Flux
+                                .fromIterable(updates)
+                                .concatMap(update -> ticketRepository.updateMulti(idsQuery(matching), update))
+                                .reduce(0L, (modified, result) -> Math.max(modified, result.getModifiedCount()))
+                        )
+                        .defaultIfEmpty(0L);
+                }
+            }
+        );
+    }
+
+    /**
+     * @return the updates applied to each chunk: MongoDB can't add and remove labels in the same update.
+     */
+    List<Update> buildUpdates(TicketBulkUpdateDTO bulkUpdate) {
+        List<Update> updates = new ArrayList<>();
+        Update update = new Update();
+        if (bulkUpdate.getDone() != null) {
+            update.set("done", bulkUpdate.getDone());
+        }
+        if (bulkUpdate.getDueDate() != null) {
+            update.set("dueDate", bulkUpdate.getDueDate());
+        }
+        if (bulkUpdate.isUnassign()) {
+            update.unset("assignedTo");
+        } else if (bulkUpdate.getAssignedToId() != null) {
+            update.set("assignedTo", TicketCriteriaQuery.user(bulkUpdate.getAssignedToId()));
+        }
+        if (!bulkUpdate.getRemoveLabelIds().isEmpty()) {
+            update.pullAll("labels", labelReferences(bulkUpdate.getRemoveLabelIds()));
+        }
+        if (!update.getUpdateObject().isEmpty()) {
+            updates.add(update);
+        }
+        if (!bulkUpdate.getAddLabelIds().isEmpty()) {
+            updates.add(new Update().addToSet("labels").each(labelReferences(bulkUpdate.getAddLabelIds())));
+        }
+        return updates;
+    }
+
+    /**
+     * The update mapper only converts single entities to references, not the values of {@code $each} and
+     * {@code $pullAll}.
+     */
+    private Object[] labelReferences(Collection<String> labelIds) {
+        MongoPersistentProperty labels = mongoConverter
+            .getMappingContext()
+            .getRequiredPersistentEntity(Ticket.class)
+            .getRequiredPersistentProperty("labels");
+        return labelIds.stream().map(id -> mongoConverter.toDBRef(new Label().id(id), labels)).toArray();
+    }
+}
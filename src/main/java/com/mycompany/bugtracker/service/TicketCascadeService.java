@@ -0,0 +1,171 @@
+package com.mycompany.bugtracker.service;
+
+import com.mycompany.bugtracker.domain.BulkJob;
+import com.mycompany.bugtracker.domain.Project;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.domain.User;
+import com.mycompany.bugtracker.repository.ProjectRepository;
+import com.mycompany.bugtracker.repository.TicketArchiveRepository;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service handling the {@link Ticket}s referencing a deleted {@link Project} or {@link User}, in a background
+ * {@link BulkJob} resumable from its parameters.
+ */
+@Service
+public class TicketCascadeService implements BulkOperationFactory {
+
+    public static final String JOB_TYPE = "ticket-cascade";
+
+    static final String REFERENCE_PARAMETER = "reference";
+
+    static final String ID_PARAMETER = "id";
+
+    static final String POLICY_PARAMETER = "policy";
+
+    static final String TARGET_PARAMETER = "target";
+
+    static final String PROJECT_REFERENCE = "project";
+
+    static final String ASSIGNEE_REFERENCE = "assignedTo";
+
+    /**
+     * What happens to the tickets referencing a deleted entity.
+     */
+    public enum Policy {
+        /**
+         * The reference is removed from the tickets.
+         */
+        UNASSIGN,
+        /**
+         * The tickets reference another entity instead.
+         */
+        REASSIGN,
+        /**
+         * The tickets are moved to the archive.
+         */
+        ARCHIVE,
+    }
+
+    private final Logger log = LoggerFactory.getLogger(TicketCascadeService.class);
+
+    private final TicketRepository ticketRepository;
+
+    private final TicketArchiveRepository ticketArchiveRepository;
+
+    private final ProjectRepository projectRepository;
+
+    private final BulkJobService bulkJobService;
+
+    private final MongoConverter mongoConverter;
+
+    public TicketCascadeService(
+        TicketRepository ticketRepository,
+        TicketArchiveRepository ticketArchiveRepository,
+        ProjectRepository projectRepository,
+        BulkJobService bulkJobService,
+        MongoConverter mongoConverter
+    ) {
+        this.ticketRepository = ticketRepository;
+        this.ticketArchiveRepository = ticketArchiveRepository;
+        this.projectRepository = projectRepository;
+        this.bulkJobService = bulkJobService;
+        this.mongoConverter = mongoConverter;
+    }
+
+    /**
+     * Deletes a project right away if no ticket references it, or else starts a job handling its tickets, the project
+     * being deleted once they are all handled.
+     *
+     * @param id       the id of the project.
+     * @param policy   what happens to the tickets of the project.
+     * @param targetId the id of the project the tickets are moved to, with {@link Policy#REASSIGN}.
+     * @return the started job, or an empty {@link Mono} if the project was deleted right away.
+     */
+    public Mono<BulkJob> deleteProject(String id, Policy policy, String targetId) {
+        log.debug("Request to delete Project : {}, {} its tickets", id, policy);
+        return cascade(PROJECT_REFERENCE, id, policy, targetId)
+            .switchIfEmpty(projectRepository.deleteById(id).then(Mono.<BulkJob>empty()));
+    }
+
+    /**
+     * Starts a job handling the tickets assigned to a deleted user, if any.
+     *
+     * @param id       the id of the user.
+     * @param policy   what happens to the tickets assigned to the user.
+     * @param targetId the id of the user the tickets are assigned to, with {@link Policy#REASSIGN}.
+     * @return the started job, or an empty {@link Mono} if no ticket is assigned to the user.
+     */
+    public Mono<BulkJob> unassignUser(String id, Policy policy, String targetId) {
+        log.debug("Request to {} the Tickets assigned to User : {}", policy, id);
+        return cascade(ASSIGNEE_REFERENCE, id, policy, targetId);
+    }
+
+    private Mono<BulkJob> cascade(String reference, String id, Policy policy, String targetId) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(REFERENCE_PARAMETER, reference);
+        parameters.put(ID_PARAMETER, id);
+        parameters.put(POLICY_PARAMETER, policy.name());
+        if (policy == Policy.REASSIGN) {
+            parameters.put(TARGET_PARAMETER, targetId);
+        }
+        BulkOperation operation = create(parameters);
+        return operation.count().filter(count -> count > 0).flatMap(count -> bulkJobService.start(JOB_TYPE, parameters, operation));
+    }
+
+    @Override
+    public String getType() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public BulkOperation create(Map<String, String> parameters) {
+        String reference = parameters.get(REFERENCE_PARAMETER);
+        String id = parameters.get(ID_PARAMETER);
+        Policy policy = Policy.valueOf(parameters.get(POLICY_PARAMETER));
+        String targetId = parameters.get(TARGET_PARAMETER);
+        Query query = Query.query(Criteria.where(reference).is(entity(reference, id)));
+        return new TicketQueryOperation(ticketRepository, mongoConverter, query) {
+            @Override
+            public Mono<Long> apply(List<String> ids) {
+                switch (policy) {
+                    case UNASSIGN:
+                        return ticketRepository
+                            .updateMulti(chunkQuery(ids), new Update().unset(reference))
+                            .map(result -> result.getModifiedCount());
+                    case REASSIGN:
+                        return ticketRepository
+                            .updateMulti(chunkQuery(ids), new Update().set(reference, entity(reference, targetId)))
+                            .map(result -> result.getModifiedCount());
+                    default:
+                        return ticketArchiveRepository.archive(chunkQuery(ids));
+                }
+            }
+
+            @Override
+            public Mono<Void> complete() {
+                return PROJECT_REFERENCE.equals(reference) ? projectRepository.deleteById(id) : Mono.empty();
+            }
+        };
+    }
+
+    private static Object entity(String reference, String id) {
+        if (PROJECT_REFERENCE.equals(reference)) {
+            return new Project().id(id);
+        }
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,96 @@
+package com.mycompany.bugtracker.service;
+
+import com.mycompany.bugtracker.domain.Label;
+import com.mycompany.bugtracker.domain.Project;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.domain.User;
+import com.mycompany.bugtracker.service.criteria.TicketCriteria;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Builds the MongoDB query of the {@link Ticket}s matching a {@link TicketCriteria}, for the tickets and the archived
+ * tickets alike.
+ */
+final class TicketCriteriaQuery {
+
+    private TicketCriteriaQuery() {}
+
+    /**
+     * @return the query of the tickets matching all the filters of the criteria.
+     */
+    static Query build(TicketCriteria criteria) {
+        List<Criteria> filters = new ArrayList<>();
+        addFilter(filters, "id", criteria.getId(), Function.identity());
+        addFilter(filters, "title", criteria.getTitle(), Function.identity());
+        addFilter(filters, "dueDate", criteria.getDueDate(), Function.identity());
+        addFilter(filters, "done", criteria.getDone(), Function.identity());
+        addFilter(filters, "project", criteria.getProjectId(), id -> new Project().id(id));
+        addFilter(filters, "assignedTo", criteria.getAssignedToId(), TicketCriteriaQuery::user);
+        addFilter(filters, "labels", criteria.getLabelsId(), id -> new Label().id(id));
+        Query query = new Query();
+        if (!filters.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(filters.toArray(new Criteria[0])));
+        }
+        return query;
+    }
+
+    static User user(String id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static <T> void addFilter(List<Criteria> filters, String property, Filter<T> filter, Function<T, ?> toValue) {
+        if (filter == null) {
+            return;
+        }
+        if (filter.getEquals() != null) {
+            filters.add(Criteria.where(property).is(toValue.apply(filter.getEquals())));
+        }
+        if (filter.getNotEquals() != null) {
+            filters.add(Criteria.where(property).ne(toValue.apply(filter.getNotEquals())));
+        }
+        if (filter.getSpecified() != null) {
+            filters.add(Criteria.where(property).exists(filter.getSpecified()));
+        }
+        if (filter.getIn() != null) {
+            filters.add(Criteria.where(property).in(filter.getIn().stream().map(toValue).collect(Collectors.toList())));
+        }
+        if (filter.getNotIn() != null) {
+            filters.add(Criteria.where(property).nin(filter.getNotIn().stream().map(toValue).collect(Collectors.toList())));
+        }
+        if (filter instanceof RangeFilter) {
+            RangeFilter<?> range = (RangeFilter<?>) filter;
+            if (range.getGreaterThan() != null) {
+                filters.add(Criteria.where(property).gt(range.getGreaterThan()));
+            }
+            if (range.getGreaterThanOrEqual() != null) {
+                filters.add(Criteria.where(property).gte(range.getGreaterThanOrEqual()));
+            }
+            if (range.getLessThan() != null) {
+                filters.add(Criteria.where(property).lt(range.getLessThan()));
+            }
+            if (range.getLessThanOrEqual() != null) {
+                filters.add(Criteria.where(property).lte(range.getLessThanOrEqual()));
+            }
+        }
+        if (filter instanceof StringFilter) {
+            StringFilter string = (StringFilter) filter;
+            if (string.getContains() != null) {
+                filters.add(Criteria.where(property).regex(Pattern.quote(string.getContains()), "i"));
+            }
+            if (string.getDoesNotContain() != null) {
+                filters.add(Criteria.where(property).not().regex(Pattern.quote(string.getDoesNotContain()), "i"));
+            }
+        }
+    }
+}
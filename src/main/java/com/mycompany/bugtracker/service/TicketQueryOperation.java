@@ -0,0 +1,70 @@
+package com.mycompany.bugtracker.service;
+
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
+import java.util.Collection;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link BulkOperation} on the {@link Ticket}s matching a query, read by chunks of ids in ascending order.
+ */
+abstract class TicketQueryOperation implements BulkOperation {
+
+    protected final TicketRepository ticketRepository;
+
+    protected final Query query;
+
+    private final MongoConverter mongoConverter;
+
+    TicketQueryOperation(TicketRepository ticketRepository, MongoConverter mongoConverter, Query query) {
+        this.ticketRepository = ticketRepository;
+        this.mongoConverter = mongoConverter;
+        this.query = query;
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return ticketRepository.count(query);
+    }
+
+    @Override
+    public Flux<String> nextChunk(String afterId, int size) {
+        Query chunk = Query.of(query).with(Sort.by("id")).limit(size);
+        if (afterId != null) {
+            // The query mapper doesn't convert the ids compared with $gt
+            chunk.addCriteria(Criteria.where("id").gt(mongoConverter.convertId(afterId, ObjectId.class)));
+        }
+        return ticketRepository.findAll(chunk, SparseFieldset.of("id")).map(Ticket::getId);
+    }
+
+    /**
+     * @return the query of the tickets of a chunk, which are checked again against the query as they may have changed
+     * since the chunk was read.
+     */
+    protected Query chunkQuery(Collection<String> ids) {
+        return Query.of(query).addCriteria(Criteria.where("id").in(ids));
+    }
+
+    /**
+     * @return the ids of the tickets of a chunk that still match the query, for operations made of several updates:
+     * once the first update changes a field of the query, the tickets no longer match it.
+     */
+    protected Mono<List<String>> matchingIds(Collection<String> ids) {
+        return ticketRepository.findAll(chunkQuery(ids), SparseFieldset.of("id")).map(Ticket::getId).collectList();
+    }
+
+    /**
+     * @return the query of the tickets with the given ids, whether they match the query or not.
+     */
+    protected static Query idsQuery(Collection<String> ids) {
+        return Query.query(Criteria.where("id").in(ids));
+    }
+}
@@ -1,10 +1,13 @@
 package com.mycompany.bugtracker.service;
 
 import com.mycompany.bugtracker.config.Constants;
+import com.mycompany.bugtracker.config.PasswordHashingConfiguration;
 import com.mycompany.bugtracker.domain.Authority;
+import com.mycompany.bugtracker.domain.BulkJob;
 import com.mycompany.bugtracker.domain.User;
 import com.mycompany.bugtracker.repository.AuthorityRepository;
 import com.mycompany.bugtracker.repository.UserRepository;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
 import com.mycompany.bugtracker.security.AuthoritiesConstants;
 import com.mycompany.bugtracker.security.SecurityUtils;
 import com.mycompany.bugtracker.service.dto.AdminUserDTO;
@@ -15,12 +18,14 @@ import java.util.HashSet;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 import tech.jhipster.security.RandomUtil;
 
@@ -38,10 +43,26 @@ public class UserService implements IUserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final RefreshTokenService refreshTokenService;
+
+    private final Scheduler passwordHashingScheduler;
+
+    private final TicketCascadeService ticketCascadeService;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        RefreshTokenService refreshTokenService,
+        @Qualifier(PasswordHashingConfiguration.PASSWORD_HASHING_SCHEDULER) Scheduler passwordHashingScheduler,
+        TicketCascadeService ticketCascadeService
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.refreshTokenService = refreshTokenService;
+        this.passwordHashingScheduler = passwordHashingScheduler;
+        this.ticketCascadeService = ticketCascadeService;
     }
 
     public Mono<User> activateRegistration(String key) {
@@ -62,14 +83,15 @@ public class UserService implements IUserService {
         return userRepository
             .findOneByResetKey(key)
             .filter(user -> user.getResetDate().isAfter(Instant.now().minus(1, ChronoUnit.DAYS)))
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashingScheduler)
             .map(user -> {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
                 return user;
             })
-            .flatMap(this::saveUser);
+            .flatMap(this::saveUser)
+            .flatMap(user -> refreshTokenService.revokeAll(user.getLogin()).thenReturn(user));
     }
 
     public Mono<User> requestPasswordReset(String mail) {
@@ -103,7 +125,7 @@ public class UserService implements IUserService {
                     return Mono.error(new EmailAlreadyUsedException());
                 }
             })
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashingScheduler)
             .then(
                 Mono.fromCallable(() -> {
                     User newUser = new User();
@@ -156,7 +178,7 @@ public class UserService implements IUserService {
             .flatMap(authorityRepository::findById)
             .doOnNext(authority -> user.getAuthorities().add(authority))
             .then(Mono.just(user))
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashingScheduler)
             .map(newUser -> {
                 String encryptedPassword = passwordEncoder.encode(RandomUtil.generatePassword());
                 newUser.setPassword(encryptedPassword);
@@ -201,12 +223,21 @@ public class UserService implements IUserService {
             .map(AdminUserDTO::new);
     }
 
-    public Mono<Void> deleteUser(String login) {
+    /**
+     * Deletes a user right away, then starts a job handling the tickets assigned to the user, if any.
+     *
+     * @param login    the login of the user.
+     * @param policy   what happens to the tickets assigned to the user.
+     * @param targetId the id of the user the tickets are assigned to, with {@link TicketCascadeService.Policy#REASSIGN}.
+     * @return the started job, or an empty {@link Mono} if no ticket is assigned to the user.
+     */
+    public Mono<BulkJob> deleteUser(String login, TicketCascadeService.Policy policy, String targetId) {
         return userRepository
             .findOneByLogin(login)
             .flatMap(user -> userRepository.delete(user).thenReturn(user))
+            .flatMap(user -> refreshTokenService.revokeAll(user.getLogin()).thenReturn(user))
             .doOnNext(user -> log.debug("Deleted User: {}", user))
-            .then();
+            .flatMap(user -> ticketCascadeService.unassignUser(user.getId(), policy, targetId));
     }
 
     /**
@@ -250,7 +281,7 @@ public class UserService implements IUserService {
 
     public Mono<Void> changePassword(String currentClearTextPassword, String newPassword) {
         return getCurrentUser()
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashingScheduler)
             .map(user -> {
                 String currentEncryptedPassword = user.getPassword();
                 if (!passwordEncoder.matches(currentClearTextPassword, currentEncryptedPassword)) {
@@ -261,6 +292,7 @@ public class UserService implements IUserService {
                 return user;
             })
             .flatMap(this::saveUser)
+            .flatMap(user -> refreshTokenService.revokeAll(user.getLogin()).thenReturn(user))
             .doOnNext(user -> log.debug("Changed password for User: {}", user))
             .then();
     }
@@ -271,11 +303,19 @@ public class UserService implements IUserService {
     }
 
     public Flux<AdminUserDTO> getAllManagedUsers(Pageable pageable) {
-        return userRepository.findAllByIdNotNull(pageable).map(AdminUserDTO::new);
+        return getAllManagedUsers(pageable, SparseFieldset.ALL);
+    }
+
+    public Flux<AdminUserDTO> getAllManagedUsers(Pageable pageable, SparseFieldset fieldset) {
+        return userRepository.findAllByIdNotNull(pageable, fieldset).map(AdminUserDTO::new);
     }
 
     public Flux<UserDTO> getAllPublicUsers(Pageable pageable) {
-        return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
+        return getAllPublicUsers(pageable, SparseFieldset.ALL);
+    }
+
+    public Flux<UserDTO> getAllPublicUsers(Pageable pageable, SparseFieldset fieldset) {
+        return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable, fieldset).map(UserDTO::new);
     }
 
     public Mono<Long> countManagedUsers() {
@@ -286,6 +326,10 @@ public class UserService implements IUserService {
         return userRepository.findOneByLogin(login);
     }
 
+    public Mono<User> getUserWithAuthoritiesByLogin(String login, SparseFieldset fieldset) {
+        return fieldset.isAll() ? getUserWithAuthoritiesByLogin(login) : userRepository.findOneByLogin(login, fieldset);
+    }
+
     public Mono<User> getUserWithAuthorities() {
         return getCurrentUser();
     }
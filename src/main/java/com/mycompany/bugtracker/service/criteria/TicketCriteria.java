@@ -0,0 +1,194 @@
+package com.mycompany.bugtracker.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.BooleanFilter;
+import tech.jhipster.service.filter.LocalDateFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link com.mycompany.bugtracker.domain.Ticket} entity. This class is used
+ * in {@link com.mycompany.bugtracker.service.TicketBulkUpdateService} to select the tickets of a bulk update.
+ * Each filter is combined with the others with AND, and the relationships are filtered on the ids of the related
+ * entities.
+ */
+public class TicketCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private StringFilter id;
+
+    private StringFilter title;
+
+    private LocalDateFilter dueDate;
+
+    private BooleanFilter done;
+
+    private StringFilter projectId;
+
+    private StringFilter assignedToId;
+
+    private StringFilter labelsId;
+
+    public TicketCriteria() {}
+
+    public TicketCriteria(TicketCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.title = other.title == null ? null : other.title.copy();
+        this.dueDate = other.dueDate == null ? null : other.dueDate.copy();
+        this.done = other.done == null ? null : other.done.copy();
+        this.projectId = other.projectId == null ? null : other.projectId.copy();
+        this.assignedToId = other.assignedToId == null ? null : other.assignedToId.copy();
+        this.labelsId = other.labelsId == null ? null : other.labelsId.copy();
+    }
+
+    @Override
+    public TicketCriteria copy() {
+        return new TicketCriteria(this);
+    }
+
+    public StringFilter getId() {
+        return id;
+    }
+
+    public StringFilter id() {
+        if (id == null) {
+            id = new StringFilter();
+        }
+        return id;
+    }
+
+    public void setId(StringFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getTitle() {
+        return title;
+    }
+
+    public StringFilter title() {
+        if (title == null) {
+            title = new StringFilter();
+        }
+        return title;
+    }
+
+    public void setTitle(StringFilter title) {
+        this.title = title;
+    }
+
+    public LocalDateFilter getDueDate() {
+        return dueDate;
+    }
+
+    public LocalDateFilter dueDate() {
+        if (dueDate == null) {
+            dueDate = new LocalDateFilter();
+        }
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateFilter dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public BooleanFilter getDone() {
+        return done;
+    }
+
+    public BooleanFilter done() {
+        if (done == null) {
+            done = new BooleanFilter();
+        }
+        return done;
+    }
+
+    public void setDone(BooleanFilter done) {
+        this.done = done;
+    }
+
+    public StringFilter getProjectId() {
+        return projectId;
+    }
+
+    public StringFilter projectId() {
+        if (projectId == null) {
+            projectId = new StringFilter();
+        }
+        return projectId;
+    }
+
+    public void setProjectId(StringFilter projectId) {
+        this.projectId = projectId;
+    }
+
+    public StringFilter getAssignedToId() {
+        return assignedToId;
+    }
+
+    public StringFilter assignedToId() {
+        if (assignedToId == null) {
+            assignedToId = new StringFilter();
+        }
+        return assignedToId;
+    }
+
+    public void setAssignedToId(StringFilter assignedToId) {
+        this.assignedToId = assignedToId;
+    }
+
+    public StringFilter getLabelsId() {
+        return labelsId;
+    }
+
+    public StringFilter labelsId() {
+        if (labelsId == null) {
+            labelsId = new StringFilter();
+        }
+        return labelsId;
+    }
+
+    public void setLabelsId(StringFilter labelsId) {
+        this.labelsId = labelsId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final TicketCriteria that = (TicketCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(title, that.title) &&
+            Objects.equals(dueDate, that.dueDate) &&
+            Objects.equals(done, that.done) &&
+            Objects.equals(projectId, that.projectId) &&
+            Objects.equals(assignedToId, that.assignedToId) &&
+            Objects.equals(labelsId, that.labelsId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, dueDate, done, projectId, assignedToId, labelsId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TicketCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (title != null ? "title=" + title + ", " : "") +
+            (dueDate != null ? "dueDate=" + dueDate + ", " : "") +
+            (done != null ? "done=" + done + ", " : "") +
+            (projectId != null ? "projectId=" + projectId + ", " : "") +
+            (assignedToId != null ? "assignedToId=" + assignedToId + ", " : "") +
+            (labelsId != null ? "labelsId=" + labelsId + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Criteria classes, selecting entities with JHipster filters.
+ */
+package com.mycompany.bugtracker.service.criteria;
@@ -0,0 +1,115 @@
+package com.mycompany.bugtracker.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A DTO representing a file attached to a ticket, stored in GridFS.
+ */
+public class AttachmentDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+
+    private String ticketId;
+
+    private String filename;
+
+    private String contentType;
+
+    private long size;
+
+    private Instant uploadDate;
+
+    private String uploadedBy;
+
+    @JsonIgnore
+    private int chunkSize;
+
+    public AttachmentDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public Instant getUploadDate() {
+        return uploadDate;
+    }
+
+    public void setUploadDate(Instant uploadDate) {
+        this.uploadDate = uploadDate;
+    }
+
+    public String getUploadedBy() {
+        return uploadedBy;
+    }
+
+    public void setUploadedBy(String uploadedBy) {
+        this.uploadedBy = uploadedBy;
+    }
+
+    /**
+     * @return the size of the GridFS chunks of the file, in bytes.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AttachmentDTO{" +
+            "id='" + id + "'" +
+            ", ticketId='" + ticketId + "'" +
+            ", filename='" + filename + "'" +
+            ", contentType='" + contentType + "'" +
+            ", size=" + size +
+            ", uploadDate=" + uploadDate +
+            ", uploadedBy='" + uploadedBy + "'" +
+            "}";
+    }
+}
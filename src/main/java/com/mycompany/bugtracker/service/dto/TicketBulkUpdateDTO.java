@@ -0,0 +1,121 @@
+package com.mycompany.bugtracker.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.mycompany.bugtracker.service.criteria.TicketCriteria;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.validation.constraints.NotNull;
+
+/**
+ * A DTO representing a bulk update of tickets: the criteria of the tickets, and the changes applied to all of them.
+ * <p>
+ * The changes left {@code null} (or empty) are not applied.
+ */
+public class TicketBulkUpdateDTO {
+
+    @NotNull
+    private TicketCriteria criteria;
+
+    private Boolean done;
+
+    private LocalDate dueDate;
+
+    private String assignedToId;
+
+    private boolean unassign;
+
+    @NotNull
+    private Set<String> addLabelIds = new LinkedHashSet<>();
+
+    @NotNull
+    private Set<String> removeLabelIds = new LinkedHashSet<>();
+
+    public TicketBulkUpdateDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public TicketCriteria getCriteria() {
+        return criteria;
+    }
+
+    public void setCriteria(TicketCriteria criteria) {
+        this.criteria = criteria;
+    }
+
+    public Boolean getDone() {
+        return done;
+    }
+
+    public void setDone(Boolean done) {
+        this.done = done;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    /**
+     * @return the id of the user the tickets are reassigned to.
+     */
+    public String getAssignedToId() {
+        return assignedToId;
+    }
+
+    public void setAssignedToId(String assignedToId) {
+        this.assignedToId = assignedToId;
+    }
+
+    /**
+     * @return whether the tickets are unassigned.
+     */
+    public boolean isUnassign() {
+        return unassign;
+    }
+
+    public void setUnassign(boolean unassign) {
+        this.unassign = unassign;
+    }
+
+    public Set<String> getAddLabelIds() {
+        return addLabelIds;
+    }
+
+    public void setAddLabelIds(Set<String> addLabelIds) {
+        this.addLabelIds = addLabelIds;
+    }
+
+    public Set<String> getRemoveLabelIds() {
+        return removeLabelIds;
+    }
+
+    public void setRemoveLabelIds(Set<String> removeLabelIds) {
+        this.removeLabelIds = removeLabelIds;
+    }
+
+    /**
+     * @return whether no change is requested.
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return done == null && dueDate == null && assignedToId == null && !unassign && addLabelIds.isEmpty() && removeLabelIds.isEmpty();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TicketBulkUpdateDTO{" +
+            "criteria=" + criteria +
+            ", done=" + done +
+            ", dueDate=" + dueDate +
+            ", assignedToId='" + assignedToId + "'" +
+            ", unassign=" + unassign +
+            ", addLabelIds=" + addLabelIds +
+            ", removeLabelIds=" + removeLabelIds +
+            "}";
+    }
+}
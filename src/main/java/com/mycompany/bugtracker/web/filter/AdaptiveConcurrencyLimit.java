@@ -0,0 +1,141 @@
+package com.mycompany.bugtracker.web.filter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to the latency observed downstream, in the style of gradient limiters.
+ * <p>
+ * Latency samples are averaged over a short and a long window. While the short-term latency stays close to the
+ * long-term one, the limit grows by about {@code sqrt(limit)}; when it inflates, because requests start queuing in the
+ * database, the limit shrinks proportionally to the gradient {@code longRtt / shortRtt}. The long-term average slowly
+ * follows the short-term one, so that the limit recovers once a new latency baseline is established.
+ * <p>
+ * Samples come from the MongoDB driver threads, for every command: they are only added to striped counters, and the
+ * averages and the limit are updated once per batch of {@link #SAMPLE_BATCH} samples, by the thread that completes it.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    /**
+     * Number of samples averaged into each update, the windows below being counted in batches.
+     */
+    static final int SAMPLE_BATCH = 8;
+
+    private static final int SHORT_WINDOW = 2;
+
+    private static final int LONG_WINDOW = 75;
+
+    private static final double RTT_TOLERANCE = 1.5;
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder batchRttNanos = new LongAdder();
+
+    private final LongAdder batchSamples = new LongAdder();
+
+    private final AtomicBoolean updating = new AtomicBoolean();
+
+    private volatile double limit;
+
+    // Only accessed by the thread holding the updating flag
+    private double shortRtt;
+
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing) {
+        if (minLimit < 1 || minLimit > maxLimit || smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Admits a request if the number of requests in flight is below the current limit.
+     *
+     * @return {@code true} if the request was admitted, in which case {@link #release()} must be called once it completes.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Records the latency of a downstream call, and updates the limit when it completes a batch of samples.
+     *
+     * @param rttNanos the latency of the call, in nanoseconds.
+     */
+    public void onSample(long rttNanos) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        batchRttNanos.add(rttNanos);
+        batchSamples.increment();
+        if (batchSamples.sum() < SAMPLE_BATCH || !updating.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // A sample added between the two resets is counted in the next batch: the average is barely skewed
+            long samples = batchSamples.sumThenReset();
+            long totalRttNanos = batchRttNanos.sumThenReset();
+            if (samples > 0) {
+                update((double) totalRttNanos / samples);
+            }
+        } finally {
+            updating.set(false);
+        }
+    }
+
+    private void update(double rtt) {
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            return;
+        }
+        shortRtt += (rtt - shortRtt) / SHORT_WINDOW;
+        longRtt += (shortRtt - longRtt) / LONG_WINDOW;
+        // Forget an overloaded baseline faster, so that the limit doesn't stay high after a latency spike
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        double currentLimit = limit;
+        // Don't grow the limit while the application doesn't use it
+        if (inFlight.get() < currentLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+        double newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+        newLimit = currentLimit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
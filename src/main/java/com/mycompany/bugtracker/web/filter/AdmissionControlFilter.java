@@ -0,0 +1,176 @@
+package com.mycompany.bugtracker.web.filter;
+
+import static com.mycompany.bugtracker.web.filter.RateLimitSupport.clientAddress;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+/**
+ * Admission control for the API: sheds load with a {@code 429 Too Many Requests} before it reaches the repositories.
+ * <p>
+ * A request to {@code /api/**} is admitted when, in this order:
+ * <ol>
+ *     <li>the bucket of the user (or of the client IP address for anonymous requests) has a token left;</li>
+ *     <li>the bucket of the user for the first matching route, if any, has a token left;</li>
+ *     <li>the user has fewer requests in flight than the per-user limit;</li>
+ *     <li>the application has fewer requests in flight than the {@link AdaptiveConcurrencyLimit}.</li>
+ * </ol>
+ * Authentication requests are left to the {@link LoginRateLimitingFilter}.
+ */
+public class AdmissionControlFilter implements WebFilter {
+
+    private final Logger log = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private final TokenBucketRateLimiter userRateLimiter;
+
+    private final List<RouteLimit> routeLimits;
+
+    private final int userMaxConcurrency;
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Integer> userInFlight = new ConcurrentHashMap<>();
+
+    private final Counter userRateRejections;
+
+    private final Counter routeRateRejections;
+
+    private final Counter userConcurrencyRejections;
+
+    private final Counter concurrencyRejections;
+
+    public AdmissionControlFilter(
+        TokenBucketRateLimiter userRateLimiter,
+        List<RouteLimit> routeLimits,
+        int userMaxConcurrency,
+        AdaptiveConcurrencyLimit concurrencyLimit,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) {
+        this.userRateLimiter = userRateLimiter;
+        this.routeLimits = routeLimits;
+        this.userMaxConcurrency = userMaxConcurrency;
+        this.concurrencyLimit = concurrencyLimit;
+        this.objectMapper = objectMapper;
+        this.userRateRejections = rejectionCounter(meterRegistry, "user-rate");
+        this.routeRateRejections = rejectionCounter(meterRegistry, "route-rate");
+        this.userConcurrencyRejections = rejectionCounter(meterRegistry, "user-concurrency");
+        this.concurrencyRejections = rejectionCounter(meterRegistry, "concurrency");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter
+            .builder("bugtracker.admission.rejected")
+            .description("API requests rejected by admission control")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        String value = path.value();
+        if (!value.startsWith("/api/") || value.startsWith("/api/authenticate")) {
+            return chain.filter(exchange);
+        }
+        return ReactiveSecurityContextHolder
+            .getContext()
+            .map(SecurityContext::getAuthentication)
+            .filter(authentication -> !(authentication instanceof AnonymousAuthenticationToken))
+            .map(Authentication::getName)
+            .defaultIfEmpty("ip:" + clientAddress(exchange.getRequest()))
+            .flatMap(user -> admit(exchange, chain, path, user));
+    }
+
+    private Mono<Void> admit(ServerWebExchange exchange, WebFilterChain chain, PathContainer path, String user) {
+        Duration wait = userRateLimiter.tryAcquire(user);
+        if (!wait.isZero()) {
+            userRateRejections.increment();
+            return reject(exchange, user, wait, "Request rate limit exceeded");
+        }
+        for (RouteLimit routeLimit : routeLimits) {
+            if (routeLimit.pattern.matches(path)) {
+                wait = routeLimit.rateLimiter.tryAcquire(user);
+                if (!wait.isZero()) {
+                    routeRateRejections.increment();
+                    return reject(exchange, user, wait, "Request rate limit exceeded for " + routeLimit.pattern);
+                }
+                break;
+            }
+        }
+        if (!acquireUserSlot(user)) {
+            userConcurrencyRejections.increment();
+            return reject(exchange, user, Duration.ofSeconds(1), "Too many concurrent requests");
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            releaseUserSlot(user);
+            concurrencyRejections.increment();
+            return reject(exchange, user, Duration.ofSeconds(1), "Server is overloaded, retry later");
+        }
+        return Mono
+            .defer(() -> chain.filter(exchange))
+            .doFinally(signal -> {
+                concurrencyLimit.release();
+                releaseUserSlot(user);
+            });
+    }
+
+    private boolean acquireUserSlot(String user) {
+        boolean[] admitted = { false };
+        userInFlight.compute(
+            user,
+            (key, count) -> {
+                int current = count == null ? 0 : count;
+                if (current >= userMaxConcurrency) {
+                    return count;
+                }
+                admitted[0] = true;
+                return current + 1;
+            }
+        );
+        return admitted[0];
+    }
+
+    private void releaseUserSlot(String user) {
+        userInFlight.computeIfPresent(user, (key, count) -> count <= 1 ? null : count - 1);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String user, Duration wait, String reason) {
+        log.debug("Rejecting {} {} for {}: {}", exchange.getRequest().getMethod(), exchange.getRequest().getPath(), user, reason);
+        return RateLimitSupport.tooManyRequests(exchange, wait, reason, objectMapper);
+    }
+
+    /**
+     * A token bucket per user, for the requests matching a path pattern.
+     */
+    public static class RouteLimit {
+
+        private final PathPattern pattern;
+
+        private final TokenBucketRateLimiter rateLimiter;
+
+        public RouteLimit(PathPattern pattern, TokenBucketRateLimiter rateLimiter) {
+            this.pattern = pattern;
+            this.rateLimiter = rateLimiter;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.mycompany.bugtracker.web.filter;
+
+import com.mycompany.bugtracker.monitoring.CallerEndpoint;
+import com.mycompany.bugtracker.monitoring.CommandContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stores the endpoint being served as the {@link CallerEndpoint} of the Reactor context of the request, so that the
+ * MongoDB commands sent on its behalf can be attributed to it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CallerEndpointFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (!path.startsWith("/api/")) {
+            return chain.filter(exchange);
+        }
+        String endpoint = exchange.getRequest().getMethodValue() + " " + path;
+        return CommandContext.scoped(chain.filter(exchange)).contextWrite(context -> CallerEndpoint.with(context, endpoint));
+    }
+}
@@ -0,0 +1,152 @@
+package com.mycompany.bugtracker.web.filter;
+
+import static com.mycompany.bugtracker.web.filter.RateLimitSupport.clientAddress;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Throttles authentication attempts before any password is hashed.
+ * <p>
+ * Every {@code POST /api/authenticate} takes a token from the bucket of the client IP address, then from the bucket of
+ * the login found in the request body. When a bucket is empty the request is rejected with a
+ * {@code 429 Too Many Requests} and a {@code Retry-After} header.
+ */
+public class LoginRateLimitingFilter implements WebFilter {
+
+    private static final String AUTHENTICATE_PATH = "/api/authenticate";
+
+    private static final int MAX_BODY_SIZE = 4096;
+
+    private final Logger log = LoggerFactory.getLogger(LoginRateLimitingFilter.class);
+
+    private final TokenBucketRateLimiter ipRateLimiter;
+
+    private final TokenBucketRateLimiter loginRateLimiter;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter ipRejections;
+
+    private final Counter loginRejections;
+
+    public LoginRateLimitingFilter(
+        TokenBucketRateLimiter ipRateLimiter,
+        TokenBucketRateLimiter loginRateLimiter,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) {
+        this.ipRateLimiter = ipRateLimiter;
+        this.loginRateLimiter = loginRateLimiter;
+        this.objectMapper = objectMapper;
+        this.ipRejections = rejectionCounter(meterRegistry, "ip");
+        this.loginRejections = rejectionCounter(meterRegistry, "login");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String limit) {
+        return Counter
+            .builder("bugtracker.login.rate.limited")
+            .description("Authentication attempts rejected by the login rate limiter")
+            .tag("limit", limit)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!HttpMethod.POST.equals(request.getMethod()) || !AUTHENTICATE_PATH.equals(request.getPath().value())) {
+            return chain.filter(exchange);
+        }
+        Duration ipWait = ipRateLimiter.tryAcquire(clientAddress(request));
+        if (!ipWait.isZero()) {
+            ipRejections.increment();
+            return reject(exchange, ipWait);
+        }
+        return DataBufferUtils
+            .join(request.getBody(), MAX_BODY_SIZE)
+            .map(this::toBytes)
+            .defaultIfEmpty(new byte[0])
+            .onErrorMap(DataBufferLimitException.class, e -> new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE))
+            .flatMap(body -> {
+                String login = readLogin(body);
+                if (login != null) {
+                    Duration loginWait = loginRateLimiter.tryAcquire(login);
+                    if (!loginWait.isZero()) {
+                        loginRejections.increment();
+                        return reject(exchange, loginWait);
+                    }
+                }
+                return chain.filter(exchange.mutate().request(new CachedBodyRequest(request, body)).build());
+            });
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, Duration wait) {
+        log.debug("Rejecting authentication attempt from {}, retry after {} ms", clientAddress(exchange.getRequest()), wait.toMillis());
+        return RateLimitSupport.tooManyRequests(exchange, wait, "Too many authentication attempts", objectMapper);
+    }
+
+    private byte[] toBytes(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    /**
+     * Reads the login the same way as {@link com.mycompany.bugtracker.web.rest.vm.LoginVM}: malformed bodies are left
+     * for the controller to reject, as they won't reach the password check.
+     */
+    private String readLogin(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() ? username.asText().toLowerCase(Locale.ENGLISH) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Replays the body that was read to find the login.
+     */
+    private static class CachedBodyRequest extends ServerHttpRequestDecorator {
+
+        private final byte[] body;
+
+        CachedBodyRequest(ServerHttpRequest delegate, byte[] body) {
+            super(delegate);
+            this.body = body;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            if (body.length == 0) {
+                return Flux.empty();
+            }
+            return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.mycompany.bugtracker.web.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.bugtracker.web.rest.errors.ErrorConstants;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.zalando.problem.Problem;
+import org.zalando.problem.Status;
+import reactor.core.publisher.Mono;
+
+/**
+ * Helpers shared by the filters that shed load before it reaches the application.
+ */
+final class RateLimitSupport {
+
+    private RateLimitSupport() {}
+
+    /**
+     * Rejects the request with a {@code 429 Too Many Requests} problem, written here rather than raised as an error so
+     * that no exception handler can drop the {@code Retry-After} header.
+     *
+     * @param exchange     the rejected exchange.
+     * @param retryAfter   the time after which the client may retry, rounded up to the second.
+     * @param reason       the detail of the problem.
+     * @param objectMapper the mapper of the application, serializing the problem like the other problem responses.
+     * @return the completion of the response.
+     */
+    static Mono<Void> tooManyRequests(ServerWebExchange exchange, Duration retryAfter, String reason, ObjectMapper objectMapper) {
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+        Problem problem = Problem
+            .builder()
+            .withType(ErrorConstants.DEFAULT_TYPE)
+            .withTitle(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+            .withStatus(Status.TOO_MANY_REQUESTS)
+            .withDetail(reason)
+            .build();
+        return response.writeWith(Mono.fromCallable(() -> response.bufferFactory().wrap(objectMapper.writeValueAsBytes(problem))));
+    }
+
+    static String clientAddress(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : remoteAddress.getHostString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.mycompany.bugtracker.web.filter;
+
+import com.mycompany.bugtracker.monitoring.CommandContext;
+import com.mycompany.bugtracker.monitoring.RequestCost;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Accounts for the {@link RequestCost} of every API request, and reports it in the {@value #REQUEST_COST_HEADER}
+ * response header and in the {@value #REQUEST_COST_LOGGER} logger.
+ * <p>
+ * The header is written when the response is committed, usually once the body is serialized, so it doesn't include
+ * the size of the response, unlike the log line. A large number of round trips for a single entity is the sign of
+ * relationships fetched one by one.
+ */
+public class RequestCostFilter implements WebFilter, Ordered {
+
+    public static final String REQUEST_COST_HEADER = "X-Request-Cost";
+
+    public static final String REQUEST_COST_LOGGER = "request-cost";
+
+    private final Logger log = LoggerFactory.getLogger(REQUEST_COST_LOGGER);
+
+    private final boolean header;
+
+    private final boolean logged;
+
+    /**
+     * @param header whether to report the cost in the response header.
+     * @param logged whether to log the cost of every request.
+     */
+    public RequestCostFilter(boolean header, boolean logged) {
+        this.header = header;
+        this.logged = logged;
+    }
+
+    @Override
+    public int getOrder() {
+        // Right after the TracingWebFilter
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (!path.startsWith("/api/")) {
+            return chain.filter(exchange);
+        }
+        RequestCost cost = new RequestCost();
+        ServerHttpResponse response = exchange.getResponse();
+        if (header) {
+            response.beforeCommit(() -> {
+                response.getHeaders().set(REQUEST_COST_HEADER, cost.toHeaderValue());
+                return Mono.empty();
+            });
+        }
+        if (!logged) {
+            return CommandContext.scoped(chain.filter(exchange)).contextWrite(context -> context.put(RequestCost.class, cost));
+        }
+        ServerWebExchange countingExchange = exchange.mutate().response(new ByteCountingResponse(response, cost)).build();
+        return CommandContext
+            .scoped(chain.filter(countingExchange))
+            .contextWrite(context -> context.put(RequestCost.class, cost))
+            .doFinally(signal ->
+                log.info("{} {} {}: {}", exchange.getRequest().getMethodValue(), path, response.getRawStatusCode(), cost)
+            );
+    }
+
+    /**
+     * Adds the bytes of the response body to the cost.
+     */
+    private static class ByteCountingResponse extends ServerHttpResponseDecorator {
+
+        private final RequestCost cost;
+
+        ByteCountingResponse(ServerHttpResponse delegate, RequestCost cost) {
+            super(delegate);
+            this.cost = cost;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> cost.addResponseBytes(buffer.readableByteCount())));
+        }
+    }
+}
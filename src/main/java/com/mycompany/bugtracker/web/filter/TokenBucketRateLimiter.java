@@ -0,0 +1,104 @@
+package com.mycompany.bugtracker.web.filter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets, one per key, with bounded memory.
+ * <p>
+ * Each bucket holds up to {@code capacity} tokens and regains one token every {@code refillPeriod}. The state of a
+ * bucket is kept as a single timestamp, the time at which it will be full again, so that a bucket costs one map entry
+ * and a full bucket doesn't need to be stored at all.
+ * <p>
+ * Buckets are spread over lock-striped, access-ordered maps: concurrent requests only contend when their keys fall into
+ * the same stripe, and each stripe evicts its least recently used bucket once it holds more than its share of
+ * {@code maxEntries}.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long refillPeriodNanos;
+
+    private final long burstNanos;
+
+    private final Stripe[] stripes;
+
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(int capacity, Duration refillPeriod, int maxEntries) {
+        this(capacity, refillPeriod, maxEntries, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, Duration refillPeriod, int maxEntries, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPeriod.isNegative() || refillPeriod.isZero() || maxEntries < 1) {
+            throw new IllegalArgumentException("Capacity, refill period and maximum entries must be positive");
+        }
+        this.refillPeriodNanos = refillPeriod.toNanos();
+        this.burstNanos = refillPeriodNanos * capacity;
+        this.nanoClock = nanoClock;
+        int stripeCount = Math.min(Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1, 64);
+        int entriesPerStripe = Math.max(1, (maxEntries + stripeCount - 1) / stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(entriesPerStripe);
+        }
+    }
+
+    /**
+     * Takes a token from the bucket of the given key.
+     *
+     * @param key the key of the bucket.
+     * @return {@link Duration#ZERO} if a token was taken, otherwise the time until the next token is available.
+     */
+    public Duration tryAcquire(String key) {
+        Stripe stripe = stripeFor(key);
+        long now = nanoClock.getAsLong();
+        synchronized (stripe) {
+            Long fullAt = stripe.get(key);
+            long start = fullAt == null || fullAt - now < 0 ? now : fullAt;
+            long newFullAt = start + refillPeriodNanos;
+            long wait = newFullAt - now - burstNanos;
+            if (wait > 0) {
+                return Duration.ofNanos(wait);
+            }
+            stripe.put(key, newFullAt);
+            return Duration.ZERO;
+        }
+    }
+
+    /**
+     * @return the number of buckets currently held in memory.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static class Stripe extends LinkedHashMap<String, Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
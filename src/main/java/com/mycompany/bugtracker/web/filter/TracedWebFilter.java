@@ -0,0 +1,45 @@
+package com.mycompany.bugtracker.web.filter;
+
+import com.mycompany.bugtracker.monitoring.tracing.Span;
+import com.mycompany.bugtracker.monitoring.tracing.Tracer;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Traces a {@link WebFilter} of the security filter chain.
+ * <p>
+ * The span measures the time spent in the filter before it passes the request on, or rejects it: the rest of the
+ * chain is traced as a sibling of the filter, under the span of the request.
+ */
+public class TracedWebFilter implements WebFilter {
+
+    private final String name;
+
+    private final WebFilter delegate;
+
+    private final Tracer tracer;
+
+    public TracedWebFilter(String name, WebFilter delegate, Tracer tracer) {
+        this.name = name;
+        this.delegate = delegate;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return Mono.deferContextual(context -> {
+            Span parent = Tracer.current(context);
+            Span span = tracer.startSpan(name, parent);
+            if (span == null) {
+                return delegate.filter(exchange, chain);
+            }
+            WebFilterChain next = filteredExchange -> {
+                span.end();
+                return chain.filter(filteredExchange).contextWrite(downstream -> downstream.put(Span.class, parent));
+            };
+            return tracer.trace(span, delegate.filter(exchange, next));
+        });
+    }
+}
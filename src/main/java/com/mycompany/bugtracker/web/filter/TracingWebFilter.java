@@ -0,0 +1,66 @@
+package com.mycompany.bugtracker.web.filter;
+
+import com.mycompany.bugtracker.monitoring.tracing.Span;
+import com.mycompany.bugtracker.monitoring.tracing.Tracer;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+/**
+ * Starts the root span of every request, except the management ones, and continues the trace of the caller when the
+ * request has a W3C {@code traceparent} header.
+ * <p>
+ * The span is named after the HTTP method and the matched route, such as {@code GET /api/tickets/{id}}, and its
+ * {@code traceparent} is returned in the {@code traceresponse} header, to find the trace of a slow page.
+ */
+public class TracingWebFilter implements WebFilter, Ordered {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    public static final String TRACERESPONSE_HEADER = "traceresponse";
+
+    private final Tracer tracer;
+
+    public TracingWebFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        if (path.startsWith("/management/")) {
+            return chain.filter(exchange);
+        }
+        Span span = tracer.startRootSpan(request.getMethodValue(), request.getHeaders().getFirst(TRACEPARENT_HEADER));
+        if (span == null) {
+            return chain.filter(exchange);
+        }
+        span.tag("http.method", request.getMethodValue()).tag("http.target", path);
+        exchange.getResponse().getHeaders().set(TRACERESPONSE_HEADER, span.toTraceparent());
+        return tracer.trace(span, chain.filter(exchange).doOnTerminate(() -> finish(exchange, span, path)));
+    }
+
+    private static void finish(ServerWebExchange exchange, Span span, String path) {
+        PathPattern route = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        span.name(exchange.getRequest().getMethodValue() + " " + (route != null ? route.getPatternString() : path));
+        if (route != null) {
+            span.tag("http.route", route.getPatternString());
+        }
+        HttpStatus status = exchange.getResponse().getStatusCode();
+        if (status != null) {
+            span.tag("http.status_code", String.valueOf(status.value()));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.mycompany.bugtracker.web.rest;
+
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.service.TicketArchiveService;
+import com.mycompany.bugtracker.service.criteria.TicketCriteria;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.PaginationUtil;
+import tech.jhipster.web.util.reactive.ResponseUtil;
+
+/**
+ * REST controller for reading the {@link Ticket}s moved to the archive.
+ */
+@RestController
+@RequestMapping("/api")
+public class ArchivedTicketResource {
+
+    private final Logger log = LoggerFactory.getLogger(ArchivedTicketResource.class);
+
+    private final TicketArchiveService ticketArchiveService;
+
+    public ArchivedTicketResource(TicketArchiveService ticketArchiveService) {
+        this.ticketArchiveService = ticketArchiveService;
+    }
+
+    /**
+     * {@code GET  /archived-tickets} : search the archived tickets.
+     *
+     * @param criteria the criteria which the archived tickets should match, such as {@code title.contains=...}.
+     * @param pageable the pagination information.
+     * @param request  a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of archived tickets in body.
+     */
+    @GetMapping("/archived-tickets")
+    public Mono<ResponseEntity<List<Ticket>>> searchArchivedTickets(TicketCriteria criteria, Pageable pageable, ServerHttpRequest request) {
+        log.debug("REST request to search archived Tickets by criteria: {}", criteria);
+        return ticketArchiveService
+            .countByCriteria(criteria)
+            .zipWith(ticketArchiveService.findByCriteria(criteria, pageable).collectList())
+            .map(countWithEntities ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        PaginationUtil.generatePaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                        )
+                    )
+                    .body(countWithEntities.getT2())
+            );
+    }
+
+    /**
+     * {@code GET  /archived-tickets/:id} : get the "id" archived ticket.
+     *
+     * @param id the id of the archived ticket to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the archived ticket, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/archived-tickets/{id}")
+    public Mono<ResponseEntity<Ticket>> getArchivedTicket(@PathVariable String id) {
+        log.debug("REST request to get archived Ticket : {}", id);
+        return ResponseUtil.wrapOrNotFound(ticketArchiveService.findOne(id));
+    }
+}
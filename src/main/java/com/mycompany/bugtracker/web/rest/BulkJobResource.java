@@ -0,0 +1,76 @@
+package com.mycompany.bugtracker.web.rest;
+
+import com.mycompany.bugtracker.domain.BulkJob;
+import com.mycompany.bugtracker.service.BulkJobService;
+import com.mycompany.bugtracker.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.reactive.ResponseUtil;
+
+/**
+ * REST controller for following, cancelling and resuming the {@link BulkJob}s started by the bulk endpoints.
+ */
+@RestController
+@RequestMapping("/api")
+public class BulkJobResource {
+
+    private final Logger log = LoggerFactory.getLogger(BulkJobResource.class);
+
+    private static final String ENTITY_NAME = "bulkJob";
+
+    private final BulkJobService bulkJobService;
+
+    public BulkJobResource(BulkJobService bulkJobService) {
+        this.bulkJobService = bulkJobService;
+    }
+
+    /**
+     * {@code GET  /bulk-jobs/:id} : get the "id" job, with its progress.
+     *
+     * @param id the id of the job to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the job,
+     * or with status {@code 404 (Not Found)} if the job is not found or was started by another user.
+     */
+    @GetMapping("/bulk-jobs/{id}")
+    public Mono<ResponseEntity<BulkJob>> getBulkJob(@PathVariable String id) {
+        log.debug("REST request to get BulkJob : {}", id);
+        return ResponseUtil.wrapOrNotFound(bulkJobService.findOne(id));
+    }
+
+    /**
+     * {@code POST  /bulk-jobs/:id/cancel} : cancel the "id" job, which stops after its current chunk.
+     *
+     * @param id the id of the job to cancel.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the job,
+     * or with status {@code 404 (Not Found)} if the job is not found or was started by another user.
+     */
+    @PostMapping("/bulk-jobs/{id}/cancel")
+    public Mono<ResponseEntity<BulkJob>> cancelBulkJob(@PathVariable String id) {
+        log.debug("REST request to cancel BulkJob : {}", id);
+        return ResponseUtil.wrapOrNotFound(bulkJobService.cancel(id));
+    }
+
+    /**
+     * {@code POST  /bulk-jobs/:id/resume} : resume the "id" job after the last entity it processed.
+     *
+     * @param id the id of the job to resume.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the job,
+     * or with status {@code 400 (Bad Request)} if the job is neither interrupted, failed nor stale, or if its type can't be resumed,
+     * or with status {@code 404 (Not Found)} if the job is not found or was started by another user.
+     */
+    @PostMapping("/bulk-jobs/{id}/resume")
+    public Mono<ResponseEntity<BulkJob>> resumeBulkJob(@PathVariable String id) {
+        log.debug("REST request to resume BulkJob : {}", id);
+        return bulkJobService
+            .findOne(id)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .flatMap(job -> bulkJobService.resume(id))
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("The job can't be resumed", ENTITY_NAME, "notresumable")))
+            .map(ResponseEntity::ok);
+    }
+}
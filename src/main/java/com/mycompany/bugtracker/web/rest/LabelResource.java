@@ -2,10 +2,11 @@ package com.mycompany.bugtracker.web.rest;
 
 import com.mycompany.bugtracker.domain.Label;
 import com.mycompany.bugtracker.repository.LabelRepository;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
 import com.mycompany.bugtracker.web.rest.errors.BadRequestAlertException;
+import com.mycompany.bugtracker.web.rest.util.FieldsetUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -14,12 +15,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.bugtracker.domain.Label}.
@@ -164,12 +165,14 @@ public class LabelResource {
     /**
      * {@code GET  /labels} : get all the labels.
      *
+     * @param fields the comma-separated properties to return, all by default.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of labels in body.
      */
     @GetMapping("/labels")
-    public Mono<List<Label>> getAllLabels() {
+    public Mono<MappingJacksonValue> getAllLabels(@RequestParam(required = false) String fields) {
         log.debug("REST request to get all Labels");
-        return labelRepository.findAll().collectList();
+        SparseFieldset fieldset = FieldsetUtil.parseFieldset(fields, Label.class, ENTITY_NAME);
+        return labelRepository.findAll(fieldset).collectList().map(labels -> FieldsetUtil.filterBody(labels, Label.class, fieldset));
     }
 
     /**
@@ -185,14 +188,16 @@ public class LabelResource {
     /**
      * {@code GET  /labels/:id} : get the "id" label.
      *
-     * @param id the id of the label to retrieve.
+     * @param id     the id of the label to retrieve.
+     * @param fields the comma-separated properties to return, all by default.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the label, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/labels/{id}")
-    public Mono<ResponseEntity<Label>> getLabel(@PathVariable String id) {
+    public Mono<ResponseEntity<MappingJacksonValue>> getLabel(@PathVariable String id, @RequestParam(required = false) String fields) {
         log.debug("REST request to get Label : {}", id);
-        Mono<Label> label = labelRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(label);
+        SparseFieldset fieldset = FieldsetUtil.parseFieldset(fields, Label.class, ENTITY_NAME);
+        Mono<Label> label = labelRepository.findById(id, fieldset);
+        return FieldsetUtil.wrapOrNotFound(label, Label.class, fieldset);
     }
 
     /**
@@ -1,25 +1,29 @@
 package com.mycompany.bugtracker.web.rest;
 
+import com.mycompany.bugtracker.domain.BulkJob;
 import com.mycompany.bugtracker.domain.Project;
 import com.mycompany.bugtracker.repository.ProjectRepository;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
+import com.mycompany.bugtracker.service.TicketCascadeService;
 import com.mycompany.bugtracker.web.rest.errors.BadRequestAlertException;
+import com.mycompany.bugtracker.web.rest.util.FieldsetUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.bugtracker.domain.Project}.
@@ -37,8 +41,11 @@ public class ProjectResource {
 
     private final ProjectRepository projectRepository;
 
-    public ProjectResource(ProjectRepository projectRepository) {
+    private final TicketCascadeService ticketCascadeService;
+
+    public ProjectResource(ProjectRepository projectRepository, TicketCascadeService ticketCascadeService) {
         this.projectRepository = projectRepository;
+        this.ticketCascadeService = ticketCascadeService;
     }
 
     /**
@@ -166,12 +173,14 @@ public class ProjectResource {
     /**
      * {@code GET  /projects} : get all the projects.
      *
+     * @param fields the comma-separated properties to return, all by default.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of projects in body.
      */
     @GetMapping("/projects")
-    public Mono<List<Project>> getAllProjects() {
+    public Mono<MappingJacksonValue> getAllProjects(@RequestParam(required = false) String fields) {
         log.debug("REST request to get all Projects");
-        return projectRepository.findAll().collectList();
+        SparseFieldset fieldset = FieldsetUtil.parseFieldset(fields, Project.class, ENTITY_NAME);
+        return projectRepository.findAll(fieldset).collectList().map(projects -> FieldsetUtil.filterBody(projects, Project.class, fieldset));
     }
 
     /**
@@ -187,30 +196,57 @@ public class ProjectResource {
     /**
      * {@code GET  /projects/:id} : get the "id" project.
      *
-     * @param id the id of the project to retrieve.
+     * @param id     the id of the project to retrieve.
+     * @param fields the comma-separated properties to return, all by default.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the project, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/projects/{id}")
-    public Mono<ResponseEntity<Project>> getProject(@PathVariable String id) {
+    public Mono<ResponseEntity<MappingJacksonValue>> getProject(@PathVariable String id, @RequestParam(required = false) String fields) {
         log.debug("REST request to get Project : {}", id);
-        Mono<Project> project = projectRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(project);
+        SparseFieldset fieldset = FieldsetUtil.parseFieldset(fields, Project.class, ENTITY_NAME);
+        Mono<Project> project = projectRepository.findById(id, fieldset);
+        return FieldsetUtil.wrapOrNotFound(project, Project.class, fieldset);
     }
 
     /**
-     * {@code DELETE  /projects/:id} : delete the "id" project.
+     * {@code DELETE  /projects/:id} : delete the "id" project, once its tickets are handled in a background job.
      *
-     * @param id the id of the project to delete.
-     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     * @param id         the id of the project to delete.
+     * @param tickets    what happens to the tickets of the project: {@code UNASSIGN} (the default), {@code REASSIGN} or {@code ARCHIVE}.
+     * @param reassignTo the id of the project the tickets are moved to, with {@code REASSIGN}.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)} if the project had no ticket,
+     * or with status {@code 202 (Accepted)}, the location of the job, and with body the started job,
+     * or with status {@code 400 (Bad Request)} if the project to move the tickets to is missing or not found.
      */
     @DeleteMapping("/projects/{id}")
-    @ResponseStatus(code = HttpStatus.NO_CONTENT)
-    public Mono<ResponseEntity<Void>> deleteProject(@PathVariable String id) {
-        log.debug("REST request to delete Project : {}", id);
-        return projectRepository
-            .deleteById(id)
-            .map(result ->
-                ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build()
-            );
+    public Mono<ResponseEntity<BulkJob>> deleteProject(
+        @PathVariable String id,
+        @RequestParam(defaultValue = "UNASSIGN") TicketCascadeService.Policy tickets,
+        @RequestParam(required = false) String reassignTo
+    ) {
+        log.debug("REST request to delete Project : {}, {} its tickets", id, tickets);
+        Mono<Boolean> targetExists = Mono.just(true);
+        if (tickets == TicketCascadeService.Policy.REASSIGN) {
+            if (reassignTo == null || reassignTo.equals(id)) {
+                throw new BadRequestAlertException("Another project to move the tickets to is required", ENTITY_NAME, "reassignmissing");
+            }
+            targetExists = projectRepository.existsById(reassignTo);
+        }
+        HttpHeaders headers = HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id);
+        return targetExists
+            .flatMap(exists -> {
+                if (!exists) {
+                    return Mono.error(new BadRequestAlertException("Project to move the tickets to not found", ENTITY_NAME, "reassignnotfound"));
+                }
+                return ticketCascadeService.deleteProject(id, tickets, reassignTo);
+            })
+            .map(job -> {
+                try {
+                    return ResponseEntity.accepted().location(new URI("/api/bulk-jobs/" + job.getId())).headers(headers).body(job);
+                } catch (URISyntaxException e) {
+                    throw new RuntimeException(e);
+                }
+            })
+            .defaultIfEmpty(ResponseEntity.noContent().headers(headers).build());
     }
 }
@@ -1,7 +1,9 @@
 package com.mycompany.bugtracker.web.rest;
 
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
 import com.mycompany.bugtracker.service.UserService;
 import com.mycompany.bugtracker.service.dto.UserDTO;
+import com.mycompany.bugtracker.web.rest.util.FieldsetUtil;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -13,11 +15,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.PaginationUtil;
 
@@ -42,20 +44,32 @@ public class PublicUserResource {
      *
      * @param request a {@link ServerHttpRequest} request.
      * @param pageable the pagination information.
+     * @param fields the comma-separated properties to return, all by default.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
-    public Mono<ResponseEntity<Flux<UserDTO>>> getAllPublicUsers(ServerHttpRequest request, Pageable pageable) {
+    public Mono<ResponseEntity<MappingJacksonValue>> getAllPublicUsers(
+        ServerHttpRequest request,
+        Pageable pageable,
+        @RequestParam(required = false) String fields
+    ) {
         log.debug("REST request to get all public User names");
         if (!onlyContainsAllowedProperties(pageable)) {
             return Mono.just(ResponseEntity.badRequest().build());
         }
+        SparseFieldset fieldset = FieldsetUtil.parseFieldset(fields, UserDTO.class, "user");
 
         return userService
             .countManagedUsers()
             .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
             .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(userService.getAllPublicUsers(pageable)));
+            .zipWith(userService.getAllPublicUsers(pageable, fieldset).collectList())
+            .map(headersWithUsers ->
+                ResponseEntity
+                    .ok()
+                    .headers(headersWithUsers.getT1())
+                    .body(FieldsetUtil.filterBody(headersWithUsers.getT2(), UserDTO.class, fieldset))
+            );
     }
 
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
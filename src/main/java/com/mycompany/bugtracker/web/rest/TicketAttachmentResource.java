@@ -0,0 +1,235 @@
+package com.mycompany.bugtracker.web.rest;
+
+import com.mycompany.bugtracker.repository.TicketRepository;
+import com.mycompany.bugtracker.service.AttachmentTooLargeException;
+import com.mycompany.bugtracker.service.TicketAttachmentService;
+import com.mycompany.bugtracker.service.dto.AttachmentDTO;
+import com.mycompany.bugtracker.web.rest.errors.BadRequestAlertException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.DefaultPartHttpMessageReader;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for managing the files attached to a {@link com.mycompany.bugtracker.domain.Ticket}.
+ * <p>
+ * Uploads are read with a streaming multipart reader, so that the file part goes to GridFS as it arrives, without being
+ * buffered in memory or on disk. Downloads support single byte ranges and conditional requests on the ETag, which is
+ * the id of the attachment since its content never changes.
+ */
+@RestController
+@RequestMapping("/api/tickets/{ticketId}/attachments")
+public class TicketAttachmentResource {
+
+    private static final String ENTITY_NAME = "ticketAttachment";
+
+    private static final String FILE_PART = "file";
+
+    /**
+     * Room left for the boundaries and headers of the parts, when checking the length of an upload up front.
+     */
+    private static final long MULTIPART_OVERHEAD = 16 * 1024;
+
+    private static final ResolvableType PART_TYPE = ResolvableType.forClass(Part.class);
+
+    private final Logger log = LoggerFactory.getLogger(TicketAttachmentResource.class);
+
+    private final TicketAttachmentService ticketAttachmentService;
+
+    private final TicketRepository ticketRepository;
+
+    private final DefaultPartHttpMessageReader partReader;
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    public TicketAttachmentResource(TicketAttachmentService ticketAttachmentService, TicketRepository ticketRepository) {
+        this.ticketAttachmentService = ticketAttachmentService;
+        this.ticketRepository = ticketRepository;
+        this.partReader = new DefaultPartHttpMessageReader();
+        partReader.setStreaming(true);
+        partReader.setMaxParts(4);
+        partReader.setMaxHeadersSize(8 * 1024);
+    }
+
+    /**
+     * {@code POST  /tickets/:ticketId/attachments} : attach the {@code file} part of a multipart request to the ticket,
+     * the parts before it being ignored.
+     *
+     * @param ticketId the id of the ticket.
+     * @param request  the multipart request.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the attachment,
+     * or with status {@code 400 (Bad Request)} if there is no file part,
+     * or with status {@code 404 (Not Found)} if the ticket is not found,
+     * or with status {@code 413 (Payload Too Large)} if the file is larger than the maximum size.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<AttachmentDTO>> uploadAttachment(@PathVariable String ticketId, ServerHttpRequest request) {
+        log.debug("REST request to attach a file to Ticket : {}", ticketId);
+        long maxSize = ticketAttachmentService.getMaxSize();
+        if (request.getHeaders().getContentLength() > maxSize + MULTIPART_OVERHEAD) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, new AttachmentTooLargeException(maxSize).getMessage());
+        }
+        return ticketRepository
+            .existsById(ticketId)
+            .flatMapMany(exists -> {
+                if (!exists) {
+                    return Flux.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket not found"));
+                }
+                // Parts are streamed: each one must be consumed before the next one is read, the first file part ends the upload
+                return partReader
+                    .read(PART_TYPE, request, Collections.emptyMap())
+                    .concatMap(part -> {
+                        if (part instanceof FilePart && FILE_PART.equals(part.name())) {
+                            FilePart file = (FilePart) part;
+                            return ticketAttachmentService.store(ticketId, file.filename(), contentType(file), file.content());
+                        }
+                        return part.content().doOnNext(DataBufferUtils::release).then(Mono.<AttachmentDTO>empty());
+                    });
+            })
+            .onErrorMap(
+                AttachmentTooLargeException.class,
+                e -> new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage(), e)
+            )
+            .next()
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("A file part is expected", ENTITY_NAME, "filemissing")))
+            .map(result -> {
+                try {
+                    return ResponseEntity
+                        .created(new URI("/api/tickets/" + ticketId + "/attachments/" + result.getId()))
+                        .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                        .body(result);
+                } catch (URISyntaxException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+    }
+
+    private static String contentType(FilePart file) {
+        MediaType contentType = file.headers().getContentType();
+        return contentType != null ? contentType.toString() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    /**
+     * {@code GET  /tickets/:ticketId/attachments} : get the attachments of the ticket.
+     *
+     * @param ticketId the id of the ticket.
+     * @return the list of attachments, by upload date.
+     */
+    @GetMapping
+    public Mono<List<AttachmentDTO>> getAllAttachments(@PathVariable String ticketId) {
+        log.debug("REST request to get the attachments of Ticket : {}", ticketId);
+        return ticketAttachmentService.findAllByTicket(ticketId).collectList();
+    }
+
+    /**
+     * {@code GET  /tickets/:ticketId/attachments/:id} : download the "id" attachment, or the byte range of the
+     * {@code Range} header. Several ranges are not supported: the whole file is then returned.
+     *
+     * @param ticketId the id of the ticket.
+     * @param id       the id of the attachment.
+     * @param request  the request, with its {@code Range}, {@code If-Range} and {@code If-None-Match} headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the file, or with status {@code 206 (Partial Content)} and the range,
+     * or with status {@code 304 (Not Modified)} if the client has it,
+     * or with status {@code 404 (Not Found)},
+     * or with status {@code 416 (Requested Range Not Satisfiable)} if the range is outside the file.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> downloadAttachment(
+        @PathVariable String ticketId,
+        @PathVariable String id,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to download attachment {} of Ticket : {}", id, ticketId);
+        return ticketAttachmentService
+            .findOne(ticketId, id)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(attachment -> download(attachment, request.getHeaders()));
+    }
+
+    private ResponseEntity<Flux<DataBuffer>> download(AttachmentDTO attachment, HttpHeaders requestHeaders) {
+        // The 304 responses to If-None-Match are handled by WebFlux, from the ETag of the response
+        String etag = "\"" + attachment.getId() + "\"";
+        long length = attachment.getSize();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setLastModified(attachment.getUploadDate());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        List<HttpRange> ranges;
+        try {
+            ranges = requestHeaders.getRange();
+        } catch (IllegalArgumentException e) {
+            return rangeNotSatisfiable(headers, length);
+        }
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ranges.size() != 1 || (ifRange != null && !ifRange.equals(etag))) {
+            headers.setContentType(MediaType.parseMediaType(attachment.getContentType()));
+            headers.setContentLength(length);
+            headers.setContentDisposition(ContentDisposition.attachment().filename(attachment.getFilename(), StandardCharsets.UTF_8).build());
+            return ResponseEntity.ok().headers(headers).body(ticketAttachmentService.read(attachment, 0, length - 1));
+        }
+        long start;
+        long end;
+        try {
+            start = ranges.get(0).getRangeStart(length);
+            end = ranges.get(0).getRangeEnd(length);
+        } catch (IllegalArgumentException e) {
+            return rangeNotSatisfiable(headers, length);
+        }
+        if (start >= length) {
+            return rangeNotSatisfiable(headers, length);
+        }
+        headers.setContentType(MediaType.parseMediaType(attachment.getContentType()));
+        headers.setContentLength(end - start + 1);
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers).body(ticketAttachmentService.read(attachment, start, end));
+    }
+
+    private static ResponseEntity<Flux<DataBuffer>> rangeNotSatisfiable(HttpHeaders headers, long length) {
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+    }
+
+    /**
+     * {@code DELETE  /tickets/:ticketId/attachments/:id} : delete the "id" attachment. Only the user who uploaded the
+     * attachment, or an administrator, can delete it.
+     *
+     * @param ticketId the id of the ticket.
+     * @param id       the id of the attachment.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 403 (Forbidden)} if the current user neither uploaded the attachment nor is an administrator.
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteAttachment(@PathVariable String ticketId, @PathVariable String id) {
+        log.debug("REST request to delete attachment {} of Ticket : {}", id, ticketId);
+        return ticketAttachmentService
+            .delete(ticketId, id)
+            .then(
+                Mono.just(
+                    ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).<Void>build()
+                )
+            );
+    }
+}
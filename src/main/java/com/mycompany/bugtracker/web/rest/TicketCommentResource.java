@@ -0,0 +1,130 @@
+package com.mycompany.bugtracker.web.rest;
+
+import com.mycompany.bugtracker.domain.TicketComment;
+import com.mycompany.bugtracker.repository.TicketCommentRepository;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import com.mycompany.bugtracker.security.SecurityUtils;
+import com.mycompany.bugtracker.web.rest.errors.BadRequestAlertException;
+import java.time.Instant;
+import java.util.List;
+import javax.validation.Valid;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for managing the comments of a {@link com.mycompany.bugtracker.domain.Ticket}.
+ * <p>
+ * The thread is paginated from its newest comments with the {@code before} cursor, the number of the oldest comment
+ * of the previous page, given by the {@code next} link of the {@code Link} header.
+ */
+@RestController
+@RequestMapping("/api/tickets/{ticketId}/comments")
+public class TicketCommentResource {
+
+    private static final String ENTITY_NAME = "ticketComment";
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(TicketCommentResource.class);
+
+    private final TicketCommentRepository ticketCommentRepository;
+
+    private final TicketRepository ticketRepository;
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    public TicketCommentResource(TicketCommentRepository ticketCommentRepository, TicketRepository ticketRepository) {
+        this.ticketCommentRepository = ticketCommentRepository;
+        this.ticketRepository = ticketRepository;
+    }
+
+    /**
+     * {@code POST  /tickets/:ticketId/comments} : add a comment to the ticket, as the current user.
+     *
+     * @param ticketId the id of the ticket.
+     * @param comment  the comment, of which only the body is used.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the comment and its number,
+     * or with status {@code 400 (Bad Request)} if the comment is not valid,
+     * or with status {@code 404 (Not Found)} if the ticket is not found.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<TicketComment>> createTicketComment(
+        @PathVariable String ticketId,
+        @Valid @RequestBody TicketComment comment
+    ) {
+        log.debug("REST request to comment Ticket : {}", ticketId);
+        return ticketRepository
+            .existsById(ticketId)
+            .flatMap(exists -> {
+                if (!exists) {
+                    return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket not found"));
+                }
+                return SecurityUtils.getCurrentUserLogin();
+            })
+            .flatMap(login -> {
+                TicketComment newComment = new TicketComment().body(comment.getBody());
+                newComment.setId(new ObjectId().toHexString());
+                newComment.setAuthor(login);
+                newComment.setCreatedDate(Instant.now());
+                return ticketCommentRepository.append(ticketId, newComment);
+            })
+            .map(result ->
+                ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId()))
+                    .body(result)
+            );
+    }
+
+    /**
+     * {@code GET  /tickets/:ticketId/comments} : get a page of the comments of the ticket, newest first.
+     *
+     * @param ticketId the id of the ticket.
+     * @param before   the number of the comment the page ends before, none for the newest comments.
+     * @param size     the number of comments of the page.
+     * @param request  a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}, the total number of comments and the link to the
+     * older comments in headers, and the comments in body.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<TicketComment>>> getTicketComments(
+        @PathVariable String ticketId,
+        @RequestParam(required = false) Long before,
+        @RequestParam(required = false, defaultValue = "50") int size,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get the comments of Ticket : {}, before {}", ticketId, before);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestAlertException("The page size must be between 1 and " + MAX_PAGE_SIZE, ENTITY_NAME, "invalidsize");
+        }
+        return ticketCommentRepository
+            .count(ticketId)
+            .zipWith(ticketCommentRepository.findPage(ticketId, before, size).collectList())
+            .map(countWithComments -> {
+                List<TicketComment> comments = countWithComments.getT2();
+                HttpHeaders headers = new HttpHeaders();
+                headers.add("X-Total-Count", Long.toString(countWithComments.getT1()));
+                if (!comments.isEmpty() && comments.get(comments.size() - 1).getNumber() > 1) {
+                    String next = UriComponentsBuilder
+                        .fromHttpRequest(request)
+                        .replaceQueryParam("before", comments.get(comments.size() - 1).getNumber())
+                        .replaceQueryParam("size", size)
+                        .toUriString();
+                    headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+                }
+                return ResponseEntity.ok().headers(headers).body(comments);
+            });
+    }
+}
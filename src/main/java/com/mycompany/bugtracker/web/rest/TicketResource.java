@@ -1,23 +1,42 @@
 package com.mycompany.bugtracker.web.rest;
 
+import com.mycompany.bugtracker.domain.BulkJob;
+import com.mycompany.bugtracker.domain.Label;
 import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.repository.LabelRepository;
+import com.mycompany.bugtracker.repository.TicketCommentRepository;
+import com.mycompany.bugtracker.repository.TicketDescriptionRepository;
 import com.mycompany.bugtracker.repository.TicketRepository;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
 import com.mycompany.bugtracker.security.AuthoritiesConstants;
 import com.mycompany.bugtracker.service.IUserService;
+import com.mycompany.bugtracker.service.TicketAttachmentService;
+import com.mycompany.bugtracker.service.TicketBulkUpdateService;
+import com.mycompany.bugtracker.service.dto.TicketBulkUpdateDTO;
 import com.mycompany.bugtracker.web.rest.errors.BadRequestAlertException;
+import com.mycompany.bugtracker.web.rest.util.FieldsetUtil;
+import com.mycompany.bugtracker.web.rest.vm.MultiGetVM;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.access.annotation.Secured;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -34,16 +53,35 @@ import tech.jhipster.web.util.reactive.ResponseUtil;
 public class TicketResource {
 
     private static final String ENTITY_NAME = "ticket";
+    private static final int MULTI_GET_MAX_IDS = 1000;
     private final Logger log = LoggerFactory.getLogger(TicketResource.class);
     private final TicketRepository ticketRepository;
+    private final TicketDescriptionRepository ticketDescriptionRepository;
+    private final LabelRepository labelRepository;
     private final IUserService userService;
+    private final TicketBulkUpdateService ticketBulkUpdateService;
+    private final TicketAttachmentService ticketAttachmentService;
+    private final TicketCommentRepository ticketCommentRepository;
 
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
-    public TicketResource(TicketRepository ticketRepository, IUserService userService) {
+    public TicketResource(
+        TicketRepository ticketRepository,
+        TicketDescriptionRepository ticketDescriptionRepository,
+        LabelRepository labelRepository,
+        IUserService userService,
+        TicketBulkUpdateService ticketBulkUpdateService,
+        TicketAttachmentService ticketAttachmentService,
+        TicketCommentRepository ticketCommentRepository
+    ) {
         this.ticketRepository = ticketRepository;
+        this.ticketDescriptionRepository = ticketDescriptionRepository;
+        this.labelRepository = labelRepository;
         this.userService = userService;
+        this.ticketBulkUpdateService = ticketBulkUpdateService;
+        this.ticketAttachmentService = ticketAttachmentService;
+        this.ticketCommentRepository = ticketCommentRepository;
     }
 
     /**
@@ -73,6 +111,38 @@ public class TicketResource {
             });
     }
 
+    /**
+     * {@code POST  /tickets/bulk-update} : Updates all the tickets matching some criteria, in a background job.
+     *
+     * @param bulkUpdate the criteria of the tickets, and their changes.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)}, the location of the job, and with body the started job,
+     * or with status {@code 400 (Bad Request)} if no change is requested or if an added label is not found.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/tickets/bulk-update")
+    public Mono<ResponseEntity<BulkJob>> bulkUpdateTickets(@Valid @RequestBody TicketBulkUpdateDTO bulkUpdate) throws URISyntaxException {
+        log.debug("REST request to bulk update Tickets : {}", bulkUpdate);
+        if (bulkUpdate.isEmpty()) {
+            throw new BadRequestAlertException("No change requested", ENTITY_NAME, "emptyupdate");
+        }
+        return labelRepository
+            .findAllById(bulkUpdate.getAddLabelIds())
+            .count()
+            .flatMap(found -> {
+                if (found != bulkUpdate.getAddLabelIds().size()) {
+                    return Mono.error(new BadRequestAlertException("Label not found", ENTITY_NAME, "labelnotfound"));
+                }
+                return ticketBulkUpdateService.updateMany(bulkUpdate);
+            })
+            .map(job -> {
+                try {
+                    return ResponseEntity.accepted().location(new URI("/api/bulk-jobs/" + job.getId())).body(job);
+                } catch (URISyntaxException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+    }
+
     /**
      * {@code PUT  /tickets/:id} : Updates an existing ticket.
      *
@@ -154,6 +224,7 @@ public class TicketResource {
                         }
                         if (ticket.getDescription() != null) {
                             existingTicket.setDescription(ticket.getDescription());
+                            existingTicket.setDescriptionTruncated(null);
                         }
                         if (ticket.getDueDate() != null) {
                             existingTicket.setDueDate(ticket.getDueDate());
@@ -183,18 +254,21 @@ public class TicketResource {
      * @param pageable  the pagination information.
      * @param request   a {@link ServerHttpRequest} request.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param fields    the comma-separated properties to return, all by default.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tickets in body.
      */
     @GetMapping("/tickets")
-    public Mono<ResponseEntity<List<Ticket>>> getAllTickets(
+    public Mono<ResponseEntity<MappingJacksonValue>> getAllTickets(
         Pageable pageable,
         ServerHttpRequest request,
-        @RequestParam(required = false, defaultValue = "false") boolean eagerload
+        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+        @RequestParam(required = false) String fields
     ) {
         log.debug("REST request to get a page of Tickets");
+        SparseFieldset fieldset = FieldsetUtil.parseFieldset(fields, Ticket.class, ENTITY_NAME);
         return ticketRepository
             .count()
-            .zipWith(ticketRepository.findAllByOrderByDueDateAsc(pageable).collectList())
+            .zipWith(ticketRepository.findAllByOrderByDueDateAsc(pageable, fieldset).collectList())
             .map(countWithEntities ->
                 ResponseEntity
                     .ok()
@@ -204,30 +278,148 @@ public class TicketResource {
                             new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
                         )
                     )
-                    .body(countWithEntities.getT2())
+                    .body(FieldsetUtil.filterBody(countWithEntities.getT2(), Ticket.class, fieldset))
             );
     }
 
     @GetMapping("/tickets/self")
-    public Mono<ResponseEntity<List<Ticket>>> getAllSelfTickets() {
+    public Mono<ResponseEntity<MappingJacksonValue>> getAllSelfTickets(@RequestParam(required = false) String fields) {
         log.debug("REST request to get a page of user's Tickets");
+        SparseFieldset fieldset = FieldsetUtil.parseFieldset(fields, Ticket.class, ENTITY_NAME);
         return userService
             .getCurrentUser()
-            .flatMap(user -> ticketRepository.findByAssignedTo_Id(user.getId()).collectList())
-            .map(entities -> ResponseEntity.ok().body(entities));
+            .flatMap(user -> ticketRepository.findByAssignedTo_Id(user.getId(), fieldset).collectList())
+            .map(entities -> ResponseEntity.ok().body(FieldsetUtil.filterBody(entities, Ticket.class, fieldset)));
     }
 
     /**
-     * {@code GET  /tickets/:id} : get the "id" ticket.
+     * {@code GET  /tickets?ids=:ids} : get the tickets of the ids, with one query.
      *
-     * @param id the id of the ticket to retrieve.
+     * @param ids    the ids of the tickets to retrieve.
+     * @param fields the comma-separated properties to return, all by default.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the tickets in the order of the ids, and the ids that were not found.
+     */
+    @GetMapping(value = "/tickets", params = "ids")
+    public Mono<ResponseEntity<MappingJacksonValue>> getTicketsById(@RequestParam List<String> ids, @RequestParam(required = false) String fields) {
+        log.debug("REST request to get Tickets : {}", ids);
+        return findTicketsById(ids, fields);
+    }
+
+    /**
+     * {@code POST  /tickets/multi-get} : get the tickets of the ids, with one query, for the lists of ids too long for a query string.
+     *
+     * @param ids    the ids of the tickets to retrieve.
+     * @param fields the comma-separated properties to return, all by default.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the tickets in the order of the ids, and the ids that were not found.
+     */
+    @PostMapping("/tickets/multi-get")
+    public Mono<ResponseEntity<MappingJacksonValue>> multiGetTickets(
+        @RequestBody List<String> ids,
+        @RequestParam(required = false) String fields
+    ) {
+        log.debug("REST request to get {} Tickets", ids.size());
+        return findTicketsById(ids, fields);
+    }
+
+    private Mono<ResponseEntity<MappingJacksonValue>> findTicketsById(List<String> ids, String fields) {
+        if (ids.size() > MULTI_GET_MAX_IDS) {
+            throw new BadRequestAlertException("Cannot get more than " + MULTI_GET_MAX_IDS + " tickets at once", ENTITY_NAME, "toomanyids");
+        }
+        SparseFieldset fieldset = FieldsetUtil.parseFieldset(fields, Ticket.class, ENTITY_NAME);
+        Set<String> uniqueIds = ids.stream().filter(StringUtils::hasText).collect(Collectors.toCollection(LinkedHashSet::new));
+        return ticketRepository
+            .findAllById(uniqueIds, fieldset)
+            .collectMap(Ticket::getId)
+            .map(ticketsById -> {
+                List<Ticket> tickets = new ArrayList<>();
+                List<String> missingIds = new ArrayList<>();
+                for (String id : uniqueIds) {
+                    Ticket ticket = ticketsById.get(id);
+                    if (ticket != null) {
+                        tickets.add(ticket);
+                    } else {
+                        missingIds.add(id);
+                    }
+                }
+                return ResponseEntity.ok().body(FieldsetUtil.filterBody(new MultiGetVM<>(tickets, missingIds), Ticket.class, fieldset));
+            });
+    }
+
+    /**
+     * {@code GET  /tickets/:id} : get the "id" ticket, with its full description where the lists return its preview.
+     *
+     * @param id     the id of the ticket to retrieve.
+     * @param fields the comma-separated properties to return, all by default.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ticket, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/tickets/{id}")
-    public Mono<ResponseEntity<Ticket>> getTicket(@PathVariable String id) {
+    public Mono<ResponseEntity<MappingJacksonValue>> getTicket(@PathVariable String id, @RequestParam(required = false) String fields) {
         log.debug("REST request to get Ticket : {}", id);
-        Mono<Ticket> ticket = ticketRepository.findOneWithEagerRelationships(id);
-        return ResponseUtil.wrapOrNotFound(ticket);
+        SparseFieldset fieldset = FieldsetUtil.parseFieldset(fields, Ticket.class, ENTITY_NAME);
+        Mono<Ticket> ticket = fieldset.isAll()
+            ? ticketRepository.findOneWithEagerRelationships(id)
+            : ticketRepository.findById(id, fieldset.includes("description") ? fieldset.with("descriptionTruncated") : fieldset);
+        return FieldsetUtil.wrapOrNotFound(ticket.flatMap(ticketDescriptionRepository::loadDescription), Ticket.class, fieldset);
+    }
+
+    /**
+     * {@code GET  /tickets/:id/description} : get the full description of the "id" ticket.
+     *
+     * @param id the id of the ticket.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the description, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/tickets/{id}/description", produces = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<String>> getTicketDescription(@PathVariable String id) {
+        log.debug("REST request to get the description of Ticket : {}", id);
+        return ResponseUtil.wrapOrNotFound(
+            ticketRepository
+                .findById(id, SparseFieldset.of("description", "descriptionTruncated"))
+                .flatMap(ticketDescriptionRepository::loadDescription)
+                .flatMap(ticket -> Mono.<String>justOrEmpty(ticket.getDescription()))
+        );
+    }
+
+    /**
+     * {@code POST  /tickets/:id/labels/:labelId} : add the "labelId" label to the "id" ticket, without rewriting it.
+     *
+     * @param id      the id of the ticket.
+     * @param labelId the id of the label to add.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 404 (Not Found)} if the ticket or the label is not found.
+     */
+    @PostMapping("/tickets/{id}/labels/{labelId}")
+    public Mono<ResponseEntity<Void>> addTicketLabel(@PathVariable String id, @PathVariable String labelId) {
+        log.debug("REST request to add Label {} to Ticket : {}", labelId, id);
+        return labelRepository
+            .existsById(labelId)
+            .flatMap(exists -> {
+                if (!exists) {
+                    return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Label not found"));
+                }
+                return ticketRepository.addLabel(id, new Label().id(labelId));
+            })
+            .flatMap(this::labelsUpdated)
+            .map(updated -> ResponseEntity.noContent().headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id)).build());
+    }
+
+    /**
+     * {@code DELETE  /tickets/:id/labels/:labelId} : remove the "labelId" label from the "id" ticket, without rewriting it.
+     *
+     * @param id      the id of the ticket.
+     * @param labelId the id of the label to remove.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 404 (Not Found)} if the ticket is not found.
+     */
+    @DeleteMapping("/tickets/{id}/labels/{labelId}")
+    public Mono<ResponseEntity<Void>> removeTicketLabel(@PathVariable String id, @PathVariable String labelId) {
+        log.debug("REST request to remove Label {} from Ticket : {}", labelId, id);
+        return ticketRepository
+            .removeLabel(id, new Label().id(labelId))
+            .flatMap(this::labelsUpdated)
+            .map(updated -> ResponseEntity.noContent().headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id)).build());
+    }
+
+    private Mono<Boolean> labelsUpdated(boolean ticketExists) {
+        return ticketExists ? Mono.just(true) : Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket not found"));
     }
 
     /**
@@ -243,6 +435,9 @@ public class TicketResource {
         log.debug("REST request to delete Ticket : {}", id);
         return ticketRepository
             .deleteById(id)
+            .then(ticketDescriptionRepository.deleteById(id))
+            .then(ticketAttachmentService.deleteAllByTicket(id))
+            .then(ticketCommentRepository.deleteAllByTicket(id))
             .map(result ->
                 ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id)).build()
             );
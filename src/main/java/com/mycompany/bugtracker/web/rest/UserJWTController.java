@@ -3,16 +3,22 @@ package com.mycompany.bugtracker.web.rest;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.mycompany.bugtracker.security.jwt.JWTFilter;
 import com.mycompany.bugtracker.security.jwt.TokenProvider;
+import com.mycompany.bugtracker.service.RefreshTokenService;
 import com.mycompany.bugtracker.web.rest.vm.LoginVM;
+import com.mycompany.bugtracker.web.rest.vm.RefreshTokenVM;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import javax.validation.Valid;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 /**
  * Controller to authenticate users.
@@ -21,30 +27,92 @@ import reactor.core.scheduler.Schedulers;
 @RequestMapping("/api")
 public class UserJWTController {
 
+    private static final String AUTHENTICATION_METRIC = "bugtracker.authentication";
+
     private final TokenProvider tokenProvider;
 
     private final ReactiveAuthenticationManager authenticationManager;
 
-    public UserJWTController(TokenProvider tokenProvider, ReactiveAuthenticationManager authenticationManager) {
+    private final ReactiveUserDetailsService userDetailsService;
+
+    private final RefreshTokenService refreshTokenService;
+
+    private final MeterRegistry meterRegistry;
+
+    public UserJWTController(
+        TokenProvider tokenProvider,
+        ReactiveAuthenticationManager authenticationManager,
+        ReactiveUserDetailsService userDetailsService,
+        RefreshTokenService refreshTokenService,
+        MeterRegistry meterRegistry
+    ) {
         this.tokenProvider = tokenProvider;
         this.authenticationManager = authenticationManager;
+        this.userDetailsService = userDetailsService;
+        this.refreshTokenService = refreshTokenService;
+        this.meterRegistry = meterRegistry;
     }
 
     @PostMapping("/authenticate")
     public Mono<ResponseEntity<JWTToken>> authorize(@Valid @RequestBody Mono<LoginVM> loginVM) {
-        return loginVM
-            .flatMap(login ->
+        return timed(
+            "login",
+            loginVM.flatMap(login ->
                 authenticationManager
                     .authenticate(new UsernamePasswordAuthenticationToken(login.getUsername(), login.getPassword()))
-                    .flatMap(auth -> Mono.fromCallable(() -> tokenProvider.createToken(auth, login.isRememberMe())))
+                    .flatMap(auth -> createTokens(auth, login.isRememberMe()))
             )
-            .map(jwt -> {
+        );
+    }
+
+    /**
+     * {@code POST  /authenticate/refresh} : Issues a new access token from a refresh token.
+     * <p>
+     * The refresh token is single-use: a new one is returned with the access token, and the old one is revoked.
+     * This doesn't check the user's password, so it is much cheaper than {@link #authorize(Mono)}.
+     *
+     * @param refreshTokenVM the refresh token.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the new tokens, or with status {@code 401 (Unauthorized)} if the refresh token is invalid.
+     */
+    @PostMapping("/authenticate/refresh")
+    public Mono<ResponseEntity<JWTToken>> refresh(@Valid @RequestBody Mono<RefreshTokenVM> refreshTokenVM) {
+        return timed(
+            "refresh",
+            refreshTokenVM
+                .flatMap(vm -> refreshTokenService.consume(vm.getRefreshToken()))
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Invalid refresh token")))
+                .flatMap(refreshToken ->
+                    userDetailsService
+                        .findByUsername(refreshToken.getLogin())
+                        .map(user -> new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()))
+                        .flatMap(auth -> createTokens(auth, refreshToken.isRememberMe()))
+                )
+        );
+    }
+
+    private Mono<ResponseEntity<JWTToken>> createTokens(Authentication authentication, boolean rememberMe) {
+        return Mono
+            .fromCallable(() -> tokenProvider.createToken(authentication, rememberMe))
+            .zipWith(refreshTokenService.createRefreshToken(authentication.getName(), rememberMe))
+            .map(tokens -> {
                 HttpHeaders httpHeaders = new HttpHeaders();
-                httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
-                return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+                httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + tokens.getT1());
+                return new ResponseEntity<>(new JWTToken(tokens.getT1(), tokens.getT2()), httpHeaders, HttpStatus.OK);
             });
     }
 
+    /**
+     * Records the rate, outcome and latency of logins and refreshes separately.
+     */
+    private <T> Mono<T> timed(String type, Mono<T> authentication) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return authentication
+                .doOnSuccess(result -> sample.stop(meterRegistry.timer(AUTHENTICATION_METRIC, "type", type, "outcome", "success")))
+                .doOnError(e -> sample.stop(meterRegistry.timer(AUTHENTICATION_METRIC, "type", type, "outcome", "failure")));
+        });
+    }
+
     /**
      * Object to return as body in JWT Authentication.
      */
@@ -52,8 +120,11 @@ public class UserJWTController {
 
         private String idToken;
 
-        JWTToken(String idToken) {
+        private String refreshToken;
+
+        JWTToken(String idToken, String refreshToken) {
             this.idToken = idToken;
+            this.refreshToken = refreshToken;
         }
 
         @JsonProperty("id_token")
@@ -64,5 +135,14 @@ public class UserJWTController {
         void setIdToken(String idToken) {
             this.idToken = idToken;
         }
+
+        @JsonProperty("refresh_token")
+        String getRefreshToken() {
+            return refreshToken;
+        }
+
+        void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
     }
 }
@@ -1,21 +1,26 @@
 package com.mycompany.bugtracker.web.rest;
 
 import com.mycompany.bugtracker.config.Constants;
+import com.mycompany.bugtracker.domain.BulkJob;
 import com.mycompany.bugtracker.domain.User;
 import com.mycompany.bugtracker.repository.UserRepository;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
 import com.mycompany.bugtracker.security.AuthoritiesConstants;
 import com.mycompany.bugtracker.service.MailService;
+import com.mycompany.bugtracker.service.TicketCascadeService;
 import com.mycompany.bugtracker.service.UserService;
 import com.mycompany.bugtracker.service.dto.AdminUserDTO;
 import com.mycompany.bugtracker.web.rest.errors.BadRequestAlertException;
 import com.mycompany.bugtracker.web.rest.errors.EmailAlreadyUsedException;
 import com.mycompany.bugtracker.web.rest.errors.LoginAlreadyUsedException;
+import com.mycompany.bugtracker.web.rest.util.FieldsetUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import javax.validation.Valid;
 import javax.validation.constraints.Pattern;
 import org.slf4j.Logger;
@@ -24,14 +29,15 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -190,21 +196,33 @@ public class UserResource {
      *
      * @param request a {@link ServerHttpRequest} request.
      * @param pageable the pagination information.
+     * @param fields the comma-separated properties to return, all by default.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
-    public Mono<ResponseEntity<Flux<AdminUserDTO>>> getAllUsers(ServerHttpRequest request, Pageable pageable) {
+    public Mono<ResponseEntity<MappingJacksonValue>> getAllUsers(
+        ServerHttpRequest request,
+        Pageable pageable,
+        @RequestParam(required = false) String fields
+    ) {
         log.debug("REST request to get all User for an admin");
         if (!onlyContainsAllowedProperties(pageable)) {
             return Mono.just(ResponseEntity.badRequest().build());
         }
+        SparseFieldset fieldset = FieldsetUtil.parseFieldset(fields, AdminUserDTO.class, "userManagement");
 
         return userService
             .countManagedUsers()
             .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
             .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(userService.getAllManagedUsers(pageable)));
+            .zipWith(userService.getAllManagedUsers(pageable, fieldset).collectList())
+            .map(headersWithUsers ->
+                ResponseEntity
+                    .ok()
+                    .headers(headersWithUsers.getT1())
+                    .body(FieldsetUtil.filterBody(headersWithUsers.getT2(), AdminUserDTO.class, fieldset))
+            );
     }
 
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
@@ -215,32 +233,63 @@ public class UserResource {
      * {@code GET /admin/users/:login} : get the "login" user.
      *
      * @param login the login of the user to find.
+     * @param fields the comma-separated properties to return, all by default.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the "login" user, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/users/{login}")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
-    public Mono<AdminUserDTO> getUser(@PathVariable String login) {
+    public Mono<MappingJacksonValue> getUser(@PathVariable String login, @RequestParam(required = false) String fields) {
         log.debug("REST request to get User : {}", login);
+        SparseFieldset fieldset = FieldsetUtil.parseFieldset(fields, AdminUserDTO.class, "userManagement");
         return userService
-            .getUserWithAuthoritiesByLogin(login)
-            .map(AdminUserDTO::new)
+            .getUserWithAuthoritiesByLogin(login, fieldset)
+            .map(user -> FieldsetUtil.filterBody(new AdminUserDTO(user), AdminUserDTO.class, fieldset))
             .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
     }
 
     /**
-     * {@code DELETE /admin/users/:login} : delete the "login" User.
+     * {@code DELETE /admin/users/:login} : delete the "login" User, then handle the tickets assigned to the user in a background job.
      *
-     * @param login the login of the user to delete.
-     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     * @param login      the login of the user to delete.
+     * @param tickets    what happens to the tickets assigned to the user: {@code UNASSIGN} (the default), {@code REASSIGN} or {@code ARCHIVE}.
+     * @param reassignTo the login of the user the tickets are assigned to, with {@code REASSIGN}.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)} if no ticket is assigned to the user,
+     * or with status {@code 202 (Accepted)}, the location of the job, and with body the started job,
+     * or with status {@code 400 (Bad Request)} if the user to reassign the tickets to is missing or not found.
      */
     @DeleteMapping("/users/{login}")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
-    @ResponseStatus(code = HttpStatus.NO_CONTENT)
-    public Mono<ResponseEntity<Void>> deleteUser(@PathVariable @Pattern(regexp = Constants.LOGIN_REGEX) String login) {
-        log.debug("REST request to delete User: {}", login);
-        return userService
-            .deleteUser(login)
-            .map(it -> ResponseEntity.noContent().headers(HeaderUtil.createAlert(applicationName, "userManagement.deleted", login)).build()
-            );
+    public Mono<ResponseEntity<BulkJob>> deleteUser(
+        @PathVariable @Pattern(regexp = Constants.LOGIN_REGEX) String login,
+        @RequestParam(defaultValue = "UNASSIGN") TicketCascadeService.Policy tickets,
+        @RequestParam(required = false) String reassignTo
+    ) {
+        log.debug("REST request to delete User: {}, {} its tickets", login, tickets);
+        Mono<String> targetId = Mono.empty();
+        if (tickets == TicketCascadeService.Policy.REASSIGN) {
+            if (reassignTo == null || reassignTo.equalsIgnoreCase(login)) {
+                throw new BadRequestAlertException("Another user to reassign the tickets to is required", "userManagement", "reassignmissing");
+            }
+            targetId =
+                userRepository
+                    .findOneByLogin(reassignTo.toLowerCase())
+                    .map(User::getId)
+                    .switchIfEmpty(
+                        Mono.error(new BadRequestAlertException("User to reassign the tickets to not found", "userManagement", "reassignnotfound"))
+                    );
+        }
+        HttpHeaders headers = HeaderUtil.createAlert(applicationName, "userManagement.deleted", login);
+        return targetId
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(target -> userService.deleteUser(login, tickets, target.orElse(null)))
+            .map(job -> {
+                try {
+                    return ResponseEntity.accepted().location(new URI("/api/bulk-jobs/" + job.getId())).headers(headers).body(job);
+                } catch (URISyntaxException e) {
+                    throw new RuntimeException(e);
+                }
+            })
+            .defaultIfEmpty(ResponseEntity.noContent().headers(headers).build());
     }
 }
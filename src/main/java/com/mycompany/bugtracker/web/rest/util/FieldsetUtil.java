@@ -0,0 +1,61 @@
+package com.mycompany.bugtracker.web.rest.util;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
+import com.mycompany.bugtracker.web.rest.errors.BadRequestAlertException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.reactive.ResponseUtil;
+
+/**
+ * Utility class for the {@code fields} parameter of the REST resources, selecting the properties to return.
+ */
+public final class FieldsetUtil {
+
+    private FieldsetUtil() {}
+
+    /**
+     * @param fields     the comma-separated property names, or {@code null} for all the properties.
+     * @param type       the type of the returned values.
+     * @param entityName the name of the entity, for the error.
+     * @return the fieldset.
+     * @throws BadRequestAlertException if a property is unknown.
+     */
+    public static SparseFieldset parseFieldset(String fields, Class<?> type, String entityName) {
+        SparseFieldset fieldset = SparseFieldset.parse(fields);
+        for (String property : fieldset.getProperties()) {
+            if (BeanUtils.getPropertyDescriptor(type, property) == null) {
+                throw new BadRequestAlertException("Unknown field " + property, entityName, "unknownfield");
+            }
+        }
+        return fieldset;
+    }
+
+    /**
+     * @param body     the value, or the list of values, to return.
+     * @param type     the type of the values.
+     * @param fieldset the properties to serialize.
+     * @return the body, serialized with the properties of the fieldset only.
+     */
+    public static MappingJacksonValue filterBody(Object body, Class<?> type, SparseFieldset fieldset) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (!fieldset.isAll()) {
+            value.setFilters(new SimpleFilterProvider().addFilter(SparseFieldsetFilter.FILTER_ID, new SparseFieldsetFilter(type, fieldset)));
+        }
+        return value;
+    }
+
+    /**
+     * Wraps the value in a {@link ResponseEntity} like {@link ResponseUtil#wrapOrNotFound(Mono)}.
+     *
+     * @param maybeResponse the value to return.
+     * @param type          the type of the value.
+     * @param fieldset      the properties to serialize.
+     * @return the response with status {@code 200 (OK)} and the filtered value, or {@code 404 (Not Found)}.
+     */
+    public static <X> Mono<ResponseEntity<MappingJacksonValue>> wrapOrNotFound(Mono<X> maybeResponse, Class<X> type, SparseFieldset fieldset) {
+        return ResponseUtil.wrapOrNotFound(maybeResponse.map(value -> filterBody(value, type, fieldset)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.mycompany.bugtracker.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
+
+/**
+ * Jackson filter serializing only the properties of a {@link SparseFieldset} of the root type of a response body.
+ * Nested values, such as the project of a ticket, are serialized whole.
+ * <p>
+ * The entities and DTOs are given the {@link #FILTER_ID} filter by {@link #withFilterIds}, which the
+ * {@link #defaultFilterProvider()} leaves unset: unless a response sets it through {@link FieldsetUtil}, all the
+ * properties are serialized.
+ */
+public class SparseFieldsetFilter extends SimpleBeanPropertyFilter {
+
+    public static final String FILTER_ID = "sparseFieldset";
+
+    private static final String[] FILTERED_PACKAGES = { "com.mycompany.bugtracker.domain.", "com.mycompany.bugtracker.service.dto." };
+
+    private final Class<?> rootType;
+
+    private final SparseFieldset fieldset;
+
+    public SparseFieldsetFilter(Class<?> rootType, SparseFieldset fieldset) {
+        this.rootType = rootType;
+        this.fieldset = fieldset;
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator jgen, SerializerProvider provider, PropertyWriter writer) throws Exception {
+        if (!rootType.isInstance(pojo) || fieldset.includes(writer.getName())) {
+            writer.serializeAsField(pojo, jgen, provider);
+        } else if (!jgen.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, jgen, provider);
+        }
+    }
+
+    /**
+     * @return the filter provider of the object mappers, which doesn't filter anything.
+     */
+    public static FilterProvider defaultFilterProvider() {
+        return new SimpleFilterProvider().setFailOnUnknownId(false);
+    }
+
+    /**
+     * @param introspector the annotation introspector of an object mapper, {@code null} for the default one.
+     * @return the introspector, giving the {@link #FILTER_ID} filter to the entities and DTOs.
+     */
+    public static AnnotationIntrospector withFilterIds(AnnotationIntrospector introspector) {
+        return AnnotationIntrospector.pair(
+            new FilterIdIntrospector(),
+            introspector != null ? introspector : new JacksonAnnotationIntrospector()
+        );
+    }
+
+    private static final class FilterIdIntrospector extends NopAnnotationIntrospector {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Object findFilterId(Annotated annotated) {
+            if (annotated instanceof AnnotatedClass) {
+                String name = annotated.getRawType().getName();
+                for (String filteredPackage : FILTERED_PACKAGES) {
+                    if (name.startsWith(filteredPackage)) {
+                        return FILTER_ID;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
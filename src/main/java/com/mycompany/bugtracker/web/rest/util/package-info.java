@@ -0,0 +1,4 @@
+/**
+ * Utilities of the REST controllers.
+ */
+package com.mycompany.bugtracker.web.rest.util;
@@ -0,0 +1,40 @@
+package com.mycompany.bugtracker.web.rest.vm;
+
+import java.util.List;
+
+/**
+ * View Model of the entities fetched by id in one request, with the ids that were not found.
+ *
+ * @param <T> the type of the entities.
+ */
+public class MultiGetVM<T> {
+
+    private final List<T> items;
+
+    private final List<String> missingIds;
+
+    public MultiGetVM(List<T> items, List<String> missingIds) {
+        this.items = items;
+        this.missingIds = missingIds;
+    }
+
+    /**
+     * @return the found entities, in the order of the requested ids.
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    public List<String> getMissingIds() {
+        return missingIds;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MultiGetVM{" +
+            "items=" + items.size() +
+            ", missingIds=" + missingIds +
+            "}";
+    }
+}
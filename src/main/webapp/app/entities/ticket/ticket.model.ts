@@ -7,6 +7,7 @@ export interface ITicket {
   id?: string;
   title?: string | null;
   description?: string | null;
+  descriptionTruncated?: boolean | null;
   dueDate?: dayjs.Dayjs | null;
   done?: boolean | null;
   project?: IProject | null;
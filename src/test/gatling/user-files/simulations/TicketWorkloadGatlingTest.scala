@@ -0,0 +1,151 @@
+import _root_.io.gatling.core.scenario.Simulation
+import ch.qos.logback.classic.{Level, LoggerContext}
+import io.gatling.core.Predef._
+import io.gatling.http.Predef._
+import org.slf4j.LoggerFactory
+
+import scala.concurrent.duration._
+
+/**
+ * Realistic workload on the tickets, run against the dataset seeded by
+ * com.mycompany.bugtracker.gatling.PerformanceDataSeeder, which also writes the tickets.csv and users.csv feeders.
+ *
+ * The users are split between the scenarios of the workload:
+ * - list heavy: browses the pages of all the tickets, mostly the first ones,
+ * - self tickets: opens the tickets assigned to the user, skewed like in the seeded dataset,
+ * - lookups: opens tickets by id and browses deep pages, as the application has no search endpoint yet,
+ * - bursty writes: creates and updates tickets in bursts.
+ *
+ * The run fails when the global p95 or p99 response times, or the failure rate, exceed the thresholds given by the
+ * p95, p99 (in milliseconds) and maxFailedPercent system properties.
+ */
+class TicketWorkloadGatlingTest extends Simulation {
+
+    val context: LoggerContext = LoggerFactory.getILoggerFactory.asInstanceOf[LoggerContext]
+    // Log all HTTP requests
+    //context.getLogger("io.gatling.http").setLevel(Level.valueOf("TRACE"))
+    // Log failed HTTP requests
+    //context.getLogger("io.gatling.http").setLevel(Level.valueOf("DEBUG"))
+
+    val baseURL = Option(System.getProperty("baseURL")) getOrElse """http://localhost:8080"""
+
+    val users: Int = Integer.getInteger("users", 100)
+    val ramp: Int = Integer.getInteger("ramp", 1)
+    val duration: Int = Integer.getInteger("duration", 5)
+    val p95: Int = Integer.getInteger("p95", 500)
+    val p99: Int = Integer.getInteger("p99", 1500)
+    val maxFailedPercent: Double = Option(System.getProperty("maxFailedPercent")).map(_.toDouble) getOrElse 1.0
+
+    val httpConf = http
+        .baseUrl(baseURL)
+        .acceptHeader("application/json")
+        .acceptEncodingHeader("gzip, deflate")
+        .connectionHeader("keep-alive")
+        .userAgentHeader("Gatling TicketWorkloadGatlingTest")
+
+    val headers_http_authentication = Map(
+        "Content-Type" -> """application/json""",
+        "Accept" -> """application/json"""
+    )
+
+    val headers_http_authenticated = Map(
+        "Accept" -> """application/json""",
+        "Authorization" -> "${access_token}"
+    )
+
+    val userFeeder = csv("users.csv").circular
+    val ticketFeeder = csv("tickets.csv").random
+
+    // Most users look at the first pages, a few go deep
+    val pageFeeder = Iterator.continually {
+        val random = java.util.concurrent.ThreadLocalRandom.current()
+        Map("page" -> (if (random.nextDouble() < 0.8) random.nextInt(3) else random.nextInt(3, 500)))
+    }
+
+    val authenticate = feed(userFeeder)
+        .exec(http("Authentication")
+        .post("/api/authenticate")
+        .headers(headers_http_authentication)
+        .body(StringBody("""{"username":"${login}", "password":"${password}"}""")).asJson
+        .check(header("Authorization").saveAs("access_token"))).exitHereIfFailed
+
+    val listHeavy = scenario("List heavy")
+        .exec(authenticate)
+        .during(duration minutes) {
+            feed(pageFeeder)
+            .exec(http("Get a page of tickets")
+            .get("/api/tickets?page=${page}&size=20&sort=dueDate,asc")
+            .headers(headers_http_authenticated)
+            .check(status.is(200)))
+            .pause(1 second, 3 seconds)
+        }
+
+    val selfTickets = scenario("Self tickets")
+        .exec(authenticate)
+        .during(duration minutes) {
+            exec(http("Get self tickets")
+            .get("/api/tickets/self")
+            .headers(headers_http_authenticated)
+            .check(status.is(200)))
+            .pause(2 seconds, 5 seconds)
+        }
+
+    val lookups = scenario("Lookups")
+        .exec(authenticate)
+        .during(duration minutes) {
+            feed(ticketFeeder)
+            .exec(http("Get a ticket")
+            .get("/api/tickets/${ticketId}")
+            .headers(headers_http_authenticated)
+            .check(status.is(200)))
+            .pause(500 milliseconds, 2 seconds)
+            .randomSwitch(
+                10.0 -> feed(pageFeeder).exec(http("Get a deep page of tickets")
+                    .get("/api/tickets?page=${page}&size=100&sort=dueDate,asc")
+                    .headers(headers_http_authenticated)
+                    .check(status.is(200)))
+            )
+        }
+
+    val burstyWrites = scenario("Bursty writes")
+        .exec(authenticate)
+        .during(duration minutes) {
+            repeat(session => java.util.concurrent.ThreadLocalRandom.current().nextInt(5, 20)) {
+                exec(http("Create new ticket")
+                .post("/api/tickets")
+                .headers(headers_http_authenticated)
+                .body(StringBody("""{
+                    "title":"Load test ticket"
+                    , "description":"Created by the load test"
+                    , "dueDate":"2021-01-01"
+                    , "done":false
+                    }""")).asJson
+                .check(status.is(201))
+                .check(jsonPath("$.id").saveAs("new_ticket_id")))
+                .exec(http("Update created ticket")
+                .put("/api/tickets/${new_ticket_id}")
+                .headers(headers_http_authenticated)
+                .body(StringBody("""{
+                    "id":"${new_ticket_id}"
+                    , "title":"Load test ticket"
+                    , "description":"Updated by the load test"
+                    , "dueDate":"2021-01-01"
+                    , "done":true
+                    }""")).asJson
+                .check(status.is(200)))
+            }
+            .pause(10 seconds, 30 seconds)
+        }
+
+    setUp(
+        listHeavy.inject(rampUsers(users * 40 / 100) during (ramp minutes)),
+        selfTickets.inject(rampUsers(users * 30 / 100) during (ramp minutes)),
+        lookups.inject(rampUsers(users * 20 / 100) during (ramp minutes)),
+        burstyWrites.inject(rampUsers(math.max(1, users * 10 / 100)) during (ramp minutes))
+    ).protocols(httpConf)
+        .assertions(
+            global.responseTime.percentile3.lte(p95),
+            global.responseTime.percentile4.lte(p99),
+            global.failedRequests.percent.lte(maxFailedPercent)
+        )
+}
@@ -0,0 +1,160 @@
+package com.mycompany.bugtracker.aop.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class LoggingAspectTest {
+
+    private Logger logger;
+
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    public void setup() {
+        logger = (Logger) LoggerFactory.getLogger(LoggedService.class);
+        logger.setLevel(Level.DEBUG);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    @Test
+    void testLogsSampledInvocation() throws Throwable {
+        LoggingAspect aspect = new LoggingAspect(new MockEnvironment(), 1.0);
+
+        Object result = aspect.logAround(joinPoint(LoggedService.class, "findTitle", "title"));
+
+        assertThat(result).isEqualTo("title");
+        assertThat(messages()).containsExactly("Enter: findTitle() with argument[s] = [id]", "Exit: findTitle() with result = title");
+    }
+
+    @Test
+    void testSkipsUnsampledInvocation() throws Throwable {
+        LoggingAspect aspect = new LoggingAspect(new MockEnvironment(), 0.0);
+
+        Mono<?> result = (Mono<?>) aspect.logAround(joinPoint(LoggedService.class, "findTitle", Mono.just("title")));
+
+        assertThat(result.block()).isEqualTo("title");
+        assertThat(messages()).isEmpty();
+    }
+
+    @Test
+    void testSkipsInvocationWhenDebugIsDisabled() throws Throwable {
+        logger.setLevel(Level.INFO);
+        LoggingAspect aspect = new LoggingAspect(new MockEnvironment(), 1.0);
+
+        aspect.logAround(joinPoint(LoggedService.class, "findTitle", "title"));
+
+        assertThat(messages()).isEmpty();
+    }
+
+    @Test
+    void testLogsMonoResultOnSubscription() throws Throwable {
+        LoggingAspect aspect = new LoggingAspect(new MockEnvironment(), 1.0);
+
+        Mono<?> result = (Mono<?>) aspect.logAround(joinPoint(LoggedService.class, "findTitle", Mono.just("title")));
+        assertThat(messages()).hasSize(1);
+
+        assertThat(result.block()).isEqualTo("title");
+        assertThat(messages().get(1)).startsWith("Exit: findTitle() with result = title after ");
+    }
+
+    @Test
+    void testLogsMonoError() throws Throwable {
+        LoggingAspect aspect = new LoggingAspect(new MockEnvironment(), 1.0);
+
+        Mono<?> result = (Mono<?>) aspect.logAround(
+            joinPoint(LoggedService.class, "findTitle", Mono.error(new IllegalStateException("No title")))
+        );
+
+        assertThatThrownBy(result::block).isInstanceOf(IllegalStateException.class);
+        assertThat(messages().get(1)).startsWith("Exit: findTitle() with error = java.lang.IllegalStateException: No title after ");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLogsFluxElementsAndCompletion() throws Throwable {
+        LoggingAspect aspect = new LoggingAspect(new MockEnvironment(), 1.0);
+
+        Flux<Object> result = (Flux<Object>) aspect.logAround(joinPoint(LoggedService.class, "findTitles", Flux.just("first", "second")));
+
+        assertThat(result.collectList().block()).containsExactly("first", "second");
+        assertThat(messages()).hasSize(4);
+        assertThat(messages().get(1)).isEqualTo("Next: findTitles() emitted first");
+        assertThat(messages().get(3)).startsWith("Exit: findTitles() with 2 element(s) after ");
+    }
+
+    @Test
+    void testLogsFluxError() throws Throwable {
+        LoggingAspect aspect = new LoggingAspect(new MockEnvironment(), 1.0);
+
+        Flux<?> result = (Flux<?>) aspect.logAround(
+            joinPoint(LoggedService.class, "findTitles", Flux.concat(Flux.just("first"), Flux.error(new IllegalStateException("No more"))))
+        );
+
+        assertThatThrownBy(result::blockLast).isInstanceOf(IllegalStateException.class);
+        assertThat(messages().get(2)).startsWith("Exit: findTitles() with error = java.lang.IllegalStateException: No more after ");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReusesCachedLoggers() throws Throwable {
+        LoggingAspect aspect = new LoggingAspect(new MockEnvironment(), 1.0);
+
+        aspect.logAround(joinPoint(LoggedService.class, "findTitle", "title"));
+        aspect.logAround(joinPoint(LoggedService.class, "findTitles", "titles"));
+        Map<Object, Object> loggers = (Map<Object, Object>) ReflectionTestUtils.getField(aspect, "loggers");
+        assertThat(loggers).hasSize(1).containsEntry(LoggedService.class, logger);
+
+        aspect.logAround(joinPoint(String.class, "length", 0));
+        assertThat(loggers).hasSize(2);
+        assertThat(messages()).hasSize(4);
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).collect(Collectors.toList());
+    }
+
+    private static ProceedingJoinPoint joinPoint(Class<?> declaringType, String name, Object result) throws Throwable {
+        Signature signature = mock(Signature.class);
+        doReturn(declaringType).when(signature).getDeclaringType();
+        when(signature.getName()).thenReturn(name);
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[] { "id" });
+        when(joinPoint.proceed()).thenReturn(result);
+        return joinPoint;
+    }
+
+    /**
+     * Declaring type of the logged methods.
+     */
+    private static class LoggedService {}
+}
@@ -0,0 +1,93 @@
+package com.mycompany.bugtracker.aop.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class MethodMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MethodMetricsSettings settings;
+
+    private TicketRepository ticketRepository;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        settings = new MethodMetricsSettings(true, Collections.emptyMap());
+        // Like Spring Data, implements the repository with a class that doesn't belong to the application
+        Object target = Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] { TicketRepository.class },
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "findAll":
+                        return Flux.just(new Ticket(), new Ticket());
+                    case "findById":
+                        return Mono.error(new IllegalStateException());
+                    default:
+                        return Mono.empty();
+                }
+            }
+        );
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addInterface(TicketRepository.class);
+        proxyFactory.addAspect(new MethodMetricsAspect(meterRegistry, settings, 100));
+        ticketRepository = proxyFactory.getProxy();
+    }
+
+    @Test
+    void testRecordsInheritedRepositoryMethods() {
+        ticketRepository.findAll().blockLast();
+
+        assertThat(
+            meterRegistry
+                .get("bugtracker.method.duration")
+                .tags("class", "TicketRepository", "method", "findAll", "entity", "Ticket", "outcome", "success")
+                .timer()
+                .count()
+        )
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("bugtracker.method.elements").tags("method", "findAll").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void testRecordsErrors() {
+        assertThatThrownBy(() -> ticketRepository.findById("id").block()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get("bugtracker.method.duration").tags("method", "findById", "outcome", "error").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testRecordsOnlyOnSubscription() {
+        Mono<Ticket> ticket = ticketRepository.findOneWithEagerRelationships("id");
+        assertThat(meterRegistry.get("bugtracker.method.duration").tags("outcome", "success").timer().count()).isZero();
+
+        ticket.block();
+        assertThat(meterRegistry.get("bugtracker.method.duration").tags("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSkipsDisabledPackages() {
+        ticketRepository.findAll().blockLast();
+        settings.setEnabled("com.mycompany.bugtracker", false);
+        ticketRepository.findAll().blockLast();
+        settings.reset("com.mycompany.bugtracker");
+        ticketRepository.findAll().blockLast();
+
+        assertThat(meterRegistry.get("bugtracker.method.duration").tags("method", "findAll", "outcome", "success").timer().count())
+            .isEqualTo(2);
+    }
+}
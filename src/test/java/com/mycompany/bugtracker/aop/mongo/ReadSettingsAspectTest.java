@@ -0,0 +1,65 @@
+package com.mycompany.bugtracker.aop.mongo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import com.mycompany.bugtracker.repository.support.MongoReadSettings;
+import java.lang.reflect.Proxy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReadSettingsAspectTest {
+
+    private MongoDatabase database;
+
+    private MongoDatabase secondaryDatabase;
+
+    private TicketRepository ticketRepository;
+
+    @BeforeEach
+    public void setup() {
+        database = mock(MongoDatabase.class);
+        secondaryDatabase = mock(MongoDatabase.class);
+        when(database.withReadPreference(ReadPreference.secondaryPreferred())).thenReturn(secondaryDatabase);
+        // Like the template, resolves the database from the Reactor context
+        Object target = Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] { TicketRepository.class },
+            (proxy, method, args) -> {
+                Mono<MongoDatabase> resolved = Mono.deferContextual(context -> Mono.just(MongoReadSettings.applyFrom(context, database)));
+                return Flux.class.equals(method.getReturnType()) ? resolved.map(db -> new Ticket().title(db.toString())).flux() : resolved.map(db -> new Ticket().title(db.toString()));
+            }
+        );
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addInterface(TicketRepository.class);
+        proxyFactory.addAspect(new ReadSettingsAspect());
+        ticketRepository = proxyFactory.getProxy();
+    }
+
+    @Test
+    void testAppliesReadSettingsOfAnnotatedMethods() {
+        Ticket ticket = ticketRepository.findAllByOrderByDueDateAsc(Pageable.unpaged()).blockFirst();
+
+        assertThat(ticket.getTitle()).isEqualTo(secondaryDatabase.toString());
+        verify(database).withReadPreference(ReadPreference.secondaryPreferred());
+    }
+
+    @Test
+    void testKeepsClientSettingsForOtherMethods() {
+        Ticket ticket = ticketRepository.findById("id").block();
+
+        assertThat(ticket.getTitle()).isEqualTo(database.toString());
+        verifyNoInteractions(secondaryDatabase);
+    }
+}
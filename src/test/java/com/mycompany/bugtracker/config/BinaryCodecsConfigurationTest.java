@@ -0,0 +1,113 @@
+package com.mycompany.bugtracker.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mycompany.bugtracker.domain.Ticket;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+class BinaryCodecsConfigurationTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().modules(jacksonConfiguration.javaTimeModule());
+        webTestClient =
+            WebTestClient
+                .bindToController(new TicketTestController())
+                .httpMessageCodecs(new BinaryCodecsConfiguration().binaryCodecsCustomizer(builder)::customize)
+                .build();
+    }
+
+    @Test
+    void testNegotiatesCbor() throws Exception {
+        byte[] body = webTestClient
+            .get()
+            .uri("/tickets")
+            .accept(CBOR)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(CBOR)
+            .expectBody()
+            .returnResult()
+            .getResponseBody();
+
+        Ticket[] tickets = new ObjectMapper(new CBORFactory()).findAndRegisterModules().readValue(body, Ticket[].class);
+        assertThat(tickets).extracting(Ticket::getTitle).containsExactly("First", "Second");
+        assertThat(tickets[0].getDueDate()).isEqualTo(LocalDate.of(2021, 9, 1));
+    }
+
+    @Test
+    void testReadsAndWritesSmile() throws Exception {
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+
+        byte[] body = webTestClient
+            .post()
+            .uri("/tickets")
+            .contentType(SMILE)
+            .accept(SMILE)
+            .bodyValue(smileMapper.writeValueAsBytes(new Ticket().title("Created")))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(SMILE)
+            .expectBody()
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(smileMapper.readValue(body, Ticket.class).getTitle()).isEqualTo("Created");
+    }
+
+    @Test
+    void testKeepsJsonAsTheDefault() {
+        webTestClient
+            .get()
+            .uri("/tickets")
+            .accept(MediaType.ALL)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .jsonPath("$[1].title")
+            .isEqualTo("Second");
+    }
+
+    @RestController
+    static class TicketTestController {
+
+        @GetMapping("/tickets")
+        public Mono<List<Ticket>> getTickets() {
+            return Mono.just(Arrays.asList(new Ticket().title("First").dueDate(LocalDate.of(2021, 9, 1)), new Ticket().title("Second")));
+        }
+
+        @PostMapping("/tickets")
+        public Mono<Ticket> createTicket(@RequestBody Ticket ticket) {
+            return Mono.just(ticket);
+        }
+    }
+}
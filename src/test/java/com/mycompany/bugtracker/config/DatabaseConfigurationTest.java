@@ -0,0 +1,46 @@
+package com.mycompany.bugtracker.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mongodb.MongoCompressor;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class DatabaseConfigurationTest {
+
+    @Test
+    void testCreatesTheCompressorsByOrderOfPreference() {
+        ApplicationProperties.Mongodb mongodb = new ApplicationProperties.Mongodb();
+        mongodb.setCompressors(Arrays.asList("zstd", " ZLIB"));
+        mongodb.setZlibLevel(3);
+
+        List<MongoCompressor> compressors = DatabaseConfiguration.compressors(mongodb);
+
+        assertThat(compressors.stream().map(MongoCompressor::getName).collect(Collectors.toList())).containsExactly("zstd", "zlib");
+        assertThat(compressors.get(1).<Integer>getProperty(MongoCompressor.LEVEL, null)).isEqualTo(3);
+    }
+
+    @Test
+    void testDoesNotCompressByDefault() {
+        assertThat(DatabaseConfiguration.compressors(new ApplicationProperties.Mongodb())).isEmpty();
+    }
+
+    @Test
+    void testRejectsAnUnknownCompressor() {
+        ApplicationProperties.Mongodb mongodb = new ApplicationProperties.Mongodb();
+        mongodb.setCompressors(Arrays.asList("lz4"));
+
+        assertThatThrownBy(() -> DatabaseConfiguration.compressors(mongodb)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRequiresTheLibraryOfACompressor() {
+        ApplicationProperties.Mongodb mongodb = new ApplicationProperties.Mongodb();
+        mongodb.setCompressors(Arrays.asList("snappy"));
+
+        assertThatThrownBy(() -> DatabaseConfiguration.compressors(mongodb)).isInstanceOf(IllegalStateException.class);
+    }
+}
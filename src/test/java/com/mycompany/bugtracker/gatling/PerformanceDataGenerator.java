@@ -0,0 +1,242 @@
+package com.mycompany.bugtracker.gatling;
+
+import com.mycompany.bugtracker.config.Constants;
+import com.mycompany.bugtracker.domain.Authority;
+import com.mycompany.bugtracker.domain.Label;
+import com.mycompany.bugtracker.domain.Project;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.domain.User;
+import com.mycompany.bugtracker.security.AuthoritiesConstants;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a realistic dataset for the load tests: a few projects, labels and users get most of the tickets, as in
+ * any real bug tracker, following a Zipf distribution.
+ * <p>
+ * The dataset only depends on the seed and the sizes, so that two runs of the load tests can be compared. The ids are
+ * valid {@link org.bson.types.ObjectId}s derived from the index of the entity, see {@link #id(int, long)}.
+ */
+public class PerformanceDataGenerator {
+
+    /**
+     * Password of the generated users, {@code user}.
+     */
+    public static final String USER_PASSWORD = "user";
+
+    /**
+     * Prefix of the logins of the generated users.
+     */
+    public static final String USER_LOGIN_PREFIX = "perf-user-";
+
+    private static final String USER_PASSWORD_HASH = "$2a$10$VEjxo0jq2YG9Rbk2HmX9S.k1uZBGYUHdUcid3g/vfiEl7lwWgOH/K";
+
+    private static final int PROJECT = 1;
+
+    private static final int USER = 2;
+
+    private static final int LABEL = 3;
+
+    private static final int TICKET = 4;
+
+    private static final int MAX_LABELS_PER_TICKET = 4;
+
+    private static final double UNASSIGNED_RATIO = 0.1;
+
+    private static final String[] WORDS = {
+        "login",
+        "page",
+        "crash",
+        "slow",
+        "button",
+        "export",
+        "report",
+        "search",
+        "email",
+        "timeout",
+        "layout",
+        "upload",
+        "token",
+        "cache",
+        "mobile",
+        "dashboard",
+        "filter",
+        "sort",
+        "translation",
+        "notification",
+    };
+
+    private final Random random;
+
+    private final LocalDate today;
+
+    private final List<Project> projects = new ArrayList<>();
+
+    private final List<User> users = new ArrayList<>();
+
+    private final List<Label> labels = new ArrayList<>();
+
+    private final ZipfDistribution projectDistribution;
+
+    private final ZipfDistribution userDistribution;
+
+    private final ZipfDistribution labelDistribution;
+
+    private long tickets;
+
+    /**
+     * @param seed     the seed of the dataset.
+     * @param projects the number of projects.
+     * @param users    the number of users the tickets are assigned to.
+     * @param labels   the number of labels.
+     * @param today    the date the due dates are spread around.
+     */
+    public PerformanceDataGenerator(long seed, int projects, int users, int labels, LocalDate today) {
+        this.random = new Random(seed);
+        this.today = today;
+        for (int i = 0; i < projects; i++) {
+            this.projects.add(new Project().name("Project " + i));
+            this.projects.get(i).setId(id(PROJECT, i));
+        }
+        for (int i = 0; i < users; i++) {
+            this.users.add(user(i));
+        }
+        for (int i = 0; i < labels; i++) {
+            this.labels.add(new Label().value("label-" + i));
+            this.labels.get(i).setId(id(LABEL, i));
+        }
+        this.projectDistribution = new ZipfDistribution(projects, 1.0);
+        this.userDistribution = new ZipfDistribution(users, 1.2);
+        this.labelDistribution = new ZipfDistribution(labels, 1.1);
+    }
+
+    /**
+     * @param kind  the kind of entity.
+     * @param index the index of the entity.
+     * @return a valid ObjectId, unique for the kind and the index.
+     */
+    static String id(int kind, long index) {
+        return String.format("%08x%016x", kind, index);
+    }
+
+    /**
+     * @param index the index of a generated ticket.
+     * @return its id.
+     */
+    public static String ticketId(long index) {
+        return id(TICKET, index);
+    }
+
+    /**
+     * @param index the index of a generated user.
+     * @return its login.
+     */
+    public static String userLogin(int index) {
+        return USER_LOGIN_PREFIX + index;
+    }
+
+    public List<Project> getProjects() {
+        return projects;
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public List<Label> getLabels() {
+        return labels;
+    }
+
+    /**
+     * @return the next ticket of the dataset.
+     */
+    public Ticket nextTicket() {
+        long index = tickets++;
+        Ticket ticket = new Ticket()
+            .title("Ticket " + index + ": " + words(3 + random.nextInt(6)))
+            .description(description())
+            .dueDate(today.minusDays(365).plusDays(random.nextInt(730)))
+            .project(projects.isEmpty() ? null : projects.get(projectDistribution.sample(random)));
+        ticket.setId(ticketId(index));
+        // Overdue tickets are mostly done, upcoming ones mostly not
+        ticket.setDone(random.nextDouble() < (ticket.getDueDate().isBefore(today) ? 0.8 : 0.1));
+        if (!users.isEmpty() && random.nextDouble() >= UNASSIGNED_RATIO) {
+            ticket.setAssignedTo(users.get(userDistribution.sample(random)));
+        }
+        int labelCount = labels.isEmpty() ? 0 : random.nextInt(Math.min(MAX_LABELS_PER_TICKET, labels.size()) + 1);
+        while (ticket.getLabels().size() < labelCount) {
+            ticket.getLabels().add(labels.get(labelDistribution.sample(random)));
+        }
+        return ticket;
+    }
+
+    private User user(int index) {
+        User user = new User();
+        user.setId(id(USER, index));
+        user.setLogin(userLogin(index));
+        user.setPassword(USER_PASSWORD_HASH);
+        user.setFirstName("Perf");
+        user.setLastName("User " + index);
+        user.setEmail(userLogin(index) + "@localhost");
+        user.setActivated(true);
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+        user.setCreatedBy(Constants.SYSTEM);
+        Authority authority = new Authority();
+        authority.setName(AuthoritiesConstants.USER);
+        user.getAuthorities().add(authority);
+        return user;
+    }
+
+    /**
+     * @return a description, usually a couple of sentences, sometimes a long report.
+     */
+    private String description() {
+        double kind = random.nextDouble();
+        if (kind < 0.1) {
+            return null;
+        }
+        int sentences = kind < 0.95 ? 1 + random.nextInt(4) : 20 + random.nextInt(80);
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            description.append(words(5 + random.nextInt(15))).append(". ");
+        }
+        return description.toString().trim();
+    }
+
+    private String words(int count) {
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = WORDS[random.nextInt(WORDS.length)];
+        }
+        return String.join(" ", words);
+    }
+
+    /**
+     * Samples ranks in {@code [0, size)}, the probability of rank {@code k} being proportional to
+     * {@code 1 / (k + 1)^exponent}.
+     */
+    static class ZipfDistribution {
+
+        private final double[] cumulativeProbabilities;
+
+        ZipfDistribution(int size, double exponent) {
+            cumulativeProbabilities = new double[size];
+            double sum = 0;
+            for (int k = 0; k < size; k++) {
+                sum += 1 / Math.pow(k + 1, exponent);
+                cumulativeProbabilities[k] = sum;
+            }
+            for (int k = 0; k < size; k++) {
+                cumulativeProbabilities[k] /= sum;
+            }
+        }
+
+        int sample(Random random) {
+            int rank = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+            return Math.min(rank >= 0 ? rank : -rank - 1, cumulativeProbabilities.length - 1);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.mycompany.bugtracker.gatling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.bugtracker.domain.Ticket;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class PerformanceDataGeneratorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2021, 9, 1);
+
+    @Test
+    void testGeneratesTheSameDatasetForTheSameSeed() {
+        PerformanceDataGenerator generator = new PerformanceDataGenerator(42, 10, 100, 20, TODAY);
+        PerformanceDataGenerator sameSeed = new PerformanceDataGenerator(42, 10, 100, 20, TODAY);
+
+        for (int i = 0; i < 100; i++) {
+            Ticket ticket = generator.nextTicket();
+            Ticket sameTicket = sameSeed.nextTicket();
+            assertThat(ticket.getId()).isEqualTo(sameTicket.getId()).isEqualTo(PerformanceDataGenerator.ticketId(i));
+            assertThat(ObjectId.isValid(ticket.getId())).isTrue();
+            assertThat(ticket.getTitle()).isEqualTo(sameTicket.getTitle());
+            assertThat(ticket.getDueDate()).isEqualTo(sameTicket.getDueDate()).isBetween(TODAY.minusDays(365), TODAY.plusDays(365));
+            assertThat(ticket.getAssignedTo()).isEqualTo(sameTicket.getAssignedTo());
+            assertThat(ticket.getLabels()).isEqualTo(sameTicket.getLabels()).hasSizeLessThanOrEqualTo(4);
+        }
+    }
+
+    @Test
+    void testSkewsTheTicketsTowardsTheFirstUsers() {
+        PerformanceDataGenerator generator = new PerformanceDataGenerator(42, 10, 1000, 20, TODAY);
+        Map<String, Integer> ticketsPerUser = new HashMap<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            Ticket ticket = generator.nextTicket();
+            if (ticket.getAssignedTo() != null) {
+                ticketsPerUser.merge(ticket.getAssignedTo().getLogin(), 1, Integer::sum);
+            }
+        }
+
+        int mostAssigned = ticketsPerUser.get(PerformanceDataGenerator.userLogin(0));
+        assertThat(ticketsPerUser.values()).allMatch(tickets -> tickets <= mostAssigned);
+        assertThat(mostAssigned).isGreaterThan(100 * ticketsPerUser.getOrDefault(PerformanceDataGenerator.userLogin(999), 0));
+        assertThat(ticketsPerUser.values().stream().mapToInt(Integer::intValue).sum()).isBetween(8_500, 9_500);
+    }
+}
@@ -0,0 +1,185 @@
+package com.mycompany.bugtracker.gatling;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mycompany.bugtracker.domain.Label;
+import com.mycompany.bugtracker.domain.Project;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.domain.User;
+import de.flapdoodle.embed.mongo.MongodExecutable;
+import de.flapdoodle.embed.mongo.MongodStarter;
+import de.flapdoodle.embed.mongo.config.MongodConfig;
+import de.flapdoodle.embed.mongo.config.Net;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.process.runtime.Network;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Seeds a MongoDB database with the dataset of the load tests, see {@link PerformanceDataGenerator}, and writes the
+ * Gatling feeders used by {@code TicketWorkloadGatlingTest}.
+ * <p>
+ * Run it with the test classpath, for instance:
+ * <pre>
+ * ./mvnw test-compile org.codehaus.mojo:exec-maven-plugin:3.0.0:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.mycompany.bugtracker.gatling.PerformanceDataSeeder \
+ *   -Dexec.args="--uri mongodb://localhost:27017/BugTracker --tickets 2000000 --drop"
+ * </pre>
+ * With {@code --embedded-port}, an embedded MongoDB is started on the given port and serves the dataset until the
+ * seeder is stopped, so the application can be started against it.
+ * <p>
+ * The load tests measure the application, not the login rate limiting or the admission control, which should be
+ * disabled on the application under test.
+ */
+public class PerformanceDataSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(PerformanceDataSeeder.class);
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final int MAX_SAMPLED_TICKETS = 10_000;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final PerformanceDataGenerator generator;
+
+    public PerformanceDataSeeder(MongoTemplate mongoTemplate, PerformanceDataGenerator generator) {
+        this.mongoTemplate = mongoTemplate;
+        this.generator = generator;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String uri = options.getOrDefault("uri", "mongodb://localhost:27017/BugTracker");
+        long tickets = Long.parseLong(options.getOrDefault("tickets", "1000000"));
+        PerformanceDataGenerator generator = new PerformanceDataGenerator(
+            Long.parseLong(options.getOrDefault("seed", "42")),
+            Integer.parseInt(options.getOrDefault("projects", "200")),
+            Integer.parseInt(options.getOrDefault("users", "5000")),
+            Integer.parseInt(options.getOrDefault("labels", "100")),
+            LocalDate.now()
+        );
+        Path dataDirectory = Paths.get(options.getOrDefault("data-dir", "src/test/gatling/user-files/data"));
+
+        MongodExecutable embeddedMongo = null;
+        if (options.containsKey("embedded-port")) {
+            int port = Integer.parseInt(options.get("embedded-port"));
+            embeddedMongo = MongodStarter
+                .getDefaultInstance()
+                .prepare(MongodConfig.builder().version(Version.Main.PRODUCTION).net(new Net(port, Network.localhostIsIPv6())).build());
+            embeddedMongo.start();
+            uri = "mongodb://localhost:" + port + "/" + new ConnectionString(uri).getDatabase();
+        }
+        try (MongoClient client = MongoClients.create(uri)) {
+            PerformanceDataSeeder seeder = new PerformanceDataSeeder(
+                new MongoTemplate(client, new ConnectionString(uri).getDatabase()),
+                generator
+            );
+            if (options.containsKey("drop")) {
+                seeder.drop();
+            }
+            seeder.seed(tickets, dataDirectory);
+            if (embeddedMongo != null) {
+                log.info("Embedded MongoDB serving {}, stop the seeder to shut it down", uri);
+                CountDownLatch stopped = new CountDownLatch(1);
+                Runtime.getRuntime().addShutdownHook(new Thread(stopped::countDown));
+                stopped.await();
+            }
+        } finally {
+            if (embeddedMongo != null) {
+                embeddedMongo.stop();
+            }
+        }
+    }
+
+    /**
+     * Removes the tickets, projects and labels, and the generated users.
+     */
+    public void drop() {
+        mongoTemplate.dropCollection(Ticket.class);
+        mongoTemplate.dropCollection(Project.class);
+        mongoTemplate.dropCollection(Label.class);
+        mongoTemplate.remove(Query.query(Criteria.where("login").regex("^" + PerformanceDataGenerator.USER_LOGIN_PREFIX)), User.class);
+    }
+
+    /**
+     * Inserts the dataset and writes the feeders.
+     *
+     * @param tickets       the number of tickets.
+     * @param dataDirectory the directory of the Gatling feeders.
+     * @throws IOException if the feeders can't be written.
+     */
+    public void seed(long tickets, Path dataDirectory) throws IOException {
+        long start = System.nanoTime();
+        insertUnordered(generator.getProjects(), Project.class);
+        insertUnordered(generator.getUsers(), User.class);
+        insertUnordered(generator.getLabels(), Label.class);
+
+        List<Ticket> batch = new ArrayList<>(BATCH_SIZE);
+        List<String> sampledTicketIds = new ArrayList<>();
+        long sampling = Math.max(1, tickets / MAX_SAMPLED_TICKETS);
+        for (long i = 0; i < tickets; i++) {
+            Ticket ticket = generator.nextTicket();
+            batch.add(ticket);
+            if (i % sampling == 0) {
+                sampledTicketIds.add(ticket.getId());
+            }
+            if (batch.size() == BATCH_SIZE || i == tickets - 1) {
+                insertUnordered(batch, Ticket.class);
+                batch.clear();
+                log.info("Inserted {}/{} tickets", i + 1, tickets);
+            }
+        }
+        log.info("Seeded {} tickets in {} s", tickets, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+
+        Files.createDirectories(dataDirectory);
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(dataDirectory.resolve("tickets.csv"), StandardCharsets.UTF_8))) {
+            writer.println("ticketId");
+            sampledTicketIds.forEach(writer::println);
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(dataDirectory.resolve("users.csv"), StandardCharsets.UTF_8))) {
+            writer.println("login,password");
+            generator.getUsers().forEach(user -> writer.println(user.getLogin() + "," + PerformanceDataGenerator.USER_PASSWORD));
+        }
+        log.info("Wrote the Gatling feeders to {}", dataDirectory.toAbsolutePath());
+    }
+
+    /**
+     * Inserts the documents with an unordered bulk write, which the server can apply in parallel and doesn't stop at
+     * the first error, unlike {@link MongoTemplate#insert(java.util.Collection, Class)}.
+     */
+    private void insertUnordered(List<?> documents, Class<?> entityClass) {
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass).insert(documents).execute();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+            options.put(name, hasValue ? args[++i] : "true");
+        }
+        return options;
+    }
+}
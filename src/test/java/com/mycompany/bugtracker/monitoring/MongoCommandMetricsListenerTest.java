@@ -0,0 +1,103 @@
+package com.mycompany.bugtracker.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MongoCommandMetricsListenerTest {
+
+    private static final ConnectionDescription CONNECTION = new ConnectionDescription(
+        new ServerId(new ClusterId(), new ServerAddress())
+    );
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MongoCommandContextListener listener;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new MongoCommandContextListener(List.of(new MongoCommandMetricsListener(meterRegistry, Duration.ofMillis(100), 10)));
+    }
+
+    @Test
+    void testRecordsCommandsPerCollection() {
+        BsonDocument command = BsonDocument.parse("{\"find\": \"ticket\", \"filter\": {\"title\": \"bug\"}}");
+        RawBsonDocument response = raw("{\"cursor\": {\"id\": 0, \"ns\": \"db.ticket\", \"firstBatch\": [{\"a\": 1}, {\"a\": 2}]}, \"ok\": 1}");
+
+        listener.commandStarted(new CommandStartedEvent(1, CONNECTION, "db", "find", command));
+        listener.commandSucceeded(new CommandSucceededEvent(1, CONNECTION, "find", response, TimeUnit.MILLISECONDS.toNanos(5)));
+
+        assertThat(
+            meterRegistry
+                .get("bugtracker.mongo.command")
+                .tags("collection", "ticket", "command", "find", "status", "success")
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS)
+        )
+            .isEqualTo(5);
+        assertThat(meterRegistry.get("bugtracker.mongo.command.bytes.sent").tags("collection", "ticket").summary().totalAmount())
+            .isEqualTo(raw(command.toJson()).getByteBuffer().remaining());
+        assertThat(meterRegistry.get("bugtracker.mongo.command.bytes.received").tags("collection", "ticket").summary().totalAmount())
+            .isEqualTo(response.getByteBuffer().remaining());
+        assertThat(meterRegistry.get("bugtracker.mongo.cursor.batch.size").tags("collection", "ticket").summary().totalAmount())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testAttributesGetMoreToItsCollection() {
+        BsonDocument command = BsonDocument.parse("{\"getMore\": {\"$numberLong\": \"42\"}, \"collection\": \"ticket\"}");
+
+        listener.commandStarted(new CommandStartedEvent(2, CONNECTION, "db", "getMore", command));
+        listener.commandSucceeded(
+            new CommandSucceededEvent(2, CONNECTION, "getMore", raw("{\"cursor\": {\"nextBatch\": [{}]}, \"ok\": 1}"), 1000)
+        );
+
+        assertThat(meterRegistry.get("bugtracker.mongo.cursor.batch.size").tags("collection", "ticket", "command", "getMore").summary().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testBoundsTheNumberOfMeters() {
+        for (int i = 0; i < 20; i++) {
+            listener.commandStarted(new CommandStartedEvent(i, CONNECTION, "db", "find", BsonDocument.parse("{\"find\": \"c" + i + "\"}")));
+        }
+
+        assertThat(meterRegistry.get("bugtracker.mongo.command.bytes.sent").tags("collection", "other").summary().count()).isEqualTo(10);
+    }
+
+    @Test
+    void testComputesSizeOfDecodedDocuments() {
+        BsonDocument document = BsonDocument.parse("{\"a\": \"value\", \"b\": [1, 2, 3]}");
+
+        assertThat(MongoCommandMetricsListener.sizeOf(document)).isEqualTo(raw(document.toJson()).getByteBuffer().remaining());
+    }
+
+    @Test
+    void testQueryShapeHidesValues() {
+        BsonDocument command = BsonDocument.parse(
+            "{\"find\": \"ticket\", \"filter\": {\"assignedTo.$id\": \"user-1\", \"labels\": {\"$in\": [\"a\", \"b\"]}}, \"sort\": {\"dueDate\": 1}}"
+        );
+
+        assertThat(QueryShape.of("find", command))
+            .isEqualTo("filter={\"assignedTo.$id\": ?, \"labels\": {\"$in\": [?]}} sort={\"dueDate\": 1}");
+    }
+
+    private static RawBsonDocument raw(String json) {
+        return new RawBsonDocument(BsonDocument.parse(json), new BsonDocumentCodec());
+    }
+}
@@ -0,0 +1,107 @@
+package com.mycompany.bugtracker.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import java.time.Duration;
+import java.util.List;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+class MongoRequestCostListenerTest {
+
+    private static final ConnectionDescription CONNECTION = new ConnectionDescription(
+        new ServerId(new ClusterId(), new ServerAddress())
+    );
+
+    private MongoCommandContextListener listener;
+
+    private RequestCost cost;
+
+    @BeforeEach
+    public void setup() {
+        listener = new MongoCommandContextListener(List.of(new MongoRequestCostListener()));
+        cost = new RequestCost();
+    }
+
+    @Test
+    void testAddsCommandsOfScopedPublishersToTheCost() {
+        BsonDocument command = BsonDocument.parse("{\"find\": \"ticket\"}");
+        RawBsonDocument response = raw("{\"cursor\": {\"id\": 0, \"ns\": \"db.ticket\", \"firstBatch\": [{\"a\": 1}, {\"a\": 2}]}, \"ok\": 1}");
+        Mono<Object> repositoryCall = CommandContext.scoped(
+            Mono.fromRunnable(() -> {
+                listener.commandStarted(new CommandStartedEvent(1, CONNECTION, "db", "find", command));
+                listener.commandSucceeded(new CommandSucceededEvent(1, CONNECTION, "find", response, 1000));
+            })
+        );
+
+        repositoryCall.contextWrite(context -> context.put(RequestCost.class, cost)).block();
+        repositoryCall.block();
+
+        assertThat(cost.getRoundTrips()).isEqualTo(1);
+        assertThat(cost.getDocuments()).isEqualTo(2);
+        assertThat(cost.getBytesSent()).isEqualTo(raw(command.toJson()).getByteBuffer().remaining());
+        assertThat(cost.getBytesReceived()).isEqualTo(response.getByteBuffer().remaining());
+        assertThat(CommandContext.current().isEmpty()).isTrue();
+    }
+
+    @Test
+    void testAddsCommandsOfPublishersSubscribedOnOtherThreadsToTheCost() {
+        BsonDocument command = BsonDocument.parse("{\"find\": \"label\"}");
+        RawBsonDocument response = raw("{\"cursor\": {\"id\": 0, \"firstBatch\": [{}]}, \"ok\": 1}");
+        Mono<Object> repositoryCall = CommandContext.scoped(
+            Mono.fromRunnable(() -> {
+                listener.commandStarted(new CommandStartedEvent(1, CONNECTION, "db", "find", command));
+                listener.commandSucceeded(new CommandSucceededEvent(1, CONNECTION, "find", response, 1000));
+            })
+        );
+
+        // Subscribed from a scheduler thread, long after the request was subscribed to
+        Mono
+            .delay(Duration.ofMillis(1), Schedulers.parallel())
+            .then(repositoryCall)
+            .contextWrite(context -> context.put(RequestCost.class, cost))
+            .block();
+
+        assertThat(cost.getRoundTrips()).isEqualTo(1);
+    }
+
+    @Test
+    void testAttributesGetMoreToTheCostOfTheCursor() {
+        CommandContext.run(
+            Context.of(RequestCost.class, cost),
+            () -> {
+                listener.commandStarted(new CommandStartedEvent(1, CONNECTION, "db", "find", BsonDocument.parse("{\"find\": \"ticket\"}")));
+                listener.commandSucceeded(
+                    new CommandSucceededEvent(1, CONNECTION, "find", raw("{\"cursor\": {\"id\": 42, \"firstBatch\": [{}]}, \"ok\": 1}"), 1000)
+                );
+            }
+        );
+        // Sent from a driver thread, without any current context
+        BsonDocument getMore = BsonDocument.parse("{\"getMore\": {\"$numberLong\": \"42\"}, \"collection\": \"ticket\"}");
+        listener.commandStarted(new CommandStartedEvent(2, CONNECTION, "db", "getMore", getMore));
+        listener.commandSucceeded(
+            new CommandSucceededEvent(2, CONNECTION, "getMore", raw("{\"cursor\": {\"id\": 0, \"nextBatch\": [{}, {}]}, \"ok\": 1}"), 1000)
+        );
+        listener.commandStarted(new CommandStartedEvent(3, CONNECTION, "db", "getMore", getMore));
+
+        assertThat(cost.getRoundTrips()).isEqualTo(2);
+        assertThat(cost.getDocuments()).isEqualTo(3);
+        assertThat(cost.toHeaderValue()).startsWith("db-round-trips=2, db-documents=3, ");
+    }
+
+    private static RawBsonDocument raw(String json) {
+        return new RawBsonDocument(BsonDocument.parse(json), new BsonDocumentCodec());
+    }
+}
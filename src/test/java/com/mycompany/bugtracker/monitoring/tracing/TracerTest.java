@@ -0,0 +1,107 @@
+package com.mycompany.bugtracker.monitoring.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.bugtracker.monitoring.CommandContext;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class TracerTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    private List<Span> exported;
+
+    private Tracer tracer;
+
+    @BeforeEach
+    public void setup() {
+        exported = new CopyOnWriteArrayList<>();
+        tracer = new Tracer(exported::add, 1.0);
+    }
+
+    @Test
+    void testContinuesTraceOfTheCaller() {
+        Span span = tracer.startRootSpan("GET", TRACEPARENT);
+
+        assertThat(span.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(span.getParentId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(span.toTraceparent()).startsWith("00-4bf92f3577b34da6a3ce929d0e0e4736-").endsWith("-01");
+        assertThat(tracer.startRootSpan("GET", TRACEPARENT.replaceAll("-01$", "-00"))).isNull();
+        Span root = tracer.startRootSpan("GET", "invalid");
+        assertThat(root.getTraceId()).hasSize(32).isNotEqualTo(span.getTraceId());
+        assertThat(root.getParentId()).isNull();
+        assertThat(new Tracer(exported::add, 0).startRootSpan("GET", null)).isNull();
+    }
+
+    @Test
+    void testPropagatesSpansThroughReactorContext() {
+        Span root = tracer.startRootSpan("GET /api/tickets", null);
+        AtomicReference<Span> subscribedIn = new AtomicReference<>();
+        AtomicReference<Span> signalledIn = new AtomicReference<>();
+        Flux<String> repository = tracer.trace(
+            "TicketRepository.findAllBy",
+            Flux.defer(() -> {
+                subscribedIn.set(Tracer.current());
+                return Flux.just("a", "b");
+            })
+        );
+        Mono<List<String>> service = tracer.trace(
+            "TicketService.findAll",
+            repository.doOnNext(value -> signalledIn.set(Tracer.current())).collectList()
+        );
+
+        assertThat(tracer.trace(root, service).block()).containsExactly("a", "b");
+        assertThat(exported)
+            .extracting(Span::getName)
+            .containsExactly("TicketRepository.findAllBy", "TicketService.findAll", "GET /api/tickets");
+        Span repositorySpan = exported.get(0);
+        Span serviceSpan = exported.get(1);
+        assertThat(repositorySpan.getParentId()).isEqualTo(serviceSpan.getSpanId());
+        assertThat(serviceSpan.getParentId()).isEqualTo(root.getSpanId());
+        assertThat(repositorySpan.getTraceId()).isEqualTo(root.getTraceId());
+        assertThat(subscribedIn.get()).isSameAs(repositorySpan);
+        assertThat(signalledIn.get()).isSameAs(serviceSpan);
+        assertThat(Tracer.current()).isNull();
+    }
+
+    @Test
+    void testRecordsErrors() {
+        Span root = tracer.startRootSpan("GET", null);
+        Mono<Object> failing = tracer.trace("UserService.find", Mono.error(new IllegalStateException("boom")));
+
+        assertThatThrownBy(() -> tracer.trace(root, failing).block()).isInstanceOf(IllegalStateException.class);
+        assertThat(exported).hasSize(2);
+        assertThat(exported.get(0).getError()).isEqualTo("java.lang.IllegalStateException: boom");
+        assertThat(exported.get(0).getDurationNanos()).isNotNegative();
+    }
+
+    @Test
+    void testDoesNotTraceOutsideOfATrace() {
+        assertThat(tracer.trace("TicketRepository.findAllBy", Flux.just("a")).collectList().block()).containsExactly("a");
+        assertThat(exported).isEmpty();
+    }
+
+    @Test
+    void testPropagatesSpanToOtherThreads() throws InterruptedException {
+        Span span = tracer.startRootSpan("GET", null);
+        AtomicReference<Span> current = new AtomicReference<>();
+        Runnable task;
+        try (CommandContext.Scope scope = Tracer.openScope(span)) {
+            task = CommandContext.propagate(() -> current.set(Tracer.current()));
+        }
+
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join();
+
+        assertThat(current.get()).isSameAs(span);
+        assertThat(Tracer.current()).isNull();
+    }
+}
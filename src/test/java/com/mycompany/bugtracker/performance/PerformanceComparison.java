@@ -0,0 +1,219 @@
+package com.mycompany.bugtracker.performance;
+
+import com.mycompany.bugtracker.performance.PerformanceResults.Metric;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * Compares the metrics of a run with the metrics of a baseline run.
+ * <p>
+ * A metric regresses when it is worse than the baseline by more than its tolerance, in percent of the baseline value.
+ * Tolerances are given by metric name prefix, the longest matching prefix wins, and default to
+ * {@value #DEFAULT_TOLERANCE}%, for instance:
+ * <pre>
+ * default=10
+ * jmh.com.mycompany.bugtracker.benchmark.TokenProviderBenchmark=20
+ * gatling.Global.p99=25
+ * </pre>
+ */
+public class PerformanceComparison {
+
+    public static final double DEFAULT_TOLERANCE = 10;
+
+    private static final String DEFAULT_TOLERANCE_KEY = "default";
+
+    public enum Status {
+        IMPROVED,
+        UNCHANGED,
+        REGRESSED,
+        NEW,
+        MISSING,
+    }
+
+    /**
+     * The comparison of a metric.
+     */
+    public static final class Row {
+
+        private final String name;
+
+        private final Metric baseline;
+
+        private final Metric current;
+
+        private final double tolerance;
+
+        private final Status status;
+
+        Row(String name, Metric baseline, Metric current, double tolerance, Status status) {
+            this.name = name;
+            this.baseline = baseline;
+            this.current = current;
+            this.tolerance = tolerance;
+            this.status = status;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * @return the change of the value in percent of the baseline value, NaN if unknown.
+         */
+        public double getChange() {
+            if (baseline == null || current == null || baseline.getValue() == 0) {
+                return Double.NaN;
+            }
+            return 100 * (current.getValue() - baseline.getValue()) / baseline.getValue();
+        }
+    }
+
+    private final List<Row> rows = new ArrayList<>();
+
+    /**
+     * @param baseline   the metrics of the baseline run.
+     * @param current    the metrics of the run.
+     * @param tolerances the tolerances by metric name prefix.
+     */
+    public PerformanceComparison(Map<String, Metric> baseline, Map<String, Metric> current, Properties tolerances) {
+        TreeSet<String> names = new TreeSet<>(baseline.keySet());
+        names.addAll(current.keySet());
+        for (String name : names) {
+            Metric baselineMetric = baseline.get(name);
+            Metric currentMetric = current.get(name);
+            double tolerance = tolerance(tolerances, name);
+            rows.add(new Row(name, baselineMetric, currentMetric, tolerance, status(baselineMetric, currentMetric, tolerance)));
+        }
+    }
+
+    static double tolerance(Properties tolerances, String name) {
+        String prefix = name;
+        while (!prefix.isEmpty()) {
+            String tolerance = tolerances.getProperty(prefix);
+            if (tolerance != null) {
+                return Double.parseDouble(tolerance.trim());
+            }
+            prefix = prefix.substring(0, Math.max(0, Math.max(prefix.lastIndexOf('.'), prefix.lastIndexOf('['))));
+        }
+        String tolerance = tolerances.getProperty(DEFAULT_TOLERANCE_KEY);
+        return tolerance != null ? Double.parseDouble(tolerance.trim()) : DEFAULT_TOLERANCE;
+    }
+
+    private static Status status(Metric baseline, Metric current, double tolerance) {
+        if (baseline == null) {
+            return Status.NEW;
+        }
+        if (current == null) {
+            return Status.MISSING;
+        }
+        // Signed so that a positive change is a regression
+        double worse = baseline.isHigherIsBetter()
+            ? baseline.getValue() - current.getValue()
+            : current.getValue() - baseline.getValue();
+        double allowed = Math.abs(baseline.getValue()) * tolerance / 100;
+        if (worse > allowed) {
+            return Status.REGRESSED;
+        }
+        if (-worse > allowed) {
+            return Status.IMPROVED;
+        }
+        return Status.UNCHANGED;
+    }
+
+    public List<Row> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    public List<Row> getRegressions() {
+        List<Row> regressions = new ArrayList<>();
+        for (Row row : rows) {
+            if (row.status == Status.REGRESSED) {
+                regressions.add(row);
+            }
+        }
+        return regressions;
+    }
+
+    public String toMarkdown() {
+        StringBuilder report = new StringBuilder("# Performance comparison\n\n");
+        report.append(summary()).append("\n\n");
+        report.append("| Status | Metric | Baseline | Current | Change | Tolerance |\n");
+        report.append("|---|---|---:|---:|---:|---:|\n");
+        for (Row row : rows) {
+            report
+                .append("| ")
+                .append(row.status)
+                .append(" | `")
+                .append(row.name)
+                .append("` | ")
+                .append(format(row.baseline))
+                .append(" | ")
+                .append(format(row.current))
+                .append(" | ")
+                .append(formatChange(row))
+                .append(" | ")
+                .append(String.format(Locale.ROOT, "%.0f%%", row.tolerance))
+                .append(" |\n");
+        }
+        return report.toString();
+    }
+
+    public String toHtml() {
+        StringBuilder report = new StringBuilder("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n")
+            .append("<title>Performance comparison</title>\n<style>\n")
+            .append("body { font-family: sans-serif; } td, th { padding: 4px 8px; } td.number { text-align: right; }\n")
+            .append(".REGRESSED { background: #f8d7da; } .IMPROVED { background: #d4edda; } .NEW, .MISSING { color: #6c757d; }\n")
+            .append("</style>\n</head>\n<body>\n<h1>Performance comparison</h1>\n<p>")
+            .append(HtmlUtils.htmlEscape(summary()))
+            .append("</p>\n<table>\n<tr><th>Status</th><th>Metric</th><th>Baseline</th><th>Current</th><th>Change</th><th>Tolerance</th></tr>\n");
+        for (Row row : rows) {
+            report
+                .append("<tr class=\"")
+                .append(row.status)
+                .append("\"><td>")
+                .append(row.status)
+                .append("</td><td>")
+                .append(HtmlUtils.htmlEscape(row.name))
+                .append("</td><td class=\"number\">")
+                .append(HtmlUtils.htmlEscape(format(row.baseline)))
+                .append("</td><td class=\"number\">")
+                .append(HtmlUtils.htmlEscape(format(row.current)))
+                .append("</td><td class=\"number\">")
+                .append(formatChange(row))
+                .append("</td><td class=\"number\">")
+                .append(String.format(Locale.ROOT, "%.0f%%", row.tolerance))
+                .append("</td></tr>\n");
+        }
+        return report.append("</table>\n</body>\n</html>\n").toString();
+    }
+
+    private String summary() {
+        long improved = rows.stream().filter(row -> row.status == Status.IMPROVED).count();
+        return String.format(
+            Locale.ROOT,
+            "%d metrics compared: %d regressed, %d improved.",
+            rows.size(),
+            getRegressions().size(),
+            improved
+        );
+    }
+
+    private static String format(Metric metric) {
+        return metric == null ? "-" : String.format(Locale.ROOT, "%.3f %s", metric.getValue(), metric.getUnit());
+    }
+
+    private static String formatChange(Row row) {
+        double change = row.getChange();
+        return Double.isNaN(change) ? "-" : String.format(Locale.ROOT, "%+.1f%%", change);
+    }
+}
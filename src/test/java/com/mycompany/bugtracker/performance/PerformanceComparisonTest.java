@@ -0,0 +1,132 @@
+package com.mycompany.bugtracker.performance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.bugtracker.performance.PerformanceComparison.Status;
+import com.mycompany.bugtracker.performance.PerformanceResults.Metric;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+
+class PerformanceComparisonTest {
+
+    private static final String BENCHMARK = "com.mycompany.bugtracker.benchmark.JacksonSerializationBenchmark.serializeTicketPage";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testReadsJmhResults() throws Exception {
+        Map<String, Metric> metrics = PerformanceResults.readJmh(mapper.readTree(jmh("avgt", 12.5)));
+
+        Metric metric = metrics.get("jmh." + BENCHMARK + "[pageSize=20]");
+        assertThat(metric.getValue()).isEqualTo(12.5);
+        assertThat(metric.getUnit()).isEqualTo("us/op");
+        assertThat(metric.isHigherIsBetter()).isFalse();
+    }
+
+    @Test
+    void testReadsJmhSecondaryMetrics() throws Exception {
+        String result = jmh("avgt", 12.5).replace("}}]", "}, \"secondaryMetrics\": {\"payloadBytes\": {\"score\": 2048.0, \"scoreUnit\": \"#\"}}}]");
+
+        Metric metric = PerformanceResults.readJmh(mapper.readTree(result)).get("jmh." + BENCHMARK + "[pageSize=20]:payloadBytes");
+
+        assertThat(metric.getValue()).isEqualTo(2048);
+        assertThat(metric.getUnit()).isEqualTo("#");
+        assertThat(metric.isHigherIsBetter()).isFalse();
+    }
+
+    @Test
+    void testReadsGatlingResults() throws Exception {
+        Map<String, Metric> metrics = PerformanceResults.readGatling(
+            mapper.readTree(
+                "{\"type\": \"GROUP\", \"name\": \"Global Information\", \"stats\": " +
+                stats(120, 400, 10) +
+                ", \"contents\": {\"req_get-self-ticke-1\": {\"type\": \"REQUEST\", \"name\": \"Get self tickets\", \"stats\": " +
+                stats(80, 200, 0) +
+                "}}}"
+            )
+        );
+
+        assertThat(metrics.get("gatling.Global.p99").getValue()).isEqualTo(400);
+        assertThat(metrics.get("gatling.Global.failed").getValue()).isEqualTo(1);
+        assertThat(metrics.get("gatling.Get self tickets.p95").getValue()).isEqualTo(80);
+        assertThat(metrics.get("gatling.Get self tickets.failed").getValue()).isZero();
+    }
+
+    @Test
+    void testDetectsRegressionsBeyondTheTolerance() throws Exception {
+        Map<String, Metric> baseline = PerformanceResults.readJmh(mapper.readTree(jmh("avgt", 10)));
+        Properties tolerances = new Properties();
+        tolerances.setProperty("jmh.com.mycompany.bugtracker.benchmark.JacksonSerializationBenchmark", "20");
+
+        PerformanceComparison tolerated = new PerformanceComparison(
+            baseline,
+            PerformanceResults.readJmh(mapper.readTree(jmh("avgt", 11.5))),
+            tolerances
+        );
+        PerformanceComparison regressed = new PerformanceComparison(
+            baseline,
+            PerformanceResults.readJmh(mapper.readTree(jmh("avgt", 12.5))),
+            new Properties()
+        );
+
+        assertThat(tolerated.getRegressions()).isEmpty();
+        assertThat(tolerated.getRows()).extracting(PerformanceComparison.Row::getStatus).containsExactly(Status.UNCHANGED);
+        assertThat(regressed.getRegressions()).extracting(PerformanceComparison.Row::getChange).containsExactly(25.0);
+        assertThat(regressed.toMarkdown()).contains("| REGRESSED | `jmh." + BENCHMARK + "[pageSize=20]` | 10.000 us/op | 12.500 us/op | +25.0% | 10% |");
+        assertThat(regressed.toHtml()).contains("<tr class=\"REGRESSED\">");
+    }
+
+    @Test
+    void testComparesThroughputsTheOtherWayRound() throws Exception {
+        PerformanceComparison comparison = new PerformanceComparison(
+            PerformanceResults.readJmh(mapper.readTree(jmh("thrpt", 1000))),
+            PerformanceResults.readJmh(mapper.readTree(jmh("thrpt", 1500))),
+            new Properties()
+        );
+
+        assertThat(comparison.getRows()).extracting(PerformanceComparison.Row::getStatus).containsExactly(Status.IMPROVED);
+    }
+
+    @Test
+    void testUsesTheLongestMatchingTolerance() {
+        Properties tolerances = new Properties();
+        tolerances.setProperty("default", "5");
+        tolerances.setProperty("gatling", "15");
+        tolerances.setProperty("gatling.Global.p99", "25");
+
+        assertThat(PerformanceComparison.tolerance(tolerances, "gatling.Global.p99")).isEqualTo(25);
+        assertThat(PerformanceComparison.tolerance(tolerances, "gatling.Get self tickets.p99")).isEqualTo(15);
+        assertThat(PerformanceComparison.tolerance(tolerances, "jmh." + BENCHMARK + "[pageSize=20]")).isEqualTo(5);
+        assertThat(PerformanceComparison.tolerance(new Properties(), "jmh." + BENCHMARK)).isEqualTo(PerformanceComparison.DEFAULT_TOLERANCE);
+    }
+
+    private static String jmh(String mode, double score) {
+        return (
+            "[{\"benchmark\": \"" +
+            BENCHMARK +
+            "\", \"mode\": \"" +
+            mode +
+            "\", \"params\": {\"pageSize\": \"20\"}, \"primaryMetric\": {\"score\": " +
+            score +
+            ", \"scoreError\": 0.1, \"scoreUnit\": \"" +
+            ("thrpt".equals(mode) ? "ops/s" : "us/op") +
+            "\"}}]"
+        );
+    }
+
+    private static String stats(int p95, int p99, int failed) {
+        return (
+            "{\"numberOfRequests\": {\"total\": \"1000\", \"ok\": \"" +
+            (1000 - failed) +
+            "\", \"ko\": \"" +
+            failed +
+            "\"}, \"meanResponseTime\": {\"total\": \"50\"}, \"percentiles3\": {\"total\": \"" +
+            p95 +
+            "\"}, \"percentiles4\": {\"total\": \"" +
+            p99 +
+            "\"}}"
+        );
+    }
+}
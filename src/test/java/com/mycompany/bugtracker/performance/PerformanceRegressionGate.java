@@ -0,0 +1,99 @@
+package com.mycompany.bugtracker.performance;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fails the build when the JMH or Gatling results of a run regress compared to a committed baseline, see
+ * {@link PerformanceComparison}, and writes the comparison as Markdown and HTML reports.
+ * <p>
+ * It is run by the {@code jmh} Maven profile after the benchmarks, and by the {@code perf-gate} profile for Gatling
+ * results. The baselines are committed in {@code src/test/perf}: they must be recorded on the machine that runs the
+ * comparisons, with {@code -Dperf.update-baseline=true}. A missing baseline fails the build, unless
+ * {@code -Dperf.allow-missing-baseline=true} is set for exploratory runs, whose results are then only reported.
+ */
+public class PerformanceRegressionGate {
+
+    private static final Logger log = LoggerFactory.getLogger(PerformanceRegressionGate.class);
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parse(args);
+        Path results = Paths.get(required(options, "results"));
+        Path baseline = Paths.get(required(options, "baseline"));
+        Path reportDirectory = Paths.get(options.getOrDefault("report-dir", "target/performance-report"));
+
+        if (Boolean.parseBoolean(options.get("update-baseline"))) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+            log.info("Updated the baseline {} with {}", baseline, results);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            if (!Boolean.parseBoolean(options.get("allow-missing-baseline"))) {
+                throw new IllegalStateException("No baseline " + baseline + ", record one with -Dperf.update-baseline=true");
+            }
+            log.warn("No baseline {}, the results are only reported", baseline);
+        }
+        Properties tolerances = new Properties();
+        if (options.containsKey("tolerances") && Files.exists(Paths.get(options.get("tolerances")))) {
+            try (Reader reader = Files.newBufferedReader(Paths.get(options.get("tolerances")), StandardCharsets.UTF_8)) {
+                tolerances.load(reader);
+            }
+        }
+
+        PerformanceComparison comparison = new PerformanceComparison(
+            Files.exists(baseline) ? PerformanceResults.read(baseline) : new HashMap<>(),
+            PerformanceResults.read(results),
+            tolerances
+        );
+        String reportName = options.getOrDefault("report-name", stripExtension(results.getFileName().toString()));
+        Files.createDirectories(reportDirectory);
+        Files.write(reportDirectory.resolve(reportName + ".md"), comparison.toMarkdown().getBytes(StandardCharsets.UTF_8));
+        Files.write(reportDirectory.resolve(reportName + ".html"), comparison.toHtml().getBytes(StandardCharsets.UTF_8));
+        log.info("Wrote the comparison of {} with {} to {}", results, baseline, reportDirectory);
+
+        if (!comparison.getRegressions().isEmpty()) {
+            StringBuilder message = new StringBuilder("Performance regressions compared to ").append(baseline).append(':');
+            comparison
+                .getRegressions()
+                .forEach(row -> message.append(String.format("%n  %s: %+.1f%%", row.getName(), row.getChange())));
+            throw new IllegalStateException(message.toString());
+        }
+    }
+
+    private static String stripExtension(String fileName) {
+        int extension = fileName.lastIndexOf('.');
+        return extension > 0 ? fileName.substring(0, extension) : fileName;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing --" + name);
+        }
+        return value;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+            options.put(name, hasValue ? args[++i] : "true");
+        }
+        return options;
+    }
+}
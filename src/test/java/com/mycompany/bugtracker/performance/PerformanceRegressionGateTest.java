@@ -0,0 +1,68 @@
+package com.mycompany.bugtracker.performance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PerformanceRegressionGateTest {
+
+    @TempDir
+    Path directory;
+
+    private Path results;
+
+    private Path baseline;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        results = directory.resolve("jmh-result.json");
+        baseline = directory.resolve("jmh-baseline.json");
+        Files.write(
+            results,
+            (
+                "[{\"benchmark\": \"com.mycompany.bugtracker.benchmark.TokenProviderBenchmark.parse\", \"mode\": \"thrpt\", " +
+                "\"primaryMetric\": {\"score\": 1000, \"scoreError\": 10, \"scoreUnit\": \"ops/s\"}}]"
+            ).getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void testFailsWithoutBaseline() {
+        assertThatThrownBy(() -> gate()).isInstanceOf(IllegalStateException.class).hasMessageContaining("No baseline");
+    }
+
+    @Test
+    void testOnlyReportsWithoutBaselineWhenAllowed() throws Exception {
+        gate("--allow-missing-baseline", "true");
+
+        assertThat(directory.resolve("report/jmh-result.md")).exists();
+    }
+
+    @Test
+    void testComparesWithTheRecordedBaseline() throws Exception {
+        gate("--update-baseline", "true");
+        assertThat(baseline).hasSameTextualContentAs(results);
+
+        gate();
+
+        assertThat(directory.resolve("report/jmh-result.md")).exists();
+    }
+
+    private void gate(String... options) throws Exception {
+        String[] args = new String[6 + options.length];
+        args[0] = "--results";
+        args[1] = results.toString();
+        args[2] = "--baseline";
+        args[3] = baseline.toString();
+        args[4] = "--report-dir";
+        args[5] = directory.resolve("report").toString();
+        System.arraycopy(options, 0, args, 6, options.length);
+        PerformanceRegressionGate.main(args);
+    }
+}
@@ -0,0 +1,169 @@
+package com.mycompany.bugtracker.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads the metrics of a JMH result file ({@code -rf json}) or of a Gatling {@code js/stats.json} report file.
+ * <p>
+ * JMH benchmarks are named after the benchmark method and its parameters, such as
+ * {@code jmh.com.mycompany.bugtracker.benchmark.JacksonSerializationBenchmark.serializeTicketPage[pageSize=20]}.
+ * Their secondary metrics, such as the {@code @AuxCounters} of the benchmarks, are named after the benchmark and the
+ * metric, such as {@code jmh.com.mycompany.bugtracker.benchmark.WireFormatBenchmark.encodeTicketPage[...]:payloadBytes},
+ * and are lower-is-better.
+ * Gatling metrics are named after the request and the statistic, such as {@code gatling.Get self tickets.p95}.
+ */
+public final class PerformanceResults {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private PerformanceResults() {}
+
+    /**
+     * A metric of a run.
+     */
+    public static final class Metric {
+
+        private final String name;
+
+        private final double value;
+
+        private final String unit;
+
+        private final boolean higherIsBetter;
+
+        public Metric(String name, double value, String unit, boolean higherIsBetter) {
+            this.name = name;
+            this.value = value;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+
+        public boolean isHigherIsBetter() {
+            return higherIsBetter;
+        }
+    }
+
+    /**
+     * @param file a JMH or a Gatling result file.
+     * @return the metrics of the file, by name.
+     * @throws IOException if the file can't be read.
+     */
+    public static Map<String, Metric> read(Path file) throws IOException {
+        JsonNode results = MAPPER.readTree(file.toFile());
+        if (results.isArray()) {
+            return readJmh(results);
+        }
+        if (results.has("stats") && results.has("contents")) {
+            return readGatling(results);
+        }
+        throw new IOException(file + " is neither a JMH nor a Gatling result file");
+    }
+
+    static Map<String, Metric> readJmh(JsonNode results) {
+        Map<String, Metric> metrics = new TreeMap<>();
+        for (JsonNode result : results) {
+            StringBuilder name = new StringBuilder("jmh.").append(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            if (params.size() > 0) {
+                name.append('[');
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    name.append(param.getKey()).append('=').append(param.getValue().asText()).append(fields.hasNext() ? "," : "]");
+                }
+            }
+            JsonNode primaryMetric = result.path("primaryMetric");
+            metrics.put(
+                name.toString(),
+                new Metric(
+                    name.toString(),
+                    primaryMetric.path("score").asDouble(),
+                    primaryMetric.path("scoreUnit").asText(),
+                    "thrpt".equals(result.path("mode").asText())
+                )
+            );
+            Iterator<Map.Entry<String, JsonNode>> secondaryMetrics = result.path("secondaryMetrics").fields();
+            while (secondaryMetrics.hasNext()) {
+                Map.Entry<String, JsonNode> secondaryMetric = secondaryMetrics.next();
+                String secondaryName = name + ":" + secondaryMetric.getKey();
+                metrics.put(
+                    secondaryName,
+                    new Metric(
+                        secondaryName,
+                        secondaryMetric.getValue().path("score").asDouble(),
+                        secondaryMetric.getValue().path("scoreUnit").asText(),
+                        false
+                    )
+                );
+            }
+        }
+        return metrics;
+    }
+
+    static Map<String, Metric> readGatling(JsonNode report) {
+        Map<String, Metric> metrics = new TreeMap<>();
+        readGatlingStats("gatling.Global", report.path("stats"), metrics);
+        readGatlingContents(report.path("contents"), metrics);
+        return metrics;
+    }
+
+    private static void readGatlingContents(JsonNode contents, Map<String, Metric> metrics) {
+        for (JsonNode content : contents) {
+            if ("REQUEST".equals(content.path("type").asText())) {
+                readGatlingStats("gatling." + content.path("name").asText(), content.path("stats"), metrics);
+            } else {
+                readGatlingContents(content.path("contents"), metrics);
+            }
+        }
+    }
+
+    private static void readGatlingStats(String prefix, JsonNode stats, Map<String, Metric> metrics) {
+        addGatlingMetric(metrics, prefix + ".mean", stats.path("meanResponseTime"), "ms");
+        addGatlingMetric(metrics, prefix + ".p95", stats.path("percentiles3"), "ms");
+        addGatlingMetric(metrics, prefix + ".p99", stats.path("percentiles4"), "ms");
+        double requests = number(stats.path("numberOfRequests").path("total"));
+        if (requests > 0) {
+            double failed = number(stats.path("numberOfRequests").path("ko"));
+            metrics.put(prefix + ".failed", new Metric(prefix + ".failed", 100 * failed / requests, "%", false));
+        }
+    }
+
+    private static void addGatlingMetric(Map<String, Metric> metrics, String name, JsonNode stat, String unit) {
+        double value = number(stat.path("total"));
+        if (!Double.isNaN(value)) {
+            metrics.put(name, new Metric(name, value, unit, false));
+        }
+    }
+
+    /**
+     * @return the value, Gatling writing numbers as strings and missing values as {@code -}, or NaN if missing.
+     */
+    private static double number(JsonNode value) {
+        if (value.isNumber()) {
+            return value.asDouble();
+        }
+        try {
+            return Double.parseDouble(value.asText());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
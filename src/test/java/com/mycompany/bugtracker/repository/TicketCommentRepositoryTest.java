@@ -0,0 +1,168 @@
+package com.mycompany.bugtracker.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.bugtracker.domain.TicketComment;
+import com.mycompany.bugtracker.domain.TicketCommentBucket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class TicketCommentRepositoryTest {
+
+    private ReactiveMongoOperations mongoOperations;
+
+    private TicketCommentRepository ticketCommentRepository;
+
+    @BeforeEach
+    public void setup() {
+        mongoOperations = mock(ReactiveMongoOperations.class);
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        when(mongoOperations.getConverter()).thenReturn(converter);
+        ticketCommentRepository = new TicketCommentRepository(mongoOperations);
+    }
+
+    @Test
+    void testAppendsToTheLastBucket() {
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TicketCommentBucket.class)))
+            .thenReturn(Mono.just(bucket(2, 7)));
+
+        TicketComment comment = ticketCommentRepository.append("t1", new TicketComment().body("Hello")).block();
+
+        assertThat(comment.getNumber()).isEqualTo(2 * TicketCommentBucket.SIZE + 7);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoOperations).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(TicketCommentBucket.class));
+        Document push = update.getValue().getUpdateObject().get("$push", Document.class);
+        assertThat(push.get("comments", Document.class).getString("body")).isEqualTo("Hello");
+    }
+
+    @Test
+    void testInsertsTheNextBucketWhenTheLastOneIsFull() {
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TicketCommentBucket.class)))
+            .thenReturn(Mono.empty());
+        when(mongoOperations.findOne(any(Query.class), eq(TicketCommentBucket.class))).thenReturn(Mono.just(bucket(2, TicketCommentBucket.SIZE)));
+        when(mongoOperations.insert(any(TicketCommentBucket.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        TicketComment comment = ticketCommentRepository.append("t1", new TicketComment().body("Hello")).block();
+
+        assertThat(comment.getNumber()).isEqualTo(3 * TicketCommentBucket.SIZE + 1);
+        ArgumentCaptor<TicketCommentBucket> inserted = ArgumentCaptor.forClass(TicketCommentBucket.class);
+        verify(mongoOperations).insert(inserted.capture());
+        assertThat(inserted.getValue().getSeq()).isEqualTo(3);
+        assertThat(inserted.getValue().getComments()).containsExactly(comment);
+    }
+
+    @Test
+    void testRetriesWhenTheNextBucketIsInsertedConcurrently() {
+        // The template runs the command on each subscription, as the retry resubscribes
+        AtomicInteger attempts = new AtomicInteger();
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TicketCommentBucket.class)))
+            .thenReturn(Mono.defer(() -> attempts.incrementAndGet() == 1 ? Mono.empty() : Mono.just(bucket(0, 2))));
+        when(mongoOperations.findOne(any(Query.class), eq(TicketCommentBucket.class))).thenReturn(Mono.empty());
+        when(mongoOperations.insert(any(TicketCommentBucket.class))).thenReturn(Mono.error(new DuplicateKeyException("E11000")));
+
+        TicketComment comment = ticketCommentRepository.append("t1", new TicketComment().body("Hello")).block();
+
+        assertThat(comment.getNumber()).isEqualTo(2);
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void testPushesAgainWhenTheLastBucketIsNotFull() {
+        // Another append inserted the next bucket between the push and the read of the last bucket
+        AtomicInteger attempts = new AtomicInteger();
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TicketCommentBucket.class)))
+            .thenReturn(Mono.defer(() -> attempts.incrementAndGet() == 1 ? Mono.empty() : Mono.just(bucket(1, 2))));
+        when(mongoOperations.findOne(any(Query.class), eq(TicketCommentBucket.class))).thenReturn(Mono.just(bucket(1, 1)));
+
+        TicketComment comment = ticketCommentRepository.append("t1", new TicketComment().body("Hello")).block();
+
+        assertThat(comment.getNumber()).isEqualTo(TicketCommentBucket.SIZE + 2);
+        assertThat(attempts).hasValue(2);
+        verify(mongoOperations, never()).insert(any(TicketCommentBucket.class));
+    }
+
+    @Test
+    void testReadsTheNewestPageAcrossBuckets() {
+        when(mongoOperations.find(any(Query.class), eq(TicketCommentBucket.class)))
+            .thenReturn(Flux.just(fullBucket(1, 3), fullBucket(0, TicketCommentBucket.SIZE)));
+
+        List<Long> numbers = numbers(ticketCommentRepository.findPage("t1", null, 5));
+
+        long last = TicketCommentBucket.SIZE + 3;
+        assertThat(numbers).containsExactly(last, last - 1, last - 2, last - 3, last - 4);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations).find(query.capture(), eq(TicketCommentBucket.class));
+        assertThat(query.getValue().getLimit()).isEqualTo(2);
+        assertThat(query.getValue().getQueryObject().containsKey("seq")).isFalse();
+    }
+
+    @Test
+    void testReadsTheCommentsBeforeACursor() {
+        when(mongoOperations.find(any(Query.class), eq(TicketCommentBucket.class)))
+            .thenReturn(Flux.just(fullBucket(0, TicketCommentBucket.SIZE)));
+
+        List<Long> numbers = numbers(ticketCommentRepository.findPage("t1", 4L, 5));
+
+        assertThat(numbers).containsExactly(3L, 2L, 1L);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations).find(query.capture(), eq(TicketCommentBucket.class));
+        assertThat(query.getValue().getQueryObject().get("seq", Document.class).get("$lte")).isEqualTo(0);
+    }
+
+    @Test
+    void testReadsNothingBeforeTheFirstComment() {
+        assertThat(ticketCommentRepository.findPage("t1", 1L, 5).collectList().block()).isEmpty();
+    }
+
+    @Test
+    void testCountsTheCommentsFromTheLastBucket() {
+        when(mongoOperations.findOne(any(Query.class), eq(TicketCommentBucket.class))).thenReturn(Mono.just(bucket(4, 12)));
+
+        assertThat(ticketCommentRepository.count("t1").block()).isEqualTo(4 * TicketCommentBucket.SIZE + 12);
+    }
+
+    private static List<Long> numbers(Flux<TicketComment> comments) {
+        return comments.map(TicketComment::getNumber).collect(Collectors.toList()).block();
+    }
+
+    private static TicketCommentBucket bucket(int seq, int count) {
+        TicketCommentBucket bucket = new TicketCommentBucket();
+        bucket.setTicketId("t1");
+        bucket.setSeq(seq);
+        bucket.setCount(count);
+        return bucket;
+    }
+
+    private static TicketCommentBucket fullBucket(int seq, int count) {
+        TicketCommentBucket bucket = bucket(seq, count);
+        List<TicketComment> comments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            comments.add(new TicketComment().body("Comment " + i));
+        }
+        bucket.setComments(comments);
+        return bucket;
+    }
+}
@@ -0,0 +1,108 @@
+package com.mycompany.bugtracker.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import com.mycompany.bugtracker.domain.Ticket;
+import java.nio.charset.StandardCharsets;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+class TicketDescriptionCallbackTest {
+
+    private ReactiveMongoOperations mongoOperations;
+
+    private TicketDescriptionCallback callback;
+
+    @BeforeEach
+    public void setup() {
+        mongoOperations = mock(ReactiveMongoOperations.class);
+        when(mongoOperations.save(any(Document.class), anyString())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(mongoOperations.remove(any(Query.class), anyString())).thenReturn(Mono.just(DeleteResult.acknowledged(0)));
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getTicketDescription().setOffloadThreshold(DataSize.ofBytes(100));
+        applicationProperties.getTicketDescription().setPreviewLength(10);
+        callback = new TicketDescriptionCallback(new TicketDescriptionRepository(mongoOperations, applicationProperties));
+    }
+
+    @Test
+    void testOffloadsTheLongDescriptionOfANewTicket() {
+        String description = repeat("stack trace line\n", 20);
+        Ticket ticket = new Ticket().description(description);
+        Document document = new Document("description", description);
+
+        callback.onBeforeSave(ticket, document, "ticket");
+
+        assertThat(ticket.getId()).isNotNull();
+        assertThat(document.get("_id")).isEqualTo(new ObjectId(ticket.getId()));
+        assertThat(document.get("description")).isEqualTo("stack trac");
+        assertThat(document.get("description_truncated")).isEqualTo(true);
+        ArgumentCaptor<Document> stored = ArgumentCaptor.forClass(Document.class);
+        verify(mongoOperations).save(stored.capture(), eq(TicketDescriptionRepository.COLLECTION_NAME));
+        assertThat(stored.getValue().get("_id")).isEqualTo(document.get("_id"));
+        byte[] data = stored.getValue().get("data", Binary.class).getData();
+        assertThat(data.length).isLessThan(description.length());
+        assertThat(TicketDescriptionRepository.decompress(data)).isEqualTo(description);
+    }
+
+    @Test
+    void testKeepsTheStoredDescriptionOfATruncatedTicket() {
+        ObjectId id = new ObjectId();
+        Ticket ticket = new Ticket().id(id.toHexString()).description("stack trac").descriptionTruncated(true);
+        Document document = new Document("_id", id).append("description", "stack trac").append("description_truncated", true);
+
+        callback.onBeforeSave(ticket, document, "ticket");
+
+        assertThat(document.get("description_truncated")).isEqualTo(true);
+        verify(mongoOperations, never()).save(any(Document.class), anyString());
+        verify(mongoOperations, never()).remove(any(Query.class), anyString());
+    }
+
+    @Test
+    void testDeletesTheStoredDescriptionOfAShortenedTicket() {
+        ObjectId id = new ObjectId();
+        Ticket ticket = new Ticket().id(id.toHexString()).description("fixed").descriptionTruncated(false);
+        Document document = new Document("_id", id).append("description", "fixed").append("description_truncated", false);
+
+        Mono.from(callback.onBeforeSave(ticket, document, "ticket")).block();
+
+        assertThat(document).doesNotContainKey("description_truncated");
+        assertThat(document.get("description")).isEqualTo("fixed");
+        verify(mongoOperations).remove(any(Query.class), eq(TicketDescriptionRepository.COLLECTION_NAME));
+    }
+
+    @Test
+    void testPreviewDoesNotSplitASurrogatePair() {
+        String description = "ab🐛cd";
+
+        assertThat(TicketDescriptionRepository.preview(description, 3)).isEqualTo("ab");
+        assertThat(TicketDescriptionRepository.preview(description, 4)).isEqualTo("ab🐛");
+        assertThat(TicketDescriptionRepository.isOffloaded("éé", 3)).isTrue();
+        assertThat(TicketDescriptionRepository.isOffloaded("ee", 3)).isFalse();
+        assertThat(TicketDescriptionRepository.document("id", "ee").getInteger("size")).isEqualTo("ee".getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            result.append(text);
+        }
+        return result.toString();
+    }
+}
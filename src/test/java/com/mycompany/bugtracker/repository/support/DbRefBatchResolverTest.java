@@ -0,0 +1,108 @@
+package com.mycompany.bugtracker.repository.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.DBRef;
+import com.mycompany.bugtracker.domain.Label;
+import com.mycompany.bugtracker.domain.Ticket;
+import java.util.Arrays;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.convert.DbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+class DbRefBatchResolverTest {
+
+    private static final ObjectId TICKET_1 = new ObjectId();
+    private static final ObjectId TICKET_2 = new ObjectId();
+    private static final ObjectId PROJECT = new ObjectId();
+    private static final ObjectId LABEL_1 = new ObjectId();
+    private static final ObjectId LABEL_2 = new ObjectId();
+
+    private DbRefResolver dbRefResolver;
+
+    private ReactiveMongoOperations mongoOperations;
+
+    private DbRefBatchResolver dbRefBatchResolver;
+
+    @BeforeEach
+    public void setup() {
+        // The converter asks the resolver for the missing references too
+        dbRefResolver = mock(DbRefResolver.class);
+        MappingMongoConverter converter = new MappingMongoConverter(dbRefResolver, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        mongoOperations = mock(ReactiveMongoOperations.class);
+        when(mongoOperations.getConverter()).thenReturn(converter);
+        when(mongoOperations.find(any(Query.class), eq(Document.class), eq("ticket")))
+            .thenReturn(
+                Flux.just(
+                    new Document("_id", TICKET_1)
+                        .append("title", "First")
+                        .append("project", new DBRef("project", PROJECT))
+                        .append("labels", Arrays.asList(new DBRef("label", LABEL_1), new DBRef("label", LABEL_2))),
+                    new Document("_id", TICKET_2)
+                        .append("title", "Second")
+                        .append("project", new DBRef("project", PROJECT))
+                        .append("labels", Arrays.asList(new DBRef("label", LABEL_2)))
+                )
+            );
+        when(mongoOperations.find(any(Query.class), eq(Document.class), eq("project")))
+            .thenReturn(Flux.just(new Document("_id", PROJECT).append("name", "Bugtracker")));
+        when(mongoOperations.find(any(Query.class), eq(Document.class), eq("label")))
+            .thenReturn(Flux.just(new Document("_id", LABEL_1).append("value", "bug"), new Document("_id", LABEL_2).append("value", "ui")));
+        dbRefBatchResolver = new DbRefBatchResolver(mongoOperations);
+    }
+
+    @Test
+    void testResolvesTheReferencesWithOneQueryPerRelationship() {
+        Query query = new Query(Criteria.where("id").in(TICKET_1.toHexString(), TICKET_2.toHexString()));
+
+        List<Ticket> tickets = dbRefBatchResolver.find(query, Ticket.class, "ticket").collectList().block();
+
+        assertThat(tickets).extracting(Ticket::getId).containsExactly(TICKET_1.toHexString(), TICKET_2.toHexString());
+        assertThat(tickets.get(0).getProject().getName()).isEqualTo("Bugtracker");
+        assertThat(tickets.get(1).getProject()).isSameAs(tickets.get(0).getProject());
+        assertThat(tickets.get(0).getLabels()).extracting(Label::getValue).containsExactlyInAnyOrder("bug", "ui");
+        assertThat(tickets.get(1).getLabels()).extracting(Label::getValue).containsExactly("ui");
+        assertThat(tickets.get(0).getAssignedTo()).isNull();
+
+        ArgumentCaptor<Query> ticketQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations).find(ticketQuery.capture(), eq(Document.class), eq("ticket"));
+        assertThat(ticketQuery.getValue().getQueryObject())
+            .isEqualTo(new Document("_id", new Document("$in", Arrays.asList(TICKET_1, TICKET_2))));
+
+        ArgumentCaptor<Query> labelQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations).find(labelQuery.capture(), eq(Document.class), eq("label"));
+        assertThat(labelQuery.getValue().getFieldsObject()).isEqualTo(new Document("tickets", 0));
+        verify(mongoOperations).find(any(Query.class), eq(Document.class), eq("project"));
+        verify(mongoOperations, never()).find(any(Query.class), eq(Document.class), eq("jhi_user"));
+        verify(dbRefResolver, never()).resolveDbRef(any(), notNull(), any(), any());
+    }
+
+    @Test
+    void testProjectsTheFieldsWithTheirDocumentNames() {
+        Query query = SparseFieldset.parse("title,dueDate").applyTo(new Query(Criteria.where("id").is(TICKET_1.toHexString())));
+
+        dbRefBatchResolver.find(query, Ticket.class, "ticket").collectList().block();
+
+        ArgumentCaptor<Query> ticketQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations).find(ticketQuery.capture(), eq(Document.class), eq("ticket"));
+        assertThat(ticketQuery.getValue().getFieldsObject()).isEqualTo(new Document("title", 1).append("due_date", 1));
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.bugtracker.repository.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.result.UpdateResult;
+import com.mycompany.bugtracker.domain.Label;
+import com.mycompany.bugtracker.domain.Ticket;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MappingMongoEntityInformation;
+import reactor.core.publisher.Mono;
+
+class ExtendedReactiveMongoRepositoryTest {
+
+    private static final ObjectId TICKET = new ObjectId();
+    private static final ObjectId LABEL = new ObjectId();
+
+    private MappingMongoConverter converter;
+
+    private ReactiveMongoOperations mongoOperations;
+
+    private ExtendedReactiveMongoRepository<Ticket, String> repository;
+
+    @BeforeEach
+    public void setup() {
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        mongoOperations = mock(ReactiveMongoOperations.class);
+        when(mongoOperations.getConverter()).thenReturn(converter);
+        @SuppressWarnings("unchecked")
+        MongoPersistentEntity<Ticket> entity = (MongoPersistentEntity<Ticket>) converter
+            .getMappingContext()
+            .getRequiredPersistentEntity(Ticket.class);
+        repository = new ExtendedReactiveMongoRepository<>(new MappingMongoEntityInformation<>(entity), mongoOperations);
+    }
+
+    @Test
+    void testUpdateByIdReportsWhetherTheEntityExists() {
+        Update update = new Update().addToSet("labels", new Label().id(LABEL.toHexString()));
+        when(mongoOperations.updateFirst(any(Query.class), eq(update), eq(Ticket.class), eq("ticket")))
+            .thenReturn(Mono.just(UpdateResult.acknowledged(1L, 0L, null)))
+            .thenReturn(Mono.just(UpdateResult.acknowledged(0L, 0L, null)));
+
+        assertThat(repository.updateById(TICKET.toHexString(), update).block()).isTrue();
+        assertThat(repository.updateById(TICKET.toHexString(), update).block()).isFalse();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations, times(2)).updateFirst(query.capture(), eq(update), eq(Ticket.class), eq("ticket"));
+        assertThat(query.getValue().getQueryObject()).isEqualTo(new Document("id", TICKET.toHexString()));
+    }
+
+    @Test
+    void testLabelUpdatesAreMappedToReferences() {
+        UpdateMapper updateMapper = new UpdateMapper(converter);
+        MongoPersistentEntity<?> entity = converter.getMappingContext().getRequiredPersistentEntity(Ticket.class);
+        Label label = new Label().id(LABEL.toHexString());
+
+        Document addToSet = updateMapper.getMappedObject(new Update().addToSet("labels", label).getUpdateObject(), entity);
+        Document pull = updateMapper.getMappedObject(new Update().pull("labels", label).getUpdateObject(), entity);
+
+        assertThat(addToSet).isEqualTo(new Document("$addToSet", new Document("labels", new DBRef("label", LABEL))));
+        assertThat(pull).isEqualTo(new Document("$pull", new Document("labels", new DBRef("label", LABEL))));
+    }
+}
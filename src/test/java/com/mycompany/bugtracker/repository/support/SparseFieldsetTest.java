@@ -0,0 +1,50 @@
+package com.mycompany.bugtracker.repository.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.bugtracker.domain.Ticket;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+class SparseFieldsetTest {
+
+    @Test
+    void testParsesTheFields() {
+        assertThat(SparseFieldset.parse(" title, dueDate ,,").getProperties()).containsExactly("title", "dueDate");
+        assertThat(SparseFieldset.parse(null)).isSameAs(SparseFieldset.ALL);
+        assertThat(SparseFieldset.parse(" , ")).isSameAs(SparseFieldset.ALL);
+    }
+
+    @Test
+    void testAlwaysIncludesTheId() {
+        SparseFieldset fieldset = SparseFieldset.parse("title");
+
+        assertThat(fieldset.includes("id")).isTrue();
+        assertThat(fieldset.includes("title")).isTrue();
+        assertThat(fieldset.includes("project")).isFalse();
+        assertThat(SparseFieldset.ALL.includes("project")).isTrue();
+    }
+
+    @Test
+    void testAddsAProperty() {
+        assertThat(SparseFieldset.parse("title").with("done").getProperties()).containsExactly("title", "done");
+        assertThat(SparseFieldset.ALL.with("done")).isSameAs(SparseFieldset.ALL);
+    }
+
+    @Test
+    void testProjectsTheDocumentFields() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        QueryMapper queryMapper = new QueryMapper(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+
+        Query query = SparseFieldset.parse("title,dueDate").applyTo(new Query());
+        Document fields = queryMapper.getMappedFields(query.getFieldsObject(), mappingContext.getRequiredPersistentEntity(Ticket.class));
+
+        assertThat(fields).isEqualTo(new Document("title", 1).append("due_date", 1));
+        assertThat(SparseFieldset.ALL.applyTo(new Query()).getFieldsObject()).isEmpty();
+    }
+}
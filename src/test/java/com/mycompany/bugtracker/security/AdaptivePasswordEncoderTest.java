@@ -0,0 +1,50 @@
+package com.mycompany.bugtracker.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class AdaptivePasswordEncoderTest {
+
+    @Test
+    void testMatchesHashesOfAnyStrength() {
+        AdaptivePasswordEncoder passwordEncoder = new AdaptivePasswordEncoder(5);
+        String encodedPassword = new BCryptPasswordEncoder(4).encode("password");
+
+        assertThat(passwordEncoder.matches("password", encodedPassword)).isTrue();
+        assertThat(passwordEncoder.matches("wrong password", encodedPassword)).isFalse();
+    }
+
+    @Test
+    void testUpgradeEncodingWhenStrengthDiffers() {
+        AdaptivePasswordEncoder passwordEncoder = new AdaptivePasswordEncoder(5);
+
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password"))).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(passwordEncoder.encode("password"))).isFalse();
+    }
+
+    @Test
+    void testUpgradeEncodingIgnoresUnknownHashes() {
+        AdaptivePasswordEncoder passwordEncoder = new AdaptivePasswordEncoder(5);
+
+        assertThat(passwordEncoder.upgradeEncoding(null)).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+    }
+
+    @Test
+    void testCalibratedKeepsMinimumStrengthWhenTargetIsTooLow() {
+        AdaptivePasswordEncoder passwordEncoder = AdaptivePasswordEncoder.calibrated(Duration.ZERO, 4, 6);
+
+        assertThat(passwordEncoder.getStrength()).isEqualTo(4);
+    }
+
+    @Test
+    void testCalibratedNeverExceedsMaximumStrength() {
+        AdaptivePasswordEncoder passwordEncoder = AdaptivePasswordEncoder.calibrated(Duration.ofMinutes(1), 4, 5);
+
+        assertThat(passwordEncoder.getStrength()).isEqualTo(5);
+    }
+}
@@ -11,6 +11,7 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -108,4 +109,25 @@ class DomainUserDetailsServiceIT {
         assertThatExceptionOfType(UserNotActivatedException.class)
             .isThrownBy(() -> domainUserDetailsService.findByUsername(USER_THREE_LOGIN).block());
     }
+
+    @Test
+    void assertThatPasswordIsRehashed() {
+        UserDetails userDetails = domainUserDetailsService.findByUsername(USER_ONE_LOGIN).block();
+
+        ((ReactiveUserDetailsPasswordService) domainUserDetailsService).updatePassword(userDetails, "rehashed").block();
+
+        assertThat(userRepository.findOneByLogin(USER_ONE_LOGIN).block().getPassword()).isEqualTo("rehashed");
+    }
+
+    @Test
+    void assertThatRehashDoesNotOverwriteAConcurrentPasswordChange() {
+        UserDetails userDetails = domainUserDetailsService.findByUsername(USER_ONE_LOGIN).block();
+        User user = userRepository.findOneByLogin(USER_ONE_LOGIN).block();
+        user.setPassword("changed");
+        userRepository.save(user).block();
+
+        ((ReactiveUserDetailsPasswordService) domainUserDetailsService).updatePassword(userDetails, "rehashed").block();
+
+        assertThat(userRepository.findOneByLogin(USER_ONE_LOGIN).block().getPassword()).isEqualTo("changed");
+    }
 }
@@ -0,0 +1,182 @@
+package com.mycompany.bugtracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import com.mycompany.bugtracker.domain.BulkJob;
+import com.mycompany.bugtracker.domain.enumeration.BulkJobStatus;
+import com.mycompany.bugtracker.repository.BulkJobRepository;
+import java.util.ArrayList;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class BulkJobServiceTest {
+
+    private static final String JOB_ID = "job-1";
+
+    private BulkJobRepository bulkJobRepository;
+
+    private BulkJobService bulkJobService;
+
+    private RecordingOperation operation;
+
+    @BeforeEach
+    public void setup() {
+        bulkJobRepository = mock(BulkJobRepository.class);
+        when(bulkJobRepository.save(any(BulkJob.class)))
+            .thenAnswer(invocation -> {
+                BulkJob job = invocation.getArgument(0);
+                job.setId(JOB_ID);
+                return Mono.just(job);
+            });
+        when(bulkJobRepository.recordProgress(eq(JOB_ID), anyLong(), anyLong(), any())).thenReturn(Mono.just(true));
+        when(bulkJobRepository.finish(eq(JOB_ID), any(BulkJobStatus.class), any())).thenReturn(Mono.just(true));
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getBulkJobs().setChunkSize(2);
+        applicationProperties.getBulkJobs().setChunkDelay(Duration.ZERO);
+        operation = new RecordingOperation(Arrays.asList("a", "b", "c", "d", "e"));
+        BulkOperationFactory operationFactory = new BulkOperationFactory() {
+            @Override
+            public String getType() {
+                return "test";
+            }
+
+            @Override
+            public BulkOperation create(Map<String, String> parameters) {
+                return operation;
+            }
+        };
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Collections.singletonMap("operationFactory", operationFactory));
+        bulkJobService =
+            new BulkJobService(bulkJobRepository, beanFactory.getBeanProvider(BulkOperationFactory.class), applicationProperties);
+    }
+
+    @Test
+    void testAppliesTheOperationChunkByChunk() {
+        BulkJob job = bulkJobService.start("test", Collections.emptyMap(), operation).block();
+
+        assertThat(job.getTotal()).isEqualTo(5);
+        assertThat(job.getStatus()).isEqualTo(BulkJobStatus.RUNNING);
+        assertThat(operation.chunks).containsExactly(Arrays.asList("a", "b"), Arrays.asList("c", "d"), Arrays.asList("e"));
+        verify(bulkJobRepository).recordProgress(JOB_ID, 2, 1, "b");
+        verify(bulkJobRepository).recordProgress(JOB_ID, 2, 1, "d");
+        verify(bulkJobRepository).recordProgress(JOB_ID, 1, 1, "e");
+        assertThat(operation.completed).isTrue();
+        verify(bulkJobRepository).finish(JOB_ID, BulkJobStatus.COMPLETED, null);
+    }
+
+    @Test
+    void testStopsAfterTheChunkDuringWhichTheJobIsCancelled() {
+        when(bulkJobRepository.recordProgress(JOB_ID, 2, 1, "b")).thenReturn(Mono.just(false));
+
+        bulkJobService.start("test", Collections.emptyMap(), operation).block();
+
+        assertThat(operation.chunks).containsExactly(Arrays.asList("a", "b"));
+        verify(bulkJobRepository).finish(JOB_ID, BulkJobStatus.CANCELLED, null);
+        verify(bulkJobRepository, never()).finish(JOB_ID, BulkJobStatus.COMPLETED, null);
+    }
+
+    @Test
+    void testMarksTheJobAsFailedOnError() {
+        operation.failure = new IllegalStateException("Chunk failed");
+
+        bulkJobService.start("test", Collections.emptyMap(), operation).block();
+
+        verify(bulkJobRepository).finish(JOB_ID, BulkJobStatus.FAILED, "Chunk failed");
+        verify(bulkJobRepository, never()).recordProgress(eq(JOB_ID), anyLong(), anyLong(), any());
+        verify(bulkJobRepository, never()).finish(eq(JOB_ID), eq(BulkJobStatus.COMPLETED), isNull());
+    }
+
+    @Test
+    void testResumesTheInterruptedJobsAfterTheirCursor() {
+        BulkJob job = new BulkJob();
+        job.setId(JOB_ID);
+        job.setType("test");
+        job.setStatus(BulkJobStatus.INTERRUPTED);
+        job.setCursor("b");
+        when(bulkJobRepository.findAllByStatus(BulkJobStatus.INTERRUPTED)).thenReturn(Flux.just(job));
+        when(bulkJobRepository.claimForResume(eq(JOB_ID), any(Instant.class))).thenReturn(Mono.just(true));
+        when(bulkJobRepository.findById(JOB_ID)).thenReturn(Mono.just(job));
+
+        bulkJobService.resumeInterruptedJobs();
+
+        assertThat(operation.chunks).containsExactly(Arrays.asList("c", "d"), Arrays.asList("e"));
+        verify(bulkJobRepository).finish(JOB_ID, BulkJobStatus.COMPLETED, null);
+    }
+
+    @Test
+    void testDoesNotResumeAJobClaimedByAnotherInstance() {
+        BulkJob job = new BulkJob();
+        job.setId(JOB_ID);
+        job.setType("test");
+        job.setStatus(BulkJobStatus.INTERRUPTED);
+        job.setCursor("b");
+        when(bulkJobRepository.findAllByStatus(BulkJobStatus.INTERRUPTED)).thenReturn(Flux.just(job));
+        when(bulkJobRepository.claimForResume(eq(JOB_ID), any(Instant.class))).thenReturn(Mono.just(false));
+
+        bulkJobService.resumeInterruptedJobs();
+
+        assertThat(operation.chunks).isEmpty();
+        verify(bulkJobRepository, never()).finish(eq(JOB_ID), any(BulkJobStatus.class), any());
+    }
+
+    /**
+     * An operation on sorted ids, modifying one entity per chunk.
+     */
+    private static class RecordingOperation implements BulkOperation {
+
+        private final List<String> ids;
+
+        private final List<List<String>> chunks = new ArrayList<>();
+
+        private RuntimeException failure;
+
+        private boolean completed;
+
+        RecordingOperation(List<String> ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public Mono<Long> count() {
+            return Mono.just((long) ids.size());
+        }
+
+        @Override
+        public Flux<String> nextChunk(String afterId, int size) {
+            return Flux.fromIterable(ids).filter(id -> afterId == null || id.compareTo(afterId) > 0).take(size);
+        }
+
+        @Override
+        public Mono<Long> apply(List<String> chunk) {
+            if (failure != null) {
+                return Mono.error(failure);
+            }
+            chunks.add(chunk);
+            return Mono.just(1L);
+        }
+
+        @Override
+        public Mono<Void> complete() {
+            return Mono.fromRunnable(() -> completed = true);
+        }
+    }
+}
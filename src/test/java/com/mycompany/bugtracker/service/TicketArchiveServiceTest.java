@@ -0,0 +1,111 @@
+package com.mycompany.bugtracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import com.mycompany.bugtracker.repository.TicketArchiveRepository;
+import com.mycompany.bugtracker.repository.TicketDescriptionRepository;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+class TicketArchiveServiceTest {
+
+    private static final Instant CREATED_BEFORE = Instant.parse("2020-01-01T00:00:00Z");
+
+    private TicketRepository ticketRepository;
+
+    private TicketArchiveRepository ticketArchiveRepository;
+
+    private BulkJobService bulkJobService;
+
+    private TicketArchiveService ticketArchiveService;
+
+    @BeforeEach
+    public void setup() {
+        ticketRepository = mock(TicketRepository.class);
+        ticketArchiveRepository = mock(TicketArchiveRepository.class);
+        bulkJobService = mock(BulkJobService.class);
+        ticketArchiveService =
+            new TicketArchiveService(
+                ticketRepository,
+                ticketArchiveRepository,
+                mock(TicketDescriptionRepository.class),
+                bulkJobService,
+                mock(MongoConverter.class),
+                new ApplicationProperties()
+            );
+    }
+
+    @Test
+    void testArchivesTheOldDoneTicketsOfAChunk() {
+        when(ticketArchiveRepository.archive(any(Query.class))).thenReturn(Mono.just(2L));
+        BulkOperation operation = ticketArchiveService.create(parameters(true));
+
+        assertThat(operation.apply(Arrays.asList("t1", "t2")).block()).isEqualTo(2);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(ticketArchiveRepository).archive(query.capture());
+        List<Object> filters = query.getValue().getQueryObject().getList("$and", Object.class);
+        ObjectId createdBefore = (ObjectId) ((Document) ((Document) filters.get(0)).get("id")).get("$lt");
+        assertThat(createdBefore.getDate().toInstant()).isEqualTo(CREATED_BEFORE);
+        assertThat(filters.get(1)).isEqualTo(new Document("done", true));
+        assertThat(query.getValue().getQueryObject().get("id")).isEqualTo(new Document("$in", Arrays.asList("t1", "t2")));
+    }
+
+    @Test
+    void testArchivesTheOldTicketsWhateverTheirState() {
+        when(ticketArchiveRepository.archive(any(Query.class))).thenReturn(Mono.just(1L));
+
+        ticketArchiveService.create(parameters(false)).apply(Arrays.asList("t1")).block();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(ticketArchiveRepository).archive(query.capture());
+        assertThat(query.getValue().getQueryObject().getList("$and", Object.class)).hasSize(1);
+    }
+
+    @Test
+    void testDoesNotStartAnArchivalWhileAnotherIsRunning() {
+        when(ticketRepository.count(any(Query.class))).thenReturn(Mono.just(3L));
+        when(bulkJobService.start(eq(TicketArchiveService.JOB_TYPE), anyMap(), any()))
+            .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        assertThat(ticketArchiveService.archive().blockOptional()).isEmpty();
+    }
+
+    @Test
+    void testDoesNotStartAnArchivalWithoutTicketToArchive() {
+        when(ticketRepository.count(any(Query.class))).thenReturn(Mono.just(0L));
+
+        assertThat(ticketArchiveService.archive().blockOptional()).isEmpty();
+
+        verify(bulkJobService, never()).start(anyString(), anyMap(), any());
+    }
+
+    private static Map<String, String> parameters(boolean doneOnly) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(TicketArchiveService.CREATED_BEFORE_PARAMETER, CREATED_BEFORE.toString());
+        parameters.put(TicketArchiveService.DONE_ONLY_PARAMETER, String.valueOf(doneOnly));
+        return parameters;
+    }
+}
@@ -0,0 +1,173 @@
+package com.mycompany.bugtracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import com.mycompany.bugtracker.security.AuthoritiesConstants;
+import com.mycompany.bugtracker.service.dto.AttachmentDTO;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.stream.Collectors;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+class TicketAttachmentServiceTest {
+
+    private ReactiveGridFsOperations gridFsOperations;
+
+    private ReactiveMongoOperations mongoOperations;
+
+    private TicketAttachmentService ticketAttachmentService;
+
+    @BeforeEach
+    public void setup() {
+        gridFsOperations = mock(ReactiveGridFsOperations.class);
+        mongoOperations = mock(ReactiveMongoOperations.class);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getAttachments().setMaxSize(DataSize.ofBytes(8));
+        ticketAttachmentService = new TicketAttachmentService(gridFsOperations, mongoOperations, applicationProperties);
+    }
+
+    @Test
+    void testReadsTheChunksOfARange() {
+        when(mongoOperations.find(any(Query.class), eq(Document.class), eq("attachment.chunks")))
+            .thenReturn(Flux.just(chunk(1, "efgh"), chunk(2, "ij")));
+        AttachmentDTO attachment = new AttachmentDTO();
+        attachment.setId(new ObjectId().toHexString());
+        attachment.setChunkSize(4);
+
+        String content = ticketAttachmentService.read(attachment, 5, 8).map(TicketAttachmentServiceTest::text).collect(Collectors.joining()).block();
+
+        assertThat(content).isEqualTo("fghi");
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoOperations).find(query.capture(), eq(Document.class), eq("attachment.chunks"));
+        assertThat(query.getValue().getQueryObject().get("n")).isEqualTo(new Document("$gte", 1L).append("$lte", 2L));
+        assertThat(query.getValue().getSortObject()).isEqualTo(new Document("n", 1));
+    }
+
+    @Test
+    void testDoesNotReadAnEmptyRange() {
+        assertThat(ticketAttachmentService.read(new AttachmentDTO(), 0, -1).collectList().block()).isEmpty();
+
+        verify(mongoOperations, never()).find(any(Query.class), eq(Document.class), anyString());
+    }
+
+    @Test
+    void testRejectsAFileLargerThanTheMaximumSize() {
+        when(gridFsOperations.store(any(), anyString(), anyString(), any(Document.class)))
+            .thenAnswer(invocation -> Flux.from(invocation.<Publisher<DataBuffer>>getArgument(0)).then(Mono.just(new ObjectId())));
+        Flux<DataBuffer> content = Flux.fromIterable(Arrays.asList("abcd", "efgh", "i")).map(TicketAttachmentServiceTest::buffer);
+
+        assertThatThrownBy(() -> ticketAttachmentService.store("t1", "log.txt", "text/plain", content).block())
+            .isInstanceOf(AttachmentTooLargeException.class);
+        verify(gridFsOperations, never()).findOne(any(Query.class));
+    }
+
+    @Test
+    void testStoresTheUploaderOfAFile() {
+        when(gridFsOperations.store(any(), anyString(), anyString(), any(Document.class)))
+            .thenAnswer(invocation -> Flux.from(invocation.<Publisher<DataBuffer>>getArgument(0)).then(Mono.just(new ObjectId())));
+        when(gridFsOperations.findOne(any(Query.class))).thenReturn(Mono.just(file("user")));
+
+        ticketAttachmentService
+            .store("t1", "log.txt", "text/plain", Flux.just(buffer("abcd")))
+            .contextWrite(authenticatedAs("user"))
+            .block();
+
+        ArgumentCaptor<Document> metadata = ArgumentCaptor.forClass(Document.class);
+        verify(gridFsOperations).store(any(), eq("log.txt"), eq("text/plain"), metadata.capture());
+        assertThat(metadata.getValue()).isEqualTo(new Document("ticketId", "t1").append("uploadedBy", "user"));
+    }
+
+    @Test
+    void testDeletesAnAttachmentOfTheCurrentUser() {
+        GridFSFile file = file("user");
+        when(gridFsOperations.findOne(any(Query.class))).thenReturn(Mono.just(file));
+        when(gridFsOperations.delete(any(Query.class))).thenReturn(Mono.empty());
+
+        ticketAttachmentService.delete("t1", file.getObjectId().toHexString()).contextWrite(authenticatedAs("user")).block();
+
+        verify(gridFsOperations).delete(any(Query.class));
+    }
+
+    @Test
+    void testDoesNotDeleteAnAttachmentOfAnotherUser() {
+        GridFSFile file = file("another-user");
+        when(gridFsOperations.findOne(any(Query.class))).thenReturn(Mono.just(file));
+
+        Mono<Void> deletion = ticketAttachmentService.delete("t1", file.getObjectId().toHexString()).contextWrite(authenticatedAs("user"));
+
+        assertThatThrownBy(deletion::block).isInstanceOf(AccessDeniedException.class);
+        verify(gridFsOperations, never()).delete(any(Query.class));
+    }
+
+    @Test
+    void testDeletesAnAttachmentOfAnotherUserAsAnAdministrator() {
+        GridFSFile file = file("another-user");
+        when(gridFsOperations.findOne(any(Query.class))).thenReturn(Mono.just(file));
+        when(gridFsOperations.delete(any(Query.class))).thenReturn(Mono.empty());
+
+        ticketAttachmentService
+            .delete("t1", file.getObjectId().toHexString())
+            .contextWrite(authenticatedAs("admin", AuthoritiesConstants.ADMIN))
+            .block();
+
+        verify(gridFsOperations).delete(any(Query.class));
+    }
+
+    private static GridFSFile file(String uploadedBy) {
+        Document metadata = new Document("ticketId", "t1").append("uploadedBy", uploadedBy).append("_contentType", "text/plain");
+        return new GridFSFile(new BsonObjectId(new ObjectId()), "log.txt", 4, 255 * 1024, new Date(), metadata);
+    }
+
+    private static Context authenticatedAs(String login, String... authorities) {
+        return ReactiveSecurityContextHolder.withAuthentication(
+            new UsernamePasswordAuthenticationToken(
+                login,
+                "password",
+                Arrays.stream(authorities).map(SimpleGrantedAuthority::new).collect(Collectors.toList())
+            )
+        );
+    }
+
+    private static Document chunk(int n, String data) {
+        return new Document("n", n).append("data", new Binary(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static DataBuffer buffer(String text) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String text(DataBuffer buffer) {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+}
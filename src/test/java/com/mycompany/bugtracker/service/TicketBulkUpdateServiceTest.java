@@ -0,0 +1,115 @@
+package com.mycompany.bugtracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.result.UpdateResult;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
+import com.mycompany.bugtracker.service.criteria.TicketCriteria;
+import com.mycompany.bugtracker.service.dto.TicketBulkUpdateDTO;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class TicketBulkUpdateServiceTest {
+
+    private static final ObjectId LABEL_1 = new ObjectId();
+    private static final ObjectId LABEL_2 = new ObjectId();
+
+    private MappingMongoConverter converter;
+
+    private MongoPersistentEntity<?> ticketEntity;
+
+    private TicketRepository ticketRepository;
+
+    private BulkJobService bulkJobService;
+
+    private TicketBulkUpdateService ticketBulkUpdateService;
+
+    @BeforeEach
+    public void setup() {
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        ticketEntity = converter.getMappingContext().getRequiredPersistentEntity(Ticket.class);
+        ticketRepository = mock(TicketRepository.class);
+        bulkJobService = mock(BulkJobService.class);
+        ticketBulkUpdateService = new TicketBulkUpdateService(ticketRepository, bulkJobService, converter);
+    }
+
+    @Test
+    void testBuildsTheUpdatesOfTheChanges() {
+        TicketBulkUpdateDTO bulkUpdate = new TicketBulkUpdateDTO();
+        bulkUpdate.setDone(true);
+        bulkUpdate.setUnassign(true);
+        bulkUpdate.setRemoveLabelIds(new LinkedHashSet<>(Collections.singletonList(LABEL_1.toHexString())));
+        bulkUpdate.setAddLabelIds(new LinkedHashSet<>(Arrays.asList(LABEL_1.toHexString(), LABEL_2.toHexString())));
+
+        UpdateMapper updateMapper = new UpdateMapper(converter);
+        List<Document> updates = ticketBulkUpdateService
+            .buildUpdates(bulkUpdate)
+            .stream()
+            .map(Update::getUpdateObject)
+            .map(update -> updateMapper.getMappedObject(update, ticketEntity))
+            .collect(Collectors.toList());
+
+        assertThat(updates)
+            .containsExactly(
+                new Document("$set", new Document("done", true))
+                    .append("$unset", new Document("assignedTo", 1))
+                    .append("$pullAll", new Document("labels", Collections.singletonList(new DBRef("label", LABEL_1)))),
+                new Document(
+                    "$addToSet",
+                    new Document("labels", new Document("$each", Arrays.asList(new DBRef("label", LABEL_1), new DBRef("label", LABEL_2))))
+                )
+            );
+    }
+
+    @Test
+    void testAppliesAllTheUpdatesToTheTicketsMatchingBeforeTheFirstOne() {
+        TicketCriteria criteria = new TicketCriteria();
+        criteria.labelsId().setEquals(LABEL_1.toHexString());
+        TicketBulkUpdateDTO bulkUpdate = new TicketBulkUpdateDTO();
+        bulkUpdate.setCriteria(criteria);
+        bulkUpdate.setRemoveLabelIds(Collections.singleton(LABEL_1.toHexString()));
+        bulkUpdate.setAddLabelIds(Collections.singleton(LABEL_2.toHexString()));
+        when(ticketRepository.findAll(any(Query.class), any(SparseFieldset.class))).thenReturn(Flux.just(new Ticket().id("t1")));
+        when(ticketRepository.updateMulti(any(Query.class), any(Update.class))).thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+        ticketBulkUpdateService.updateMany(bulkUpdate);
+        ArgumentCaptor<BulkOperation> operation = ArgumentCaptor.forClass(BulkOperation.class);
+        verify(bulkJobService).start(eq(TicketBulkUpdateService.JOB_TYPE), anyMap(), operation.capture());
+
+        assertThat(operation.getValue().apply(Arrays.asList("t1", "t2")).block()).isEqualTo(1);
+        ArgumentCaptor<Query> updated = ArgumentCaptor.forClass(Query.class);
+        verify(ticketRepository, times(2)).updateMulti(updated.capture(), any(Update.class));
+        // Both updates target the matching tickets by id only, as the first one removes the label of the criteria
+        assertThat(updated.getAllValues())
+            .extracting(Query::getQueryObject)
+            .containsOnly(new Document("id", new Document("$in", Collections.singletonList("t1"))));
+    }
+}
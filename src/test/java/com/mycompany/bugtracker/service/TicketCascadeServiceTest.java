@@ -0,0 +1,111 @@
+package com.mycompany.bugtracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.result.UpdateResult;
+import com.mycompany.bugtracker.domain.Project;
+import com.mycompany.bugtracker.domain.User;
+import com.mycompany.bugtracker.repository.ProjectRepository;
+import com.mycompany.bugtracker.repository.TicketArchiveRepository;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+class TicketCascadeServiceTest {
+
+    private TicketRepository ticketRepository;
+
+    private TicketArchiveRepository ticketArchiveRepository;
+
+    private ProjectRepository projectRepository;
+
+    private BulkJobService bulkJobService;
+
+    private TicketCascadeService ticketCascadeService;
+
+    @BeforeEach
+    public void setup() {
+        ticketRepository = mock(TicketRepository.class);
+        ticketArchiveRepository = mock(TicketArchiveRepository.class);
+        projectRepository = mock(ProjectRepository.class);
+        bulkJobService = mock(BulkJobService.class);
+        when(projectRepository.deleteById(anyString())).thenReturn(Mono.empty());
+        ticketCascadeService =
+            new TicketCascadeService(
+                ticketRepository,
+                ticketArchiveRepository,
+                projectRepository,
+                bulkJobService,
+                mock(MongoConverter.class)
+            );
+    }
+
+    @Test
+    void testDeletesAProjectWithoutTicketRightAway() {
+        when(ticketRepository.count(any(Query.class))).thenReturn(Mono.just(0L));
+
+        assertThat(ticketCascadeService.deleteProject("p1", TicketCascadeService.Policy.UNASSIGN, null).blockOptional()).isEmpty();
+
+        verify(projectRepository).deleteById("p1");
+        verify(bulkJobService, never()).start(anyString(), anyMap(), any());
+    }
+
+    @Test
+    void testArchivesTheTicketsOfAProjectThenDeletesIt() {
+        when(ticketArchiveRepository.archive(any(Query.class))).thenReturn(Mono.just(2L));
+        BulkOperation operation = ticketCascadeService.create(parameters("project", "p1", "ARCHIVE", null));
+
+        assertThat(operation.apply(Arrays.asList("t1", "t2")).block()).isEqualTo(2);
+        verify(projectRepository, never()).deleteById(anyString());
+        operation.complete().block();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(ticketArchiveRepository).archive(query.capture());
+        assertThat(query.getValue().getQueryObject().get("project")).isEqualTo(new Project().id("p1"));
+        assertThat(query.getValue().getQueryObject().get("id")).isEqualTo(new Document("$in", Arrays.asList("t1", "t2")));
+        verify(projectRepository).deleteById("p1");
+    }
+
+    @Test
+    void testReassignsTheTicketsOfAUser() {
+        when(ticketRepository.updateMulti(any(Query.class), any(Update.class)))
+            .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        BulkOperation operation = ticketCascadeService.create(parameters("assignedTo", "u1", "REASSIGN", "u2"));
+
+        assertThat(operation.apply(Arrays.asList("t1")).block()).isEqualTo(1);
+        operation.complete().block();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(ticketRepository).updateMulti(any(Query.class), update.capture());
+        User target = (User) update.getValue().getUpdateObject().get("$set", Document.class).get("assignedTo");
+        assertThat(target.getId()).isEqualTo("u2");
+        verify(projectRepository, never()).deleteById(anyString());
+    }
+
+    private static Map<String, String> parameters(String reference, String id, String policy, String target) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(TicketCascadeService.REFERENCE_PARAMETER, reference);
+        parameters.put(TicketCascadeService.ID_PARAMETER, id);
+        parameters.put(TicketCascadeService.POLICY_PARAMETER, policy);
+        if (target != null) {
+            parameters.put(TicketCascadeService.TARGET_PARAMETER, target);
+        }
+        return parameters;
+    }
+}
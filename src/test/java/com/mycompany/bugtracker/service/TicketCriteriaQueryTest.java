@@ -0,0 +1,63 @@
+package com.mycompany.bugtracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mongodb.DBRef;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.service.criteria.TicketCriteria;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+
+class TicketCriteriaQueryTest {
+
+    private static final ObjectId PROJECT = new ObjectId();
+    private static final ObjectId LABEL_1 = new ObjectId();
+
+    private MappingMongoConverter converter;
+
+    private MongoPersistentEntity<?> ticketEntity;
+
+    @BeforeEach
+    public void setup() {
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        ticketEntity = converter.getMappingContext().getRequiredPersistentEntity(Ticket.class);
+    }
+
+    @Test
+    void testBuildsTheQueryOfTheCriteria() {
+        TicketCriteria criteria = new TicketCriteria();
+        criteria.done().setEquals(false);
+        criteria.projectId().setEquals(PROJECT.toHexString());
+        criteria.assignedToId().setSpecified(false);
+        criteria.labelsId().setIn(Collections.singletonList(LABEL_1.toHexString()));
+        criteria.title().setContains("a.b");
+
+        Document query = new QueryMapper(converter).getMappedObject(
+            TicketCriteriaQuery.build(criteria).getQueryObject(),
+            ticketEntity
+        );
+
+        List<Object> filters = query.getList("$and", Object.class);
+        Pattern title = (Pattern) ((Document) filters.get(0)).get("title");
+        assertThat(title.pattern()).isEqualTo(Pattern.quote("a.b"));
+        assertThat(title.flags()).isEqualTo(Pattern.CASE_INSENSITIVE);
+        assertThat(filters.subList(1, filters.size()))
+            .containsExactly(
+                new Document("done", false),
+                new Document("project", new DBRef("project", PROJECT)),
+                new Document("assignedTo", new Document("$exists", false)),
+                new Document("labels", new Document("$in", Collections.singletonList(new DBRef("label", LABEL_1))))
+            );
+    }
+}
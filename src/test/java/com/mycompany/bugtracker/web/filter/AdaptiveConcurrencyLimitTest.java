@@ -0,0 +1,104 @@
+package com.mycompany.bugtracker.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimitTest {
+
+    @Test
+    void testRejectsBeyondLimit() {
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(2, 1, 10, 0.2);
+
+        assertThat(concurrencyLimit.tryAcquire()).isTrue();
+        assertThat(concurrencyLimit.tryAcquire()).isTrue();
+        assertThat(concurrencyLimit.tryAcquire()).isFalse();
+
+        concurrencyLimit.release();
+        assertThat(concurrencyLimit.tryAcquire()).isTrue();
+        assertThat(concurrencyLimit.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void testGrowsWhileLatencyIsStable() {
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(10, 5, 100, 0.2);
+        saturate(concurrencyLimit);
+
+        for (int i = 0; i < 100; i++) {
+            concurrencyLimit.onSample(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        assertThat(concurrencyLimit.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void testShrinksWhenLatencyInflates() {
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(50, 5, 100, 0.2);
+        saturate(concurrencyLimit);
+        for (int i = 0; i < AdaptiveConcurrencyLimit.SAMPLE_BATCH; i++) {
+            concurrencyLimit.onSample(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            concurrencyLimit.onSample(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        assertThat(concurrencyLimit.getLimit()).isLessThan(50).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    void testDoesNotGrowWhenUnused() {
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(10, 5, 100, 0.2);
+
+        for (int i = 0; i < 100; i++) {
+            concurrencyLimit.onSample(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        assertThat(concurrencyLimit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void testUpdatesOncePerBatchOfSamples() {
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(50, 5, 100, 0.2);
+        saturate(concurrencyLimit);
+        for (int i = 0; i < AdaptiveConcurrencyLimit.SAMPLE_BATCH; i++) {
+            concurrencyLimit.onSample(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        for (int i = 0; i < AdaptiveConcurrencyLimit.SAMPLE_BATCH - 1; i++) {
+            concurrencyLimit.onSample(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        assertThat(concurrencyLimit.getLimit()).isEqualTo(50);
+
+        concurrencyLimit.onSample(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(concurrencyLimit.getLimit()).isLessThan(50);
+    }
+
+    @Test
+    void testSamplesFromConcurrentThreads() throws InterruptedException {
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(10, 5, 100, 0.2);
+        saturate(concurrencyLimit);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] =
+                new Thread(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        concurrencyLimit.onSample(TimeUnit.MILLISECONDS.toNanos(5));
+                    }
+                });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(concurrencyLimit.getLimit()).isGreaterThan(10).isLessThanOrEqualTo(100);
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimit concurrencyLimit) {
+        while (concurrencyLimit.tryAcquire()) {
+            // Fill every slot, as when the application is busy
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.mycompany.bugtracker.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.zalando.problem.ProblemModule;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        concurrencyLimit = new AdaptiveConcurrencyLimit(2, 1, 10, 0.2);
+        filter =
+            new AdmissionControlFilter(
+                new TokenBucketRateLimiter(5, Duration.ofMinutes(1), 100),
+                Collections.singletonList(
+                    new AdmissionControlFilter.RouteLimit(
+                        PathPatternParser.defaultInstance.parse("/api/tickets/**"),
+                        new TokenBucketRateLimiter(2, Duration.ofMinutes(1), 100)
+                    )
+                ),
+                1,
+                concurrencyLimit,
+                new ObjectMapper().registerModule(new ProblemModule()),
+                meterRegistry
+            );
+    }
+
+    @Test
+    void testRejectsUserBeyondRouteRate() {
+        call("user", "/api/tickets");
+        call("user", "/api/tickets/1");
+
+        assertThat(call("user", "/api/tickets")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(call("user", "/api/projects")).isNull();
+        assertThat(call("another-user", "/api/tickets")).isNull();
+        assertThat(meterRegistry.get("bugtracker.admission.rejected").tag("reason", "route-rate").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testDescribesTheRejectionAsAProblem() throws Exception {
+        filter =
+            new AdmissionControlFilter(
+                new TokenBucketRateLimiter(5, Duration.ofMinutes(1), 100),
+                Collections.singletonList(
+                    new AdmissionControlFilter.RouteLimit(
+                        PathPatternParser.defaultInstance.parse("/api/\"quoted\"\\tickets"),
+                        new TokenBucketRateLimiter(1, Duration.ofMinutes(1), 100)
+                    )
+                ),
+                1,
+                concurrencyLimit,
+                new ObjectMapper().registerModule(new ProblemModule()),
+                meterRegistry
+            );
+        call("user", "/api/\"quoted\"\\tickets");
+
+        MockServerWebExchange exchange = exchange("/api/\"quoted\"\\tickets");
+        filter.filter(exchange, it -> Mono.empty()).contextWrite(authenticatedAs("user")).block();
+
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        JsonNode problem = new ObjectMapper().readTree(exchange.getResponse().getBodyAsString().block());
+        assertThat(problem.get("status").asInt()).isEqualTo(429);
+        assertThat(problem.get("detail").asText()).isEqualTo("Request rate limit exceeded for /api/\"quoted\"\\tickets");
+    }
+
+    @Test
+    void testRejectsUserBeyondRate() {
+        for (int i = 0; i < 5; i++) {
+            call("user", "/api/projects");
+        }
+
+        MockServerWebExchange exchange = exchange("/api/projects");
+        filter.filter(exchange, it -> Mono.empty()).contextWrite(authenticatedAs("user")).block();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("60");
+        assertThat(meterRegistry.get("bugtracker.admission.rejected").tag("reason", "user-rate").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRejectsConcurrentRequestsOfTheSameUser() {
+        Sinks.Empty<Void> pending = Sinks.empty();
+        filter.filter(exchange("/api/projects"), it -> pending.asMono()).contextWrite(authenticatedAs("user")).subscribe();
+
+        assertThat(call("user", "/api/projects")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(meterRegistry.get("bugtracker.admission.rejected").tag("reason", "user-concurrency").counter().count())
+            .isEqualTo(1);
+
+        pending.tryEmitEmpty();
+        call("user", "/api/projects");
+        assertThat(concurrencyLimit.getInFlight()).isZero();
+    }
+
+    @Test
+    void testRejectsBeyondGlobalConcurrencyLimit() {
+        Sinks.Empty<Void> pending = Sinks.empty();
+        filter.filter(exchange("/api/projects"), it -> pending.asMono()).contextWrite(authenticatedAs("user")).subscribe();
+        filter.filter(exchange("/api/projects"), it -> pending.asMono()).contextWrite(authenticatedAs("another-user")).subscribe();
+
+        assertThat(call("third-user", "/api/projects")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(meterRegistry.get("bugtracker.admission.rejected").tag("reason", "concurrency").counter().count()).isEqualTo(1);
+
+        pending.tryEmitEmpty();
+        assertThat(concurrencyLimit.getInFlight()).isZero();
+    }
+
+    @Test
+    void testIgnoresRequestsOutsideOfTheApi() {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            filter.filter(exchange("/management/health"), it -> Mono.fromRunnable(calls::incrementAndGet)).block();
+        }
+
+        assertThat(calls.get()).isEqualTo(10);
+    }
+
+    /**
+     * @return the status of the response, set only by a rejection.
+     */
+    private HttpStatus call(String user, String path) {
+        MockServerWebExchange exchange = exchange(path);
+        filter.filter(exchange, it -> Mono.empty()).contextWrite(authenticatedAs(user)).block();
+        return exchange.getResponse().getStatusCode();
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).remoteAddress(new InetSocketAddress("192.168.0.1", 8080)));
+    }
+
+    private static Context authenticatedAs(String user) {
+        return ReactiveSecurityContextHolder.withAuthentication(
+            new UsernamePasswordAuthenticationToken(user, "password", Collections.emptyList())
+        );
+    }
+}
@@ -0,0 +1,139 @@
+package com.mycompany.bugtracker.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.zalando.problem.ProblemModule;
+import reactor.core.publisher.Mono;
+
+class LoginRateLimitingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LoginRateLimitingFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter =
+            new LoginRateLimitingFilter(
+                new TokenBucketRateLimiter(3, Duration.ofMinutes(1), 100),
+                new TokenBucketRateLimiter(2, Duration.ofMinutes(1), 100),
+                new ObjectMapper().registerModule(new ProblemModule()),
+                meterRegistry
+            );
+    }
+
+    @Test
+    void testReplaysBodyToTheController() {
+        AtomicReference<String> body = new AtomicReference<>();
+
+        filter
+            .filter(
+                authenticate("192.168.0.1", "user"),
+                exchange ->
+                    DataBufferUtils
+                        .join(exchange.getRequest().getBody())
+                        .doOnNext(buffer -> body.set(buffer.toString(StandardCharsets.UTF_8)))
+                        .then()
+            )
+            .block();
+
+        assertThat(body.get()).isEqualTo(credentials("user"));
+    }
+
+    @Test
+    void testRejectsTooManyAttemptsForTheSameLogin() {
+        filter.filter(authenticate("192.168.0.1", "user"), exchange -> Mono.empty()).block();
+        filter.filter(authenticate("192.168.0.2", "USER"), exchange -> Mono.empty()).block();
+        MockServerWebExchange rejected = authenticate("192.168.0.3", "user");
+
+        filter.filter(rejected, exchange -> Mono.error(new IllegalStateException("Not rejected"))).block();
+
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("60");
+        assertThat(rejected.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        assertThat(rejected.getResponse().getBodyAsString().block()).contains("\"status\":429");
+        assertThat(meterRegistry.get("bugtracker.login.rate.limited").tag("limit", "login").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRejectsTooManyAttemptsFromTheSameAddress() {
+        for (int i = 0; i < 3; i++) {
+            filter.filter(authenticate("192.168.0.1", "user-" + i), exchange -> Mono.empty()).block();
+        }
+
+        MockServerWebExchange rejected = authenticate("192.168.0.1", "another-user");
+        filter.filter(rejected, exchange -> Mono.error(new IllegalStateException("Not rejected"))).block();
+
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(meterRegistry.get("bugtracker.login.rate.limited").tag("limit", "ip").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSendsRetryAfterWithTheRejection() {
+        WebTestClient client = WebTestClient.bindToWebHandler(exchange -> exchange.getResponse().setComplete()).webFilter(filter).build();
+        for (int i = 0; i < 2; i++) {
+            authenticate(client).expectStatus().isOk();
+        }
+
+        authenticate(client)
+            .expectStatus()
+            .isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+            .expectHeader()
+            .valueEquals(HttpHeaders.RETRY_AFTER, "60")
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+            .expectBody()
+            .jsonPath("$.status")
+            .isEqualTo(429)
+            .jsonPath("$.detail")
+            .isEqualTo("Too many authentication attempts");
+    }
+
+    @Test
+    void testIgnoresOtherRequests() {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/authenticate").remoteAddress(new InetSocketAddress("192.168.0.1", 8080))
+            );
+            filter.filter(exchange, it -> Mono.fromRunnable(calls::incrementAndGet)).block();
+        }
+
+        assertThat(calls.get()).isEqualTo(5);
+    }
+
+    private static MockServerWebExchange authenticate(String address, String login) {
+        return MockServerWebExchange.from(
+            MockServerHttpRequest
+                .post("/api/authenticate")
+                .remoteAddress(new InetSocketAddress(address, 8080))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(credentials(login))
+        );
+    }
+
+    private static WebTestClient.ResponseSpec authenticate(WebTestClient client) {
+        return client.post().uri("/api/authenticate").contentType(MediaType.APPLICATION_JSON).bodyValue(credentials("user")).exchange();
+    }
+
+    private static String credentials(String login) {
+        return "{\"username\":\"" + login + "\",\"password\":\"password\"}";
+    }
+}
@@ -0,0 +1,48 @@
+package com.mycompany.bugtracker.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.bugtracker.monitoring.CommandContext;
+import com.mycompany.bugtracker.monitoring.RequestCost;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+class RequestCostFilterTest {
+
+    @Test
+    void testReportsCostInHeader() {
+        RequestCostFilter filter = new RequestCostFilter(true, true);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/tickets"));
+
+        filter
+            .filter(
+                exchange,
+                e ->
+                    Mono
+                        .deferContextual(context -> {
+                            RequestCost cost = context.get(RequestCost.class);
+                            cost.addRoundTrip(100, 2000, 3);
+                            assertThat(CommandContext.current().get(RequestCost.class)).isSameAs(cost);
+                            return Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(new byte[] { '[', ']' }));
+                        })
+                        .flatMap(buffer -> e.getResponse().writeWith(Mono.just(buffer)))
+            )
+            .block();
+
+        assertThat(exchange.getResponse().getHeaders().getFirst(RequestCostFilter.REQUEST_COST_HEADER))
+            .isEqualTo("db-round-trips=1, db-documents=3, db-bytes-sent=100, db-bytes-received=2000, serialization-ms=0.00");
+    }
+
+    @Test
+    void testIgnoresNonApiRequests() {
+        RequestCostFilter filter = new RequestCostFilter(true, false);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/index.html"));
+
+        filter.filter(exchange, e -> e.getResponse().setComplete()).block();
+
+        assertThat(exchange.getResponse().getHeaders().containsKey(RequestCostFilter.REQUEST_COST_HEADER)).isFalse();
+    }
+}
@@ -0,0 +1,53 @@
+package com.mycompany.bugtracker.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testAllowsBurstUpToCapacity() {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(3, Duration.ofSeconds(10), 100, clock::get);
+
+        assertThat(rateLimiter.tryAcquire("key")).isZero();
+        assertThat(rateLimiter.tryAcquire("key")).isZero();
+        assertThat(rateLimiter.tryAcquire("key")).isZero();
+        assertThat(rateLimiter.tryAcquire("key")).isEqualTo(Duration.ofSeconds(10));
+        assertThat(rateLimiter.tryAcquire("other-key")).isZero();
+    }
+
+    @Test
+    void testRefillsOneTokenPerPeriod() {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(2, Duration.ofSeconds(10), 100, clock::get);
+        rateLimiter.tryAcquire("key");
+        rateLimiter.tryAcquire("key");
+
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertThat(rateLimiter.tryAcquire("key")).isEqualTo(Duration.ofSeconds(6));
+
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(rateLimiter.tryAcquire("key")).isZero();
+        assertThat(rateLimiter.tryAcquire("key")).isEqualTo(Duration.ofSeconds(10));
+
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+        assertThat(rateLimiter.tryAcquire("key")).isZero();
+        assertThat(rateLimiter.tryAcquire("key")).isZero();
+        assertThat(rateLimiter.tryAcquire("key")).isPositive();
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedBuckets() {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1, Duration.ofSeconds(10), 1, clock::get);
+
+        for (int i = 0; i < 1000; i++) {
+            rateLimiter.tryAcquire("key-" + i);
+        }
+
+        assertThat(rateLimiter.size()).isLessThanOrEqualTo(64);
+    }
+}
@@ -0,0 +1,84 @@
+package com.mycompany.bugtracker.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.bugtracker.monitoring.tracing.Span;
+import com.mycompany.bugtracker.monitoring.tracing.Tracer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+class TracingWebFilterTest {
+
+    private List<Span> exported;
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    private static final PathPattern ROUTE = PathPatternParser.defaultInstance.parse("/api/tickets/{id}");
+
+    private Tracer tracer;
+
+    private TracingWebFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        exported = new CopyOnWriteArrayList<>();
+        tracer = new Tracer(exported::add, 1.0);
+        filter = new TracingWebFilter(tracer);
+    }
+
+    @Test
+    void testTracesRequestAndSecurityFilters() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/tickets/1").header(TracingWebFilter.TRACEPARENT_HEADER, TRACEPARENT)
+        );
+        WebFilter securityFilter = new TracedWebFilter("JWTFilter", (e, chain) -> chain.filter(e), tracer);
+
+        filter
+            .filter(
+                exchange,
+                e ->
+                    securityFilter.filter(
+                        e,
+                        filtered ->
+                            tracer.trace(
+                                "TicketResource.getTicket",
+                                Mono.fromRunnable(() -> {
+                                    e.getAttributes().put(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE);
+                                    e.getResponse().setStatusCode(HttpStatus.OK);
+                                })
+                            )
+                    )
+            )
+            .block();
+
+        assertThat(exported).extracting(Span::getName).containsExactly("JWTFilter", "TicketResource.getTicket", "GET /api/tickets/{id}");
+        Span request = exported.get(2);
+        assertThat(request.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(request.getParentId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(request.getTags()).containsEntry("http.route", "/api/tickets/{id}").containsEntry("http.status_code", "200");
+        // The rest of the chain is a sibling of the filter
+        assertThat(exported.get(0).getParentId()).isEqualTo(request.getSpanId());
+        assertThat(exported.get(1).getParentId()).isEqualTo(request.getSpanId());
+        assertThat(exchange.getResponse().getHeaders().getFirst(TracingWebFilter.TRACERESPONSE_HEADER)).isEqualTo(request.toTraceparent());
+    }
+
+    @Test
+    void testSkipsManagementRequests() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/management/health"));
+
+        filter.filter(exchange, e -> Mono.empty()).block();
+
+        assertThat(exported).isEmpty();
+        assertThat(exchange.getResponse().getHeaders().containsKey(TracingWebFilter.TRACERESPONSE_HEADER)).isFalse();
+    }
+}
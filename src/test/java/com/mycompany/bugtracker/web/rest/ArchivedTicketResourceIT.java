@@ -0,0 +1,161 @@
+package com.mycompany.bugtracker.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import com.mycompany.bugtracker.IntegrationTest;
+import com.mycompany.bugtracker.domain.BulkJob;
+import com.mycompany.bugtracker.domain.Label;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.domain.enumeration.BulkJobStatus;
+import com.mycompany.bugtracker.repository.BulkJobRepository;
+import com.mycompany.bugtracker.repository.LabelRepository;
+import com.mycompany.bugtracker.repository.TicketArchiveRepository;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import com.mycompany.bugtracker.service.TicketArchiveService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link ArchivedTicketResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient
+@WithMockUser
+class ArchivedTicketResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/archived-tickets";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private BulkJobRepository bulkJobRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TicketArchiveService ticketArchiveService;
+
+    @Autowired
+    private ReactiveMongoOperations mongoOperations;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private Ticket oldDoneTicket;
+
+    private Ticket oldOpenTicket;
+
+    private Ticket recentDoneTicket;
+
+    @BeforeEach
+    public void initTest() {
+        ticketRepository.deleteAll().block();
+        labelRepository.deleteAll().block();
+        mongoOperations.dropCollection(TicketArchiveRepository.COLLECTION_NAME).block();
+        Date twoYearsAgo = Date.from(Instant.now().minus(Duration.ofDays(730)));
+        oldDoneTicket = ticketRepository.save(createTicket(new ObjectId(twoYearsAgo), true)).block();
+        oldOpenTicket = ticketRepository.save(createTicket(new ObjectId(twoYearsAgo), false)).block();
+        recentDoneTicket = ticketRepository.save(createTicket(new ObjectId(), true)).block();
+    }
+
+    private static Ticket createTicket(ObjectId id, boolean done) {
+        Ticket ticket = TicketResourceIT.createEntity().done(done);
+        ticket.setId(id.toHexString());
+        return ticket;
+    }
+
+    @Test
+    void archiveOldDoneTickets() throws Exception {
+        archiveTickets();
+
+        assertThat(ticketRepository.findAll().map(Ticket::getId).collectList().block())
+            .containsExactlyInAnyOrder(oldOpenTicket.getId(), recentDoneTicket.getId());
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, oldDoneTicket.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.id")
+            .isEqualTo(oldDoneTicket.getId())
+            .jsonPath("$.title")
+            .isEqualTo(oldDoneTicket.getTitle());
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, recentDoneTicket.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+    }
+
+    @Test
+    void archiveOldDoneTicketsPullsThemFromTheirLabels() throws Exception {
+        Label label = labelRepository.save(LabelResourceIT.createEntity().addTicket(oldDoneTicket).addTicket(oldOpenTicket)).block();
+
+        archiveTickets();
+
+        Document labelDocument = mongoOperations.findById(label.getId(), Document.class, "label").block();
+        assertThat(labelDocument.getList("tickets", DBRef.class))
+            .extracting(ref -> ref.getId().toString())
+            .containsExactly(oldOpenTicket.getId());
+    }
+
+    @Test
+    void searchArchivedTickets() throws Exception {
+        archiveTickets();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?done.equals=true&title.contains={title}&sort=id,asc", oldDoneTicket.getTitle())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(contains(oldDoneTicket.getId()));
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?done.equals=false")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "0");
+    }
+
+    private void archiveTickets() throws InterruptedException {
+        BulkJob job = ticketArchiveService.archive().block();
+        assertThat(job.getTotal()).isEqualTo(1);
+        for (int i = 0; i < 100 && job.getStatus() == BulkJobStatus.RUNNING; i++) {
+            Thread.sleep(100);
+            job = bulkJobRepository.findById(job.getId()).block();
+        }
+        assertThat(job.getStatus()).isEqualTo(BulkJobStatus.COMPLETED);
+    }
+}
@@ -5,15 +5,22 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 
 import com.mycompany.bugtracker.IntegrationTest;
+import com.mycompany.bugtracker.domain.BulkJob;
 import com.mycompany.bugtracker.domain.Project;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.domain.enumeration.BulkJobStatus;
 import com.mycompany.bugtracker.repository.ProjectRepository;
+import com.mycompany.bugtracker.repository.TicketArchiveRepository;
+import com.mycompany.bugtracker.repository.TicketRepository;
 import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
+import org.bson.Document;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -35,6 +42,12 @@ class ProjectResourceIT {
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ReactiveMongoOperations mongoOperations;
+
     @Autowired
     private WebTestClient webTestClient;
 
@@ -65,6 +78,8 @@ class ProjectResourceIT {
     @BeforeEach
     public void initTest() {
         projectRepository.deleteAll().block();
+        ticketRepository.deleteAll().block();
+        mongoOperations.dropCollection(TicketArchiveRepository.COLLECTION_NAME).block();
         project = createEntity();
     }
 
@@ -417,4 +432,76 @@ class ProjectResourceIT {
         List<Project> projectList = projectRepository.findAll().collectList().block();
         assertThat(projectList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    void deleteProjectReassigningItsTickets() throws Exception {
+        // Initialize the database
+        projectRepository.save(project).block();
+        Project otherProject = projectRepository.save(createUpdatedEntity()).block();
+        Ticket ticket = ticketRepository.save(TicketResourceIT.createEntity().project(project)).block();
+
+        // Delete the project, moving its tickets to the other one
+        BulkJob job = webTestClient
+            .delete()
+            .uri(ENTITY_API_URL_ID + "?tickets=REASSIGN&reassignTo={target}", project.getId(), otherProject.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .expectHeader()
+            .valueMatches("Location", "/api/bulk-jobs/.+")
+            .expectBody(BulkJob.class)
+            .returnResult()
+            .getResponseBody();
+
+        job = TicketResourceIT.awaitBulkJob(webTestClient, job.getId());
+        assertThat(job.getStatus()).isEqualTo(BulkJobStatus.COMPLETED);
+        assertThat(job.getModified()).isEqualTo(1);
+        assertThat(projectRepository.existsById(project.getId()).block()).isFalse();
+        assertThat(ticketRepository.findOneWithEagerRelationships(ticket.getId()).block().getProject().getId())
+            .isEqualTo(otherProject.getId());
+    }
+
+    @Test
+    void deleteProjectArchivingItsTickets() throws Exception {
+        // Initialize the database
+        projectRepository.save(project).block();
+        Ticket ticket = ticketRepository.save(TicketResourceIT.createEntity().project(project)).block();
+
+        // Delete the project, archiving its tickets
+        BulkJob job = webTestClient
+            .delete()
+            .uri(ENTITY_API_URL_ID + "?tickets=ARCHIVE", project.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .expectBody(BulkJob.class)
+            .returnResult()
+            .getResponseBody();
+
+        job = TicketResourceIT.awaitBulkJob(webTestClient, job.getId());
+        assertThat(job.getStatus()).isEqualTo(BulkJobStatus.COMPLETED);
+        assertThat(projectRepository.existsById(project.getId()).block()).isFalse();
+        assertThat(ticketRepository.existsById(ticket.getId()).block()).isFalse();
+        List<Document> archived = mongoOperations.findAll(Document.class, TicketArchiveRepository.COLLECTION_NAME).collectList().block();
+        assertThat(archived).hasSize(1);
+        assertThat(archived.get(0).get(TicketArchiveRepository.ARCHIVED_DATE_FIELD)).isNotNull();
+    }
+
+    @Test
+    void deleteProjectReassigningItsTicketsWithoutTarget() {
+        // Initialize the database
+        projectRepository.save(project).block();
+
+        webTestClient
+            .delete()
+            .uri(ENTITY_API_URL_ID + "?tickets=REASSIGN", project.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        assertThat(projectRepository.existsById(project.getId()).block()).isTrue();
+    }
 }
@@ -0,0 +1,207 @@
+package com.mycompany.bugtracker.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import com.mycompany.bugtracker.IntegrationTest;
+import com.mycompany.bugtracker.config.ApplicationProperties;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import com.mycompany.bugtracker.service.TicketAttachmentService;
+import com.mycompany.bugtracker.service.dto.AttachmentDTO;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Flux;
+
+/**
+ * Integration tests for the {@link TicketAttachmentResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient
+@WithMockUser
+class TicketAttachmentResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/tickets/{ticketId}/attachments";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketAttachmentService ticketAttachmentService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private Ticket ticket;
+
+    private byte[] content;
+
+    @BeforeEach
+    public void initTest() {
+        ticketRepository.deleteAll().block();
+        ticket = ticketRepository.save(TicketResourceIT.createEntity()).block();
+        ticketAttachmentService.deleteAllByTicket(ticket.getId()).block();
+        StringBuilder log = new StringBuilder();
+        for (int line = 0; log.length() < 600 * 1024; line++) {
+            log.append("2021-09-01 12:00:00.000 ERROR line ").append(line).append(": the ticket list is slow\n");
+        }
+        content = log.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void uploadAndDownloadAttachment() {
+        AttachmentDTO attachment = upload(content).expectStatus().isCreated().expectBody(AttachmentDTO.class).returnResult().getResponseBody();
+
+        assertThat(attachment.getFilename()).isEqualTo("server.log");
+        assertThat(attachment.getContentType()).isEqualTo(MediaType.TEXT_PLAIN_VALUE);
+        assertThat(attachment.getSize()).isEqualTo(content.length);
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL, ticket.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$")
+            .value(hasSize(1))
+            .jsonPath("$.[0].id")
+            .value(is(attachment.getId()));
+
+        // The whole file
+        byte[] downloaded = webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, ticket.getId(), attachment.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ACCEPT_RANGES, "bytes")
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"" + attachment.getId() + "\"")
+            .expectHeader()
+            .contentLength(content.length)
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+        assertThat(downloaded).isEqualTo(content);
+
+        // A range across two GridFS chunks
+        int start = 255 * 1024 - 10;
+        byte[] range = webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, ticket.getId(), attachment.getId())
+            .header(HttpHeaders.RANGE, "bytes=" + start + "-" + (start + 19))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(206)
+            .expectHeader()
+            .valueEquals(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + 19) + "/" + content.length)
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+        assertThat(new String(range, StandardCharsets.UTF_8)).isEqualTo(new String(content, start, 20, StandardCharsets.UTF_8));
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, ticket.getId(), attachment.getId())
+            .header(HttpHeaders.RANGE, "bytes=" + content.length + "-")
+            .exchange()
+            .expectStatus()
+            .isEqualTo(416)
+            .expectHeader()
+            .valueEquals(HttpHeaders.CONTENT_RANGE, "bytes */" + content.length);
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, ticket.getId(), attachment.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, "\"" + attachment.getId() + "\"")
+            .exchange()
+            .expectStatus()
+            .isNotModified();
+
+        webTestClient.delete().uri(ENTITY_API_URL_ID, ticket.getId(), attachment.getId()).exchange().expectStatus().isNoContent();
+
+        webTestClient.get().uri(ENTITY_API_URL_ID, ticket.getId(), attachment.getId()).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void deleteAttachmentOfAnotherUser() {
+        AttachmentDTO attachment = ticketAttachmentService
+            .store(
+                ticket.getId(),
+                "server.log",
+                MediaType.TEXT_PLAIN_VALUE,
+                Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(content))
+            )
+            .contextWrite(
+                ReactiveSecurityContextHolder.withAuthentication(new UsernamePasswordAuthenticationToken("another-user", "password"))
+            )
+            .block();
+
+        webTestClient.delete().uri(ENTITY_API_URL_ID, ticket.getId(), attachment.getId()).exchange().expectStatus().isForbidden();
+
+        assertThat(ticketAttachmentService.findAllByTicket(ticket.getId()).collectList().block()).hasSize(1);
+    }
+
+    @Test
+    void uploadTooLargeAttachment() {
+        DataSize maxSize = applicationProperties.getAttachments().getMaxSize();
+        applicationProperties.getAttachments().setMaxSize(DataSize.ofKilobytes(100));
+        try {
+            upload(content).expectStatus().isEqualTo(413);
+        } finally {
+            applicationProperties.getAttachments().setMaxSize(maxSize);
+        }
+
+        assertThat(ticketAttachmentService.findAllByTicket(ticket.getId()).collectList().block()).isEmpty();
+    }
+
+    @Test
+    void uploadAttachmentOfNonExistingTicket() {
+        ticketRepository.deleteAll().block();
+
+        upload(content).expectStatus().isNotFound();
+    }
+
+    private WebTestClient.ResponseSpec upload(byte[] file) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("comment", "logs of the slow list");
+        body
+            .part(
+                "file",
+                new ByteArrayResource(file) {
+                    @Override
+                    public String getFilename() {
+                        return "server.log";
+                    }
+                }
+            )
+            .contentType(MediaType.TEXT_PLAIN);
+        return webTestClient
+            .post()
+            .uri(ENTITY_API_URL, ticket.getId())
+            .contentType(MediaType.MULTIPART_FORM_DATA)
+            .body(BodyInserters.fromMultipartData(body.build()))
+            .exchange();
+    }
+}
@@ -0,0 +1,158 @@
+package com.mycompany.bugtracker.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import com.mycompany.bugtracker.IntegrationTest;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.domain.TicketComment;
+import com.mycompany.bugtracker.domain.TicketCommentBucket;
+import com.mycompany.bugtracker.repository.TicketCommentRepository;
+import com.mycompany.bugtracker.repository.TicketRepository;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link TicketCommentResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient
+@WithMockUser("comment-user")
+class TicketCommentResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/tickets/{ticketId}/comments";
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketCommentRepository ticketCommentRepository;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private Ticket ticket;
+
+    @BeforeEach
+    public void initTest() {
+        ticketRepository.deleteAll().block();
+        ticket = ticketRepository.save(TicketResourceIT.createEntity()).block();
+        ticketCommentRepository.deleteAllByTicket(ticket.getId()).block();
+    }
+
+    @Test
+    void createTicketComment() {
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL, ticket.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new TicketComment().body("Reproduced on the last build"))
+            .exchange()
+            .expectStatus()
+            .isCreated()
+            .expectBody()
+            .jsonPath("$.number")
+            .value(is(1))
+            .jsonPath("$.author")
+            .value(is("comment-user"))
+            .jsonPath("$.body")
+            .value(is("Reproduced on the last build"));
+
+        assertThat(ticketCommentRepository.count(ticket.getId()).block()).isEqualTo(1);
+    }
+
+    @Test
+    void createTicketCommentWithoutBody() {
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL, ticket.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new TicketComment())
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void createTicketCommentOnMissingTicket() {
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL, "missing")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new TicketComment().body("Hello"))
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+    }
+
+    @Test
+    void getTicketCommentsAcrossBuckets() {
+        int total = TicketCommentBucket.SIZE + 20;
+        for (int i = 1; i <= total; i++) {
+            TicketComment comment = new TicketComment().body("Comment " + i);
+            comment.setCreatedDate(Instant.now());
+            ticketCommentRepository.append(ticket.getId(), comment).block();
+        }
+
+        // The newest page spans the last two buckets
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?size=30", ticket.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", Integer.toString(total))
+            .expectHeader()
+            .value(HttpHeaders.LINK, link -> assertThat(link).contains("before=" + (total - 29)).contains("rel=\"next\""))
+            .expectBody()
+            .jsonPath("$")
+            .value(hasSize(30))
+            .jsonPath("$.[0].body")
+            .value(is("Comment " + total))
+            .jsonPath("$.[29].number")
+            .value(is(total - 29));
+
+        // The oldest page has no next link
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?before=4&size=30", ticket.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(HttpHeaders.LINK)
+            .expectBody()
+            .jsonPath("$.[*].number")
+            .value(contains(3, 2, 1));
+    }
+
+    @Test
+    void getTicketCommentsWithInvalidSize() {
+        webTestClient.get().uri(ENTITY_API_URL + "?size=1000", ticket.getId()).exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    @WithMockUser(roles = { "USER", "ADMIN" })
+    void deleteTicketDeletesItsComments() {
+        ticketCommentRepository.append(ticket.getId(), new TicketComment().body("Hello")).block();
+
+        webTestClient
+            .delete()
+            .uri("/api/tickets/{id}", ticket.getId())
+            .exchange()
+            .expectStatus()
+            .isNoContent();
+
+        assertThat(ticketCommentRepository.count(ticket.getId()).block()).isZero();
+    }
+}
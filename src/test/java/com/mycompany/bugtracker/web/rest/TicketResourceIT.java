@@ -1,16 +1,26 @@
 package com.mycompany.bugtracker.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 
 import com.mycompany.bugtracker.IntegrationTest;
+import com.mycompany.bugtracker.domain.BulkJob;
+import com.mycompany.bugtracker.domain.Label;
 import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.domain.enumeration.BulkJobStatus;
+import com.mycompany.bugtracker.repository.LabelRepository;
+import com.mycompany.bugtracker.repository.TicketDescriptionRepository;
 import com.mycompany.bugtracker.repository.TicketRepository;
+import com.mycompany.bugtracker.service.criteria.TicketCriteria;
+import com.mycompany.bugtracker.service.dto.TicketBulkUpdateDTO;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -51,6 +61,12 @@ class TicketResourceIT {
     @Autowired
     private TicketRepository ticketRepository;
 
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TicketDescriptionRepository ticketDescriptionRepository;
+
     @Mock
     private TicketRepository ticketRepositoryMock;
 
@@ -218,6 +234,56 @@ class TicketResourceIT {
             .isNotFound();
     }
 
+    @Test
+    void getTicketsById() {
+        // Initialize the database
+        Ticket other = ticketRepository.save(createUpdatedEntity()).block();
+        ticketRepository.save(ticket).block();
+
+        // Get the tickets in the requested order, reporting the missing one
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?ids={ids}", ticket.getId() + "," + Long.MAX_VALUE + "," + other.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.items[0].id")
+            .value(is(ticket.getId()))
+            .jsonPath("$.items[1].id")
+            .value(is(other.getId()))
+            .jsonPath("$.items[1].title")
+            .value(is(UPDATED_TITLE))
+            .jsonPath("$.missingIds")
+            .value(contains(String.valueOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void multiGetTickets() {
+        // Initialize the database
+        ticketRepository.save(ticket).block();
+
+        // Get the tickets with the ids in the body
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/multi-get?fields=title")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Arrays.asList(ticket.getId(), ticket.getId()))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.items.length()")
+            .value(is(1))
+            .jsonPath("$.items[0].title")
+            .value(is(DEFAULT_TITLE))
+            .jsonPath("$.items[0].description")
+            .doesNotExist()
+            .jsonPath("$.missingIds")
+            .isEmpty();
+    }
+
     @Test
     void putNewTicket() throws Exception {
         // Initialize the database
@@ -453,4 +519,242 @@ class TicketResourceIT {
         List<Ticket> ticketList = ticketRepository.findAll().collectList().block();
         assertThat(ticketList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    void getTicketWithLongDescription() {
+        // Initialize the database
+        StringBuilder description = new StringBuilder();
+        while (description.length() < 20000) {
+            description.append("at com.mycompany.bugtracker.web.rest.TicketResource.getAllTickets(TicketResource.java:42)\n");
+        }
+        ticket.setDescription(description.toString());
+        ticketRepository.save(ticket).block();
+
+        // The list returns the preview of the description
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].description")
+            .value(hasItem(description.substring(0, 500)))
+            .jsonPath("$.[*].descriptionTruncated")
+            .value(hasItem(true));
+
+        // The ticket returns the full description
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, ticket.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.description")
+            .value(is(description.toString()))
+            .jsonPath("$.descriptionTruncated")
+            .value(is(false));
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/description", ticket.getId())
+            .accept(MediaType.TEXT_PLAIN)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .isEqualTo(description.toString());
+
+        // Saving the ticket read from a list keeps its description
+        Ticket listed = ticketRepository.findById(ticket.getId()).block();
+        assertThat(listed.getDescriptionTruncated()).isTrue();
+        ticketRepository.save(listed.title(UPDATED_TITLE)).block();
+        assertThat(ticketDescriptionRepository.findById(ticket.getId()).block()).isEqualTo(description.toString());
+    }
+
+    @Test
+    void addAndRemoveTicketLabel() {
+        // Initialize the database
+        Label label = labelRepository.save(LabelResourceIT.createEntity()).block();
+        ticketRepository.save(ticket).block();
+
+        // Add the label twice, it is stored once
+        for (int i = 0; i < 2; i++) {
+            webTestClient
+                .post()
+                .uri(ENTITY_API_URL_ID + "/labels/{labelId}", ticket.getId(), label.getId())
+                .exchange()
+                .expectStatus()
+                .isNoContent();
+        }
+        Ticket testTicket = ticketRepository.findOneWithEagerRelationships(ticket.getId()).block();
+        assertThat(testTicket.getLabels()).extracting(Label::getId).containsExactly(label.getId());
+        assertThat(testTicket.getTitle()).isEqualTo(DEFAULT_TITLE);
+
+        // Remove the label
+        webTestClient
+            .delete()
+            .uri(ENTITY_API_URL_ID + "/labels/{labelId}", ticket.getId(), label.getId())
+            .exchange()
+            .expectStatus()
+            .isNoContent();
+        testTicket = ticketRepository.findOneWithEagerRelationships(ticket.getId()).block();
+        assertThat(testTicket.getLabels()).isEmpty();
+    }
+
+    @Test
+    void addTicketLabelOfNonExistingTicketOrLabel() {
+        Label label = labelRepository.save(LabelResourceIT.createEntity()).block();
+        ticketRepository.save(ticket).block();
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL_ID + "/labels/{labelId}", Long.MAX_VALUE, label.getId())
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL_ID + "/labels/{labelId}", ticket.getId(), Long.MAX_VALUE)
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+    }
+
+    @Test
+    void bulkUpdateTickets() throws Exception {
+        // Initialize the database
+        ticketRepository.save(ticket).block();
+        Ticket otherTicket = ticketRepository.save(createEntity().title(UPDATED_TITLE)).block();
+
+        TicketCriteria criteria = new TicketCriteria();
+        criteria.title().setEquals(DEFAULT_TITLE);
+        TicketBulkUpdateDTO bulkUpdate = new TicketBulkUpdateDTO();
+        bulkUpdate.setCriteria(criteria);
+        bulkUpdate.setDone(UPDATED_DONE);
+
+        BulkJob job = webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/bulk-update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(bulkUpdate))
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .expectHeader()
+            .valueMatches("Location", "/api/bulk-jobs/.+")
+            .expectBody(BulkJob.class)
+            .returnResult()
+            .getResponseBody();
+        assertThat(job.getTotal()).isEqualTo(1);
+
+        job = awaitBulkJob(webTestClient, job.getId());
+        assertThat(job.getStatus()).isEqualTo(BulkJobStatus.COMPLETED);
+        assertThat(job.getProcessed()).isEqualTo(1);
+        assertThat(job.getModified()).isEqualTo(1);
+        assertThat(ticketRepository.findById(ticket.getId()).block().getDone()).isEqualTo(UPDATED_DONE);
+        assertThat(ticketRepository.findById(otherTicket.getId()).block().getDone()).isEqualTo(DEFAULT_DONE);
+    }
+
+    @Test
+    void bulkRelabelTickets() throws Exception {
+        // Initialize the database
+        Label oldLabel = labelRepository.save(LabelResourceIT.createEntity()).block();
+        Label newLabel = labelRepository.save(LabelResourceIT.createEntity()).block();
+        ticketRepository.save(ticket.addLabel(oldLabel)).block();
+
+        // The removal of the label of the criteria must not prevent the addition of the other label
+        TicketCriteria criteria = new TicketCriteria();
+        criteria.labelsId().setEquals(oldLabel.getId());
+        TicketBulkUpdateDTO bulkUpdate = new TicketBulkUpdateDTO();
+        bulkUpdate.setCriteria(criteria);
+        bulkUpdate.setRemoveLabelIds(Set.of(oldLabel.getId()));
+        bulkUpdate.setAddLabelIds(Set.of(newLabel.getId()));
+
+        BulkJob job = startBulkUpdate(bulkUpdate);
+
+        job = awaitBulkJob(webTestClient, job.getId());
+        assertThat(job.getStatus()).isEqualTo(BulkJobStatus.COMPLETED);
+        assertThat(job.getModified()).isEqualTo(1);
+        Ticket testTicket = ticketRepository.findOneWithEagerRelationships(ticket.getId()).block();
+        assertThat(testTicket.getLabels()).extracting(Label::getId).containsExactly(newLabel.getId());
+    }
+
+    @Test
+    void bulkUpdateAndLabelTickets() throws Exception {
+        // Initialize the database
+        Label label = labelRepository.save(LabelResourceIT.createEntity()).block();
+        ticketRepository.save(ticket).block();
+
+        // Closing the tickets of the criteria must not prevent their labelling
+        TicketCriteria criteria = new TicketCriteria();
+        criteria.done().setEquals(DEFAULT_DONE);
+        TicketBulkUpdateDTO bulkUpdate = new TicketBulkUpdateDTO();
+        bulkUpdate.setCriteria(criteria);
+        bulkUpdate.setDone(UPDATED_DONE);
+        bulkUpdate.setAddLabelIds(Set.of(label.getId()));
+
+        BulkJob job = startBulkUpdate(bulkUpdate);
+
+        assertThat(awaitBulkJob(webTestClient, job.getId()).getStatus()).isEqualTo(BulkJobStatus.COMPLETED);
+        Ticket testTicket = ticketRepository.findOneWithEagerRelationships(ticket.getId()).block();
+        assertThat(testTicket.getDone()).isEqualTo(UPDATED_DONE);
+        assertThat(testTicket.getLabels()).extracting(Label::getId).containsExactly(label.getId());
+    }
+
+    private BulkJob startBulkUpdate(TicketBulkUpdateDTO bulkUpdate) throws Exception {
+        return webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/bulk-update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(bulkUpdate))
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .expectBody(BulkJob.class)
+            .returnResult()
+            .getResponseBody();
+    }
+
+    @Test
+    void bulkUpdateTicketsWithoutChange() throws Exception {
+        TicketBulkUpdateDTO bulkUpdate = new TicketBulkUpdateDTO();
+        bulkUpdate.setCriteria(new TicketCriteria());
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/bulk-update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(bulkUpdate))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    /**
+     * Polls a bulk job until it is no longer running.
+     * <p>
+     * This is a static method, as tests for other entities might also start bulk jobs.
+     */
+    static BulkJob awaitBulkJob(WebTestClient webTestClient, String id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            BulkJob job = webTestClient
+                .get()
+                .uri("/api/bulk-jobs/{id}", id)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(BulkJob.class)
+                .returnResult()
+                .getResponseBody();
+            if (job.getStatus() != BulkJobStatus.RUNNING) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Bulk job " + id + " still running");
+    }
 }
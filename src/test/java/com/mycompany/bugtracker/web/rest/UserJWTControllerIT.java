@@ -1,9 +1,13 @@
 package com.mycompany.bugtracker.web.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import com.mycompany.bugtracker.IntegrationTest;
 import com.mycompany.bugtracker.domain.User;
 import com.mycompany.bugtracker.repository.UserRepository;
 import com.mycompany.bugtracker.web.rest.vm.LoginVM;
+import com.mycompany.bugtracker.web.rest.vm.RefreshTokenVM;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
@@ -52,6 +56,8 @@ class UserJWTControllerIT {
             .valueMatches("Authorization", "Bearer .+")
             .expectBody()
             .jsonPath("$.id_token")
+            .isNotEmpty()
+            .jsonPath("$.refresh_token")
             .isNotEmpty();
     }
 
@@ -103,4 +109,100 @@ class UserJWTControllerIT {
             .jsonPath("$.id_token")
             .doesNotExist();
     }
+
+    @Test
+    void testRefresh() throws Exception {
+        String refreshToken = authenticateAndGetRefreshToken("user-jwt-controller-refresh");
+
+        webTestClient
+            .post()
+            .uri("/api/authenticate/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(refreshTokenVM(refreshToken)))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueMatches("Authorization", "Bearer .+")
+            .expectBody()
+            .jsonPath("$.id_token")
+            .isNotEmpty()
+            .jsonPath("$.refresh_token")
+            .value(newRefreshToken -> assertThat(newRefreshToken).isNotEqualTo(refreshToken));
+    }
+
+    @Test
+    void testRefreshTokenIsSingleUse() throws Exception {
+        String refreshToken = authenticateAndGetRefreshToken("user-jwt-controller-refresh-once");
+
+        webTestClient
+            .post()
+            .uri("/api/authenticate/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(refreshTokenVM(refreshToken)))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        webTestClient
+            .post()
+            .uri("/api/authenticate/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(refreshTokenVM(refreshToken)))
+            .exchange()
+            .expectStatus()
+            .isUnauthorized()
+            .expectHeader()
+            .doesNotExist("Authorization");
+    }
+
+    @Test
+    void testRefreshFails() throws Exception {
+        webTestClient
+            .post()
+            .uri("/api/authenticate/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(refreshTokenVM("wrong-refresh-token")))
+            .exchange()
+            .expectStatus()
+            .isUnauthorized()
+            .expectHeader()
+            .doesNotExist("Authorization")
+            .expectBody()
+            .jsonPath("$.id_token")
+            .doesNotExist();
+    }
+
+    private String authenticateAndGetRefreshToken(String userLogin) throws Exception {
+        User user = new User();
+        user.setLogin(userLogin);
+        user.setEmail(userLogin + "@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+
+        userRepository.save(user).block();
+
+        LoginVM login = new LoginVM();
+        login.setUsername(userLogin);
+        login.setPassword("test");
+        AtomicReference<String> refreshToken = new AtomicReference<>();
+        webTestClient
+            .post()
+            .uri("/api/authenticate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(login))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.refresh_token")
+            .value(value -> refreshToken.set((String) value));
+        return refreshToken.get();
+    }
+
+    private static RefreshTokenVM refreshTokenVM(String refreshToken) {
+        RefreshTokenVM refreshTokenVM = new RefreshTokenVM();
+        refreshTokenVM.setRefreshToken(refreshToken);
+        return refreshTokenVM;
+    }
 }
@@ -4,7 +4,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.mycompany.bugtracker.IntegrationTest;
 import com.mycompany.bugtracker.domain.Authority;
+import com.mycompany.bugtracker.domain.BulkJob;
+import com.mycompany.bugtracker.domain.Ticket;
 import com.mycompany.bugtracker.domain.User;
+import com.mycompany.bugtracker.domain.enumeration.BulkJobStatus;
+import com.mycompany.bugtracker.repository.TicketRepository;
 import com.mycompany.bugtracker.repository.UserRepository;
 import com.mycompany.bugtracker.security.AuthoritiesConstants;
 import com.mycompany.bugtracker.service.dto.AdminUserDTO;
@@ -57,6 +61,9 @@ class UserResourceIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TicketRepository ticketRepository;
+
     @Autowired
     private UserMapper userMapper;
 
@@ -491,6 +498,46 @@ class UserResourceIT {
         assertPersistedUsers(users -> assertThat(users).hasSize(databaseSizeBeforeDelete - 1));
     }
 
+    @Test
+    void deleteUserUnassigningTickets() throws Exception {
+        // Initialize the database
+        userRepository.save(user).block();
+        ticketRepository.deleteAll().block();
+        Ticket ticket = ticketRepository.save(TicketResourceIT.createEntity().assignedTo(user)).block();
+
+        // Delete the user, the tickets are unassigned in the background
+        BulkJob job = webTestClient
+            .delete()
+            .uri("/api/admin/users/{login}", user.getLogin())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .expectBody(BulkJob.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(userRepository.findOneByLogin(user.getLogin()).blockOptional()).isEmpty();
+        job = TicketResourceIT.awaitBulkJob(webTestClient, job.getId());
+        assertThat(job.getStatus()).isEqualTo(BulkJobStatus.COMPLETED);
+        assertThat(ticketRepository.findById(ticket.getId()).block().getAssignedTo()).isNull();
+    }
+
+    @Test
+    void deleteUserReassigningTicketsToUnknownUser() {
+        userRepository.save(user).block();
+
+        webTestClient
+            .delete()
+            .uri("/api/admin/users/{login}?tickets=REASSIGN&reassignTo=unknown", user.getLogin())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        assertThat(userRepository.findOneByLogin(user.getLogin()).blockOptional()).isPresent();
+    }
+
     @Test
     void testUserEquals() throws Exception {
         TestUtil.equalsVerifier(User.class);
@@ -0,0 +1,101 @@
+package com.mycompany.bugtracker.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mycompany.bugtracker.config.JacksonConfiguration;
+import com.mycompany.bugtracker.domain.Project;
+import com.mycompany.bugtracker.domain.Ticket;
+import com.mycompany.bugtracker.repository.support.SparseFieldset;
+import com.mycompany.bugtracker.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+class FieldsetUtilTest {
+
+    private ObjectMapper objectMapper;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder
+            .json()
+            .modules(jacksonConfiguration.javaTimeModule())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        jacksonConfiguration.sparseFieldsetCustomizer().customize(builder);
+        objectMapper = builder.build();
+        webTestClient =
+            WebTestClient
+                .bindToController(new TicketTestController())
+                .httpMessageCodecs(configurer -> configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper)))
+                .build();
+    }
+
+    @Test
+    void testRejectsUnknownFields() {
+        assertThat(FieldsetUtil.parseFieldset("title,dueDate", Ticket.class, "ticket").getProperties()).containsExactly("title", "dueDate");
+        assertThatThrownBy(() -> FieldsetUtil.parseFieldset("title,owner", Ticket.class, "ticket"))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasMessage("Unknown field owner");
+    }
+
+    @Test
+    void testSerializesOnlyTheFieldsOfTheRootType() {
+        webTestClient
+            .get()
+            .uri("/tickets?fields=title,project")
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$[0].id")
+            .isEqualTo("1")
+            .jsonPath("$[0].title")
+            .isEqualTo("First")
+            .jsonPath("$[0].dueDate")
+            .doesNotExist()
+            .jsonPath("$[0].project.name")
+            .isEqualTo("Bugtracker")
+            .jsonPath("$[1].title")
+            .isEqualTo("Second");
+    }
+
+    @Test
+    void testSerializesEveryFieldByDefault() throws Exception {
+        webTestClient.get().uri("/tickets").exchange().expectStatus().isOk().expectBody().jsonPath("$[0].dueDate").isEqualTo("2021-09-01");
+
+        assertThat(objectMapper.writeValueAsString(tickets()[0])).contains("\"dueDate\"");
+    }
+
+    private static Ticket[] tickets() {
+        Ticket first = new Ticket().title("First").dueDate(LocalDate.of(2021, 9, 1)).project(new Project().name("Bugtracker"));
+        first.setId("1");
+        Ticket second = new Ticket().title("Second");
+        second.setId("2");
+        return new Ticket[] { first, second };
+    }
+
+    @RestController
+    static class TicketTestController {
+
+        @GetMapping("/tickets")
+        public Mono<MappingJacksonValue> getTickets(@RequestParam(required = false) String fields) {
+            SparseFieldset fieldset = SparseFieldset.parse(fields);
+            return Mono.just(FieldsetUtil.filterBody(Arrays.asList(tickets()), Ticket.class, fieldset));
+        }
+    }
+}